@@ -0,0 +1,46 @@
+package iso.e02.planify.benchmarks;
+
+// imports de java
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Utilidades para montar los servicios fuera de Spring en los benchmarks: se
+ * rellenan los campos @Autowired por reflexión y los repositorios se sustituyen
+ * por proxies que devuelven datos preparados, sin base de datos.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Asigna un campo privado (normalmente uno @Autowired).
+     */
+    static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se puede asignar " + fieldName, e);
+        }
+    }
+
+    /**
+     * Crea un repositorio falso. Cada método de answers recibe los argumentos de
+     * la llamada; el resto de métodos lanzan UnsupportedOperationException.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return answer.apply(args);
+        });
+    }
+}
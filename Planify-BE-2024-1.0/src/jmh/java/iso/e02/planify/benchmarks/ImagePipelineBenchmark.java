@@ -0,0 +1,96 @@
+package iso.e02.planify.benchmarks;
+
+// imports de iso.e02.planify
+import iso.e02.planify.services.ImagePipeline;
+
+// imports de java
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+
+// imports de jmh
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara el redimensionado antiguo de las fotos de perfil
+ * (Image.getScaledInstance con SCALE_SMOOTH) con ImagePipeline, para fotos
+ * del tamaño de las de un móvil.
+ *
+ * Ejecución: mvn -Pbenchmarks compile exec:exec
+ * -Djmh.args="ImagePipelineBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImagePipelineBenchmark {
+
+    @Param({ "1600x1200", "4032x3024" })
+    public String resolution;
+
+    private byte[] photo;
+    private ImagePipeline imagePipeline;
+
+    @Setup
+    public void setUp() throws IOException {
+        String[] parts = this.resolution.split("x");
+        int width = Integer.parseInt(parts[0]);
+        int height = Integer.parseInt(parts[1]);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+        g2d.fillRect(0, 0, width, height);
+        g2d.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        this.photo = output.toByteArray();
+        this.imagePipeline = new ImagePipeline();
+    }
+
+    /**
+     * Redimensionado antiguo de ValidateUserService: decodifica la imagen
+     * entera y la escala a 150x150 con getScaledInstance.
+     */
+    @Benchmark
+    public byte[] legacyScaledInstance() throws IOException {
+        BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(this.photo));
+        Image resizedImage = originalImage.getScaledInstance(150, 150, Image.SCALE_SMOOTH);
+        BufferedImage bufferedResizedImage = new BufferedImage(150, 150, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = bufferedResizedImage.createGraphics();
+        g2d.drawImage(resizedImage, 0, 0, null);
+        g2d.dispose();
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        ImageIO.write(bufferedResizedImage, "jpg", byteArrayOutputStream);
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[][] pipelineSingleSize() throws IOException {
+        return this.imagePipeline.thumbnails(ImageIO.createImageInputStream(new ByteArrayInputStream(this.photo)), 150);
+    }
+
+    @Benchmark
+    public byte[][] pipelineThreeSizes() throws IOException {
+        return this.imagePipeline.thumbnails(ImageIO.createImageInputStream(new ByteArrayInputStream(this.photo)),
+                300, 150, 48);
+    }
+}
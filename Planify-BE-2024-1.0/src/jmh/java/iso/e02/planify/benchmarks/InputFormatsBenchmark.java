@@ -0,0 +1,94 @@
+package iso.e02.planify.benchmarks;
+
+// imports de iso.e02.planify
+import iso.e02.planify.services.InputFormats;
+
+// imports de java
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// imports de jmh
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compara la validación y lectura de entradas antigua (expresiones regulares
+ * compiladas en cada llamada, DateTimeFormatter y concatenación de fecha y
+ * hora) con InputFormats. La columna gc.alloc.rate.norm del profiler gc da los
+ * bytes reservados por llamada.
+ *
+ * Ejecución: mvn -Pbenchmarks compile exec:exec
+ * -Djmh.args="InputFormatsBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputFormatsBenchmark {
+
+    private static final String EMAIL_FORMAT = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$";
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public String email = "maria.garcia-lopez@planify.uclm.es";
+    public String password = "C0ntras3ña_S3gura";
+    public String date = "2024-11-04";
+    public String time = "09:30";
+
+    @Benchmark
+    public boolean legacyEmail() {
+        return Pattern.compile(EMAIL_FORMAT).matcher(this.email).matches();
+    }
+
+    @Benchmark
+    public boolean scannerEmail() {
+        return InputFormats.isValidEmail(this.email);
+    }
+
+    /** Las cuatro expresiones regulares que se compilaban en cada llamada. */
+    @Benchmark
+    public boolean legacyPassword() {
+        return this.password.length() >= 8
+                && Pattern.compile("[A-ZÁÉÍÓÚÑÄËÏÖÜÀÈÌÒÙÇ]").matcher(this.password).find()
+                && Pattern.compile("[a-záéíóúñäëïöüàèìòùç]").matcher(this.password).find()
+                && Pattern.compile("\\d").matcher(this.password).find()
+                && Pattern.compile("[!@#$%^&*(),.?\":¿'¡+{}|<>_\\-/\\\\=\\[\\]`;ºª~€¬¨]").matcher(this.password).find();
+    }
+
+    @Benchmark
+    public boolean scannerPassword() {
+        return InputFormats.isPasswordSecure(this.password);
+    }
+
+    @Benchmark
+    public LocalDate legacyDate() {
+        return LocalDate.parse(this.date, DATE_FORMAT);
+    }
+
+    @Benchmark
+    public LocalDate directDate() {
+        return InputFormats.parseDate(this.date);
+    }
+
+    @Benchmark
+    public LocalDateTime legacyDateTime() {
+        return LocalDateTime.parse(this.date + " " + this.time, DATE_TIME_FORMAT);
+    }
+
+    @Benchmark
+    public LocalDateTime directDateTime() {
+        return InputFormats.parseDateTime(this.date, this.time);
+    }
+}
@@ -0,0 +1,83 @@
+package iso.e02.planify.benchmarks;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.repositories.UsersRepository;
+import iso.e02.planify.security.VerifiedTokenCache;
+import iso.e02.planify.services.JWTService;
+import iso.e02.planify.services.ValidateUserService;
+
+// imports de java
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// imports de jmh
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Firma y verificación de los JWT: generación en JWTService, verificación
+ * completa (caché vacía) y verificación de un token ya verificado, que es la
+ * que se hace en cada petición (ValidateUserService.validateJWT).
+ *
+ * La clave es una de prueba que se asigna en la propiedad JWT_SECRET.
+ *
+ * Ejecución: mvn -Pbenchmarks compile exec:exec -Djmh.args="JwtBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JWTService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private ValidateUserService validateUserService;
+    private CommonUser user;
+    private String authorizationHeader;
+    private String jwt;
+
+    @Setup
+    public void setUp() {
+        System.setProperty("JWT_SECRET", "clave-de-benchmark-sin-valor-real-0123456789");
+        this.jwtService = new JWTService();
+        this.verifiedTokenCache = new VerifiedTokenCache();
+        // La comprobación de que el usuario existe es una consulta; aquí solo se mide la verificación
+        BenchmarkSupport.inject(this.verifiedTokenCache, "usersRepository",
+                BenchmarkSupport.repository(UsersRepository.class, Map.of("existsById", args -> true)));
+        this.validateUserService = new ValidateUserService();
+        BenchmarkSupport.inject(this.validateUserService, "verifiedTokenCache", this.verifiedTokenCache);
+
+        this.user = new CommonUser();
+        this.user.setId(1L);
+        this.user.setEmail("maria.garcia@planify.uclm.es");
+        this.jwt = this.jwtService.generarJWT(this.user);
+        this.authorizationHeader = "Bearer " + this.jwt;
+    }
+
+    @Benchmark
+    public String sign() {
+        return this.jwtService.generarJWT(this.user);
+    }
+
+    @Benchmark
+    public String verifyUncached() {
+        this.verifiedTokenCache.clear();
+        return this.verifiedTokenCache.verify(this.jwt);
+    }
+
+    @Benchmark
+    public String validateJWTCached() {
+        return this.validateUserService.validateJWT(this.authorizationHeader);
+    }
+}
@@ -0,0 +1,113 @@
+package iso.e02.planify.benchmarks;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.repositories.AbsenceRepository;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.BusyIntervalDTO;
+import iso.e02.planify.services.BusyIntervalIndex;
+import iso.e02.planify.services.ValidateMeetingService;
+
+// imports de java
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// imports de jmh
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Comprobación de disponibilidad de un participante al crear o editar una
+ * reunión (ValidateMeetingService.validateParticipantWithMeetings y
+ * validateParticipantWithAbsences) según el número de reuniones y ausencias
+ * del usuario. Las agendas salen de repositorios falsos, así que se mide el
+ * índice en memoria y no la base de datos.
+ *
+ * Ejecución: mvn -Pbenchmarks compile exec:exec
+ * -Djmh.args="ParticipantAvailabilityBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticipantAvailabilityBenchmark {
+
+    private static final Long USER_ID = 1L;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int rows;
+
+    private BusyIntervalIndex busyIntervalIndex;
+    private ValidateMeetingService validateMeetingService;
+    private CommonUser user;
+    private Meeting meeting;
+
+    @Setup
+    public void setUp() {
+        // Una reunión de 9:00 a 10:00 y una ausencia de 12:00 a 13:00 cada día
+        List<BusyIntervalDTO> meetings = new ArrayList<>(this.rows);
+        List<BusyIntervalDTO> absences = new ArrayList<>(this.rows);
+        for (int i = 0; i < this.rows; i++) {
+            LocalDateTime day = FIRST_DAY.plusDays(i);
+            meetings.add(new BusyIntervalDTO((long) i, day.withHour(9), day.withHour(10), false));
+            absences.add(new BusyIntervalDTO((long) i, day.withHour(12), day.withHour(13), false));
+        }
+
+        this.busyIntervalIndex = new BusyIntervalIndex();
+        BenchmarkSupport.inject(this.busyIntervalIndex, "meetingAttendanceRepository", BenchmarkSupport.repository(
+                MeetingAttendanceRepository.class, Map.of("findBusyIntervalsByUserId", args -> meetings)));
+        BenchmarkSupport.inject(this.busyIntervalIndex, "absenceRepository", BenchmarkSupport.repository(
+                AbsenceRepository.class, Map.of("findBusyIntervalsByUserId", args -> absences)));
+
+        this.validateMeetingService = new ValidateMeetingService();
+        BenchmarkSupport.inject(this.validateMeetingService, "busyIntervalIndex", this.busyIntervalIndex);
+
+        this.user = new CommonUser();
+        this.user.setId(USER_ID);
+
+        // Reunión libre a mitad del histórico, de 10:30 a 11:30
+        this.meeting = new Meeting();
+        this.meeting.setId(-1L);
+        LocalDateTime day = FIRST_DAY.plusDays(this.rows / 2);
+        this.meeting.setFromDateTime(day.withHour(10).withMinute(30));
+        this.meeting.setToDateTime(day.withHour(11).withMinute(30));
+
+        this.busyIntervalIndex.overlapsMeeting(USER_ID, FIRST_DAY, FIRST_DAY, null); // Carga la agenda
+    }
+
+    @Benchmark
+    public boolean validateParticipantWithMeetings() {
+        return this.validateMeetingService.validateParticipantWithMeetings(this.user, this.meeting);
+    }
+
+    @Benchmark
+    public boolean validateParticipantWithAbsences() {
+        return this.validateMeetingService.validateParticipantWithAbsences(this.user, this.meeting);
+    }
+
+    /**
+     * Primera comprobación de un usuario cuya agenda no está cargada: descarta la
+     * agenda y la vuelve a construir a partir de las filas del repositorio.
+     */
+    @Benchmark
+    public boolean coldTimeline() {
+        this.busyIntervalIndex.evict(USER_ID);
+        return this.validateMeetingService.validateParticipantWithMeetings(this.user, this.meeting);
+    }
+}
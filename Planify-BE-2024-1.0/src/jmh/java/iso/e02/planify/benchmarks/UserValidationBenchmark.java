@@ -0,0 +1,61 @@
+package iso.e02.planify.benchmarks;
+
+// imports de iso.e02.planify
+import iso.e02.planify.requests.RegisterRequest;
+import iso.e02.planify.services.ValidateUserService;
+
+// imports de java
+import java.util.concurrent.TimeUnit;
+
+// imports de jmh
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validaciones del alta de usuarios en ValidateUserService: formato del email,
+ * política de contraseñas y la validación completa de una petición de alta.
+ * El redimensionado de las fotos está en ImagePipelineBenchmark.
+ *
+ * Ejecución: mvn -Pbenchmarks compile exec:exec -Djmh.args="UserValidationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserValidationBenchmark {
+
+    private ValidateUserService validateUserService;
+    private RegisterRequest registerRequest;
+
+    @Setup
+    public void setUp() {
+        this.validateUserService = new ValidateUserService();
+        this.registerRequest = new RegisterRequest("María", "García López", "ESI", "2024-09-02",
+                "maria.garcia@planify.uclm.es", "C0ntras3ña_S3gura", "C0ntras3ña_S3gura");
+    }
+
+    @Benchmark
+    public boolean isValidEmail() {
+        return this.validateUserService.isValidEmail(this.registerRequest.getEmail());
+    }
+
+    @Benchmark
+    public boolean isPasswordSecure() {
+        return this.validateUserService.isPasswordSecure(this.registerRequest.getPassword());
+    }
+
+    @Benchmark
+    public boolean validateUserInfo() {
+        return this.validateUserService.validateUserInfo(this.registerRequest);
+    }
+}
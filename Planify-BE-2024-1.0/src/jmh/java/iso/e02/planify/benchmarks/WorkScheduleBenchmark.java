@@ -0,0 +1,70 @@
+package iso.e02.planify.benchmarks;
+
+// imports de iso.e02.planify
+import iso.e02.planify.services.WorkScheduleService;
+
+// imports de java
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// imports de jmh
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validación de los bloques de un horario laboral
+ * (WorkScheduleService.checkBlockOverlap y validateBlocks) según el número de
+ * bloques. Los bloques no se solapan, que es el caso que recorre la lista
+ * entera.
+ *
+ * Ejecución: mvn -Pbenchmarks compile exec:exec -Djmh.args="WorkScheduleBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkScheduleBenchmark {
+
+    @Param({ "2", "4", "8" })
+    public int blockCount;
+
+    private List<Map<String, String>> blocks;
+    private WorkScheduleService workScheduleService;
+
+    @Setup
+    public void setUp() {
+        // Bloques de 2 horas seguidos desde las 6:00, en orden inverso para que haya que ordenarlos
+        this.blocks = new ArrayList<>(this.blockCount);
+        for (int i = this.blockCount - 1; i >= 0; i--) {
+            LocalTime start = LocalTime.of(6, 0).plusHours(2L * i);
+            this.blocks.add(Map.of("blockName", "Bloque " + i, "startHour", start.toString(), "endHour",
+                    start.plusHours(2).toString()));
+        }
+        this.workScheduleService = new WorkScheduleService();
+    }
+
+    @Benchmark
+    public boolean checkBlockOverlap() {
+        return this.workScheduleService.checkBlockOverlap(this.blocks);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> validateBlocks() {
+        this.workScheduleService.validateBlocks(this.blocks);
+        return this.blocks;
+    }
+}
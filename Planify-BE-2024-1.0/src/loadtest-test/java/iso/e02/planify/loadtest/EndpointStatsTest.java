@@ -0,0 +1,78 @@
+package iso.e02.planify.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EndpointStatsTest {
+
+    private static EndpointStats statsWithMillis(int... millis) {
+        EndpointStats stats = new EndpointStats();
+        for (int ms : millis) {
+            stats.record(TimeUnit.MILLISECONDS.toNanos(ms), 200);
+        }
+        return stats;
+    }
+
+    @Test
+    void testPercentileUsesNearestRank() {
+        EndpointStats stats = statsWithMillis(7, 3, 10, 1, 5, 9, 2, 8, 4, 6); // Desordenadas
+
+        assertEquals(1.0, stats.percentileMillis(0));
+        assertEquals(1.0, stats.percentileMillis(10));
+        assertEquals(5.0, stats.percentileMillis(50));
+        assertEquals(6.0, stats.percentileMillis(51)); // Rango ceil(5.1) = 6, sin interpolar
+        assertEquals(10.0, stats.percentileMillis(95));
+        assertEquals(10.0, stats.percentileMillis(100));
+    }
+
+    @Test
+    void testPercentileOfTwentyRequests() {
+        EndpointStats stats = new EndpointStats();
+        for (int ms = 20; ms >= 1; ms--) {
+            stats.record(TimeUnit.MILLISECONDS.toNanos(ms), 200);
+        }
+
+        assertEquals(19.0, stats.percentileMillis(95));
+        assertEquals(20.0, stats.percentileMillis(99));
+    }
+
+    @Test
+    void testPercentileWithoutRequestsIsZero() {
+        assertEquals(0.0, new EndpointStats().percentileMillis(95));
+    }
+
+    @Test
+    void testPercentileAfterMoreRequestsAndMerge() {
+        EndpointStats stats = statsWithMillis(1, 2);
+        assertEquals(2.0, stats.percentileMillis(100));
+
+        stats.record(TimeUnit.MILLISECONDS.toNanos(3), 200);
+        assertEquals(3.0, stats.percentileMillis(100));
+
+        stats.merge(statsWithMillis(4, 0));
+        assertEquals(5, stats.getCount());
+        assertEquals(0.0, stats.percentileMillis(0));
+        assertEquals(4.0, stats.percentileMillis(100));
+    }
+
+    @Test
+    void testErrorsByStatus() {
+        EndpointStats stats = statsWithMillis(1);
+        stats.record(1, 500);
+        stats.record(1, EndpointStats.CONNECTION_ERROR);
+        stats.recordInvalidResponse();
+        EndpointStats other = new EndpointStats();
+        other.record(1, 500);
+
+        stats.merge(other);
+
+        assertEquals(4, stats.getCount());
+        assertEquals(4, stats.getErrors());
+        assertEquals(Map.of(EndpointStats.INVALID_RESPONSE, 1, EndpointStats.CONNECTION_ERROR, 1, 500, 2),
+                stats.getErrorsByStatus());
+    }
+}
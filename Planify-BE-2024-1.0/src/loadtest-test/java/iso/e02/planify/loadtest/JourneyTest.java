@@ -0,0 +1,100 @@
+package iso.e02.planify.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JourneyTest {
+
+    private HttpServer server;
+    private PlanifyClient client;
+    private LoadTestOptions options;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        respond("/text", "no es JSON");
+        respond("/json", "{\"nextCursor\": 7}");
+        server.start();
+        options = LoadTestOptions.parse(new String[] { "--think-ms=1", "--session-actions=3",
+                "--base-url=http://localhost:" + server.getAddress().getPort() });
+        client = new PlanifyClient(HttpClient.newHttpClient(), options.baseUrl, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void respond(String path, String body) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+    }
+
+    /**
+     * Recorrido de un segundo en el que cada acción lee una respuesta que no es
+     * JSON o hace un cast de un campo de otro tipo.
+     */
+    private Journey journey(AtomicInteger steps) {
+        return new Journey(options, client, 1, System.nanoTime() + TimeUnit.SECONDS.toNanos(1)) {
+            @Override
+            protected boolean login() {
+                return true;
+            }
+
+            @Override
+            protected void step() {
+                steps.incrementAndGet();
+                if (choose(1, 1) == 0) {
+                    PlanifyClient.readObject(client.send("GET /text", "GET", "/text", null));
+                } else {
+                    String cursor = (String) PlanifyClient.readObject(client.send("GET /json", "GET", "/json", null))
+                            .get("nextCursor");
+                    fail("No debería llegar aquí: " + cursor);
+                }
+            }
+        };
+    }
+
+    @Test
+    void testInvalidResponsesAreCountedAndDoNotEndTheJourney() {
+        AtomicInteger steps = new AtomicInteger();
+
+        journey(steps).run();
+
+        assertTrue(steps.get() > 1); // El recorrido sigue tras el primer error
+        Map<String, EndpointStats> stats = client.getStats();
+        assertEquals(steps.get(), stats.values().stream().mapToInt(EndpointStats::getCount).sum());
+        for (EndpointStats endpointStats : stats.values()) {
+            assertEquals(endpointStats.getCount(), endpointStats.getErrors());
+            assertEquals(Map.of(EndpointStats.INVALID_RESPONSE, endpointStats.getCount()),
+                    endpointStats.getErrorsByStatus());
+        }
+    }
+
+    @Test
+    void testInvalidResponseIsCountedOnce() {
+        client.send("GET /text", "GET", "/text", null);
+
+        client.recordInvalidResponse();
+        client.recordInvalidResponse();
+
+        assertEquals(1, client.getStats().get("GET /text").getErrors());
+    }
+}
@@ -0,0 +1,69 @@
+package iso.e02.planify.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestTest {
+
+    private static final double TOLERANCE = 0.1;
+
+    private static Map<String, Object> row(double p95, double p99, double throughput, double errorRate) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("p95", p95);
+        row.put("p99", p99);
+        row.put("throughput", throughput);
+        row.put("errorRate", errorRate);
+        return row;
+    }
+
+    private static List<String> compare(Map<String, Object> before, Map<String, Object> after) {
+        return LoadTest.compare(Map.of("GET /meetings/listAll", before), Map.of("GET /meetings/listAll", after),
+                TOLERANCE);
+    }
+
+    @Test
+    void testWithinToleranceIsNotARegression() {
+        assertTrue(compare(row(100, 200, 50, 0.01), row(109, 219, 46, 0.015)).isEmpty());
+        assertTrue(compare(row(100, 200, 50, 0.01), row(80, 150, 70, 0)).isEmpty()); // Mejora
+    }
+
+    @Test
+    void testSlowerPercentilesAreRegressions() {
+        List<String> regressions = compare(row(100, 200, 50, 0), row(111, 200, 50, 0));
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("GET /meetings/listAll: p95"));
+
+        regressions = compare(row(100, 200, 50, 0), row(100, 221, 50, 0));
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("GET /meetings/listAll: p99"));
+    }
+
+    @Test
+    void testLowerThroughputIsARegression() {
+        assertTrue(compare(row(100, 200, 50, 0), row(100, 200, 45.5, 0)).isEmpty());
+        assertEquals(1, compare(row(100, 200, 50, 0), row(100, 200, 44, 0)).size());
+    }
+
+    @Test
+    void testErrorRateMayGrowOnePoint() {
+        assertTrue(compare(row(100, 200, 50, 0.02), row(100, 200, 50, 0.029)).isEmpty());
+        List<String> regressions = compare(row(100, 200, 50, 0.02), row(100, 200, 50, 0.031));
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).contains("errores"));
+    }
+
+    @Test
+    void testEndpointsMissingFromBaselineAreIgnored() {
+        Map<String, Map<String, Object>> baseline = Map.of("GET /users/{id}", row(10, 20, 50, 0));
+        Map<String, Map<String, Object>> current = Map.of("GET /users/{id}", row(10, 20, 50, 0),
+                "POST /meetings/create", row(1000, 2000, 1, 0.5));
+
+        assertTrue(LoadTest.compare(baseline, current, TOLERANCE).isEmpty());
+        assertTrue(LoadTest.compare(current, baseline, TOLERANCE).isEmpty()); // Endpoint que ya no aparece
+    }
+}
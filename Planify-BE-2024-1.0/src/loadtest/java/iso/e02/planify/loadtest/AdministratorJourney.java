@@ -0,0 +1,93 @@
+package iso.e02.planify.loadtest;
+
+// imports de java
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recorrido de un administrador: lista los usuarios (el listado completo y
+ * páginas del directorio) y registra ausencias, comprobando antes si se
+ * solapan con reuniones como hace el frontend.
+ */
+final class AdministratorJourney extends Journey {
+
+    private static final String[] NAME_PREFIXES = { "Ma", "Ca", "A", "L", "J", "D", "E" };
+
+    private final int administratorNumber;
+
+    AdministratorJourney(LoadTestOptions options, PlanifyClient client, long seed, long end,
+            int administratorNumber) {
+        super(options, client, seed, end);
+        this.administratorNumber = administratorNumber;
+    }
+
+    @Override
+    protected boolean login() {
+        return loginWithPassword("admin" + this.administratorNumber + "@perf.planify.es", false) != null;
+    }
+
+    @Override
+    protected void step() {
+        switch (choose(15, 50, 35)) {
+            case 0 -> this.client.send("GET /api/users/showUsers", "GET", "/api/users/showUsers", null);
+            case 1 -> browseDirectory();
+            default -> createAbsence();
+        }
+    }
+
+    /**
+     * Pide la primera página del directorio, a veces filtrada por el inicio del
+     * nombre, y a veces las siguientes.
+     */
+    private void browseDirectory() {
+        String query = "/api/users/directory?size=50&sort=name&direction=asc";
+        if (this.random.nextBoolean()) {
+            query += "&namePrefix=" + NAME_PREFIXES[this.random.nextInt(NAME_PREFIXES.length)];
+        }
+        int pages = 1 + (this.random.nextInt(4) == 0 ? this.random.nextInt(3) : 0);
+        String cursor = null;
+        for (int page = 0; page < pages; page++) {
+            String path = cursor == null ? query : query + "&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+            HttpResponse<String> response = this.client.send("GET /api/users/directory", "GET", path, null);
+            if (!PlanifyClient.isOk(response)) {
+                return;
+            }
+            cursor = (String) PlanifyClient.readObject(response).get("nextCursor");
+            if (cursor == null) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registra un permiso de una o dos horas o unas vacaciones de un día para un
+     * usuario al azar.
+     */
+    private void createAbsence() {
+        LocalDate day = randomFutureWorkingDay();
+        boolean allDayLong = this.random.nextInt(3) == 0;
+        LocalTime from = LocalTime.of(9 + this.random.nextInt(8), 0);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("absenceType", allDayLong ? "VACACIONES" : "PERMISO");
+        body.put("allDayLong", allDayLong);
+        body.put("fromDate", day.toString());
+        body.put("fromTime", allDayLong ? null : from.toString());
+        body.put("toDate", day.toString());
+        body.put("toTime", allDayLong ? null : from.plusHours(1L + this.random.nextInt(2)).toString());
+        body.put("userId", randomUserNumber()); // El generador asigna a usuarioN el id N
+        body.put("overlapsMeeting", false);
+
+        HttpResponse<String> response = this.client.send("PUT /absences/checkMeetingOverlap", "PUT",
+                "/absences/checkMeetingOverlap", body);
+        if (!PlanifyClient.isOk(response)) {
+            return;
+        }
+        body.put("overlapsMeeting", Boolean.parseBoolean(response.body().trim()));
+        this.client.send("POST /absences/create", "POST", "/absences/create", body);
+    }
+}
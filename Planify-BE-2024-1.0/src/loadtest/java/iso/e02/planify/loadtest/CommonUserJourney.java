@@ -0,0 +1,159 @@
+package iso.e02.planify.loadtest;
+
+// imports de java
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorrido de un usuario común: consulta sus reuniones, busca candidatos,
+ * crea y edita reuniones y responde a las invitaciones pendientes. Las
+ * reuniones que edita y las invitaciones a las que responde salen de la última
+ * consulta de sus reuniones.
+ */
+final class CommonUserJourney extends Journey {
+
+    private static final String[] LOCATIONS = { "ESI", "POLITECNICO", "OFICINA", "DESPACHO", "BIBLIOTECA" };
+
+    private final int userNumber;
+    private List<Map<String, Object>> meetings = List.of(); // Última respuesta de /meetings/listAll
+
+    CommonUserJourney(LoadTestOptions options, PlanifyClient client, long seed, long end, int userNumber) {
+        super(options, client, seed, end);
+        this.userNumber = userNumber;
+    }
+
+    @Override
+    protected boolean login() {
+        return loginWithPassword(userEmail(this.userNumber), true) != null;
+    }
+
+    @Override
+    protected void step() {
+        switch (choose(35, 20, 15, 10, 20)) {
+            case 0 -> listMeetings();
+            case 1 -> searchCandidates();
+            case 2 -> createMeeting();
+            case 3 -> editMeeting();
+            default -> respondInvitation();
+        }
+    }
+
+    private void listMeetings() {
+        HttpResponse<String> response = this.client.send("GET /meetings/listAll", "GET", "/meetings/listAll", null);
+        if (PlanifyClient.isOk(response)) {
+            this.meetings = PlanifyClient.readList(response);
+        }
+    }
+
+    private void searchCandidates() {
+        LocalTime from = randomStart();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fromDateTime", from.toString());
+        body.put("toDateTime", from.plusMinutes(randomDuration()).toString());
+        body.put("isAllDay", false);
+        body.put("meetingDate", randomFutureWorkingDay().toString());
+        this.client.send("POST /meetings/getCandidatesToMeeting", "POST",
+                "/meetings/getCandidatesToMeeting?page=0&size=50", body);
+    }
+
+    private void createMeeting() {
+        this.client.send("POST /meetings/create", "POST", "/meetings/create", meetingRequest(randomFutureWorkingDay()));
+    }
+
+    /**
+     * Cambia la hora y los invitados de una reunión abierta y futura que
+     * organiza el usuario. Si no tiene ninguna, vuelve a consultar sus reuniones.
+     */
+    private void editMeeting() {
+        Map<String, Object> meeting = findMeeting("ORGANIZADOR", null);
+        if (meeting == null) {
+            listMeetings();
+            return;
+        }
+        LocalDate day = LocalDateTime.parse((String) meeting.get("fromDateTime")).toLocalDate();
+        this.client.send("PATCH /meetings/{id}/edit", "PATCH", "/meetings/" + meeting.get("id") + "/edit",
+                meetingRequest(day));
+    }
+
+    /**
+     * Acepta (o, una de cada cinco veces, rechaza) una invitación pendiente. Si no
+     * tiene ninguna, vuelve a consultar sus reuniones.
+     */
+    private void respondInvitation() {
+        Map<String, Object> meeting = findMeeting("ASISTENTE", "PENDIENTE");
+        if (meeting == null) {
+            listMeetings();
+            return;
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        boolean accept = this.random.nextInt(5) != 0;
+        body.put("invitationStatus", accept ? "ACEPTADA" : "RECHAZADA");
+        body.put("declineReason", accept ? null : "Tengo otra reunión");
+        HttpResponse<String> response = this.client.send("PATCH /meetings/{id}/changeInvitationStatus", "PATCH",
+                "/meetings/" + meeting.get("id") + "/changeInvitationStatus", body);
+        meeting.put("invitationStatus", PlanifyClient.isOk(response) ? body.get("invitationStatus") : "ERROR");
+    }
+
+    /**
+     * Busca en la última consulta una reunión abierta y futura con el rol y el
+     * estado de la invitación indicados (null para cualquiera).
+     */
+    private Map<String, Object> findMeeting(String role, String invitationStatus) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> matches = new ArrayList<>();
+        for (Map<String, Object> meeting : this.meetings) {
+            Object fromDateTime = meeting.get("fromDateTime");
+            if (role.equals(meeting.get("role")) && "ABIERTA".equals(meeting.get("status"))
+                    && (invitationStatus == null || invitationStatus.equals(meeting.get("invitationStatus")))
+                    && fromDateTime != null && LocalDateTime.parse((String) fromDateTime).isAfter(now)) {
+                matches.add(meeting);
+            }
+        }
+        return matches.isEmpty() ? null : matches.get(this.random.nextInt(matches.size()));
+    }
+
+    /**
+     * Reunión de 30 o 60 minutos por la mañana con entre uno y cuatro invitados.
+     */
+    private Map<String, Object> meetingRequest(LocalDate day) {
+        LocalTime from = randomStart();
+        boolean online = this.random.nextInt(5) < 2;
+        List<String> participants = new ArrayList<>();
+        int invitees = 1 + this.random.nextInt(4);
+        while (participants.size() < invitees) {
+            String email = randomUserEmail();
+            if (!email.equals(userEmail(this.userNumber)) && !participants.contains(email)) {
+                participants.add(email);
+            }
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("subject", "Prueba de carga");
+        body.put("allDayLong", false);
+        body.put("date", day.toString());
+        body.put("fromTime", from.toString());
+        body.put("toTime", from.plusMinutes(randomDuration()).toString());
+        body.put("isOnline", online);
+        body.put("location", online ? null : LOCATIONS[this.random.nextInt(LOCATIONS.length)]);
+        body.put("observations", null);
+        body.put("participants", participants);
+        return body;
+    }
+
+    /**
+     * Inicio entre las 9:00 y las 12:30, dentro del bloque de mañana del horario
+     * laboral que crea el generador.
+     */
+    private LocalTime randomStart() {
+        return LocalTime.of(9, 0).plusMinutes(30L * this.random.nextInt(8));
+    }
+
+    private long randomDuration() {
+        return this.random.nextBoolean() ? 30 : 60;
+    }
+}
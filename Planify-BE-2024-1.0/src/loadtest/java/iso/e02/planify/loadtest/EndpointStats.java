@@ -0,0 +1,86 @@
+package iso.e02.planify.loadtest;
+
+// imports de java
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencias y errores de un endpoint. Cada usuario virtual tiene las suyas
+ * (sin sincronización) y al final se juntan con merge.
+ */
+final class EndpointStats {
+
+    static final int CONNECTION_ERROR = 0; // Estado de las peticiones que no han obtenido respuesta
+    static final int INVALID_RESPONSE = -1; // Estado de las respuestas que el usuario virtual no ha podido interpretar
+
+    private long[] latencies = new long[256]; // Nanosegundos de cada petición
+    private int count;
+    private int errors;
+    private final Map<Integer, Integer> errorsByStatus = new TreeMap<>();
+    private boolean sorted;
+
+    /**
+     * Registra una petición. Es un error cualquier respuesta que no sea 2xx.
+     */
+    void record(long nanos, int status) {
+        if (this.count == this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.count * 2);
+        }
+        this.latencies[this.count++] = nanos;
+        this.sorted = false;
+        if (status < 200 || status >= 300) {
+            this.errors++;
+            this.errorsByStatus.merge(status, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Marca como error la última petición registrada porque su respuesta no se
+     * ha podido interpretar (JSON no válido o con campos de otro tipo).
+     */
+    void recordInvalidResponse() {
+        this.errors++;
+        this.errorsByStatus.merge(INVALID_RESPONSE, 1, Integer::sum);
+    }
+
+    void merge(EndpointStats other) {
+        if (this.count + other.count > this.latencies.length) {
+            this.latencies = Arrays.copyOf(this.latencies, this.count + other.count);
+        }
+        System.arraycopy(other.latencies, 0, this.latencies, this.count, other.count);
+        this.count += other.count;
+        this.errors += other.errors;
+        other.errorsByStatus.forEach((status, n) -> this.errorsByStatus.merge(status, n, Integer::sum));
+        this.sorted = false;
+    }
+
+    int getCount() {
+        return this.count;
+    }
+
+    int getErrors() {
+        return this.errors;
+    }
+
+    Map<Integer, Integer> getErrorsByStatus() {
+        return this.errorsByStatus;
+    }
+
+    /**
+     * Percentil por el método del rango más cercano, en milisegundos.
+     *
+     * @param percentile entre 0 y 100.
+     */
+    double percentileMillis(double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+        if (!this.sorted) {
+            Arrays.sort(this.latencies, 0, this.count);
+            this.sorted = true;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * this.count);
+        return this.latencies[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
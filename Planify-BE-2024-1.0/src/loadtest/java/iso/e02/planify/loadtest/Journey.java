@@ -0,0 +1,175 @@
+package iso.e02.planify.loadtest;
+
+// imports de java
+import java.net.http.HttpResponse;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// imports de googleauth
+import com.warrenstrange.googleauth.GoogleAuthenticator;
+
+/**
+ * Recorrido de un usuario virtual: inicia sesión y hace acciones al azar
+ * (según el tipo de usuario) con una pausa entre ellas, volviendo a iniciar
+ * sesión cada options.sessionActions acciones, hasta que se acaba el tiempo.
+ *
+ * Una respuesta que no se puede interpretar (un cuerpo que no es JSON o un
+ * campo de otro tipo) no termina el recorrido: se cuenta como error del
+ * endpoint que la ha devuelto y se sigue con la siguiente acción.
+ */
+abstract class Journey implements Runnable {
+
+    private static final GoogleAuthenticator TOTP = new GoogleAuthenticator();
+
+    protected final LoadTestOptions options;
+    protected final PlanifyClient client;
+    protected final SplittableRandom random;
+    private final long end;
+
+    Journey(LoadTestOptions options, PlanifyClient client, long seed, long end) {
+        this.options = options;
+        this.client = client;
+        this.random = new SplittableRandom(seed);
+        this.end = end;
+    }
+
+    /**
+     * Inicia sesión.
+     *
+     * @return true si se ha obtenido el JWT.
+     */
+    protected abstract boolean login();
+
+    /**
+     * Hace una acción al azar.
+     */
+    protected abstract void step();
+
+    @Override
+    public void run() {
+        while (!finished()) {
+            if (!safeLogin()) {
+                pause(1000); // Evitar un bucle de inicios de sesión fallidos
+                continue;
+            }
+            for (int i = 0; i < this.options.sessionActions && !finished(); i++) {
+                try {
+                    step();
+                } catch (RuntimeException e) {
+                    this.client.recordInvalidResponse();
+                }
+                pause(this.options.thinkMillis);
+            }
+            this.client.setAuthorization(null);
+        }
+    }
+
+    private boolean safeLogin() {
+        try {
+            return login();
+        } catch (RuntimeException e) {
+            this.client.recordInvalidResponse();
+            this.client.setAuthorization(null);
+            return false;
+        }
+    }
+
+    /**
+     * Inicio de sesión con email y contraseña. Los administradores reciben el
+     * JWT directamente; los usuarios comunes tras verificar el código de doble
+     * factor.
+     *
+     * @return el id del usuario, o null si ha fallado.
+     */
+    protected Long loginWithPassword(String email, boolean secondFactor) {
+        HttpResponse<String> response = this.client.send("PUT /users/login", "PUT", "/users/login",
+                Map.of("email", email, "password", this.options.password));
+        if (!PlanifyClient.isOk(response)) {
+            return null;
+        }
+        Long userId = ((Number) PlanifyClient.readObject(response).get("id")).longValue();
+        if (secondFactor) {
+            int code = TOTP.getTotpPassword(this.options.totpSecret);
+            response = this.client.send("PUT /users/{id}/second-factor-verify/{code}", "PUT",
+                    "/users/" + userId + "/second-factor-verify/" + code, null);
+            if (!PlanifyClient.isOk(response)) {
+                return null;
+            }
+        }
+        String authorization = response.headers().firstValue("Authorization").orElse(null);
+        this.client.setAuthorization(authorization);
+        return authorization == null ? null : userId;
+    }
+
+    /**
+     * Email de un usuario común activo y sin bloquear, al azar.
+     */
+    protected String randomUserEmail() {
+        return userEmail(randomUserNumber());
+    }
+
+    /**
+     * Número de un usuario común activo y sin bloquear, al azar (el generador
+     * bloquea los usuarios con N % 100 == 98 y deja sin activar los de 99).
+     */
+    protected int randomUserNumber() {
+        int number;
+        do {
+            number = 1 + this.random.nextInt(this.options.users);
+        } while (number % 100 == 98 || number % 100 == 99);
+        return number;
+    }
+
+    static String userEmail(int number) {
+        return "usuario" + number + "@perf.planify.es";
+    }
+
+    /**
+     * Día laborable entre mañana y dentro de unos tres meses (las reuniones
+     * tienen que ser posteriores a hoy).
+     */
+    protected LocalDate randomFutureWorkingDay() {
+        LocalDate day;
+        do {
+            day = LocalDate.now().plusDays(1L + this.random.nextInt(90));
+        } while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY);
+        return day;
+    }
+
+    /**
+     * Elige una opción al azar según sus pesos.
+     *
+     * @return el índice de la opción elegida.
+     */
+    protected int choose(int... weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int value = this.random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            value -= weights[i];
+            if (value < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private boolean finished() {
+        return System.nanoTime() >= this.end || Thread.currentThread().isInterrupted();
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package iso.e02.planify.loadtest;
+
+// imports de java
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// imports de jackson
+import com.fasterxml.jackson.core.type.TypeReference;
+
+/**
+ * Prueba de carga de extremo a extremo: lanza usuarios virtuales que recorren
+ * la aplicación por HTTP (usuarios comunes y administradores), mide la
+ * latencia, el rendimiento y los errores de cada endpoint y compara los
+ * resultados con los de una ejecución de referencia.
+ *
+ * La aplicación tiene que estar arrancada con el perfil perf (mvn -Pperf
+ * spring-boot:run), que genera los usuarios con la contraseña y el secreto de
+ * doble factor conocidos. Uso:
+ *
+ * mvn -Ploadtest compile exec:exec -Dloadtest.args="--duration=120 --save-baseline"
+ *
+ * Termina con código 1 si algún endpoint ha empeorado más de lo permitido
+ * respecto a la referencia.
+ */
+public final class LoadTest {
+
+    private static final double MAX_ERROR_RATE_INCREASE = 0.01; // Un punto porcentual
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Map<String, EndpointStats> stats = run(options);
+        Map<String, Map<String, Object>> summary = summarize(stats, options.duration);
+
+        printReport(summary);
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("date", LocalDateTime.now().toString());
+        results.put("baseUrl", options.baseUrl);
+        results.put("virtualUsers", options.virtualUsers);
+        results.put("virtualAdministrators", options.virtualAdministrators);
+        results.put("durationSeconds", options.duration.toSeconds());
+        results.put("thinkMillis", options.thinkMillis);
+        results.put("endpoints", summary);
+        write(options.results, results);
+        System.out.println("Resultados guardados en " + options.results.toAbsolutePath());
+
+        if (options.saveBaseline) {
+            write(options.baseline, results);
+            System.out.println("Referencia guardada en " + options.baseline.toAbsolutePath());
+        } else if (Files.exists(options.baseline)) {
+            Map<String, Object> baseline = PlanifyClient.JSON.readValue(options.baseline.toFile(),
+                    new TypeReference<Map<String, Object>>() {
+                    });
+            @SuppressWarnings("unchecked")
+            Map<String, Map<String, Object>> baselineSummary = (Map<String, Map<String, Object>>) baseline
+                    .get("endpoints");
+            List<String> regressions = compare(baselineSummary, summary, options.tolerance);
+            if (!regressions.isEmpty()) {
+                System.out.println("Empeoramientos respecto a " + options.baseline + ":");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                System.exit(1);
+            }
+            System.out.println("Sin empeoramientos respecto a " + options.baseline);
+        } else {
+            System.out.println("No hay referencia en " + options.baseline + " (usa --save-baseline para crearla)");
+        }
+    }
+
+    /**
+     * Lanza los usuarios virtuales, espera a que terminen y junta sus
+     * estadísticas por endpoint. Los primeros options.virtualAdministrators son
+     * administradores y cada usuario virtual usa una cuenta distinta.
+     */
+    static Map<String, EndpointStats> run(LoadTestOptions options) throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long measureFrom = System.nanoTime() + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+
+        SplittableRandom accounts = new SplittableRandom(options.seed);
+        Set<Integer> usedUsers = new HashSet<>();
+        List<PlanifyClient> clients = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(options.virtualUsers);
+        for (int i = 0; i < options.virtualUsers; i++) {
+            PlanifyClient client = new PlanifyClient(http, options.baseUrl, measureFrom);
+            clients.add(client);
+            long seed = options.seed + i;
+            if (i < options.virtualAdministrators) {
+                executor.execute(new AdministratorJourney(options, client, seed, end,
+                        1 + i % options.administrators));
+            } else {
+                executor.execute(new CommonUserJourney(options, client, seed, end,
+                        uniqueUserNumber(accounts, usedUsers, options.users)));
+            }
+        }
+        System.out.printf("%d usuarios virtuales (%d administradores) contra %s: %d s de calentamiento y %d s medidos%n",
+                options.virtualUsers, options.virtualAdministrators, options.baseUrl,
+                options.warmup.toSeconds(), options.duration.toSeconds());
+
+        executor.shutdown();
+        if (!executor.awaitTermination(options.warmup.plus(options.duration).toSeconds() + 60, TimeUnit.SECONDS)) {
+            executor.shutdownNow(); // Peticiones colgadas más allá del tiempo de espera
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        Map<String, EndpointStats> merged = new TreeMap<>();
+        for (PlanifyClient client : clients) {
+            client.getStats().forEach((endpoint, endpointStats) -> merged
+                    .computeIfAbsent(endpoint, key -> new EndpointStats()).merge(endpointStats));
+        }
+        return merged;
+    }
+
+    /**
+     * Usuario común activo y sin bloquear que no usa otro usuario virtual (dos
+     * sesiones con la misma cuenta se pisarían el JWT).
+     */
+    private static int uniqueUserNumber(SplittableRandom random, Set<Integer> used, int users) {
+        int number;
+        do {
+            number = 1 + random.nextInt(users);
+        } while (number % 100 == 98 || number % 100 == 99 || !used.add(number));
+        return number;
+    }
+
+    /**
+     * Resume las estadísticas de cada endpoint y del total.
+     */
+    static Map<String, Map<String, Object>> summarize(Map<String, EndpointStats> stats, Duration duration) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        EndpointStats total = new EndpointStats();
+        stats.forEach((endpoint, endpointStats) -> {
+            summary.put(endpoint, summarize(endpointStats, duration));
+            total.merge(endpointStats);
+        });
+        summary.put("TOTAL", summarize(total, duration));
+        return summary;
+    }
+
+    private static Map<String, Object> summarize(EndpointStats stats, Duration duration) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", stats.getCount());
+        summary.put("errors", stats.getErrors());
+        summary.put("errorRate", stats.getCount() == 0 ? 0.0 : (double) stats.getErrors() / stats.getCount());
+        Map<String, Integer> errorsByStatus = new LinkedHashMap<>();
+        stats.getErrorsByStatus().forEach((status, n) -> errorsByStatus.put(String.valueOf(status), n));
+        summary.put("errorsByStatus", errorsByStatus);
+        summary.put("throughput", stats.getCount() / (double) duration.toSeconds());
+        summary.put("p50", stats.percentileMillis(50));
+        summary.put("p95", stats.percentileMillis(95));
+        summary.put("p99", stats.percentileMillis(99));
+        summary.put("max", stats.percentileMillis(100));
+        return summary;
+    }
+
+    private static void printReport(Map<String, Map<String, Object>> summary) {
+        System.out.printf("%n%-45s %8s %8s %8s %9s %9s %9s %9s  %s%n", "Endpoint", "Peticiones", "Errores",
+                "Req/s", "p50 ms", "p95 ms", "p99 ms", "Máx ms", "Errores por estado");
+        summary.forEach((endpoint, row) -> System.out.printf("%-45s %8d %7.2f%% %8.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                endpoint, row.get("requests"), 100 * (double) row.get("errorRate"), row.get("throughput"),
+                row.get("p50"), row.get("p95"), row.get("p99"), row.get("max"), row.get("errorsByStatus")));
+        System.out.println();
+    }
+
+    /**
+     * Compara cada endpoint con la referencia: empeora si su p95 o su p99 crecen
+     * o su rendimiento baja más de la tolerancia, o si su tasa de errores sube
+     * más de un punto porcentual. Los endpoints que no están en la referencia
+     * no se comparan.
+     *
+     * @return la descripción de cada empeoramiento.
+     */
+    static List<String> compare(Map<String, Map<String, Object>> baseline, Map<String, Map<String, Object>> current,
+            double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        current.forEach((endpoint, row) -> {
+            Map<String, Object> reference = baseline.get(endpoint);
+            if (reference == null) {
+                return;
+            }
+            for (String percentile : new String[] { "p95", "p99" }) {
+                double before = number(reference, percentile);
+                double after = number(row, percentile);
+                if (after > before * (1 + tolerance)) {
+                    regressions.add(String.format("%s: %s %.1f ms -> %.1f ms", endpoint, percentile, before, after));
+                }
+            }
+            double throughputBefore = number(reference, "throughput");
+            double throughputAfter = number(row, "throughput");
+            if (throughputAfter < throughputBefore * (1 - tolerance)) {
+                regressions.add(String.format("%s: %.1f req/s -> %.1f req/s", endpoint, throughputBefore,
+                        throughputAfter));
+            }
+            double errorRateBefore = number(reference, "errorRate");
+            double errorRateAfter = number(row, "errorRate");
+            if (errorRateAfter > errorRateBefore + MAX_ERROR_RATE_INCREASE) {
+                regressions.add(String.format("%s: errores %.2f%% -> %.2f%%", endpoint, 100 * errorRateBefore,
+                        100 * errorRateAfter));
+            }
+        });
+        return regressions;
+    }
+
+    private static double number(Map<String, Object> row, String key) {
+        Object value = row.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static void write(Path file, Map<String, Object> results) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        PlanifyClient.JSON.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), results);
+    }
+}
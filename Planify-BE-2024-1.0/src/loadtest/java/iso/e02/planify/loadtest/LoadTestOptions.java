@@ -0,0 +1,72 @@
+package iso.e02.planify.loadtest;
+
+// imports de java
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Opciones de la prueba de carga, leídas de argumentos --nombre=valor. Los
+ * valores por defecto son los del perfil perf (application-perf.properties).
+ */
+final class LoadTestOptions {
+
+    String baseUrl = "http://localhost:8080"; // Aplicación arrancada con mvn -Pperf spring-boot:run
+    int virtualUsers = 40; // Usuarios simultáneos (incluidos los administradores)
+    int virtualAdministrators = 4; // Cuántos de ellos son administradores
+    Duration warmup = Duration.ofSeconds(20); // Tiempo inicial que no se mide
+    Duration duration = Duration.ofSeconds(60); // Tiempo medido
+    long thinkMillis = 200; // Pausa entre acciones de un usuario
+    int sessionActions = 30; // Acciones por sesión antes de volver a iniciar sesión
+    long seed = 1; // Semilla de las decisiones de los usuarios
+    int users = 10000; // Usuarios comunes generados (planify.perf.users)
+    int administrators = 20; // Administradores generados (planify.perf.administrators)
+    String password = "Perf_Planify_2024"; // planify.perf.password
+    String totpSecret = "JBSWY3DPEHPK3PXP"; // planify.perf.totp-secret
+    Path baseline = Path.of("loadtest-baseline.json"); // Resultados con los que se compara
+    boolean saveBaseline = false; // Guardar los resultados como nueva referencia
+    double tolerance = 0.2; // Empeoramiento de p95/p99 permitido respecto a la referencia
+    Path results = Path.of("target", "loadtest", "last-run.json"); // Resultados de la última ejecución
+
+    private LoadTestOptions() {
+    }
+
+    /**
+     * Lee las opciones de los argumentos.
+     *
+     * @throws IllegalArgumentException si alguna opción no existe o no es válida.
+     */
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Opción no válida: " + arg);
+            }
+            String name = equals < 0 ? arg.substring(2) : arg.substring(2, equals);
+            String value = equals < 0 ? "true" : arg.substring(equals + 1);
+            switch (name) {
+                case "base-url" -> options.baseUrl = value;
+                case "virtual-users" -> options.virtualUsers = Integer.parseInt(value);
+                case "virtual-administrators" -> options.virtualAdministrators = Integer.parseInt(value);
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "think-ms" -> options.thinkMillis = Long.parseLong(value);
+                case "session-actions" -> options.sessionActions = Integer.parseInt(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "users" -> options.users = Integer.parseInt(value);
+                case "administrators" -> options.administrators = Integer.parseInt(value);
+                case "password" -> options.password = value;
+                case "totp-secret" -> options.totpSecret = value;
+                case "baseline" -> options.baseline = Path.of(value);
+                case "save-baseline" -> options.saveBaseline = Boolean.parseBoolean(value);
+                case "tolerance" -> options.tolerance = Double.parseDouble(value);
+                case "results" -> options.results = Path.of(value);
+                default -> throw new IllegalArgumentException("Opción desconocida: --" + name);
+            }
+        }
+        if (options.virtualAdministrators > options.virtualUsers) {
+            throw new IllegalArgumentException("Hay más administradores que usuarios virtuales");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,135 @@
+package iso.e02.planify.loadtest;
+
+// imports de java
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// imports de jackson
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Cliente HTTP de un usuario virtual. Guarda el JWT de la sesión y mide cada
+ * petición en las estadísticas de su endpoint (la ruta con los identificadores
+ * sustituidos, por ejemplo PATCH /meetings/{id}/edit). Las peticiones
+ * anteriores a measureFrom (calentamiento) no se registran.
+ *
+ * Si el usuario virtual no puede interpretar una respuesta, el error se
+ * atribuye al endpoint de la última petición con recordInvalidResponse.
+ */
+final class PlanifyClient {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final long measureFrom;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private String authorization; // Cabecera Authorization de la sesión
+    private EndpointStats lastStats; // Estadísticas de la última petición registrada, o null
+
+    PlanifyClient(HttpClient http, String baseUrl, long measureFrom) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.measureFrom = measureFrom;
+    }
+
+    Map<String, EndpointStats> getStats() {
+        return this.stats;
+    }
+
+    void setAuthorization(String authorization) {
+        this.authorization = authorization;
+    }
+
+    /**
+     * Envía una petición y la registra.
+     *
+     * @param endpoint nombre del endpoint en las estadísticas.
+     * @param method   método HTTP.
+     * @param path     ruta con la query string.
+     * @param body     objeto que se envía como JSON, o null.
+     * @return la respuesta, o null si no se ha podido conectar.
+     */
+    HttpResponse<String> send(String endpoint, String method, String path, Object body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(this.baseUrl + path)).timeout(TIMEOUT);
+        if (this.authorization != null) {
+            request.header("Authorization", this.authorization);
+        }
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json");
+            request.method(method, HttpRequest.BodyPublishers.ofString(toJson(body)));
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = this.http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            response = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        long end = System.nanoTime();
+        this.lastStats = null;
+        if (start >= this.measureFrom) {
+            this.lastStats = this.stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+            this.lastStats.record(end - start, response == null ? EndpointStats.CONNECTION_ERROR : response.statusCode());
+        }
+        return response;
+    }
+
+    /**
+     * Cuenta como error la última petición, cuya respuesta no se ha podido
+     * interpretar. Solo se cuenta una vez por petición.
+     */
+    void recordInvalidResponse() {
+        if (this.lastStats != null) {
+            this.lastStats.recordInvalidResponse();
+            this.lastStats = null;
+        }
+    }
+
+    static boolean isOk(HttpResponse<String> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+
+    static Map<String, Object> readObject(HttpResponse<String> response) {
+        return read(response.body(), new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    static List<Map<String, Object>> readList(HttpResponse<String> response) {
+        return read(response.body(), new TypeReference<List<Map<String, Object>>>() {
+        });
+    }
+
+    private static <T> T read(String json, TypeReference<T> type) {
+        try {
+            return JSON.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Respuesta JSON no válida: " + json, e);
+        }
+    }
+
+    private static String toJson(Object body) {
+        try {
+            return JSON.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.web.servlet.ServletComponentScan;
 import org.springframework.boot.web.servlet.support.SpringBootServletInitializer;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import iso.e02.planify.config.SystemPropertiesConfig;
 
@@ -14,6 +15,7 @@ import iso.e02.planify.config.SystemPropertiesConfig;
  */
 @SpringBootApplication
 @ServletComponentScan
+@EnableScheduling // Tareas periódicas, como la limpieza de bloqueos de IP
 public class App extends SpringBootServletInitializer {
 
     /**
@@ -24,7 +26,7 @@ public class App extends SpringBootServletInitializer {
      */
     public static void main(String[] args) {
         // Cargar las propiedades del sistema antes de iniciar la aplicación.
-        SystemPropertiesConfig.loadSystemProperties();
+        SystemPropertiesConfig.loadSystemProperties(args);
 
         // Iniciar la aplicación con Spring Boot.
         SpringApplication.run(App.class, args);
@@ -0,0 +1,470 @@
+package iso.e02.planify.config;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.Absence;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance;
+import iso.e02.planify.services.ValidateUserService;
+
+// imports de java
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// imports de hibernate
+import org.hibernate.Cache;
+
+// imports de jakarta
+import jakarta.persistence.EntityManagerFactory;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generador de datos sintéticos del perfil perf.
+ *
+ * Al arrancar con la base de datos vacía la llena con usuarios, reuniones y
+ * ausencias del tamaño de producción (por defecto 10.000 usuarios, 1.000.000
+ * de asistencias a reuniones y 100.000 ausencias), insertados por JDBC en
+ * lotes. Con la misma semilla se generan siempre los mismos datos:
+ * <ul>
+ * <li>Usuarios usuarioN@perf.planify.es (N desde 1) y administradores
+ * adminN@perf.planify.es, todos con la misma contraseña y la misma clave de
+ * doble factor. Los usuarios con N % 100 == 98 están bloqueados y los que
+ * tienen N % 100 == 99 sin activar.</li>
+ * <li>Reuniones en días laborables dentro del horario laboral (8:00-14:00 y
+ * 15:00-20:00, que se crea si no hay ninguno). El 20 % de los usuarios
+ * organiza el 60 % de las reuniones, la mayoría de invitados son del mismo
+ * departamento que el organizador y el número de invitados sigue una
+ * distribución geométrica. La primera mitad del periodo se considera pasada:
+ * sus reuniones están casi todas cerradas y con la asistencia registrada.</li>
+ * <li>Ausencias de vacaciones y bajas de días completos y permisos de unas
+ * horas.</li>
+ * </ul>
+ * No se evitan los solapes entre reuniones y ausencias de un mismo usuario.
+ */
+@Component
+@Profile("perf")
+public class PerfDataGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(PerfDataGenerator.class.getName());
+
+    private static final String[] NAMES = { "María", "Carmen", "Ana", "Laura", "Lucía", "Elena", "Marta", "Sara",
+            "Paula", "Cristina", "Antonio", "Manuel", "José", "Francisco", "David", "Javier", "Daniel", "Carlos",
+            "Miguel", "Alejandro" };
+    private static final String[] SURNAMES = { "García", "Rodríguez", "González", "Fernández", "López", "Martínez",
+            "Sánchez", "Pérez", "Gómez", "Martín", "Jiménez", "Ruiz", "Hernández", "Díaz", "Moreno", "Muñoz",
+            "Álvarez", "Romero", "Alonso", "Gutiérrez", "Navarro", "Torres", "Domínguez", "Vázquez", "Ramos" };
+    private static final String[] CENTRES = { "ESI", "ESI", "ESI", "Politécnico", "Politécnico", "ALU",
+            "Facultad de Letras", "Facultad de Ciencias Sociales" };
+    private static final String[] DEPARTMENTS = { "Tecnologías y Sistemas de Información", "Informática",
+            "Matemáticas", "Ingeniería Eléctrica", "Física Aplicada", "Química", "Ingeniería Civil",
+            "Filología Hispánica", "Historia", "Economía", "Administración", "Biblioteca" };
+    private static final String[] PROFILES = { "Profesor", "Profesor", "Profesor", "Investigador", "Investigador",
+            "PAS", "Becario" };
+    private static final String[] SUBJECTS = { "Reunión de departamento", "Seguimiento de proyecto",
+            "Revisión de TFG", "Comisión académica", "Tutoría", "Planificación del curso", "Reunión de grupo",
+            "Consejo de centro" };
+    private static final String[] DECLINE_REASONS = { "Tengo otra reunión", "Estoy de viaje", "Clase a esa hora",
+            "Motivos personales" };
+    private static final Meeting.Location[] LOCATIONS = Meeting.Location.values();
+
+    private static final int MAX_INVITEES = 15; // Invitados por reunión, sin contar al organizador
+    private static final double MORE_INVITEES = 0.7; // Probabilidad de añadir otro invitado (media de ~3,3)
+    private static final int[] DURATIONS = { 30, 60, 60, 60, 90, 120 }; // Duración de las reuniones en minutos
+
+    private static final LocalTime MORNING_START = LocalTime.of(8, 0);
+    private static final LocalTime MORNING_END = LocalTime.of(14, 0);
+    private static final LocalTime AFTERNOON_START = LocalTime.of(15, 0);
+    private static final LocalTime AFTERNOON_END = LocalTime.of(20, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Inserciones por lotes
+
+    @Autowired
+    private ValidateUserService validateUserService; // Para el hash de la contraseña común
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory; // Para vaciar la caché de segundo nivel tras generar
+
+    @Value("${planify.perf.generate:true}")
+    private boolean enabled; // Generar los datos si la base de datos está vacía
+
+    @Value("${planify.perf.seed:20241}")
+    private long seed; // Semilla de los datos
+
+    @Value("${planify.perf.users:10000}")
+    private int users; // Usuarios comunes
+
+    @Value("${planify.perf.administrators:20}")
+    private int administrators; // Administradores
+
+    @Value("${planify.perf.meeting-attendances:1000000}")
+    private int meetingAttendances; // Filas de meeting_attendance (organizadores incluidos)
+
+    @Value("${planify.perf.absences:100000}")
+    private int absences; // Ausencias
+
+    @Value("${planify.perf.first-day:2024-09-02}")
+    private String firstDay; // Primer día del periodo con reuniones y ausencias
+
+    @Value("${planify.perf.days:365}")
+    private int days; // Duración del periodo en días
+
+    @Value("${planify.perf.batch-size:1000}")
+    private int batchSize; // Filas por lote de inserción
+
+    @Value("${planify.perf.password:Perf_Planify_2024}")
+    private String password; // Contraseña de todos los usuarios
+
+    @Value("${planify.perf.totp-secret:JBSWY3DPEHPK3PXP}")
+    private String totpSecret; // Clave de doble factor de todos los usuarios
+
+    /**
+     * Genera los datos al arrancar si está activado y no hay usuarios.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateIfEmpty() {
+        if (!this.enabled) {
+            return;
+        }
+        Integer existingUsers = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_user", Integer.class);
+        if (existingUsers != null && existingUsers > 0) {
+            LOGGER.log(Level.INFO, "La base de datos ya tiene {0} usuarios: no se generan datos", existingUsers);
+            return;
+        }
+        long start = System.nanoTime();
+        generate();
+        // Los datos se escriben por JDBC, así que Hibernate no actualiza la caché de segundo nivel
+        this.entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        LOGGER.log(Level.INFO, "Datos sintéticos generados en {0} s",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+    /**
+     * Inserta todos los datos. Los identificadores se asignan aquí (empezando
+     * en 1) y al final se ajustan las columnas de identidad para que las filas
+     * que cree la aplicación sigan a continuación.
+     */
+    void generate() {
+        SplittableRandom random = new SplittableRandom(this.seed);
+        insertWorkSchedule();
+        int[] departmentOf = insertUsers(random);
+        insertAdministrators(random);
+        long meetings = insertMeetings(random, departmentOf);
+        insertAbsences(random);
+
+        restartIdentity("credentials", this.users + this.administrators + 1L);
+        restartIdentity("app_user", this.users + this.administrators + 1L);
+        restartIdentity("meeting", meetings + 1);
+        restartIdentity("meeting_attendance", this.meetingAttendances + 1L);
+        restartIdentity("absence", this.absences + 1L);
+    }
+
+    private void insertWorkSchedule() {
+        Integer blocks = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schedule", Integer.class);
+        if (blocks == null || blocks == 0) {
+            this.jdbcTemplate.update("INSERT INTO schedule (block_name, start_hour, end_hour) VALUES (?, ?, ?)",
+                    "Mañana", MORNING_START, MORNING_END);
+            this.jdbcTemplate.update("INSERT INTO schedule (block_name, start_hour, end_hour) VALUES (?, ?, ?)",
+                    "Tarde", AFTERNOON_START, AFTERNOON_END);
+        }
+    }
+
+    /**
+     * Inserta los usuarios comunes con sus credenciales.
+     *
+     * @return el índice del departamento de cada usuario (posición id - 1).
+     */
+    private int[] insertUsers(SplittableRandom random) {
+        String passwordHash = this.validateUserService.hashPassword(this.password);
+        LocalDate first = LocalDate.parse(this.firstDay);
+        int[] departmentOf = new int[this.users];
+
+        Batch credentials = new Batch("INSERT INTO credentials (id, password, secret_key) VALUES (?, ?, ?)", null);
+        Batch appUsers = new Batch("INSERT INTO app_user (id, dtype, name, surnames, email, centre, credentialsid)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", credentials);
+        Batch commonUsers = new Batch("INSERT INTO common_user (id, registration_date, department, profile,"
+                + " activated, blocked, login_attempts) VALUES (?, ?, ?, ?, ?, ?, ?)", appUsers);
+        for (int i = 1; i <= this.users; i++) {
+            long id = i;
+            int department = skewed(random, DEPARTMENTS.length);
+            departmentOf[i - 1] = department;
+            credentials.add(id, passwordHash, this.totpSecret);
+            appUsers.add(id, "CommonUser", pick(random, NAMES), pick(random, SURNAMES) + " " + pick(random, SURNAMES),
+                    "usuario" + i + "@perf.planify.es", pick(random, CENTRES), id);
+            commonUsers.add(id, first.minusDays(random.nextInt(1460)), DEPARTMENTS[department],
+                    pick(random, PROFILES), i % 100 != 99, i % 100 == 98, 0);
+        }
+        commonUsers.flush();
+        LOGGER.log(Level.INFO, "Generados {0} usuarios", this.users);
+        return departmentOf;
+    }
+
+    private void insertAdministrators(SplittableRandom random) {
+        String passwordHash = this.validateUserService.hashPassword(this.password);
+        Batch credentials = new Batch("INSERT INTO credentials (id, password, secret_key) VALUES (?, ?, ?)", null);
+        Batch appUsers = new Batch("INSERT INTO app_user (id, dtype, name, surnames, email, centre, credentialsid)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?)", credentials);
+        Batch admins = new Batch("INSERT INTO administrator (id, internal) VALUES (?, ?)", appUsers);
+        for (int i = 1; i <= this.administrators; i++) {
+            long id = (long) this.users + i;
+            credentials.add(id, passwordHash, this.totpSecret);
+            appUsers.add(id, "Administrator", pick(random, NAMES), pick(random, SURNAMES) + " " + pick(random, SURNAMES),
+                    "admin" + i + "@perf.planify.es", pick(random, CENTRES), id);
+            admins.add(id, random.nextInt(4) != 0);
+        }
+        admins.flush();
+    }
+
+    /**
+     * Inserta reuniones hasta llegar al número de asistencias configurado.
+     *
+     * @return el número de reuniones insertadas.
+     */
+    private long insertMeetings(SplittableRandom random, int[] departmentOf) {
+        int[][] usersByDepartment = groupByDepartment(departmentOf);
+        LocalDate first = LocalDate.parse(this.firstDay);
+        LocalDate today = first.plusDays(this.days / 2L); // Las reuniones anteriores ya se han celebrado
+
+        Batch meetings = new Batch("INSERT INTO meeting (id, subject, all_day_long, from_date_time, to_date_time,"
+                + " is_online, location, observations, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", null);
+        Batch attendances = new Batch("INSERT INTO meeting_attendance (id, user_id, meeting_id, invitation_status,"
+                + " decline_reason, has_assisted, role) VALUES (?, ?, ?, ?, ?, ?, ?)", meetings);
+
+        long meetingId = 0;
+        long attendanceId = 0;
+        int[] participants = new int[MAX_INVITEES + 1];
+        while (attendanceId < this.meetingAttendances) {
+            meetingId++;
+            LocalDate day = workingDay(random, first);
+            boolean past = day.isBefore(today);
+            Meeting.Status status = meetingStatus(random, past);
+
+            boolean allDayLong = random.nextInt(50) == 0;
+            LocalDateTime fromDateTime;
+            LocalDateTime toDateTime;
+            if (allDayLong) {
+                fromDateTime = day.atStartOfDay();
+                toDateTime = day.atTime(23, 59, 59);
+            } else {
+                fromDateTime = day.atTime(meetingStart(random));
+                toDateTime = fromDateTime.plusMinutes(DURATIONS[random.nextInt(DURATIONS.length)]);
+                if (toDateTime.toLocalTime().isAfter(blockEnd(fromDateTime.toLocalTime()))) {
+                    toDateTime = day.atTime(blockEnd(fromDateTime.toLocalTime()));
+                }
+            }
+            boolean online = random.nextInt(5) < 2;
+            meetings.add(meetingId, pick(random, SUBJECTS), allDayLong, fromDateTime, toDateTime, online,
+                    online ? null : pick(random, LOCATIONS).name(),
+                    random.nextInt(5) == 0 ? "Observaciones de la reunión " + meetingId : null, status.name());
+
+            // Organizador e invitados, sin repetir
+            int count = 0;
+            int organizer = organizer(random);
+            participants[count++] = organizer;
+            int invitees = 1;
+            while (invitees < MAX_INVITEES && random.nextDouble() < MORE_INVITEES) {
+                invitees++;
+            }
+            invitees = (int) Math.min(invitees, this.meetingAttendances - attendanceId - 1);
+            int[] colleagues = usersByDepartment[departmentOf[organizer]];
+            for (int attempt = 0; count <= invitees && attempt < invitees * 4; attempt++) {
+                int invitee = random.nextInt(10) < 7 ? colleagues[random.nextInt(colleagues.length)]
+                        : random.nextInt(this.users);
+                if (!contains(participants, count, invitee)) {
+                    participants[count++] = invitee;
+                }
+            }
+
+            for (int p = 0; p < count; p++) {
+                attendanceId++;
+                if (p == 0) {
+                    attendances.add(attendanceId, participants[p] + 1L, meetingId,
+                            MeetingAttendance.InvitationStatus.ACEPTADA.name(), null,
+                            status == Meeting.Status.CERRADA, MeetingAttendance.Role.ORGANIZADOR.name());
+                    continue;
+                }
+                MeetingAttendance.InvitationStatus invitationStatus = invitationStatus(random, past);
+                attendances.add(attendanceId, participants[p] + 1L, meetingId, invitationStatus.name(),
+                        invitationStatus == MeetingAttendance.InvitationStatus.RECHAZADA
+                                ? pick(random, DECLINE_REASONS) : null,
+                        status == Meeting.Status.CERRADA && invitationStatus == MeetingAttendance.InvitationStatus.ACEPTADA
+                                && random.nextInt(10) != 0,
+                        MeetingAttendance.Role.ASISTENTE.name());
+            }
+            if (attendanceId % 100000 < count) {
+                LOGGER.log(Level.INFO, "Generadas {0} asistencias a reuniones", attendanceId);
+            }
+        }
+        attendances.flush();
+        LOGGER.log(Level.INFO, "Generadas {0} reuniones con {1} asistencias", new Object[] { meetingId, attendanceId });
+        return meetingId;
+    }
+
+    private void insertAbsences(SplittableRandom random) {
+        LocalDate first = LocalDate.parse(this.firstDay);
+        Batch batch = new Batch("INSERT INTO absence (id, user_id, all_day_long, from_date_time, to_date_time,"
+                + " absence_type) VALUES (?, ?, ?, ?, ?, ?)", null);
+        for (int i = 1; i <= this.absences; i++) {
+            long userId = 1L + random.nextInt(this.users);
+            LocalDate day = first.plusDays(random.nextInt(this.days));
+            int type = random.nextInt(20);
+            if (type < 15) {
+                // Vacaciones (12 de cada 20) o baja, de uno o varios días completos. Como al
+                // crearlas desde la aplicación, se guardan desde el inicio del primer día
+                // hasta el inicio del último.
+                Absence.Type absenceType = type < 12 ? Absence.Type.VACACIONES : Absence.Type.BAJA;
+                int length = 1 + skewed(random, absenceType == Absence.Type.VACACIONES ? 10 : 15);
+                batch.add((long) i, userId, true, day.atStartOfDay(), day.plusDays(length - 1L).atStartOfDay(),
+                        absenceType.name());
+            } else {
+                // Permiso de unas horas
+                LocalDateTime fromDateTime = day.atTime(8 + random.nextInt(9), 0);
+                batch.add((long) i, userId, false, fromDateTime, fromDateTime.plusHours(1L + random.nextInt(4)),
+                        Absence.Type.PERMISO.name());
+            }
+        }
+        batch.flush();
+        LOGGER.log(Level.INFO, "Generadas {0} ausencias", this.absences);
+    }
+
+    private void restartIdentity(String table, long next) {
+        this.jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    private int[][] groupByDepartment(int[] departmentOf) {
+        int[] sizes = new int[DEPARTMENTS.length];
+        for (int department : departmentOf) {
+            sizes[department]++;
+        }
+        int[][] groups = new int[DEPARTMENTS.length][];
+        for (int d = 0; d < groups.length; d++) {
+            groups[d] = new int[sizes[d]];
+            sizes[d] = 0;
+        }
+        for (int user = 0; user < departmentOf.length; user++) {
+            int department = departmentOf[user];
+            groups[department][sizes[department]++] = user;
+        }
+        return groups;
+    }
+
+    /**
+     * Organizador de una reunión: el 60 % de las veces uno del primer 20 % de
+     * usuarios y el resto cualquiera.
+     */
+    private int organizer(SplittableRandom random) {
+        int frequentOrganizers = Math.max(1, this.users / 5);
+        return random.nextInt(5) < 3 ? random.nextInt(frequentOrganizers) : random.nextInt(this.users);
+    }
+
+    private LocalDate workingDay(SplittableRandom random, LocalDate first) {
+        LocalDate day;
+        do {
+            day = first.plusDays(random.nextInt(this.days));
+        } while (day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY);
+        return day;
+    }
+
+    /**
+     * Hora de inicio en punto o y media: tres de cada cuatro reuniones son de mañana.
+     */
+    private static LocalTime meetingStart(SplittableRandom random) {
+        if (random.nextInt(4) < 3) {
+            return MORNING_START.plusMinutes(30L * random.nextInt(11)); // 8:00 a 13:00
+        }
+        return AFTERNOON_START.plusMinutes(30L * random.nextInt(9)); // 15:00 a 19:00
+    }
+
+    private static LocalTime blockEnd(LocalTime start) {
+        return start.isBefore(MORNING_END) ? MORNING_END : AFTERNOON_END;
+    }
+
+    private static Meeting.Status meetingStatus(SplittableRandom random, boolean past) {
+        int value = random.nextInt(20);
+        if (value == 0) {
+            return Meeting.Status.CANCELADA;
+        }
+        return past && value > 3 ? Meeting.Status.CERRADA : Meeting.Status.ABIERTA;
+    }
+
+    private static MeetingAttendance.InvitationStatus invitationStatus(SplittableRandom random, boolean past) {
+        int value = random.nextInt(20);
+        int accepted = past ? 15 : 11;
+        int declined = past ? 18 : 13;
+        if (value < accepted) {
+            return MeetingAttendance.InvitationStatus.ACEPTADA;
+        }
+        return value < declined ? MeetingAttendance.InvitationStatus.RECHAZADA
+                : MeetingAttendance.InvitationStatus.PENDIENTE;
+    }
+
+    /**
+     * Índice entre 0 y size - 1 sesgado hacia los primeros valores.
+     */
+    private static int skewed(SplittableRandom random, int size) {
+        double value = random.nextDouble();
+        return (int) (size * value * value);
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lote de filas de una sentencia INSERT. Antes de insertar sus filas
+     * inserta las del lote del que dependen (las de la tabla referenciada).
+     */
+    private final class Batch {
+
+        private final String sql;
+        private final Batch parent;
+        private List<Object[]> rows;
+
+        private Batch(String sql, Batch parent) {
+            this.sql = sql;
+            this.parent = parent;
+            this.rows = new ArrayList<>(PerfDataGenerator.this.batchSize);
+        }
+
+        private void add(Object... row) {
+            this.rows.add(row);
+            if (this.rows.size() >= PerfDataGenerator.this.batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (this.parent != null) {
+                this.parent.flush();
+            }
+            if (!this.rows.isEmpty()) {
+                PerfDataGenerator.this.jdbcTemplate.batchUpdate(this.sql, this.rows);
+                this.rows = new ArrayList<>(PerfDataGenerator.this.batchSize);
+            }
+        }
+    }
+}
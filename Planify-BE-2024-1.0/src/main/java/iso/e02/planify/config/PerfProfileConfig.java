@@ -0,0 +1,43 @@
+package iso.e02.planify.config;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// imports de jakarta
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Configuración del perfil perf (application-perf.properties).
+ *
+ * En este perfil no hace falta un .env: las propiedades del sistema que lee la
+ * aplicación (clave de los JWT y remitente de los emails) toman valores de
+ * prueba si no vienen ya del .env o del entorno.
+ */
+@Configuration
+@Profile("perf")
+public class PerfProfileConfig {
+
+    @Value("${planify.perf.jwt-secret}")
+    private String jwtSecret; // Clave de prueba para firmar los JWT
+
+    @Value("${planify.perf.email-from}")
+    private String emailFrom; // Remitente de prueba de los emails
+
+    /**
+     * Asigna los valores de prueba a las propiedades del sistema que no estén
+     * definidas.
+     */
+    @PostConstruct
+    public void setDefaultSystemProperties() {
+        setIfAbsent("JWT_SECRET", this.jwtSecret);
+        setIfAbsent("EMAIL_FROM", this.emailFrom);
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
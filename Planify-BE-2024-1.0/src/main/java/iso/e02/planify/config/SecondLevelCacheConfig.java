@@ -0,0 +1,74 @@
+package iso.e02.planify.config;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.AppUser;
+
+// imports de java
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// imports de javax.cache
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+// imports de caffeine
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.configuration.TypesafeConfigurator;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// imports de hibernate
+import org.hibernate.cache.jcache.ConfigSettings;
+
+// imports de spring
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate.
+ *
+ * Las regiones con tamaño y caducidad propios se crean aquí y se le pasa a
+ * Hibernate el CacheManager que las contiene. No pueden declararse por nombre
+ * en application.conf: Caffeine no deja crear una caché configurada fuera y
+ * Hibernate intenta crearlas al arrancar (missing_cache_strategy=create). El
+ * resto de regiones (la de timestamps, que no debe caducar) las crea Hibernate
+ * con la configuración caffeine.jcache.default de application.conf.
+ *
+ * Las regiones están en memoria de cada nodo y no se invalidan entre nodos: si
+ * un nodo modifica un usuario, los demás siguen sirviendo su copia hasta que
+ * caduca. Por eso la caducidad es corta y las credenciales no se cachean.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final AtomicInteger CACHE_MANAGERS = new AtomicInteger(); // Uno por contexto de Spring
+
+    /**
+     * Crea las regiones y se las pasa a Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        // Hibernate cierra el CacheManager al cerrarse; cada contexto tiene el suyo
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("planify-hibernate-" + CACHE_MANAGERS.incrementAndGet()),
+                        SecondLevelCacheConfig.class.getClassLoader());
+
+        // AppUser: usuarios comunes y administradores (herencia JOINED, una sola región).
+        // La caducidad acota lo que tarda en verse un cambio hecho en otro nodo o fuera de Hibernate
+        createRegion(cacheManager, AppUser.class.getName(), 50000, Duration.ofMinutes(1));
+        // Resultados de las consultas cacheables (búsquedas de usuarios por email)
+        createRegion(cacheManager, "default-query-results-region", 50000, Duration.ofMinutes(1));
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, String name, long maximumSize, Duration expiration) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>(
+                TypesafeConfigurator.defaults(TypesafeConfigurator.configSource().get()));
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expiration.toNanos()));
+        cacheManager.createCache(name, configuration);
+    }
+}
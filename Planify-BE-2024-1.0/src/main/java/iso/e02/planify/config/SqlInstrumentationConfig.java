@@ -0,0 +1,34 @@
+package iso.e02.planify.config;
+
+// imports de javax.sql
+import javax.sql.DataSource;
+
+// imports de spring
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Envuelve el DataSource de la aplicación en un SqlTimingDataSource para que
+ * SqlStatementRecorder mida el SQL de cada petición.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+
+    /**
+     * Es estático para que Spring lo cree antes que el resto de beans de la
+     * configuración, como cualquier BeanPostProcessor.
+     */
+    @Bean
+    public static BeanPostProcessor sqlTimingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlTimingDataSource)) {
+                    return new SqlTimingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,267 @@
+package iso.e02.planify.config;
+
+// imports de java
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// imports de javax.sql
+import javax.sql.DataSource;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// imports de micrometer
+import io.micrometer.core.instrument.MeterRegistry;
+
+// imports de jakarta
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Instrumentación del SQL de cada petición HTTP.
+ *
+ * Es el primer interceptor de WebConfig: al empezar una petición decide si se
+ * muestrea (planify.sql.sample-rate) y, en ese caso, SqlTimingDataSource le
+ * pasa cada sentencia ejecutada durante la petición con su duración. Al
+ * terminar la petición publica sus métricas, etiquetadas con el método del
+ * controlador (por ejemplo MeetingController.listAll):
+ * planify.sql.statements (sentencias por petición) y planify.sql.time (tiempo
+ * de base de datos por petición).
+ *
+ * Las sentencias más lentas de cada método del controlador se pueden consultar
+ * en el endpoint sqlstats del actuator. Solo se escribe en el log una sentencia
+ * más lenta que planify.sql.slow-statement-ms o una petición que pasa de
+ * planify.sql.slow-request-ms o de planify.sql.max-request-statements (junto
+ * con sus sentencias más lentas). Las sentencias se registran con sus
+ * parámetros sin sustituir, nunca con los valores.
+ */
+@Component
+public class SqlStatementRecorder implements HandlerInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(SqlStatementRecorder.class.getName());
+    private static final int MAX_SQL_LENGTH = 500; // Caracteres de cada sentencia en el log y en sqlstats
+
+    @Autowired
+    private MeterRegistry meterRegistry; // Registro de métricas
+
+    @Autowired
+    private DataSource dataSource; // Envuelto en SqlTimingDataSource por SqlInstrumentationConfig
+
+    @Value("${planify.sql.sample-rate:0.1}")
+    private double sampleRate; // Fracción de peticiones que se miden (0 = ninguna, 1 = todas)
+
+    @Value("${planify.sql.slow-statement-ms:200}")
+    private long slowStatementMillis; // Sentencias que se escriben en el log
+
+    @Value("${planify.sql.slow-request-ms:1000}")
+    private long slowRequestMillis; // Tiempo de base de datos de una petición a partir del que se escribe en el log
+
+    @Value("${planify.sql.max-request-statements:50}")
+    private int maxRequestStatements; // Sentencias de una petición a partir de las que se escribe en el log
+
+    @Value("${planify.sql.slowest-statements:5}")
+    private int slowestStatements; // Sentencias más lentas que se guardan por petición y por método
+
+    private final ThreadLocal<RequestStats> current = new ThreadLocal<>(); // Petición del hilo
+    private final Map<Method, String> handlerNames = new ConcurrentHashMap<>();
+    private final Map<String, SlowestStatements> slowestByHandler = new ConcurrentHashMap<>();
+
+    /**
+     * Se registra en el DataSource para recibir las sentencias.
+     */
+    @PostConstruct
+    public void start() {
+        if (this.dataSource instanceof SqlTimingDataSource timingDataSource) {
+            timingDataSource.setRecorder(this);
+        }
+    }
+
+    /**
+     * Empieza a medir la petición si sale en el muestreo.
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (this.sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < this.sampleRate) {
+            this.current.set(new RequestStats(handlerName(handler), this.slowestStatements));
+        }
+        return true;
+    }
+
+    /**
+     * Publica las métricas de la petición, si se ha medido.
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        RequestStats stats = this.current.get();
+        if (stats == null) {
+            return;
+        }
+        this.current.remove();
+
+        this.meterRegistry.summary("planify.sql.statements", "handler", stats.handler).record(stats.statements);
+        this.meterRegistry.timer("planify.sql.time", "handler", stats.handler).record(stats.nanos,
+                TimeUnit.NANOSECONDS);
+        SlowestStatements slowest = this.slowestByHandler.computeIfAbsent(stats.handler,
+                key -> new SlowestStatements(this.slowestStatements));
+        slowest.addAll(stats.slowest);
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(stats.nanos);
+        if (millis >= this.slowRequestMillis || stats.statements >= this.maxRequestStatements) {
+            LOGGER.warning(() -> String.format("Petición con mucho SQL en %s (%s %s): %d sentencias, %d ms. Más lentas: %s",
+                    stats.handler, request.getMethod(), request.getRequestURI(), stats.statements, millis,
+                    stats.slowest.snapshot()));
+        }
+    }
+
+    /**
+     * @return true si se está midiendo la petición del hilo actual.
+     */
+    boolean isSampling() {
+        return this.current.get() != null;
+    }
+
+    /**
+     * Registra una sentencia ejecutada en el hilo actual. Las que se ejecutan
+     * fuera de una petición medida se ignoran.
+     *
+     * @param sql   la sentencia, con sus parámetros sin sustituir.
+     * @param nanos duración de la ejecución.
+     */
+    void record(String sql, long nanos) {
+        RequestStats stats = this.current.get();
+        if (stats == null) {
+            return;
+        }
+        stats.statements++;
+        stats.nanos += nanos;
+        stats.slowest.add(sql, nanos);
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= this.slowStatementMillis) {
+            LOGGER.warning(() -> String.format("Sentencia SQL lenta en %s: %d ms. %s", stats.handler, millis,
+                    abbreviate(sql)));
+        }
+    }
+
+    /**
+     * Sentencias más lentas de cada método de controlador en las peticiones
+     * medidas, de la más lenta a la menos lenta.
+     *
+     * @return por método, la lista de sentencias con su duración en ms.
+     */
+    public Map<String, List<Map<String, Object>>> getSlowestStatements() {
+        Map<String, List<Map<String, Object>>> result = new TreeMap<>();
+        this.slowestByHandler.forEach((handler, slowest) -> result.put(handler, slowest.snapshot()));
+        return result;
+    }
+
+    private String handlerName(Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return this.handlerNames.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> handlerMethod.getBeanType().getSimpleName() + "." + method.getName());
+        }
+        return handler.getClass().getSimpleName();
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "(lote)";
+        }
+        return sql.length() <= MAX_SQL_LENGTH ? sql : sql.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    /**
+     * Sentencias y tiempo de base de datos de una petición. Solo la usa el hilo
+     * de la petición.
+     */
+    private static final class RequestStats {
+
+        private final String handler;
+        private final SlowestStatements slowest;
+        private int statements;
+        private long nanos;
+
+        private RequestStats(String handler, int slowestStatements) {
+            this.handler = handler;
+            this.slowest = new SlowestStatements(slowestStatements);
+        }
+    }
+
+    /**
+     * Las N sentencias distintas más lentas, cada una con su peor duración, para
+     * que una consulta repetida (N+1) no ocupe todos los puestos.
+     */
+    private static final class SlowestStatements {
+
+        private final int size;
+        private final List<String> sqls = new ArrayList<>(); // Ordenadas de más a menos lenta
+        private final List<Long> nanos = new ArrayList<>();
+
+        private SlowestStatements(int size) {
+            this.size = size;
+        }
+
+        synchronized void add(String sql, long duration) {
+            if (this.size <= 0) {
+                return;
+            }
+            String key = abbreviate(sql);
+            int existing = this.sqls.indexOf(key);
+            if (existing >= 0) {
+                if (this.nanos.get(existing) >= duration) {
+                    return;
+                }
+                this.sqls.remove(existing);
+                this.nanos.remove(existing);
+            } else if (this.sqls.size() == this.size && this.nanos.get(this.size - 1) >= duration) {
+                return;
+            }
+            int position = 0;
+            while (position < this.nanos.size() && this.nanos.get(position) >= duration) {
+                position++;
+            }
+            this.sqls.add(position, key);
+            this.nanos.add(position, duration);
+            if (this.sqls.size() > this.size) {
+                this.sqls.remove(this.size);
+                this.nanos.remove(this.size);
+            }
+        }
+
+        void addAll(SlowestStatements other) {
+            List<String> otherSqls;
+            List<Long> otherNanos;
+            synchronized (other) {
+                otherSqls = new ArrayList<>(other.sqls);
+                otherNanos = new ArrayList<>(other.nanos);
+            }
+            for (int i = 0; i < otherSqls.size(); i++) {
+                add(otherSqls.get(i), otherNanos.get(i));
+            }
+        }
+
+        synchronized List<Map<String, Object>> snapshot() {
+            List<Map<String, Object>> result = new ArrayList<>();
+            for (int i = 0; i < this.sqls.size(); i++) {
+                Map<String, Object> statement = new LinkedHashMap<>();
+                statement.put("sql", this.sqls.get(i));
+                statement.put("ms", this.nanos.get(i) / 1_000_000.0);
+                result.add(statement);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package iso.e02.planify.config;
+
+// imports de java
+import java.util.List;
+import java.util.Map;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Endpoint del actuator (/actuator/sqlstats) con las sentencias más lentas de
+ * cada método de controlador. Solo se publica por HTTP si se incluye en
+ * management.endpoints.web.exposure.include (el perfil perf lo hace).
+ */
+@Component
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    @Autowired
+    private SqlStatementRecorder sqlStatementRecorder; // Instrumentación del SQL
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> slowestStatements() {
+        return this.sqlStatementRecorder.getSlowestStatements();
+    }
+}
@@ -0,0 +1,106 @@
+package iso.e02.planify.config;
+
+// imports de java
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// imports de javax.sql
+import javax.sql.DataSource;
+
+// imports de spring
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que mide cada ejecución de una sentencia (execute, executeQuery,
+ * executeUpdate, executeBatch...) y se la pasa a SqlStatementRecorder. Envuelve
+ * las conexiones y las sentencias con proxies, por lo que cubre tanto las
+ * consultas de Hibernate como las de JdbcTemplate. Solo se envuelven las
+ * conexiones que se piden en una petición que sale en el muestreo: el resto
+ * (incluido el arranque, antes de que se registre el SqlStatementRecorder) usan
+ * la conexión del pool sin proxies.
+ */
+final class SqlTimingDataSource extends DelegatingDataSource {
+
+    private volatile SqlStatementRecorder recorder;
+
+    SqlTimingDataSource(DataSource target) {
+        super(target);
+    }
+
+    void setRecorder(SqlStatementRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        SqlStatementRecorder currentRecorder = this.recorder;
+        if (currentRecorder == null || !currentRecorder.isSampling()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(SqlTimingDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && this.recorder != null) {
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return wrapStatement(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrapStatement(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        return (Statement) Proxy.newProxyInstance(SqlTimingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> {
+                    if (isIdentityMethod(method)) {
+                        return identity(proxy, method, args);
+                    }
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String executed ? executed
+                                : preparedSql; // null en un lote de un Statement sin preparar
+                        this.recorder.record(sql, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private static boolean isIdentityMethod(Method method) {
+        return method.getDeclaringClass() == Object.class && !method.getName().equals("toString");
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args) {
+        return method.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
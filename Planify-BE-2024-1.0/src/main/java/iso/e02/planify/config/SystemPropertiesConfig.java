@@ -1,6 +1,12 @@
 package iso.e02.planify.config;
 
+// imports de java
+import java.util.ArrayList;
+import java.util.List;
+
+// imports de dotenv
 import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvBuilder;
 
 /**
  * Clase de configuración de propiedades del sistema.
@@ -10,6 +16,16 @@ import io.github.cdimascio.dotenv.Dotenv;
  */
 public class SystemPropertiesConfig {
 
+    /**
+     * Variables de entorno que se copian a propiedades del sistema.
+     */
+    private static final String[] KEYS = { "DB_HOST", "DB_PORT", "DB_NAME", "DB_OPTIONS", "DB_USERNAME",
+            "DB_PASSWORD", "SERVER_PORT", "KEY_STORE_PATH", "KEY_STORE_PASSWORD", "KEY_STORE_TYPE", "KEY_ALIAS",
+            "EMAIL_FROM", "EMAIL_PASSWORD", "JWT_SECRET" };
+
+    private static final String PERF_PROFILE = "perf"; // Único perfil que arranca sin .env
+    private static final String PROFILES_ARGUMENT = "--spring.profiles.active=";
+
     /**
      * Constructor privado para evitar la instanciación de esta clase de utilidad.
      * Lanza una excepción si se intenta instanciar la clase.
@@ -21,25 +37,78 @@ public class SystemPropertiesConfig {
     /**
      * Carga las propiedades del sistema desde el archivo .env utilizando la librería Dotenv.
      * Establece estas propiedades como propiedades del sistema, que pueden ser utilizadas en otras partes de la aplicación.
+     *
+     * El archivo .env y todas sus variables son obligatorios: si falta alguno la
+     * aplicación no arranca. Solo con el perfil perf, que no necesita base de
+     * datos, certificados ni correo, el archivo es opcional y las variables que
+     * no estén definidas no se asignan.
+     *
+     * @param args los argumentos de la línea de comandos, donde puede venir el perfil activo.
+     * @throws IllegalStateException si falta alguna variable fuera del perfil perf.
      */
-    public static void loadSystemProperties() {
-        // Cargar las variables del archivo .env
-        Dotenv dotenv = Dotenv.load();
+    public static void loadSystemProperties(String... args) {
+        boolean perf = isPerfProfile(args);
+
+        // Cargar las variables del archivo .env y del entorno
+        DotenvBuilder builder = Dotenv.configure();
+        if (perf) {
+            builder = builder.ignoreIfMissing();
+        }
 
         // Configurar las propiedades del sistema
-        System.setProperty("DB_HOST", dotenv.get("DB_HOST"));
-        System.setProperty("DB_PORT", dotenv.get("DB_PORT"));
-        System.setProperty("DB_NAME", dotenv.get("DB_NAME"));
-        System.setProperty("DB_OPTIONS", dotenv.get("DB_OPTIONS"));
-        System.setProperty("DB_USERNAME", dotenv.get("DB_USERNAME"));
-        System.setProperty("DB_PASSWORD", dotenv.get("DB_PASSWORD"));
-        System.setProperty("SERVER_PORT", dotenv.get("SERVER_PORT"));
-        System.setProperty("KEY_STORE_PATH", dotenv.get("KEY_STORE_PATH"));
-        System.setProperty("KEY_STORE_PASSWORD", dotenv.get("KEY_STORE_PASSWORD"));
-        System.setProperty("KEY_STORE_TYPE", dotenv.get("KEY_STORE_TYPE"));
-        System.setProperty("KEY_ALIAS", dotenv.get("KEY_ALIAS"));
-        System.setProperty("EMAIL_FROM", dotenv.get("EMAIL_FROM"));
-        System.setProperty("EMAIL_PASSWORD", dotenv.get("EMAIL_PASSWORD"));
-        System.setProperty("JWT_SECRET", dotenv.get("JWT_SECRET"));
+        setSystemProperties(builder.load(), perf);
+    }
+
+    /**
+     * Copia las variables a propiedades del sistema.
+     *
+     * @param dotenv   las variables cargadas.
+     * @param optional true si pueden faltar variables (perfil perf).
+     * @throws IllegalStateException si falta alguna variable y no son opcionales.
+     */
+    static void setSystemProperties(Dotenv dotenv, boolean optional) {
+        List<String> missing = new ArrayList<>();
+        for (String key : KEYS) {
+            String value = dotenv.get(key);
+            if (value != null) {
+                System.setProperty(key, value);
+            } else if (!optional) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Faltan variables de configuración: " + String.join(", ", missing));
+        }
+    }
+
+    /**
+     * Comprueba si está activo el perfil perf, antes de arrancar Spring: en los
+     * argumentos (--spring.profiles.active, como lo pasa mvn -Pperf spring-boot:run),
+     * en la propiedad del sistema spring.profiles.active o en la variable de
+     * entorno SPRING_PROFILES_ACTIVE.
+     *
+     * @param args los argumentos de la línea de comandos.
+     * @return true si el perfil perf está activo.
+     */
+    static boolean isPerfProfile(String... args) {
+        for (String arg : args) {
+            if (arg.startsWith(PROFILES_ARGUMENT) && hasPerfProfile(arg.substring(PROFILES_ARGUMENT.length()))) {
+                return true;
+            }
+        }
+        return hasPerfProfile(System.getProperty("spring.profiles.active"))
+                || hasPerfProfile(System.getenv("SPRING_PROFILES_ACTIVE"));
+    }
+
+    private static boolean hasPerfProfile(String profiles) {
+        if (profiles == null) {
+            return false;
+        }
+        for (String profile : profiles.split(",")) {
+            if (PERF_PROFILE.equals(profile.trim())) {
+                return true;
+            }
+        }
+        return false;
     }
 }
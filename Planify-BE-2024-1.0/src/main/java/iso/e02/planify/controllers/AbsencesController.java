@@ -2,12 +2,11 @@ package iso.e02.planify.controllers;
 
 // imports de iso.e02.planify
 import iso.e02.planify.entities.Absence;
-import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.requests.CreateAbsenceRequest;
 import iso.e02.planify.services.AbsencesService;
 import iso.e02.planify.services.ValidateAbsenceService;
-import iso.e02.planify.services.JWTService;
 import iso.e02.planify.services.ManageUsersService;
+import iso.e02.planify.security.AuthenticatedUser;
 
 // imports de java
 import java.util.List;
@@ -22,7 +21,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -45,7 +43,7 @@ public class AbsencesController {
 	private ValidateAbsenceService validateAbsenceService; // Servicio de validación de ausencias
 
 	@Autowired
-	private JWTService jwtService;
+	private AuthenticatedUser authenticatedUser; // Usuario ya resuelto por el JWTInterceptor
 
 	@Autowired
 	private ManageUsersService manageUsersService;
@@ -105,16 +103,14 @@ public class AbsencesController {
 	/**
 	 * Lista todas las ausencias asociadas al JWT de un usuario.
 	 * 
-	 * Este método devuelve una lista de ausencias asociadas a un usuario por
-	 * medio del token de sesión JWT.
+	 * Este método devuelve una lista de ausencias asociadas al usuario
+	 * autenticado, que el JWTInterceptor ya ha resuelto a partir del token de sesión.
 	 * 
-	 * @param la cabezera de autorización con el JWT del usuario cuyas ausencias se desean listar.
 	 * @return una respuesta HTTP con una lista de ausencias.
 	 */
 	@GetMapping("/list")
-	public ResponseEntity<List<Absence>> listAll(@RequestHeader("Authorization") String authorizationHeader) {
-		CommonUser user = jwtService.getCommonUserFromJWT(authorizationHeader); //obtener el usuario desde el JWT
-		return ResponseEntity.ok(this.absencesService.list(user.getId())); //devolver la lista de ausencias
+	public ResponseEntity<List<Absence>> listAll() {
+		return ResponseEntity.ok(this.absencesService.list(authenticatedUser.getUserId())); //devolver la lista de ausencias del usuario autenticado
 	}
 
 	/**
@@ -13,6 +13,7 @@ import java.util.Optional;
 
 // imports de spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -23,6 +24,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * Controlador REST para gestionar las operaciones relacionadas con administradores.
@@ -90,6 +93,25 @@ public class ManageAdministratorController {
      */
     @PutMapping("/{id}/edit")
     public void editAdministrator(@PathVariable Long id, @RequestBody Administrator updatedAdministrator) {
+        updatedAdministrator.setPhoto(this.validateUserService.processPhoto(updatedAdministrator.getPhoto())); // Procesado de la foto
+        administratorService.editAdministrator(id, updatedAdministrator); // Llamada al servicio de administradores para editar el administrador
+    }
+
+    /**
+     * Edita la información de un administrador existente, con la foto enviada
+     * como parte de una petición multipart. Sin parte "photo" se mantiene la
+     * foto actual; con una parte vacía se elimina.
+     * 
+     * @param id                   el ID del administrador a editar.
+     * @param updatedAdministrator objeto con los datos actualizados del
+     *                             administrador (parte "administrator", en JSON).
+     * @param photo                la nueva foto de perfil (parte "photo"), opcional.
+     */
+    @PutMapping(value = "/{id}/edit", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void editAdministratorMultipart(@PathVariable Long id,
+            @RequestPart("administrator") Administrator updatedAdministrator,
+            @RequestPart(value = "photo", required = false) MultipartFile photo) {
+        updatedAdministrator.setPhoto(this.validateUserService.processPhoto(photo)); // Procesado de la foto
         administratorService.editAdministrator(id, updatedAdministrator); // Llamada al servicio de administradores para editar el administrador
     }
 
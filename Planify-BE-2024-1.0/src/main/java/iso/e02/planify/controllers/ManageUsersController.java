@@ -5,8 +5,12 @@ import iso.e02.planify.entities.AppUser;
 import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.repositories.UsersRepository;
 import iso.e02.planify.requests.RegisterRequest;
+import iso.e02.planify.requests.UserDirectoryPage;
+import iso.e02.planify.requests.UserDirectoryRequest;
+import iso.e02.planify.security.AuthenticatedUser;
 import iso.e02.planify.services.ManageUsersService;
 import iso.e02.planify.services.MeetingService;
+import iso.e02.planify.services.UserDirectoryService;
 import iso.e02.planify.services.ValidateUserService;
 
 // imports de java
@@ -17,6 +21,7 @@ import java.util.Optional;
 // imports de spring
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -25,6 +30,8 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -53,6 +60,12 @@ public class ManageUsersController {
     @Autowired
     private MeetingService meetingService; // Inyección del servicio de reuniones
 
+    @Autowired
+    private AuthenticatedUser authenticatedUser; // Usuario ya resuelto por el JWTInterceptor
+
+    @Autowired
+    private UserDirectoryService userDirectoryService; // Inyección del servicio del directorio de usuarios
+
     /**
      * Obtiene una lista de usuarios con datos específicos para mostrar.
      *
@@ -64,6 +77,21 @@ public class ManageUsersController {
         return ResponseEntity.ok(userService.getUserToShow()); // Llama al servicio de usuarios para obtener la lista de usuarios
     }
 
+    /**
+     * Obtiene una página del directorio de usuarios (comunes y administradores),
+     * filtrada y ordenada en la base de datos. Los parámetros se leen de la
+     * query string (type, activated, blocked, centre, department, namePrefix,
+     * sort, direction, size y cursor); para pedir la página siguiente se
+     * envía como cursor el nextCursor de la respuesta.
+     *
+     * @param request los parámetros de la consulta.
+     * @return ResponseEntity con la página de usuarios.
+     */
+    @GetMapping("/directory")
+    public ResponseEntity<UserDirectoryPage> getUserDirectory(UserDirectoryRequest request) {
+        return ResponseEntity.ok(userDirectoryService.getDirectory(request)); // Llama al servicio del directorio para obtener la página
+    }
+
     /**
      * Obtiene un usuario específico por su ID.
      *
@@ -75,8 +103,8 @@ public class ManageUsersController {
      * @return ResponseEntity que contiene el usuario en caso de encontrarlo.
      */
     @GetMapping("/{userId}/inspect")
-    public ResponseEntity<CommonUser> getUserById(@RequestHeader("Authorization") String authorizationHeader, @PathVariable Long userId) {
-        this.validateUserService.validateAccess(authorizationHeader, userId); // Validación de acceso, debido al uso por parte de ambos roles
+    public ResponseEntity<CommonUser> getUserById(@PathVariable Long userId) {
+        this.validateUserService.validateAccess(this.authenticatedUser.getUser(), userId); // Validación de acceso, debido al uso por parte de ambos roles
         Optional<CommonUser> user = userService.getUserById(userId); // Llama al servicio de usuarios para obtener el usuario
         return user.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -125,6 +153,25 @@ public class ManageUsersController {
             userService.editUser(userId, updatedUser); // Llama al servicio de usuarios para editar al usuario  
     }
 
+    /**
+     * Edita la información de un usuario por su ID, con la foto enviada como
+     * parte de una petición multipart. Sin parte "photo" se mantiene la foto
+     * actual; con una parte vacía se elimina.
+     *
+     * @param userId   ID del usuario a editar.
+     * @param userInfo Objeto RegisterRequest con la nueva información del usuario (parte "user", en JSON).
+     * @param photo    La nueva foto de perfil (parte "photo"), opcional.
+     */
+    @PutMapping(value = "/{userId}/edit", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void editUserMultipart(@PathVariable Long userId, @RequestPart("user") RegisterRequest userInfo,
+            @RequestPart(value = "photo", required = false) MultipartFile photo) {
+        userInfo.setPhoto(null); // La foto solo se acepta en su propia parte
+        this.validateUserService.validateUserInfoEdit(userInfo); // Validación de la información a guardar de la edición
+        CommonUser updatedUser = this.validateUserService.toCommonUser(userInfo); // Conversión de la información a un objeto CommonUser
+        updatedUser.setPhoto(this.validateUserService.processPhoto(photo)); // Procesado de la foto
+        userService.editUser(userId, updatedUser); // Llama al servicio de usuarios para editar al usuario
+    }
+
     /**
      * Elimina a un usuario por su ID.
      *
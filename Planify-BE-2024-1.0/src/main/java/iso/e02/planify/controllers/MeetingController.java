@@ -1,6 +1,10 @@
 package iso.e02.planify.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -8,32 +12,40 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import iso.e02.planify.services.JWTService;
+import iso.e02.planify.services.AgendaService;
+import iso.e02.planify.services.MeetingCommandService;
 import iso.e02.planify.services.MeetingService;
 import iso.e02.planify.services.ValidateMeetingService;
+import iso.e02.planify.services.ValidatedMeeting;
 import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.entities.Meeting;
-import iso.e02.planify.entities.MeetingAttendance;
+import iso.e02.planify.requests.AgendaEntryDTO;
 import iso.e02.planify.requests.CandidateToMeetinDTO;
 import iso.e02.planify.requests.CandidatesRequest;
 import iso.e02.planify.requests.ChangeMeetingInvitationStatusRequest;
 import iso.e02.planify.requests.ChangeMeetingStatusRequest;
 import iso.e02.planify.requests.CreateMeetingRequest;
 import iso.e02.planify.requests.InspectUserForMeetingsDTO;
+import iso.e02.planify.security.AuthenticatedUser;
 
 @RestController
 @RequestMapping("meetings")
 @CrossOrigin("*")
 public class MeetingController {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final int MAX_CANDIDATES_PAGE_SIZE = 200;
+
     @Autowired
     private MeetingService meetingService;
 
@@ -41,12 +53,26 @@ public class MeetingController {
     private ValidateMeetingService validateMeetingService;
 
     @Autowired
-    private JWTService jwtService;
+    private AuthenticatedUser authenticatedUser; // Usuario ya resuelto por el JWTInterceptor
+
+    @Autowired
+    private AgendaService agendaService;
+
+    @Autowired
+    private MeetingCommandService meetingCommandService;
 
     @GetMapping("/listAll")
-    public ResponseEntity<List<Map<String,Object>>> listAll(@RequestHeader("Authorization") String authorizationHeader) {
-        CommonUser user = this.jwtService.getCommonUserFromJWT(authorizationHeader);
-        return ResponseEntity.ok(this.meetingService.listAll(user.getId()));
+    public ResponseEntity<List<Map<String,Object>>> listAll() {
+        return ResponseEntity.ok(this.meetingService.listAll(this.authenticatedUser.getUserId()));
+    }
+
+    /**
+     * Devuelve la agenda del usuario (reuniones y ausencias) entre dos fechas
+     * incluidas, en formato yyyy-MM-dd, ordenada por inicio.
+     */
+    @GetMapping("/agenda")
+    public ResponseEntity<List<AgendaEntryDTO>> agenda(@RequestParam String from, @RequestParam String to) {
+        return ResponseEntity.ok(this.agendaService.getAgenda(this.authenticatedUser.getUserId(), from, to));
     }
 
 
@@ -69,10 +95,9 @@ public class MeetingController {
     }
 
     @GetMapping("/{meetingId}/attendStatus")//obtiene si el usuario asistio a la reunion o la acepto
-    public ResponseEntity<Map<String, String>> attendStatus(@RequestHeader("Authorization") String authorizationHeader,
-            @PathVariable Long meetingId) {
+    public ResponseEntity<Map<String, String>> attendStatus(@PathVariable Long meetingId) {
 
-            CommonUser user = jwtService.getCommonUserFromJWT(authorizationHeader);
+            CommonUser user = this.authenticatedUser.getCommonUser();
             Map<String, String> response = new HashMap<>();
             response.put("hasAssisted", String.valueOf(this.meetingService.hasAssisted(user, meetingId)));
             response.put("hasAccepted", String.valueOf(this.meetingService.hasAccepted(user, meetingId)));
@@ -82,74 +107,73 @@ public class MeetingController {
     }
 
     @PostMapping("/create")
-    public void create(@RequestHeader("Authorization") String authorizationHeader,
-            @RequestBody CreateMeetingRequest meetingInfo) {
-        
-        // Validar la información de la reunión
-        this.validateMeetingService.validateMeetingInfo(meetingInfo);
+    public void create(@RequestBody CreateMeetingRequest meetingInfo) {
+        CommonUser organizer = this.authenticatedUser.getCommonUser();
 
-        // Obtención de la reunión y el organizador
-        Meeting meeting = this.validateMeetingService.toMeeting(meetingInfo);
-        CommonUser organizer = jwtService.getCommonUserFromJWT(authorizationHeader);
-
-        // Validación del organizador y la lista de participantes (solo que sean
-        // usuarios activos)
-        this.validateMeetingService.validateParticipants(meeting, organizer, meetingInfo.getParticipants());
+        // Validar la información de la reunión, el organizador y la lista de
+        // participantes (solo que sean usuarios activos) informando de todos los errores
+        ValidatedMeeting validated = this.validateMeetingService.validateMeeting(meetingInfo, organizer, null);
 
         // Creación de la reunión
-        this.meetingService.create(meeting, organizer, meetingInfo.getParticipants());  
+        this.meetingService.create(validated.getMeeting(), organizer, validated.getParticipants());
     }
     
     @PatchMapping("/{meetingId}/edit")
-    public void editMeeting(@RequestHeader("Authorization") String authorizationHeader, @PathVariable Long meetingId,
+    public void editMeeting(@PathVariable Long meetingId,
             @RequestBody CreateMeetingRequest meetingInfo) {
         // Comprobar que la reunión existe
         Meeting existingMeeting = this.meetingService.getMeeting(meetingId);
 
-        // Validar la información de la reunión modificada
-        this.validateMeetingService.validateMeetingInfo(meetingInfo);
-
-        // Generación de la reunión modificada y obtención del organizador
-        Meeting updatedMeeting = this.validateMeetingService.toMeeting(meetingInfo);
-        CommonUser organizer = jwtService.getCommonUserFromJWT(authorizationHeader);
+        CommonUser organizer = this.authenticatedUser.getCommonUser();
+        this.validateMeetingService.validateIsOrganizer(existingMeeting.getId(), organizer.getId());
 
-        // Validación de la lista de participantes, incluido el organizador
-        updatedMeeting.setId(existingMeeting.getId());
-        this.validateMeetingService.validateIsOrganizer(updatedMeeting.getId(), organizer.getId());
-        this.validateMeetingService.validateParticipants(updatedMeeting, organizer, meetingInfo.getParticipants());
+        // Validar la información de la reunión modificada y la lista de
+        // participantes, incluido el organizador, informando de todos los errores
+        ValidatedMeeting validated = this.validateMeetingService.validateMeeting(meetingInfo, organizer,
+                existingMeeting.getId());
 
         // Modificación de la reunión
-        this.meetingService.editMeeting(updatedMeeting, meetingId, organizer, meetingInfo.getParticipants());
+        this.meetingService.editMeeting(validated.getMeeting(), meetingId, organizer, validated.getParticipants());
     }
 
     @PatchMapping("/{meetingId}/assist")
-    public void assist(@RequestHeader("Authorization") String authorizationHeader, @PathVariable Long meetingId) {
-        CommonUser user = jwtService.getCommonUserFromJWT(authorizationHeader);
-        this.validateMeetingService.validateAssistChangeInfo(user, meetingId);
-        this.meetingService.assist(user, meetingId);
+    public void assist(@PathVariable Long meetingId) {
+        this.meetingCommandService.assist(this.authenticatedUser.getCommonUser(), meetingId);
     }
 
     @PatchMapping("/{meetingId}/changeStatus")
-    public void changeStatus(@RequestHeader("Authorization") String authorizationHeader, @PathVariable Long meetingId, @RequestBody ChangeMeetingStatusRequest statusInfo) {  
-        CommonUser user = jwtService.getCommonUserFromJWT(authorizationHeader);
-        this.validateMeetingService.validateChangeStatusInfo(user, meetingId, statusInfo.getStatus());
-        this.meetingService.changeStatus(meetingId, statusInfo.getStatus());
+    public void changeStatus(@PathVariable Long meetingId, @RequestBody ChangeMeetingStatusRequest statusInfo) {  
+        this.meetingCommandService.changeStatus(this.authenticatedUser.getCommonUser(), meetingId,
+                statusInfo.getStatus());
     }
 
     @PatchMapping("/{meetingId}/changeInvitationStatus")
     public void changeInvitationStatus(
-            @RequestHeader("Authorization") String authorizationHeader, @PathVariable Long meetingId,
+            @PathVariable Long meetingId,
             @RequestBody ChangeMeetingInvitationStatusRequest changeInfo) {
-        
-        CommonUser user = jwtService.getCommonUserFromJWT(authorizationHeader);
-        this.validateMeetingService.validateInvitationStatusChangeInfo(user, changeInfo, meetingId);
-        MeetingAttendance changedMeetingAttendance = this.validateMeetingService.toMeetingAttendance(meetingId,
-                user, changeInfo);
-        this.meetingService.changeInvitationStatus(changedMeetingAttendance);
+        this.meetingCommandService.changeInvitationStatus(this.authenticatedUser.getCommonUser(), meetingId,
+                changeInfo);
     }
 
+    /**
+     * Devuelve los candidatos a una reunión. Sin el parámetro size se devuelven
+     * todos; con él, la página indicada. El total de candidatos se envía en la
+     * cabecera X-Total-Count.
+     */
     @PostMapping("/getCandidatesToMeeting")
-    public ResponseEntity<List<CandidateToMeetinDTO>> getCandidatesToMeeting(@RequestBody CandidatesRequest request) {
-        return ResponseEntity.ok(meetingService.getCandidatesToMeeting(request));
+    public ResponseEntity<List<CandidateToMeetinDTO>> getCandidatesToMeeting(@RequestBody CandidatesRequest request,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(required = false) Integer size) {
+        Pageable pageable = Pageable.unpaged();
+        if (size != null) {
+            if (page < 0 || size < 1 || size > MAX_CANDIDATES_PAGE_SIZE) {
+                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                        "El tamaño de página debe estar entre 1 y " + MAX_CANDIDATES_PAGE_SIZE + ".");
+            }
+            pageable = PageRequest.of(page, size);
+        }
+        Page<CandidateToMeetinDTO> candidates = meetingService.getCandidatesToMeeting(request, pageable);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(candidates.getTotalElements()))
+                .body(candidates.getContent());
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package iso.e02.planify.controllers;
+
+// imports de iso.e02.planify
+import iso.e02.planify.services.PhotoService;
+
+// imports de java
+import java.time.Duration;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Controlador REST que sirve las fotos de perfil de los usuarios.
+ *
+ * Las fotos se identifican por el hash de su contenido, así que la respuesta
+ * nunca cambia para una misma URL: se sirve con ETag fuerte y caché inmutable
+ * de un año. No pasa por el JWTInterceptor porque las etiquetas img del
+ * navegador no envían la cabecera Authorization.
+ */
+@RestController
+@RequestMapping("/api/users/photos") // Ruta base de las fotos de perfil
+@CrossOrigin("*")
+public class PhotoController {
+
+    @Autowired
+    private PhotoService photoService; // Inyección del servicio de fotos
+
+    /**
+     * Obtiene una foto de perfil por su hash.
+     *
+     * @param hash       el hash SHA-256 de la foto.
+     * @param webRequest la petición, para responder 304 si el cliente ya la tiene.
+     * @return los bytes de la foto, 304 si no ha cambiado o 404 si no existe.
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<byte[]> getPhoto(@PathVariable String hash, WebRequest webRequest) {
+        String eTag = "\"" + hash + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            return null; // Spring responde 304 Not Modified
+        }
+        return this.photoService.getPhoto(hash)
+                .map(photo -> ResponseEntity.ok()
+                        .eTag(eTag)
+                        .header(HttpHeaders.CACHE_CONTROL, // CacheControl de Spring 6.0 no tiene immutable()
+                                CacheControl.maxAge(Duration.ofDays(365)).cachePublic().getHeaderValue() + ", immutable")
+                        .contentType(MediaType.parseMediaType(photo.getContentType()))
+                        .body(photo.getContent()))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,30 @@
+package iso.e02.planify.controllers;
+
+// imports de java
+import java.util.Map;
+
+// imports de spring
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
+
+/**
+ * Responde 413 cuando una petición multipart supera los límites de
+ * spring.servlet.multipart (en lugar del 500 por defecto). El límite se
+ * comprueba mientras se lee la petición, así que no se llega a leer entera.
+ */
+@RestControllerAdvice
+public class UploadExceptionHandler {
+
+    /**
+     * @param e la excepción lanzada al superar el tamaño máximo.
+     * @return respuesta 413 con el mensaje de error.
+     */
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException e) {
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
+                .body(Map.of("status", HttpStatus.PAYLOAD_TOO_LARGE.value(), "error", "La foto es demasiado grande"));
+    }
+}
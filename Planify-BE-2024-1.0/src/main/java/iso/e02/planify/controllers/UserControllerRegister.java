@@ -11,12 +11,15 @@ import java.util.Map;
 
 // imports de spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 /**
  * Controlador que gestiona las solicitudes de registro de usuarios.
@@ -50,4 +53,24 @@ public class UserControllerRegister {
 		this.userService.register(user); // Llamada al servicio de usuarios para registrar el usuario
 		return ResponseEntity.ok(this.userService.getQrCodeUrl(user)); // Devolución de la URL del código QR
 	}
+
+	/**
+	 * Registra un nuevo usuario con la foto enviada como parte de una petición
+	 * multipart. Los datos se validan antes de leer la foto, y la foto se
+	 * procesa directamente del flujo de la petición.
+	 *
+	 * @param userInfo La información del usuario a registrar (parte "user", en JSON).
+	 * @param photo    La foto de perfil (parte "photo"), opcional.
+	 */
+	@PostMapping(value = "/register", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<Map<String, Object>> registerUserMultipart(@RequestPart("user") RegisterRequest userInfo,
+			@RequestPart(value = "photo", required = false) MultipartFile photo) {
+		userInfo.setPhoto(null); // La foto solo se acepta en su propia parte
+		this.validateUserService.validateUserInfo(userInfo); // Validación de los datos del usuario
+		CommonUser user = this.validateUserService.toCommonUser(userInfo); // Conversión de la información a un objeto CommonUser
+		user.setPhoto(this.validateUserService.processPhoto(photo)); // Procesado de la foto
+		user.setActivated(false); // El usuario se registra desactivado
+		this.userService.register(user); // Llamada al servicio de usuarios para registrar el usuario
+		return ResponseEntity.ok(this.userService.getQrCodeUrl(user)); // Devolución de la URL del código QR
+	}
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package iso.e02.planify.controllers;
+
+// imports de iso.e02.planify
+import iso.e02.planify.services.ValidationException;
+
+// imports de java
+import java.util.Map;
+
+// imports de spring
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Responde 406 con todos los errores de validación de la petición a la vez:
+ * "error" con todos los mensajes seguidos y "errors" con la lista.
+ */
+@RestControllerAdvice
+public class ValidationExceptionHandler {
+
+    /**
+     * @param e la excepción con los errores de validación.
+     * @return respuesta 406 con los errores.
+     */
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleValidationException(ValidationException e) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE)
+                .body(Map.of("status", HttpStatus.NOT_ACCEPTABLE.value(), "error", e.getReason(), "errors",
+                        e.getErrors()));
+    }
+}
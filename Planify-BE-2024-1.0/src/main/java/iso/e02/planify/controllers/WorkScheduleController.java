@@ -1,21 +1,22 @@
 package iso.e02.planify.controllers;
 
 // imports de iso.e02.planify
-import iso.e02.planify.entities.Schedule;
 import iso.e02.planify.requests.WorkScheduleRequest;
+import iso.e02.planify.services.CompiledWorkSchedule;
 import iso.e02.planify.services.WorkScheduleService;
 
-// imports de java
-import java.util.List;
-
 // imports de spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controlador REST para gestionar las peticiones relacionadas con los horarios
@@ -53,12 +54,23 @@ public class WorkScheduleController {
     /**
      * Obtiene los horarios laborales guardados en la base de datos.
      * 
-     * Este método recupera y devuelve una lista de objetos Schedule que representan los horarios laborales almacenados.
+     * Devuelve el JSON ya serializado de la instantánea en memoria junto con su
+     * ETag. Si el cliente envía un If-None-Match que coincide, se responde con
+     * 304 sin cuerpo.
      * 
-     * @return una lista de objetos Schedule que representan los bloques del horario laboral guardado.
+     * @param request la petición, para comprobar la cabecera If-None-Match.
+     * @return los bloques del horario laboral guardado, ordenados por hora de inicio.
      */
     @GetMapping("/getWorkSchedule")
-    public List<Schedule> getWorkSchedule() {
-        return this.workScheduleService.getWorkSchedule(); // Llamada al servicio para obtener los bloques horarios
+    public ResponseEntity<byte[]> getWorkSchedule(WebRequest request) {
+        CompiledWorkSchedule workSchedule = this.workScheduleService.getCompiledWorkSchedule(); // Llamada al servicio para obtener los bloques horarios
+        if (request.checkNotModified(workSchedule.getETag())) {
+            return null; // Spring ya ha preparado la respuesta 304
+        }
+        return ResponseEntity.ok()
+                .eTag(workSchedule.getETag())
+                .cacheControl(CacheControl.noCache()) // El horario puede cambiar: el cliente debe revalidar
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(workSchedule.getJson());
     }
-}
\ No newline at end of file
+}
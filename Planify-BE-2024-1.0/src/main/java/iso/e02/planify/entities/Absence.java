@@ -7,8 +7,10 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 import java.time.LocalDateTime;
 
@@ -17,7 +19,9 @@ import java.time.LocalDateTime;
  * Cada ausencia contiene información sobre el periodo de tiempo y el tipo de ausencia.
  */
 @Entity
-// @Table(name = "absences") // Comentado pero puede usarse para personalizar el nombre de la tabla.
+@Table(name = "absence", indexes = {
+        @Index(name = "ix_absence_user_from_to", columnList = "user_id, from_date_time, to_date_time") // Agenda y solapes por usuario
+})
 public class Absence {
 
     /**
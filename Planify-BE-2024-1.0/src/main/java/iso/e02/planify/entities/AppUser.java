@@ -1,16 +1,23 @@
 package iso.e02.planify.entities;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.Lob;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 
@@ -18,8 +25,21 @@ import jakarta.persistence.GenerationType;
  * Clase abstracta que representa un usuario en la aplicación.
  * Esta clase utiliza herencia para ser extendida por otros tipos de usuarios.
  * La estrategia de herencia es de tipo "JOINED" (las tablas estarán unidas mediante una clave externa.)
+ * Los índices sobre (campo, id) sirven al orden y a la paginación por clave del
+ * directorio de usuarios.
+ * Los usuarios se guardan en la caché de segundo nivel (una sola región para
+ * toda la jerarquía), que Hibernate actualiza al guardar o eliminar un usuario.
+ * La caché es local a cada nodo: los cambios hechos en otro nodo (bloquear,
+ * desactivar) se ven aquí como mucho al minuto, cuando caduca la entrada.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "app_user", indexes = {
+        @Index(name = "ix_app_user_name_id", columnList = "name, id"),
+        @Index(name = "ix_app_user_surnames_id", columnList = "surnames, id"),
+        @Index(name = "ix_app_user_centre", columnList = "centre")
+})
 @Inheritance(strategy = InheritanceType.JOINED)
 @DiscriminatorColumn(name = "dtype")
 public abstract class AppUser {
@@ -60,11 +80,20 @@ public abstract class AppUser {
     protected String centre;
 
     /**
-     * Foto de perfil del usuario almacenada como un array de bytes.
+     * Hash SHA-256 de la foto de perfil del usuario, que se guarda en la tabla
+     * user_photos (ver {@link UserPhoto}). Así las consultas de usuarios no
+     * cargan los bytes de la imagen.
      * Este campo es opcional y puede ser nulo.
      */
-    @Lob
-    @Column(name = "photo", columnDefinition = "VARBINARY(MAX)", nullable = true)
+    @Column(name = "photo_hash", length = 64, nullable = true)
+    protected String photoHash;
+
+    /**
+     * Foto de perfil nueva, pendiente de guardar en user_photos.
+     * No se persiste y solo se lee de las peticiones, nunca se devuelve.
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     protected byte[] photo;
 
     /**
@@ -178,7 +207,7 @@ public abstract class AppUser {
     }
 
     /**
-     * Obtiene la foto de perfil del usuario como un array de bytes.
+     * Obtiene la foto de perfil nueva del usuario, pendiente de guardar.
      * 
      * @return la foto de perfil del usuario.
      */
@@ -195,6 +224,43 @@ public abstract class AppUser {
         this.photo = photo;
     }
 
+    /**
+     * Obtiene el hash de la foto de perfil del usuario.
+     * 
+     * @return el hash de la foto, o null si no tiene.
+     */
+    public String getPhotoHash() {
+        return photoHash;
+    }
+
+    /**
+     * Establece el hash de la foto de perfil del usuario.
+     * 
+     * @param photoHash el hash de la foto guardada en user_photos.
+     */
+    public void setPhotoHash(String photoHash) {
+        this.photoHash = photoHash;
+    }
+
+    /**
+     * Obtiene la URL desde la que se descarga la foto de perfil del usuario.
+     * 
+     * @return la URL de la foto, o null si no tiene.
+     */
+    public String getPhotoUrl() {
+        return photoUrl(this.photoHash);
+    }
+
+    /**
+     * Construye la URL de una foto de perfil a partir de su hash.
+     * 
+     * @param photoHash el hash de la foto.
+     * @return la URL de la foto, o null si el hash es null.
+     */
+    public static String photoUrl(String photoHash) {
+        return photoHash == null ? null : "/api/users/photos/" + photoHash;
+    }
+
     /**
      * Obtiene las credenciales del usuario.
      * 
@@ -3,7 +3,9 @@ package iso.e02.planify.entities;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,6 +15,10 @@ import java.util.List;
  * Extiende la clase {@link AppUser} para heredar las propiedades de un usuario general.
  */
 @Entity
+@Table(name = "common_user", indexes = {
+        @Index(name = "ix_common_user_activated_blocked", columnList = "activated, blocked"),
+        @Index(name = "ix_common_user_department", columnList = "department")
+})
 public class CommonUser extends AppUser {
 
     /**
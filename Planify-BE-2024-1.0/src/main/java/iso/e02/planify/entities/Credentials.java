@@ -9,6 +9,8 @@ import jakarta.persistence.Id;
 /**
  * Representa las credenciales de un usuario en el sistema.
  * Esta entidad está mapeada a una tabla de base de datos utilizando anotaciones JPA.
+ * No se guarda en la caché de segundo nivel: la contraseña y la clave secreta
+ * se leen siempre de la base de datos.
  */
 @Entity
 public class Credentials {
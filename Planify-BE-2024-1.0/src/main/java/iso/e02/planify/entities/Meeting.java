@@ -13,9 +13,15 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(name = "meeting", indexes = {
+        @Index(name = "ix_meeting_from_to", columnList = "from_date_time, to_date_time"),
+        @Index(name = "ix_meeting_status_from", columnList = "status, from_date_time")
+})
 public class Meeting {
 
       /**
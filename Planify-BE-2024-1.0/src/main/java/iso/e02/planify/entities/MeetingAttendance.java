@@ -3,6 +3,10 @@ package iso.e02.planify.entities;
 import jakarta.persistence.*;
 
 @Entity
+@Table(name = "meeting_attendance", indexes = {
+        @Index(name = "ix_meeting_attendance_user_meeting", columnList = "user_id, meeting_id"), // Reuniones de un usuario
+        @Index(name = "ix_meeting_attendance_meeting", columnList = "meeting_id") // Participantes de una reunión
+})
 public class MeetingAttendance {
 
     @Id
@@ -0,0 +1,51 @@
+package iso.e02.planify.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Token de recuperación de contraseña guardado en la base de datos, para que
+ * cualquier nodo pueda canjearlo. Se guarda el hash SHA-256 del token, no el
+ * token en claro.
+ */
+@Entity
+@Table(name = "recovery_tokens", indexes = {
+        @Index(name = "ix_recovery_tokens_email", columnList = "email", unique = true),
+        @Index(name = "ix_recovery_tokens_hora_fin", columnList = "hora_fin")
+})
+public class RecoveryToken {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "email", nullable = false)
+    private String email;
+
+    @Column(name = "hora_fin", nullable = false)
+    private long horaFin;
+
+    // Getters y setters
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public long getHoraFin() {
+        return horaFin;
+    }
+
+    public void setHoraFin(long horaFin) {
+        this.horaFin = horaFin;
+    }
+}
@@ -0,0 +1,50 @@
+package iso.e02.planify.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Foto de perfil guardada aparte de los usuarios y direccionada por contenido:
+ * su clave es el hash SHA-256 de los bytes, de modo que dos usuarios con la
+ * misma foto comparten fila y una foto nunca cambia para un hash dado.
+ */
+@Entity
+@Table(name = "user_photos")
+public class UserPhoto {
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "content", columnDefinition = "VARBINARY(MAX)", nullable = false)
+    private byte[] content;
+
+    // Getters y setters
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+}
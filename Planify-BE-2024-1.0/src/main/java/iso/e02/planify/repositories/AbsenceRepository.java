@@ -1,10 +1,14 @@
 package iso.e02.planify.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import iso.e02.planify.entities.Absence;
+import iso.e02.planify.requests.AgendaEntryDTO;
+import iso.e02.planify.requests.BusyIntervalDTO;
 
 /**
  * Repositorio de Spring Data JPA para gestionar entidades {@link Absence}.
@@ -20,4 +24,56 @@ public interface AbsenceRepository extends JpaRepository<Absence, Long> {
      * @return una lista de ausencias que pertenecen al usuario con el ID especificado.
      */
     List<Absence> findByCommonUserId(Long userId);
+
+    /**
+     * Devuelve únicamente el intervalo de cada ausencia de un usuario, sin cargar las entidades.
+     * 
+     * @param userId el identificador del usuario común.
+     * @return los intervalos de las ausencias del usuario.
+     */
+    @Query("""
+    SELECT new iso.e02.planify.requests.BusyIntervalDTO(a.id, a.fromDateTime, a.toDateTime, a.allDayLong)
+    FROM Absence a
+    WHERE a.commonUser.id = :userId
+    """)
+    List<BusyIntervalDTO> findBusyIntervalsByUserId(Long userId);
+
+    /**
+     * Devuelve solo las ausencias de un usuario que se solapan con
+     * [fromDateTime, toDateTime). Las de día completo se guardan con las 00:00
+     * de su último día, por eso se solapan si ese día es posterior a
+     * allDayFromDateTime (un día antes de fromDateTime).
+     * 
+     * @param userId el identificador del usuario común.
+     * @return los intervalos de las ausencias que se solapan.
+     */
+    @Query("""
+    SELECT new iso.e02.planify.requests.BusyIntervalDTO(a.id, a.fromDateTime, a.toDateTime, a.allDayLong)
+    FROM Absence a
+    WHERE a.commonUser.id = :userId
+    AND a.fromDateTime < :toDateTime
+    AND (a.toDateTime > :fromDateTime OR (a.allDayLong = true AND a.toDateTime > :allDayFromDateTime))
+    """)
+    List<BusyIntervalDTO> findOverlappingAbsences(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+            LocalDateTime allDayFromDateTime);
+
+    /**
+     * Ausencias de un usuario que se solapan con [fromDateTime, toDateTime),
+     * ordenadas por inicio. Las de día completo se guardan con las 00:00 de su
+     * último día, por eso se solapan si ese día es posterior a allDayFromDateTime
+     * (un día antes de fromDateTime).
+     * 
+     * @param userId el identificador del usuario común.
+     * @return los elementos de agenda de las ausencias.
+     */
+    @Query("""
+    SELECT new iso.e02.planify.requests.AgendaEntryDTO(a.id, a.absenceType, a.fromDateTime, a.toDateTime, a.allDayLong)
+    FROM Absence a
+    WHERE a.commonUser.id = :userId
+    AND a.fromDateTime < :toDateTime
+    AND (a.toDateTime > :fromDateTime OR (a.allDayLong = true AND a.toDateTime > :allDayFromDateTime))
+    ORDER BY a.fromDateTime, a.id
+    """)
+    List<AgendaEntryDTO> findAgendaAbsences(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+            LocalDateTime allDayFromDateTime);
 }
@@ -4,8 +4,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import iso.e02.planify.entities.Administrator;
@@ -25,6 +29,7 @@ public interface AdministratorRepository extends JpaRepository<Administrator, Lo
      * @param email el correo electrónico del usuario.
      * @return un {@link Optional} que contiene el usuario si se encuentra, o vacío si no.
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true")) // Cache de consultas, se invalida al modificar usuarios
     Optional<AppUser> findByEmail(String email);
 
     /**
@@ -1,10 +1,15 @@
 package iso.e02.planify.repositories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import iso.e02.planify.entities.AppUser;
@@ -31,9 +36,19 @@ public interface CommonUserRepository extends JpaRepository<CommonUser, Long> {
     List<Map<String, Object>> getUserToShow();
 
     
-    @Query("SELECT c FROM AppUser u JOIN CommonUser c ON u.id = c.id WHERE u.email = :userEmail") //cambiar, esto se usa para retornar las reuniones del usuario
+    @Query("SELECT c FROM CommonUser c WHERE c.email = :userEmail")
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true")) // Cache de consultas, se invalida al modificar usuarios
     CommonUser findByEmail(String userEmail);
 
     CommonUser findById(long id);
 
+    /**
+     * Recupera en una única consulta todos los usuarios comunes cuyos emails estén en la colección.
+     * Los emails que no correspondan a ningún usuario simplemente no aparecen en el resultado.
+     * 
+     * @param emails los emails a buscar.
+     * @return los usuarios encontrados.
+     */
+    List<CommonUser> findByEmailIn(Collection<String> emails);
+
 }
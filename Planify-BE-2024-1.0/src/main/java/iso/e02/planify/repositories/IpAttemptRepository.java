@@ -2,9 +2,30 @@ package iso.e02.planify.repositories;
 
 import iso.e02.planify.entities.IpAttempt;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface IpAttemptRepository extends JpaRepository<IpAttempt, Long> {
 
     Optional<IpAttempt> findByIpAddress(String ipAddress);
-}
\ No newline at end of file
+
+    // Bloqueos que siguen vigentes (el último intento es posterior a "since")
+    List<IpAttempt> findByBlockedTrueAndLastAttemptAfter(LocalDateTime since);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IpAttempt a WHERE a.ipAddress = :ipAddress")
+    int deleteByIpAddress(String ipAddress);
+
+    // Limpieza de filas caducadas
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IpAttempt a WHERE a.lastAttempt < :before")
+    int deleteByLastAttemptBefore(LocalDateTime before);
+}
@@ -3,12 +3,19 @@ package iso.e02.planify.repositories;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import iso.e02.planify.entities.Meeting;
 import iso.e02.planify.entities.MeetingAttendance;
+import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.entities.MeetingAttendance.Role;
+import iso.e02.planify.requests.AgendaEntryDTO;
+import iso.e02.planify.requests.BusyIntervalDTO;
 import iso.e02.planify.requests.InspectUserForMeetingsDTO;
 
 @Repository
@@ -34,6 +41,52 @@ public interface MeetingAttendanceRepository extends JpaRepository<MeetingAttend
 
     MeetingAttendance findByMeetingIdAndUserId(Long meetingId, Long userId);
 
+    List<MeetingAttendance> findByMeetingId(Long meetingId);
+
+    /**
+     * Asistencia de un usuario a una reunión junto con la reunión, en una sola
+     * consulta. Es la base del contexto de los comandos sobre una reunión (ver
+     * MeetingCommandService).
+     */
+    @Query("""
+    SELECT ma FROM MeetingAttendance ma
+    JOIN FETCH ma.meeting m
+    WHERE m.id = :meetingId AND ma.user.id = :userId
+    """)
+    Optional<MeetingAttendance> findWithMeeting(Long meetingId, Long userId);
+
+    @Query("SELECT ma.user.id FROM MeetingAttendance ma WHERE ma.meeting.id = :meetingId")
+    List<Long> findUserIdsByMeetingId(Long meetingId);
+
+    @Query("""
+    SELECT new iso.e02.planify.requests.BusyIntervalDTO(m.id, m.fromDateTime, m.toDateTime, m.allDayLong)
+    FROM MeetingAttendance ma
+    JOIN ma.meeting m
+    WHERE ma.user.id = :userId
+    AND m.status <> 'CANCELADA'
+    """)
+    List<BusyIntervalDTO> findBusyIntervalsByUserId(Long userId); // usado por el índice de disponibilidad
+
+    /**
+     * Reuniones de un usuario que se solapan con [fromDateTime, toDateTime),
+     * ordenadas por inicio. Una reunión no pasa de un día, así que además se
+     * acota su inicio por abajo con earliestFromDateTime (un día antes de
+     * fromDateTime) y las dos condiciones sobre from_date_time usan el índice.
+     */
+    @Query("""
+    SELECT new iso.e02.planify.requests.AgendaEntryDTO(
+        m.id, m.subject, m.fromDateTime, m.toDateTime, m.allDayLong, ma.role, m.status, ma.invitationStatus)
+    FROM MeetingAttendance ma
+    JOIN ma.meeting m
+    WHERE ma.user.id = :userId
+    AND m.fromDateTime >= :earliestFromDateTime
+    AND m.fromDateTime < :toDateTime
+    AND m.toDateTime > :fromDateTime
+    ORDER BY m.fromDateTime, m.id
+    """)
+    List<AgendaEntryDTO> findAgendaMeetings(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+            LocalDateTime earliestFromDateTime);
+
 
 
 
@@ -48,20 +101,23 @@ public interface MeetingAttendanceRepository extends JpaRepository<MeetingAttend
     """)
     List<InspectUserForMeetingsDTO> findAttendeesForMeetingById(Long meetingId); //usado para inspecionar
 
-    @Query("SELECT new iso.e02.planify.requests.InspectUserForMeetingsDTO(a.id, a.name, a.surnames, a.photo) FROM AppUser a WHERE a.id = :userId")
+    @Query("SELECT new iso.e02.planify.requests.InspectUserForMeetingsDTO(a.id, a.name, a.surnames, a.photoHash) FROM AppUser a WHERE a.id = :userId")
     InspectUserForMeetingsDTO findOrganizadorDetailsById(Long userId);
 
+    /**
+     * Devuelve solo los ids de las reuniones abiertas de un usuario que se
+     * solapan con [fromDateTime, toDateTime).
+     */
     @Query("""
-    SELECT 
-        COUNT(ma)
+    SELECT m.id
     FROM MeetingAttendance ma
     JOIN ma.meeting m
     WHERE ma.user.id = :userId
-    AND m.fromDateTime <= :toDateTime
-    AND m.toDateTime >= :fromDateTime
+    AND m.fromDateTime < :toDateTime
+    AND m.toDateTime > :fromDateTime
     AND m.status = 'ABIERTA'
     """)
-    Long checkOverlap(LocalDateTime fromDateTime, LocalDateTime toDateTime, Long userId);
+    List<Long> findOverlappingOpenMeetingIds(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime);
 
     @Query("""
         SELECT ma
@@ -73,4 +129,36 @@ public interface MeetingAttendanceRepository extends JpaRepository<MeetingAttend
         """)
     List<MeetingAttendance> findAttendancesByUserIdAndPeriod(LocalDateTime fromDateTime, LocalDateTime toDateTime, Long userId, Boolean allDayLong);
 
+    // Cascadas al bloquear a un usuario o registrar una ausencia (ver MeetingCascadeService)
+
+    @Query("""
+    SELECT m.id FROM MeetingAttendance ma JOIN ma.meeting m
+    WHERE ma.user.id = :userId AND ma.role = :organizer AND m.status <> :cancelled
+    """)
+    List<Long> findMeetingIdsToCancel(Long userId, Role organizer, Meeting.Status cancelled);
+
+    @Query("""
+    SELECT m.id FROM MeetingAttendance ma JOIN ma.meeting m
+    WHERE ma.user.id = :userId AND ma.role = :organizer AND m.status <> :cancelled
+    AND m.fromDateTime < :toDateTime AND m.toDateTime > :fromDateTime
+    """)
+    List<Long> findMeetingIdsToCancelInPeriod(Long userId, Role organizer, Meeting.Status cancelled,
+            LocalDateTime fromDateTime, LocalDateTime toDateTime);
+
+    @Modifying
+    @Query("""
+    UPDATE MeetingAttendance ma SET ma.invitationStatus = :rejected, ma.declineReason = :reason
+    WHERE ma.user.id = :userId AND ma.role <> :organizer AND ma.invitationStatus <> :rejected
+    """)
+    int rejectInvitations(Long userId, Role organizer, InvitationStatus rejected, String reason);
+
+    @Modifying
+    @Query("""
+    UPDATE MeetingAttendance ma SET ma.invitationStatus = :rejected, ma.declineReason = :reason
+    WHERE ma.user.id = :userId AND ma.role <> :organizer AND ma.invitationStatus <> :rejected
+    AND ma.meeting.id IN (
+        SELECT m.id FROM Meeting m WHERE m.fromDateTime < :toDateTime AND m.toDateTime > :fromDateTime)
+    """)
+    int rejectInvitationsInPeriod(Long userId, Role organizer, InvitationStatus rejected, String reason,
+            LocalDateTime fromDateTime, LocalDateTime toDateTime);
 }
@@ -1,23 +1,80 @@
 package iso.e02.planify.repositories;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import iso.e02.planify.requests.CandidateToMeetinDTO;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance.Role;
 
 @Repository
 public interface MeetingRespository extends JpaRepository<Meeting, Long> {
 
-    @Query("SELECT new iso.e02.planify.requests.CandidateToMeetinDTO (a.id, a.name, a.surnames, a.email, ab.fromDateTime as fromDateTimeAbsences, ab.toDateTime as toDateTimeAbsences) "
-            +
-            "FROM AppUser a " +
-            "LEFT JOIN CommonUser c ON a.id = c.id " +
-            "LEFT JOIN Absence ab ON c.id = ab.commonUser " +
-            "WHERE c.activated = 'true' AND c.blocked = 'false'")
-    List<CandidateToMeetinDTO> getCandidatesToMeeting();
+    /**
+     * Candidatos a una reunión: un registro por usuario activo y no bloqueado,
+     * indicando si tiene ausencias o reuniones no canceladas que se solapen con
+     * la franja [fromDateTime, toDateTime).
+     *
+     * Las ausencias de día completo se guardan con las 00:00 de su último día,
+     * por eso se solapan si ese día es posterior a allDayFromDateTime (un día antes
+     * del inicio de la reunión).
+     */
+    @Query(value = """
+    SELECT new iso.e02.planify.requests.CandidateToMeetinDTO(
+        c.id, c.name, c.surnames, c.email,
+        CASE WHEN EXISTS (
+            SELECT ab.id FROM Absence ab
+            WHERE ab.commonUser.id = c.id
+            AND ab.fromDateTime < :toDateTime
+            AND (ab.toDateTime > :fromDateTime OR (ab.allDayLong = true AND ab.toDateTime > :allDayFromDateTime))
+        ) THEN true ELSE false END,
+        CASE WHEN EXISTS (
+            SELECT ma.id FROM MeetingAttendance ma JOIN ma.meeting m
+            WHERE ma.user.id = c.id
+            AND m.status <> 'CANCELADA'
+            AND m.fromDateTime < :toDateTime
+            AND m.toDateTime > :fromDateTime
+        ) THEN true ELSE false END)
+    FROM CommonUser c
+    WHERE c.activated = true AND c.blocked = false
+    ORDER BY c.surnames, c.name, c.id
+    """,
+    countQuery = "SELECT COUNT(c) FROM CommonUser c WHERE c.activated = true AND c.blocked = false")
+    Page<CandidateToMeetinDTO> getCandidatesToMeeting(LocalDateTime fromDateTime, LocalDateTime toDateTime,
+            LocalDateTime allDayFromDateTime, Pageable pageable);
 
+    /**
+     * Cancela en una sola sentencia las reuniones no canceladas que organiza un usuario.
+     *
+     * @return el número de reuniones canceladas.
+     */
+    @Modifying
+    @Query("""
+    UPDATE Meeting m SET m.status = :cancelled
+    WHERE m.status <> :cancelled AND m.id IN (
+        SELECT ma.meeting.id FROM MeetingAttendance ma WHERE ma.user.id = :userId AND ma.role = :organizer)
+    """)
+    int cancelOrganizedBy(Long userId, Role organizer, Meeting.Status cancelled);
+
+    /**
+     * Igual que cancelOrganizedBy, pero solo para las reuniones que se solapan
+     * con [fromDateTime, toDateTime).
+     *
+     * @return el número de reuniones canceladas.
+     */
+    @Modifying
+    @Query("""
+    UPDATE Meeting m SET m.status = :cancelled
+    WHERE m.status <> :cancelled AND m.fromDateTime < :toDateTime AND m.toDateTime > :fromDateTime
+    AND m.id IN (
+        SELECT ma.meeting.id FROM MeetingAttendance ma WHERE ma.user.id = :userId AND ma.role = :organizer)
+    """)
+    int cancelOrganizedByInPeriod(Long userId, Role organizer, Meeting.Status cancelled,
+            LocalDateTime fromDateTime, LocalDateTime toDateTime);
 }
@@ -0,0 +1,28 @@
+package iso.e02.planify.repositories;
+
+import iso.e02.planify.entities.RecoveryToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import jakarta.transaction.Transactional;
+
+public interface RecoveryTokenRepository extends JpaRepository<RecoveryToken, String> {
+
+    // Un email solo puede tener un token vigente
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RecoveryToken t WHERE t.email = :email")
+    int deleteByEmail(String email);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RecoveryToken t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(String tokenHash);
+
+    // Limpieza de tokens caducados
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RecoveryToken t WHERE t.horaFin < :now")
+    int deleteByHoraFinBefore(long now);
+}
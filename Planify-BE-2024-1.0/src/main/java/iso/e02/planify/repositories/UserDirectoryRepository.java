@@ -0,0 +1,125 @@
+package iso.e02.planify.repositories;
+
+// imports de iso.e02.planify
+import iso.e02.planify.requests.UserDirectoryEntryDTO;
+import iso.e02.planify.requests.UserDirectoryRequest;
+
+// imports de java
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// imports de jakarta
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+// imports de spring
+import org.springframework.stereotype.Repository;
+
+/**
+ * Consulta del directorio de usuarios (comunes y administradores) con filtros
+ * opcionales y paginación por clave (keyset): en lugar de OFFSET, cada página
+ * empieza después de la última fila de la anterior, así que el coste no crece
+ * al avanzar. El orden es siempre (campo de orden, id) para que sea total y
+ * lo puedan recorrer los índices de AppUser.
+ */
+@Repository
+public class UserDirectoryRepository {
+
+    /**
+     * Campos por los que se puede ordenar el directorio.
+     */
+    public enum SortField {
+        NAME("u.name"),
+        SURNAMES("u.surnames"),
+        EMAIL("u.email");
+
+        private final String path;
+
+        SortField(String path) {
+            this.path = path;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Devuelve como mucho limit filas del directorio que cumplen los filtros.
+     *
+     * @param filters    los filtros a aplicar (se ignoran orden, tamaño y cursor).
+     * @param sort       el campo de orden.
+     * @param descending si el orden es descendente.
+     * @param afterValue valor del campo de orden de la última fila ya devuelta, o null en la primera página.
+     * @param afterId    id de la última fila ya devuelta, o null en la primera página.
+     * @param limit      número máximo de filas.
+     * @return las filas, en orden.
+     */
+    public List<UserDirectoryEntryDTO> findPage(UserDirectoryRequest filters, SortField sort, boolean descending,
+            String afterValue, Long afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("""
+                SELECT new iso.e02.planify.requests.UserDirectoryEntryDTO(
+                    u.id, CASE WHEN c.id IS NULL THEN 'Administrator' ELSE 'CommonUser' END,
+                    u.name, u.surnames, u.email, u.centre, c.department, c.activated, c.blocked, u.photoHash)
+                FROM AppUser u LEFT JOIN CommonUser c ON c.id = u.id
+                WHERE 1 = 1
+                """);
+        Map<String, Object> params = new HashMap<>();
+
+        if ("CommonUser".equals(filters.getType())) {
+            jpql.append(" AND c.id IS NOT NULL");
+        } else if ("Administrator".equals(filters.getType())) {
+            jpql.append(" AND c.id IS NULL");
+        }
+        if (filters.getActivated() != null) {
+            jpql.append(" AND c.activated = :activated");
+            params.put("activated", filters.getActivated());
+        }
+        if (filters.getBlocked() != null) {
+            jpql.append(" AND c.blocked = :blocked");
+            params.put("blocked", filters.getBlocked());
+        }
+        if (filters.getCentre() != null) {
+            jpql.append(" AND u.centre = :centre");
+            params.put("centre", filters.getCentre());
+        }
+        if (filters.getDepartment() != null) {
+            jpql.append(" AND c.department = :department");
+            params.put("department", filters.getDepartment());
+        }
+        if (filters.getNamePrefix() != null) {
+            // LIKE 'prefijo%' sin funciones sobre la columna, para poder usar el índice
+            jpql.append(" AND u.name LIKE :namePrefix ESCAPE '\\'");
+            params.put("namePrefix", escapeLike(filters.getNamePrefix()) + "%");
+        }
+        if (afterId != null) {
+            String op = descending ? "<" : ">";
+            jpql.append(" AND (").append(sort.path).append(' ').append(op).append(" :afterValue OR (")
+                    .append(sort.path).append(" = :afterValue AND u.id ").append(op).append(" :afterId))");
+            params.put("afterValue", afterValue);
+            params.put("afterId", afterId);
+        }
+        String order = descending ? " DESC" : " ASC";
+        jpql.append(" ORDER BY ").append(sort.path).append(order).append(", u.id").append(order);
+
+        TypedQuery<UserDirectoryEntryDTO> query = entityManager.createQuery(jpql.toString(), UserDirectoryEntryDTO.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Escapa los caracteres especiales de LIKE (incluido '[' de SQL Server).
+     */
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '\\' || ch == '%' || ch == '_' || ch == '[') {
+                escaped.append('\\');
+            }
+            escaped.append(ch);
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package iso.e02.planify.repositories;
+
+import iso.e02.planify.entities.UserPhoto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import jakarta.transaction.Transactional;
+
+public interface UserPhotoRepository extends JpaRepository<UserPhoto, String> {
+
+    // Fotos que ya no usa ningún usuario
+    @Transactional
+    @Modifying
+    @Query("""
+            DELETE FROM UserPhoto p
+            WHERE NOT EXISTS (SELECT 1 FROM AppUser u WHERE u.photoHash = p.hash)
+            """)
+    int deleteUnreferenced();
+}
@@ -2,7 +2,11 @@ package iso.e02.planify.repositories;
 
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import iso.e02.planify.entities.AppUser;
@@ -20,6 +24,7 @@ public interface UsersRepository extends JpaRepository<AppUser, Long> {
      * @param email el correo electrónico del usuario.
      * @return un {@link Optional} que contiene el usuario si se encuentra, o vacío si no.
      */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true")) // Cache de consultas, se invalida al modificar usuarios
     Optional<AppUser> findByEmail(String email);
 
 
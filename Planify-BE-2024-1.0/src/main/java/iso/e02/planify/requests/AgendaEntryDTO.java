@@ -0,0 +1,106 @@
+package iso.e02.planify.requests;
+
+import java.time.LocalDateTime;
+
+import iso.e02.planify.entities.Absence;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.entities.MeetingAttendance.Role;
+
+/**
+ * Elemento de la agenda de un usuario: una reunión a la que está convocado o
+ * una de sus ausencias. Los campos que no aplican al tipo de elemento son null.
+ * Como en las ausencias guardadas, las de día completo llevan las 00:00 de su
+ * primer y último día.
+ */
+public class AgendaEntryDTO {
+
+    /**
+     * Tipo de elemento de la agenda.
+     */
+    public enum Kind {
+        MEETING, ABSENCE
+    }
+
+    private final Kind kind;
+    private final Long id;
+    private final LocalDateTime fromDateTime;
+    private final LocalDateTime toDateTime;
+    private final boolean allDayLong;
+
+    // Campos de las reuniones
+    private String subject;
+    private Role role;
+    private Meeting.Status status;
+    private InvitationStatus invitationStatus;
+
+    // Campos de las ausencias
+    private Absence.Type absenceType;
+
+    // Constructor usado por la consulta de reuniones de la agenda
+    public AgendaEntryDTO(Long id, String subject, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+            boolean allDayLong, Role role, Meeting.Status status, InvitationStatus invitationStatus) {
+        this(Kind.MEETING, id, fromDateTime, toDateTime, allDayLong);
+        this.subject = subject;
+        this.role = role;
+        this.status = status;
+        this.invitationStatus = invitationStatus;
+    }
+
+    // Constructor usado por la consulta de ausencias de la agenda
+    public AgendaEntryDTO(Long id, Absence.Type absenceType, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+            boolean allDayLong) {
+        this(Kind.ABSENCE, id, fromDateTime, toDateTime, allDayLong);
+        this.absenceType = absenceType;
+    }
+
+    private AgendaEntryDTO(Kind kind, Long id, LocalDateTime fromDateTime, LocalDateTime toDateTime,
+            boolean allDayLong) {
+        this.kind = kind;
+        this.id = id;
+        this.fromDateTime = fromDateTime;
+        this.toDateTime = toDateTime;
+        this.allDayLong = allDayLong;
+    }
+
+    // Getters
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getFromDateTime() {
+        return fromDateTime;
+    }
+
+    public LocalDateTime getToDateTime() {
+        return toDateTime;
+    }
+
+    public boolean isAllDayLong() {
+        return allDayLong;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public Meeting.Status getStatus() {
+        return status;
+    }
+
+    public InvitationStatus getInvitationStatus() {
+        return invitationStatus;
+    }
+
+    public Absence.Type getAbsenceType() {
+        return absenceType;
+    }
+}
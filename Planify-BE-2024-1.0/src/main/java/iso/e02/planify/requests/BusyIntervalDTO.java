@@ -0,0 +1,38 @@
+package iso.e02.planify.requests;
+
+import java.time.LocalDateTime;
+
+//Un DTO (Data Transfer Object) es un objeto que se utiliza para transportar datos entre diferentes procesos.
+//En este caso, se utiliza para transportar el intervalo en el que un usuario está ocupado (reunión o ausencia)
+//sin cargar la entidad completa.
+public class BusyIntervalDTO {
+    private Long id;
+    private LocalDateTime fromDateTime;
+    private LocalDateTime toDateTime;
+    private boolean allDayLong;
+
+    // Constructor
+    public BusyIntervalDTO(Long id, LocalDateTime fromDateTime, LocalDateTime toDateTime, boolean allDayLong) {
+        this.id = id;
+        this.fromDateTime = fromDateTime;
+        this.toDateTime = toDateTime;
+        this.allDayLong = allDayLong;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getFromDateTime() {
+        return fromDateTime;
+    }
+
+    public LocalDateTime getToDateTime() {
+        return toDateTime;
+    }
+
+    public boolean isAllDayLong() {
+        return allDayLong;
+    }
+}
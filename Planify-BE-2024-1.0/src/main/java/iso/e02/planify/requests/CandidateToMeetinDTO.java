@@ -1,7 +1,5 @@
 package iso.e02.planify.requests;
 
-import java.time.LocalDateTime;
-
 //Un DTO (Data Transfer Object) es un objeto que se utiliza para transportar datos entre diferentes procesos.
 //En este caso, se utiliza para transportar los datos de un candidato a una reunión al convocar y modificar reuniones.
 public class CandidateToMeetinDTO {
@@ -9,19 +7,17 @@ public class CandidateToMeetinDTO {
     private String name;
     private String surnames;
     private String email;
-    private LocalDateTime fromDateTimeAbsence;
-    private LocalDateTime toDateTimeAbsence;
     private boolean hasAbsences;
     private boolean hasMeetings;
 
-    // Constructor
-    public CandidateToMeetinDTO(Long id, String name, String surnames, String email, LocalDateTime fromDateTimeAbsence, LocalDateTime toDateTimeAbsence) {
+    // Constructor (hasAbsences y hasMeetings se calculan en la consulta para la franja de la reunión)
+    public CandidateToMeetinDTO(Long id, String name, String surnames, String email, Boolean hasAbsences, Boolean hasMeetings) {
         this.id = id;
         this.name = name;
         this.surnames = surnames;
         this.email = email;
-        this.fromDateTimeAbsence = fromDateTimeAbsence;
-        this.toDateTimeAbsence = toDateTimeAbsence;
+        this.hasAbsences = Boolean.TRUE.equals(hasAbsences);
+        this.hasMeetings = Boolean.TRUE.equals(hasMeetings);
     }
 
 
@@ -58,23 +54,6 @@ public class CandidateToMeetinDTO {
         this.email = email;
     }
 
-    public LocalDateTime getfromDateTimeAbsence() {
-        return fromDateTimeAbsence;
-    }
-
-    public void setfromDateTimeAbsence(LocalDateTime fromDateTimeAbsence) {
-        this.fromDateTimeAbsence = fromDateTimeAbsence;
-    }
-
-    public LocalDateTime gettoDateTimeAbsence() {
-        return toDateTimeAbsence;
-    }
-
-    public void settoDateTimeAbsence(LocalDateTime toDateTimeAbsence) {
-        this.toDateTimeAbsence = toDateTimeAbsence;
-    }
-
-
     public boolean getHasAbsences() {
         return hasAbsences;
     }
@@ -1,6 +1,7 @@
 package iso.e02.planify.requests;
 import iso.e02.planify.entities.MeetingAttendance.Role;
 import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.entities.AppUser;
 
 
 public class InspectUserForMeetingsDTO {
@@ -11,7 +12,7 @@ public class InspectUserForMeetingsDTO {
     private Role role; // Incluye el rol
     private InvitationStatus invitationStatus;
     private boolean hasAssisted;
-    private byte[] photo; // Incluye la foto
+    private String photoUrl; // URL de la foto (no los bytes)
 
 
 
@@ -27,11 +28,11 @@ public class InspectUserForMeetingsDTO {
     }
 
     // Constructor for the query para obtener el organizador
-    public InspectUserForMeetingsDTO(Long id, String name, String surnames, byte[] photo) {
+    public InspectUserForMeetingsDTO(Long id, String name, String surnames, String photoHash) {
         this.id = id;
         this.name = name;
         this.surnames = surnames;
-        this.photo = photo; // Assuming photo is stored in the email field for this query
+        this.photoUrl = AppUser.photoUrl(photoHash);
     }
 
     // Getters and setters
@@ -91,8 +92,8 @@ public class InspectUserForMeetingsDTO {
         this.hasAssisted = hasAssisted;
     }
 
-    public byte[] getPhoto() {
-        return photo;
+    public String getPhotoUrl() {
+        return photoUrl;
     }
 
 }
@@ -0,0 +1,25 @@
+package iso.e02.planify.requests;
+
+/**
+ * Resultado de cancelar o rechazar en bloque las reuniones de un usuario:
+ * cuántas reuniones que organizaba se han cancelado y cuántas invitaciones
+ * suyas se han rechazado.
+ */
+public class MeetingCascadeResult {
+
+    private final int cancelledMeetings;
+    private final int rejectedInvitations;
+
+    public MeetingCascadeResult(int cancelledMeetings, int rejectedInvitations) {
+        this.cancelledMeetings = cancelledMeetings;
+        this.rejectedInvitations = rejectedInvitations;
+    }
+
+    public int getCancelledMeetings() {
+        return cancelledMeetings;
+    }
+
+    public int getRejectedInvitations() {
+        return rejectedInvitations;
+    }
+}
@@ -0,0 +1,79 @@
+package iso.e02.planify.requests;
+
+import iso.e02.planify.entities.AppUser;
+
+/**
+ * Fila del directorio de usuarios. Se construye directamente en la consulta
+ * (proyección), de modo que no se cargan entidades ni credenciales.
+ * Los campos propios de los usuarios comunes (departamento, activado,
+ * bloqueado) son null para los administradores.
+ */
+public class UserDirectoryEntryDTO {
+
+    private final Long id;
+    private final String dtype;
+    private final String name;
+    private final String surnames;
+    private final String email;
+    private final String centre;
+    private final String department;
+    private final Boolean activated;
+    private final Boolean blocked;
+    private final String photoUrl;
+
+    // Constructor usado por la consulta del directorio
+    public UserDirectoryEntryDTO(Long id, String dtype, String name, String surnames, String email, String centre,
+            String department, Boolean activated, Boolean blocked, String photoHash) {
+        this.id = id;
+        this.dtype = dtype;
+        this.name = name;
+        this.surnames = surnames;
+        this.email = email;
+        this.centre = centre;
+        this.department = department;
+        this.activated = activated;
+        this.blocked = blocked;
+        this.photoUrl = AppUser.photoUrl(photoHash);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getDtype() {
+        return dtype;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSurnames() {
+        return surnames;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getCentre() {
+        return centre;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public Boolean getActivated() {
+        return activated;
+    }
+
+    public Boolean getBlocked() {
+        return blocked;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+}
@@ -0,0 +1,26 @@
+package iso.e02.planify.requests;
+
+import java.util.List;
+
+/**
+ * Página del directorio de usuarios. nextCursor es null en la última página;
+ * en otro caso se envía como parámetro cursor para pedir la siguiente.
+ */
+public class UserDirectoryPage {
+
+    private final List<UserDirectoryEntryDTO> items;
+    private final String nextCursor;
+
+    public UserDirectoryPage(List<UserDirectoryEntryDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<UserDirectoryEntryDTO> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,99 @@
+package iso.e02.planify.requests;
+
+/**
+ * Parámetros de una consulta al directorio de usuarios: filtros, orden,
+ * tamaño de página y cursor de la página anterior. Todos son opcionales.
+ */
+public class UserDirectoryRequest {
+
+    private String type; // "CommonUser" o "Administrator"
+    private Boolean activated;
+    private Boolean blocked;
+    private String centre;
+    private String department;
+    private String namePrefix;
+    private String sort = "name"; // "name", "surnames" o "email"
+    private String direction = "asc"; // "asc" o "desc"
+    private Integer size;
+    private String cursor;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Boolean getActivated() {
+        return activated;
+    }
+
+    public void setActivated(Boolean activated) {
+        this.activated = activated;
+    }
+
+    public Boolean getBlocked() {
+        return blocked;
+    }
+
+    public void setBlocked(Boolean blocked) {
+        this.blocked = blocked;
+    }
+
+    public String getCentre() {
+        return centre;
+    }
+
+    public void setCentre(String centre) {
+        this.centre = centre;
+    }
+
+    public String getDepartment() {
+        return department;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    public void setNamePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
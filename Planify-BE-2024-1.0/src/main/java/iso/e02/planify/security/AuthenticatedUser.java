@@ -0,0 +1,96 @@
+package iso.e02.planify.security;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.AppUser;
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.repositories.UsersRepository;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Usuario autenticado de la petición en curso.
+ *
+ * El JWTInterceptor lo rellena con el email del token ya verificado y los
+ * controladores lo inyectan en lugar de volver a validar el JWT. El usuario
+ * se carga de la base de datos la primera vez que se pide y se reutiliza
+ * durante el resto de la petición.
+ */
+@Component
+@RequestScope
+public class AuthenticatedUser {
+
+    @Autowired
+    private UsersRepository usersRepository; // Inyección del repositorio de usuarios
+
+    private String email; // Email del token verificado
+    private Long userId; // ID del usuario, si el token lo incluye
+    private AppUser user; // Usuario cargado (null hasta el primer uso)
+
+    /**
+     * Registra los datos del token verificado para esta petición.
+     *
+     * @param email  el sujeto del token JWT.
+     * @param userId el ID del usuario del token, o null si es un token antiguo sin ese claim.
+     */
+    public void authenticate(String email, Long userId) {
+        this.email = email;
+        this.userId = userId;
+        this.user = null;
+    }
+
+    public boolean isAuthenticated() {
+        return this.email != null;
+    }
+
+    public String getEmail() {
+        return this.email;
+    }
+
+    /**
+     * Obtiene el ID del usuario autenticado sin consultar la base de datos
+     * cuando el token lo incluye.
+     *
+     * @return el ID del usuario.
+     */
+    public Long getUserId() {
+        return this.userId != null ? this.userId : getUser().getId();
+    }
+
+    /**
+     * Obtiene el usuario autenticado, cargándolo si aún no se ha hecho.
+     *
+     * @return el usuario de la petición.
+     * @throws ResponseStatusException 401 si la petición no está autenticada o el usuario ya no existe.
+     */
+    public AppUser getUser() {
+        if (this.user == null) {
+            if (this.email == null) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Petición no autenticada.");
+            }
+            this.user = this.usersRepository.findByEmail(this.email)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                            "Token JWT no válido o expirado."));
+        }
+        return this.user;
+    }
+
+    /**
+     * Obtiene el usuario autenticado como usuario común.
+     *
+     * @return el usuario común de la petición.
+     * @throws ResponseStatusException 406 si el usuario autenticado no es un usuario común.
+     */
+    public CommonUser getCommonUser() {
+        AppUser current = getUser();
+        if (!(current instanceof CommonUser)) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "No existe el usuario con email \"" + this.email + "\".");
+        }
+        return (CommonUser) current;
+    }
+}
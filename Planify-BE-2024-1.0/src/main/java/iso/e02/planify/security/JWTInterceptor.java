@@ -2,16 +2,13 @@ package iso.e02.planify.security;
 
 // imports de iso.e02.planify
 import iso.e02.planify.entities.Administrator;
-import iso.e02.planify.repositories.UsersRepository;
-import iso.e02.planify.services.ValidateUserService;
-
-// imports de java
-import java.util.Arrays;
+import iso.e02.planify.security.RouteAuthorizationTable.Access;
+import iso.e02.planify.security.VerifiedTokenCache.VerifiedToken;
+import iso.e02.planify.services.JWTService;
 
 // imports de spring
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 // imports de jakarta
@@ -26,22 +23,22 @@ import jakarta.servlet.http.HttpServletResponse;
  * 
  * El método preHandle se ejecuta antes de que se maneje la petición HTTP. En este método se extrae el 
  * token JWT del encabezado Authorization, se valida y se comprueba si el usuario tiene permisos para acceder a la ruta solicitada.
+ * El usuario resuelto se guarda en {@link AuthenticatedUser} para que los controladores no tengan que volver a validar el token.
+ * 
+ * El rol se lee del claim del token y el rol que exige cada ruta de la {@link RouteAuthorizationTable}, así que
+ * la autorización no consulta la base de datos. Solo los tokens emitidos antes de incluir el rol obligan a cargar el usuario.
  */
 @Component
 public class JWTInterceptor implements HandlerInterceptor {
 
     @Autowired
-    private ValidateUserService validateUserService; // Inyección del servicio de validación de JWT
+    private VerifiedTokenCache verifiedTokenCache; // Verificador de JWT con caché de tokens verificados
 
     @Autowired
-    private UsersRepository usersRepository; // Inyección del repositorio de usuarios
-
-
-    AntPathMatcher pathMatcher = new AntPathMatcher();
+    private RouteAuthorizationTable routeAuthorizationTable; // Rol necesario para cada ruta, precalculado al arrancar
 
-    public JWTInterceptor(ValidateUserService validateUserService) { // Constructor de la clase
-        this.validateUserService = validateUserService;
-    }
+    @Autowired
+    private AuthenticatedUser authenticatedUser; // Usuario autenticado de la petición, que reutilizan los controladores
 
     /**
      * Método que se ejecuta antes de manejar la petición HTTP.
@@ -65,50 +62,21 @@ public class JWTInterceptor implements HandlerInterceptor {
         }
         jwt = jwt.replace("Bearer ", ""); // Quitar el prefijo "Bearer " del token JWT
         try {
-            String email = validateUserService.validateJWT(jwt); // Validar el token JWT y extraer el email del usuario
-            String role = "CommonUser";
-            if (usersRepository.findByEmail(email).get() instanceof Administrator) { // Comprobar si el usuario es un administrador
-                role = "Administrator";
-            }
+            VerifiedToken token = verifiedTokenCache.verifyToken(jwt); // Validar el token JWT y extraer sus datos
+            authenticatedUser.authenticate(token.getSubject(), token.getUserId()); // Guardar el usuario para el resto de la petición
 
             // Validar el acceso a los end points del back dependiendo del rol del usuario
-            String requestPath = request.getRequestURI();
-            String[] adminRoutes = { // Rutas de administrador
-                "/absences/*/delete",  
-                "/absences/create",     
-                "/workSchedule/addWorkSchedule",
-                "/api/administrators/**", 
-                "/api/users/showUsers",
-                "/api/users/*/block",
-                "/api/users/*/unblock",
-                "/api/users/*/activate",
-                "/api/users/registerUser",
-                "/absences/*/list", 
-                "/api/users/*/hasOpenedMeetings",
-                "/api/users/*",
-                "/absences/checkMeetingOverlap" 
-            };
-            
-            String[] commonUserRoutes = { // Rutas de usuario común
-                "/meetings/**",          
-                "/absences/list"       
-            };
-            
-            String[] sharedRoutes = {
-                "/api/users/*/inspect",
-                "/api/users/validateJWT" // Rutas accesibles por ambos roles
-            };
-
-            // Validar rutas compartidas primero
-            if (Arrays.stream(sharedRoutes).anyMatch(route -> pathMatcher.match(route, requestPath))) {
-                return true; // Permitir acceso a rutas compartidas
+            Access access = routeAuthorizationTable.getAccess(handler, request.getRequestURI());
+            if (access == Access.ANY) {
+                return true; // Permitir acceso a rutas compartidas o sin restricción de rol
             }
-            else if (Arrays.stream(adminRoutes).anyMatch(route -> pathMatcher.match(route, requestPath)) &&  "CommonUser".equals(role)) {
+            String role = getRole(token);
+            if (access == Access.ADMINISTRATOR && JWTService.ROLE_COMMON_USER.equals(role)) {
                 response.sendError(HttpServletResponse.SC_FORBIDDEN,
                 "Acceso denegado, función solo disponible para administradores");
                 return false;
 
-            } else if (Arrays.stream(commonUserRoutes).anyMatch(route -> pathMatcher.match(route, requestPath)) && "Administrator".equals(role)) {// funcionalidades de usuario común
+            } else if (access == Access.COMMON_USER && JWTService.ROLE_ADMINISTRATOR.equals(role)) {// funcionalidades de usuario común
                 response.sendError(HttpServletResponse.SC_FORBIDDEN,
                         "Acceso denegado, función solo disponible para usuarios comunes");
                 return false;
@@ -121,4 +89,18 @@ public class JWTInterceptor implements HandlerInterceptor {
             return false;
         }
     }
+
+    /**
+     * Obtiene el rol del usuario. Si el token no incluye el rol (tokens antiguos),
+     * se consulta el usuario en la base de datos.
+     * 
+     * @param token el token verificado.
+     * @return el rol del usuario.
+     */
+    private String getRole(VerifiedToken token) {
+        if (token.getRole() != null) {
+            return token.getRole();
+        }
+        return authenticatedUser.getUser() instanceof Administrator ? JWTService.ROLE_ADMINISTRATOR : JWTService.ROLE_COMMON_USER;
+    }
 }
\ No newline at end of file
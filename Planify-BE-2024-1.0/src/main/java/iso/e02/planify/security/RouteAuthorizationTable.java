@@ -0,0 +1,148 @@
+package iso.e02.planify.security;
+
+// imports de java
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// imports de spring
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Tabla de autorización de rutas por rol.
+ *
+ * Al arrancar la aplicación se recorren todos los métodos de los controladores
+ * y se calcula, a partir de sus patrones de ruta, qué rol puede invocarlos. En
+ * cada petición basta con buscar el método destino en un mapa. Solo las
+ * peticiones que no llegan a un método de controlador (o cuyos patrones dan
+ * roles distintos) se resuelven comparando la ruta con las listas de patrones.
+ */
+@Component
+public class RouteAuthorizationTable {
+
+    /**
+     * Rol necesario para acceder a una ruta.
+     */
+    public enum Access {
+        ANY, // Rutas accesibles por ambos roles
+        ADMINISTRATOR, // Rutas solo para administradores
+        COMMON_USER // Rutas solo para usuarios comunes
+    }
+
+    private static final String[] SHARED_ROUTES = { // Rutas accesibles por ambos roles
+        "/api/users/*/inspect",
+        "/api/users/validateJWT"
+    };
+
+    private static final String[] ADMIN_ROUTES = { // Rutas de administrador
+        "/absences/*/delete",
+        "/absences/create",
+        "/workSchedule/addWorkSchedule",
+        "/api/administrators/**",
+        "/api/users/showUsers",
+        "/api/users/directory",
+        "/api/users/*/block",
+        "/api/users/*/unblock",
+        "/api/users/*/activate",
+        "/api/users/registerUser",
+        "/absences/*/list",
+        "/api/users/*/hasOpenedMeetings",
+        "/api/users/*",
+        "/absences/checkMeetingOverlap"
+    };
+
+    private static final String[] COMMON_USER_ROUTES = { // Rutas de usuario común
+        "/meetings/**",
+        "/absences/list"
+    };
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final Map<Method, Access> accessByHandler = new ConcurrentHashMap<>(); // Rol necesario por método de controlador
+
+    /**
+     * Precalcula el rol necesario para cada método de controlador registrado.
+     *
+     * @param event el evento de arranque (o refresco) del contexto.
+     */
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        ApplicationContext context = event.getApplicationContext();
+        for (RequestMappingHandlerMapping mapping : context.getBeansOfType(RequestMappingHandlerMapping.class).values()) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mapping.getHandlerMethods().entrySet()) {
+                Access access = accessForPatterns(entry.getKey());
+                if (access != null) {
+                    this.accessByHandler.put(entry.getValue().getMethod(), access);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene el rol necesario para una petición.
+     *
+     * @param handler     el manejador que atenderá la petición.
+     * @param requestPath la ruta de la petición, para cuando no hay entrada en la tabla.
+     * @return el rol necesario.
+     */
+    public Access getAccess(Object handler, String requestPath) {
+        if (handler instanceof HandlerMethod) {
+            Access access = this.accessByHandler.get(((HandlerMethod) handler).getMethod());
+            if (access != null) {
+                return access;
+            }
+        }
+        return accessForPath(requestPath);
+    }
+
+    /**
+     * Calcula el rol de un método a partir de todos sus patrones de ruta.
+     *
+     * @return el rol, o null si los patrones no coinciden en el rol.
+     */
+    private Access accessForPatterns(RequestMappingInfo mappingInfo) {
+        Access access = null;
+        for (String pattern : mappingInfo.getPatternValues()) {
+            Access patternAccess = accessForPath(pattern);
+            if (access != null && access != patternAccess) {
+                return null;
+            }
+            access = patternAccess;
+        }
+        return access;
+    }
+
+    /**
+     * Calcula el rol de una ruta comparándola con las listas de patrones. Las
+     * rutas compartidas tienen prioridad sobre las demás.
+     *
+     * @param path la ruta (o patrón de ruta de un controlador).
+     * @return el rol necesario.
+     */
+    private Access accessForPath(String path) {
+        if (matchesAny(SHARED_ROUTES, path)) {
+            return Access.ANY;
+        } else if (matchesAny(ADMIN_ROUTES, path)) {
+            return Access.ADMINISTRATOR;
+        } else if (matchesAny(COMMON_USER_ROUTES, path)) {
+            return Access.COMMON_USER;
+        }
+        return Access.ANY;
+    }
+
+    private boolean matchesAny(String[] routes, String path) {
+        for (String route : routes) {
+            if (this.pathMatcher.match(route, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
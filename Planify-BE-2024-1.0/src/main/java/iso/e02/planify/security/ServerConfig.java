@@ -10,9 +10,12 @@ import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactor
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
-/* Clase de configuración, hace que el servidor solo acepte peticiones https (No redirige las http a https) */
+/* Clase de configuración, hace que el servidor solo acepte peticiones https (No redirige las http a https).
+   No se usa en el perfil perf, que sirve http sin certificados */
 @Configuration
+@Profile("!perf")
 public class ServerConfig {
     @Bean
     public WebServerFactoryCustomizer<TomcatServletWebServerFactory> servletContainer() {
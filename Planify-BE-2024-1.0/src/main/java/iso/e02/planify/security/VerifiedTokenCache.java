@@ -0,0 +1,213 @@
+package iso.e02.planify.security;
+
+// imports de iso.e02.planify
+import iso.e02.planify.repositories.UsersRepository;
+import iso.e02.planify.services.JWTService;
+
+// imports de java
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+// imports de caffeine
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// imports de auth0
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+/**
+ * Verificador de tokens JWT con caché de tokens ya verificados.
+ *
+ * El JWTVerifier de auth0 es inmutable y seguro entre hilos, así que se
+ * construye una sola vez. Los tokens que superan la verificación se guardan
+ * en una caché acotada de Caffeine, indexada por el hash SHA-256 del token
+ * (nunca el token en claro), hasta que caducan o pasa el tiempo máximo de
+ * permanencia. La caché no bloquea las lecturas, así que las peticiones
+ * autenticadas no se serializan al consultarla. Los tokens inválidos no se
+ * guardan.
+ *
+ * Además del sujeto se conservan el rol y el ID de usuario que {@link JWTService}
+ * incluye como claims, para autorizar sin consultar la base de datos. Los tokens
+ * emitidos antes de existir esos claims los devuelven a null.
+ *
+ * Como los claims no dejan de ser válidos al eliminar al usuario, cada
+ * verificación completa (la primera vez que se ve un token y cada vez que sale
+ * de la caché) comprueba que el usuario sigue existiendo: una consulta por
+ * token cada 10 minutos como mucho. Al eliminar un usuario se descartan además
+ * sus tokens en caché con {@link #evictUser(Long)}, así que deja de tener
+ * acceso en cuanto se confirma el borrado. Los tokens antiguos sin ID de
+ * usuario no se pueden descartar y siguen valiendo hasta salir de la caché.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int MAX_ENTRIES = 10_000; // Número máximo de tokens en caché
+    private static final long MAX_AGE_MILLIS = 10 * 60 * 1000L; // Tiempo máximo de un token en caché (10 minutos)
+
+    @Autowired
+    private UsersRepository usersRepository; // Comprueba que el usuario del token sigue existiendo
+
+    private volatile JWTVerifier verifier; // Se construye en el primer uso, cuando JWT_SECRET ya está cargado
+
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+            .maximumSize(MAX_ENTRIES)
+            .expireAfterWrite(Duration.ofMillis(MAX_AGE_MILLIS))
+            .build();
+
+    /**
+     * Verifica un token JWT y devuelve su sujeto (el email del usuario).
+     *
+     * @param jwt el token, sin el prefijo "Bearer ".
+     * @return el sujeto del token.
+     * @throws ResponseStatusException 401 si el token no es válido, ha expirado o
+     *                                 su usuario ya no existe.
+     */
+    public String verify(String jwt) {
+        return verifyToken(jwt).getSubject();
+    }
+
+    /**
+     * Verifica un token JWT y devuelve su sujeto junto con el rol y el ID de usuario.
+     *
+     * @param jwt el token, sin el prefijo "Bearer ".
+     * @return los datos del token verificado.
+     * @throws ResponseStatusException 401 si el token no es válido, ha expirado o
+     *                                 su usuario ya no existe.
+     */
+    public VerifiedToken verifyToken(String jwt) {
+        String key = hash(jwt);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = this.verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.validUntil > now) { // El token puede caducar antes que la entrada de la caché
+                return cached;
+            }
+            this.verifiedTokens.invalidate(key);
+        }
+
+        DecodedJWT decoded;
+        try {
+            decoded = getVerifier().verify(jwt);
+        } catch (JWTVerificationException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token JWT no válido o expirado.");
+        }
+
+        long validUntil = now + MAX_AGE_MILLIS;
+        Date expiresAt = decoded.getExpiresAt();
+        if (expiresAt != null && expiresAt.getTime() < validUntil) {
+            validUntil = expiresAt.getTime();
+        }
+        Claim userId = decoded.getClaim(JWTService.USER_ID_CLAIM);
+        VerifiedToken verified = new VerifiedToken(decoded.getSubject(),
+                decoded.getClaim(JWTService.ROLE_CLAIM).asString(),
+                userId.isMissing() || userId.isNull() ? null : userId.asLong(), validUntil);
+        if (!userExists(verified)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token JWT no válido o expirado.");
+        }
+        this.verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Descarta los tokens en caché de un usuario eliminado para que no pueda
+     * seguir usándolos. Si hay una transacción activa, se hace tras el commit.
+     *
+     * @param userId el ID del usuario eliminado.
+     */
+    public void evictUser(Long userId) {
+        Runnable evict = () -> this.verifiedTokens.asMap().values().removeIf(token -> userId.equals(token.userId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    /**
+     * Vacía la caché de tokens verificados.
+     */
+    public void clear() {
+        this.verifiedTokens.invalidateAll();
+    }
+
+    private boolean userExists(VerifiedToken token) {
+        if (token.userId != null) {
+            return this.usersRepository.existsById(token.userId);
+        }
+        return token.subject != null && this.usersRepository.findByEmail(token.subject).isPresent();
+    }
+
+    private JWTVerifier getVerifier() {
+        JWTVerifier current = this.verifier;
+        if (current == null) {
+            synchronized (this) {
+                current = this.verifier;
+                if (current == null) {
+                    current = JWT.require(Algorithm.HMAC256(System.getProperty("JWT_SECRET"))).build();
+                    this.verifier = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static String hash(String jwt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Resultado de una verificación correcta.
+     */
+    public static final class VerifiedToken {
+        private final String subject;
+        private final String role;
+        private final Long userId;
+        private final long validUntil;
+
+        private VerifiedToken(String subject, String role, Long userId, long validUntil) {
+            this.subject = subject;
+            this.role = role;
+            this.userId = userId;
+            this.validUntil = validUntil;
+        }
+
+        public String getSubject() {
+            return this.subject;
+        }
+
+        public String getRole() {
+            return this.role;
+        }
+
+        public Long getUserId() {
+            return this.userId;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package iso.e02.planify.security;
 
+// imports de iso.e02.planify
+import iso.e02.planify.config.SqlStatementRecorder;
+
 // imports de spring
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -15,11 +18,11 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
-    @Autowired
-    private JWTInterceptor jwtInterceptor; // Inyección del interceptor de JWT
+    private final JWTInterceptor jwtInterceptor; // Interceptor de JWT
     
-    @Autowired
-    private IpBlockInterceptor ipBlockInterceptor; // Inyección del interceptor de bloqueo por IP
+    private final IpBlockInterceptor ipBlockInterceptor; // Interceptor de bloqueo por IP
+
+    private final SqlStatementRecorder sqlStatementRecorder; // Instrumentación del SQL de cada petición
     
     @Override
     public void addCorsMappings(@SuppressWarnings("null") CorsRegistry registry) {
@@ -27,21 +30,24 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:4200")  // poner el dominio de la app de angular
                 .allowedMethods("GET", "POST", "DELETE","PATCH", "PUT", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Authorization");
+                .exposedHeaders("Authorization", "X-Total-Count");
     }
     
     @Autowired
-    public WebConfig(JWTInterceptor jwtInterceptor, IpBlockInterceptor ipBlockInterceptor) {
+    public WebConfig(JWTInterceptor jwtInterceptor, IpBlockInterceptor ipBlockInterceptor,
+            SqlStatementRecorder sqlStatementRecorder) {
         this.jwtInterceptor = jwtInterceptor;
         this.ipBlockInterceptor = ipBlockInterceptor;
+        this.sqlStatementRecorder = sqlStatementRecorder;
     }
 
     @Override
     public void addInterceptors(@SuppressWarnings("null") InterceptorRegistry registry) { // Método para añadir los interceptores
-        
+        registry.addInterceptor(sqlStatementRecorder); // El primero, para medir también el SQL de los demás interceptores
         registry.addInterceptor(jwtInterceptor) // Añadir las rutas que deben ser interceptadas por el interceptor de JWT
             .addPathPatterns("/absences/**", "/users/**", "/api/**", "/workSchedule/**" , "/meetings/**") 
-            .excludePathPatterns("/users/login", "/users/register", "/users/sendRecoveyEmail", "/users/changePassword" , "/users/*/second-factor-verify/*");
+            .excludePathPatterns("/users/login", "/users/register", "/users/sendRecoveyEmail", "/users/changePassword" , "/users/*/second-factor-verify/*",
+                "/api/users/photos/*"); // Las fotos se piden desde etiquetas img, sin cabecera Authorization
         registry.addInterceptor(ipBlockInterceptor) // Añadir las rutas que deben ser interceptadas por el interceptor de bloqueo por IP
             .addPathPatterns("/users/login"); 
     }
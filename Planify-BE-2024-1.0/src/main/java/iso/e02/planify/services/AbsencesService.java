@@ -29,18 +29,29 @@ public class AbsencesService {
 	@Autowired
 	private MeetingAttendanceRepository meetingAttendanceRepository;
 
+	@Autowired
+	private BusyIntervalIndex busyIntervalIndex; // Índice de disponibilidad que se mantiene al crear y eliminar ausencias
+
+	/**
+	 * Comprueba si una ausencia se solapa con alguna reunión abierta del usuario.
+	 * Las ausencias de día completo ocupan desde el inicio de su primer día
+	 * hasta el final del último.
+	 */
 	public boolean checkMeetingOverlap(CreateAbsenceRequest absenceInfo) {
 		LocalDateTime fromDateTime;
 		LocalDateTime toDateTime;
 		if (absenceInfo.isAllDayLong()) {
-			fromDateTime = LocalDateTime.parse(absenceInfo.getFromDate() + "T" + "00:00");
-			toDateTime = LocalDateTime.parse(absenceInfo.getToDate() + "T" + "23:59");
+			fromDateTime = InputFormats.parseDate(absenceInfo.getFromDate()).atStartOfDay();
+			toDateTime = InputFormats.parseDate(absenceInfo.getToDate()).plusDays(1).atStartOfDay();
 		}
 		else {
-			fromDateTime = LocalDateTime.parse(absenceInfo.getFromDate() + "T" + absenceInfo.getFromTime());
-			toDateTime = LocalDateTime.parse(absenceInfo.getToDate() + "T" + absenceInfo.getToTime());
+			fromDateTime = InputFormats.parseDate(absenceInfo.getFromDate())
+					.atTime(InputFormats.parseIsoTime(absenceInfo.getFromTime()));
+			toDateTime = InputFormats.parseDate(absenceInfo.getToDate())
+					.atTime(InputFormats.parseIsoTime(absenceInfo.getToTime()));
 		}
-		return meetingAttendanceRepository.checkOverlap(fromDateTime, toDateTime, absenceInfo.getUserId()) > 0;
+		return !meetingAttendanceRepository
+				.findOverlappingOpenMeetingIds(absenceInfo.getUserId(), fromDateTime, toDateTime).isEmpty();
 	}
 
 	/**
@@ -48,6 +59,7 @@ public class AbsencesService {
 	 */
 	public void create(Absence absence) {
 		absenceRepository.save(absence);
+		busyIntervalIndex.absenceAdded(absence);
 	}
 
 	/**
@@ -67,5 +79,6 @@ public class AbsencesService {
 	 */
 	public void delete(Long absenceId) {
 		absenceRepository.deleteById(absenceId);
+		busyIntervalIndex.absenceRemoved(absenceId);
 	}
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.repositories.AbsenceRepository;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.AgendaEntryDTO;
+
+// imports de java
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Servicio de la agenda de un usuario: reuniones y ausencias de un rango de
+ * días (la vista semanal o mensual del calendario), ya mezcladas y ordenadas
+ * por inicio. Cada consulta solo lee las filas del rango, de modo que el coste
+ * no depende del histórico del usuario.
+ */
+@Service
+public class AgendaService {
+
+    public static final int MAX_AGENDA_DAYS = 62; // Un mes con las semanas de los bordes, con margen
+
+    @Autowired
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
+    @Autowired
+    private AbsenceRepository absenceRepository;
+
+    /**
+     * Devuelve la agenda de un usuario entre dos fechas, ambas incluidas.
+     *
+     * @param userId   el identificador del usuario común.
+     * @param fromDate el primer día, en formato yyyy-MM-dd.
+     * @param toDate   el último día, en formato yyyy-MM-dd.
+     * @return las reuniones y ausencias que se solapan con el rango, ordenadas por inicio.
+     * @throws ResponseStatusException 406 si las fechas no son válidas o el rango es demasiado largo.
+     */
+    public List<AgendaEntryDTO> getAgenda(Long userId, String fromDate, String toDate) {
+        LocalDate from = parseDate(fromDate, "inicio");
+        LocalDate to = parseDate(toDate, "fin");
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "La fecha de fin no puede ser anterior a la de inicio.");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_AGENDA_DAYS) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "El rango de la agenda no puede superar " + MAX_AGENDA_DAYS + " días.");
+        }
+
+        LocalDateTime fromDateTime = from.atStartOfDay();
+        LocalDateTime toDateTime = to.plusDays(1).atStartOfDay(); // Fin exclusivo
+        LocalDateTime dayBefore = fromDateTime.minusDays(1);
+        List<AgendaEntryDTO> meetings = meetingAttendanceRepository.findAgendaMeetings(userId, fromDateTime,
+                toDateTime, dayBefore);
+        List<AgendaEntryDTO> absences = absenceRepository.findAgendaAbsences(userId, fromDateTime, toDateTime,
+                dayBefore);
+        return merge(meetings, absences);
+    }
+
+    /**
+     * Mezcla dos listas ya ordenadas por inicio en una sola, también ordenada.
+     * A igual inicio, van primero las reuniones.
+     */
+    static List<AgendaEntryDTO> merge(List<AgendaEntryDTO> meetings, List<AgendaEntryDTO> absences) {
+        List<AgendaEntryDTO> agenda = new ArrayList<>(meetings.size() + absences.size());
+        int i = 0;
+        int j = 0;
+        while (i < meetings.size() && j < absences.size()) {
+            if (!absences.get(j).getFromDateTime().isBefore(meetings.get(i).getFromDateTime())) {
+                agenda.add(meetings.get(i++));
+            } else {
+                agenda.add(absences.get(j++));
+            }
+        }
+        agenda.addAll(meetings.subList(i, meetings.size()));
+        agenda.addAll(absences.subList(j, absences.size()));
+        return agenda;
+    }
+
+    private LocalDate parseDate(String date, String fieldName) {
+        if (date == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "La fecha de " + fieldName + " es obligatoria.");
+        }
+        try {
+            return InputFormats.parseDate(date);
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "La fecha de " + fieldName + " no tiene un formato válido (yyyy-MM-dd).");
+        }
+    }
+}
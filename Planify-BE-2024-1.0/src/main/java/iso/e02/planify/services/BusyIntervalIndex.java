@@ -0,0 +1,427 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.Absence;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.repositories.AbsenceRepository;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.BusyIntervalDTO;
+
+// imports de java
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Índice en memoria de los intervalos en los que cada usuario está ocupado:
+ * reuniones no canceladas y ausencias.
+ *
+ * La agenda de cada usuario se carga de forma perezosa la primera vez que se
+ * consulta (solo identificador y fechas, sin entidades) y a partir de ahí se
+ * mantiene actualizada por los servicios que crean, editan o cancelan reuniones
+ * y ausencias. Los intervalos se guardan ordenados por inicio, de modo que
+ * comprobar un solapamiento es una búsqueda logarítmica en lugar de recorrer
+ * todo el histórico del usuario.
+ *
+ * Las modificaciones se aplican tras el commit de la transacción en curso, para
+ * que el índice nunca refleje cambios que acaben deshaciéndose.
+ *
+ * El índice es local a cada nodo: solo ve los cambios hechos a través de este
+ * nodo. Por eso cada agenda se vuelve a leer de la base de datos cuando lleva
+ * planify.busy-index.ttl-seconds cargada, que es lo que puede tardar un nodo en
+ * ver una reunión o ausencia creada en otro. Además se guardan como mucho
+ * planify.busy-index.max-users agendas; al superarlo se descartan las que hace
+ * más tiempo que no se consultan.
+ */
+@Service
+public class BusyIntervalIndex {
+
+    @Autowired
+    private MeetingAttendanceRepository meetingAttendanceRepository; // Inyección del repositorio de asistencia a reuniones
+
+    @Autowired
+    private AbsenceRepository absenceRepository; // Inyección del repositorio de ausencias
+
+    @Value("${planify.busy-index.max-users:10000}")
+    private int maxUsers = 10_000; // Número máximo de agendas en memoria
+
+    @Value("${planify.busy-index.ttl-seconds:60}")
+    private long ttlSeconds = 60; // Tiempo que se usa una agenda antes de volver a leerla de la base de datos
+
+    private final Map<Long, UserTimeline> timelines = new ConcurrentHashMap<>(); // Agendas cargadas por id de usuario
+
+    // Índices inversos de las agendas cargadas, protegidos por el monitor de esta clase
+    private final Map<Long, Set<Long>> meetingOwners = new HashMap<>(); // id de reunión -> ids de usuario
+    private final Map<Long, Long> absenceOwners = new HashMap<>(); // id de ausencia -> id de usuario
+
+    private long generation; // Se incrementa con cada modificación para descartar cargas obsoletas
+
+    /**
+     * Comprueba si el usuario tiene alguna reunión no cancelada que se solape con
+     * el intervalo indicado.
+     *
+     * @param userId           ID del usuario.
+     * @param fromDateTime     inicio del intervalo.
+     * @param toDateTime       fin del intervalo.
+     * @param ignoredMeetingId reunión que no se tiene en cuenta (la que se edita), puede ser null.
+     * @return true si existe solapamiento.
+     */
+    public boolean overlapsMeeting(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime, Long ignoredMeetingId) {
+        return getTimeline(userId).meetings.overlaps(fromDateTime, toDateTime, ignoredMeetingId);
+    }
+
+    /**
+     * Comprueba si el usuario tiene alguna ausencia que se solape con el
+     * intervalo indicado.
+     *
+     * @param userId       ID del usuario.
+     * @param fromDateTime inicio del intervalo.
+     * @param toDateTime   fin del intervalo.
+     * @return true si existe solapamiento.
+     */
+    public boolean overlapsAbsence(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+        return getTimeline(userId).absences.overlaps(fromDateTime, toDateTime, null);
+    }
+
+    /**
+     * Registra (o reemplaza) una reunión en las agendas de sus participantes.
+     * Si la reunión está cancelada se retira de todas las agendas.
+     *
+     * @param meeting       la reunión ya guardada.
+     * @param participantIds ids de todos los participantes, organizador incluido.
+     */
+    public void meetingScheduled(Meeting meeting, Collection<Long> participantIds) {
+        Long meetingId = meeting.getId();
+        if (meeting.getStatus() == Meeting.Status.CANCELADA
+                || meeting.getFromDateTime() == null || meeting.getToDateTime() == null) {
+            meetingCancelled(meetingId);
+            return;
+        }
+        Interval interval = new Interval(meetingId, meeting.getFromDateTime(), meeting.getToDateTime());
+        List<Long> userIds = new ArrayList<>(participantIds);
+        afterCommit(() -> {
+            removeMeeting(meetingId);
+            for (Long userId : userIds) {
+                UserTimeline timeline = this.timelines.get(userId);
+                if (timeline != null) { // Las agendas no cargadas se leerán de la base de datos al consultarlas
+                    timeline.meetings.put(interval);
+                    this.meetingOwners.computeIfAbsent(meetingId, id -> new HashSet<>()).add(userId);
+                }
+            }
+        });
+    }
+
+    /**
+     * Retira una reunión de las agendas de todos sus participantes.
+     *
+     * @param meetingId ID de la reunión cancelada.
+     */
+    public void meetingCancelled(Long meetingId) {
+        afterCommit(() -> removeMeeting(meetingId));
+    }
+
+    /**
+     * Registra una ausencia ya guardada en la agenda de su usuario.
+     *
+     * @param absence la ausencia.
+     */
+    public void absenceAdded(Absence absence) {
+        Long userId = absence.getUser();
+        Interval interval = toAbsenceInterval(new BusyIntervalDTO(absence.getId(), absence.getFromDateTime(),
+                absence.getToDateTime(), Boolean.TRUE.equals(absence.getAllDayLong())));
+        afterCommit(() -> {
+            UserTimeline timeline = this.timelines.get(userId);
+            if (timeline != null) {
+                timeline.absences.put(interval);
+                this.absenceOwners.put(interval.id, userId);
+            }
+        });
+    }
+
+    /**
+     * Retira una ausencia de la agenda de su usuario.
+     *
+     * @param absenceId ID de la ausencia eliminada.
+     */
+    public void absenceRemoved(Long absenceId) {
+        afterCommit(() -> {
+            Long userId = this.absenceOwners.remove(absenceId);
+            UserTimeline timeline = userId == null ? null : this.timelines.get(userId);
+            if (timeline != null) {
+                timeline.absences.remove(absenceId);
+            }
+        });
+    }
+
+    /**
+     * Descarta la agenda de un usuario para que se vuelva a cargar en la
+     * siguiente consulta.
+     *
+     * @param userId ID del usuario.
+     */
+    public void evict(Long userId) {
+        afterCommit(() -> removeTimeline(userId));
+    }
+
+    /**
+     * Obtiene la agenda de un usuario, cargándola si todavía no está en memoria
+     * o ha caducado. Una carga que coincide con una modificación concurrente se
+     * usa para responder pero no se guarda, porque podría no incluir ese cambio.
+     */
+    private UserTimeline getTimeline(Long userId) {
+        long now = System.nanoTime();
+        UserTimeline timeline = this.timelines.get(userId);
+        if (timeline != null) {
+            if (now - timeline.loadedAt < TimeUnit.SECONDS.toNanos(this.ttlSeconds)) {
+                timeline.lastUsed = now;
+                return timeline;
+            }
+            synchronized (this) {
+                if (this.timelines.get(userId) == timeline) {
+                    removeTimeline(userId);
+                }
+            }
+        }
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = this.generation;
+        }
+        UserTimeline loaded = load(userId, now);
+        synchronized (this) {
+            if (loadGeneration != this.generation) {
+                return loaded;
+            }
+            UserTimeline existing = this.timelines.putIfAbsent(userId, loaded);
+            if (existing != null) {
+                return existing;
+            }
+            for (Long meetingId : loaded.meetings.ids()) {
+                this.meetingOwners.computeIfAbsent(meetingId, id -> new HashSet<>()).add(userId);
+            }
+            for (Long absenceId : loaded.absences.ids()) {
+                this.absenceOwners.put(absenceId, userId);
+            }
+            if (this.timelines.size() > this.maxUsers) {
+                trim(now);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Descarta las agendas caducadas y, si aun así se supera el máximo, las
+     * menos usadas hasta quedar en el 90 % del máximo, para no repetirlo con
+     * cada carga. Se llama con el monitor de esta clase.
+     */
+    private void trim(long now) {
+        long ttl = TimeUnit.SECONDS.toNanos(this.ttlSeconds);
+        List<long[]> lastUses = new ArrayList<>(); // {último uso, id de usuario}, copiados porque lastUsed cambia
+        for (Map.Entry<Long, UserTimeline> entry : new ArrayList<>(this.timelines.entrySet())) {
+            if (now - entry.getValue().loadedAt >= ttl) {
+                removeTimeline(entry.getKey());
+            } else {
+                lastUses.add(new long[] { entry.getValue().lastUsed, entry.getKey() });
+            }
+        }
+        int excess = this.timelines.size() - this.maxUsers * 9 / 10;
+        if (excess > 0) {
+            lastUses.sort(Comparator.comparingLong(lastUse -> lastUse[0]));
+            for (int i = 0; i < excess; i++) {
+                removeTimeline(lastUses.get(i)[1]);
+            }
+        }
+    }
+
+    /**
+     * Quita la agenda de un usuario y sus entradas de los índices inversos. Se
+     * llama con el monitor de esta clase.
+     */
+    private void removeTimeline(Long userId) {
+        UserTimeline timeline = this.timelines.remove(userId);
+        if (timeline != null) {
+            for (Long meetingId : timeline.meetings.ids()) {
+                Set<Long> owners = this.meetingOwners.get(meetingId);
+                if (owners != null && owners.remove(userId) && owners.isEmpty()) {
+                    this.meetingOwners.remove(meetingId);
+                }
+            }
+            for (Long absenceId : timeline.absences.ids()) {
+                this.absenceOwners.remove(absenceId);
+            }
+        }
+    }
+
+    private UserTimeline load(Long userId, long now) {
+        UserTimeline timeline = new UserTimeline(now);
+        for (BusyIntervalDTO meeting : this.meetingAttendanceRepository.findBusyIntervalsByUserId(userId)) {
+            if (meeting.getFromDateTime() != null && meeting.getToDateTime() != null) {
+                timeline.meetings.put(new Interval(meeting.getId(), meeting.getFromDateTime(), meeting.getToDateTime()));
+            }
+        }
+        for (BusyIntervalDTO absence : this.absenceRepository.findBusyIntervalsByUserId(userId)) {
+            timeline.absences.put(toAbsenceInterval(absence));
+        }
+        return timeline;
+    }
+
+    /**
+     * Las ausencias de día completo se guardan con las 00:00 del primer y último
+     * día, así que ocupan hasta el inicio del día siguiente a su fecha de fin.
+     */
+    private Interval toAbsenceInterval(BusyIntervalDTO absence) {
+        LocalDateTime toDateTime = absence.isAllDayLong()
+                ? absence.getToDateTime().toLocalDate().plusDays(1).atStartOfDay()
+                : absence.getToDateTime();
+        return new Interval(absence.getId(), absence.getFromDateTime(), toDateTime);
+    }
+
+    private void removeMeeting(Long meetingId) {
+        Set<Long> owners = this.meetingOwners.remove(meetingId);
+        if (owners != null) {
+            for (Long userId : owners) {
+                UserTimeline timeline = this.timelines.get(userId);
+                if (timeline != null) {
+                    timeline.meetings.remove(meetingId);
+                }
+            }
+        }
+    }
+
+    /**
+     * Aplica la modificación tras el commit de la transacción activa o, si no la
+     * hay, inmediatamente.
+     */
+    private void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private synchronized void apply(Runnable update) {
+        this.generation++;
+        update.run();
+    }
+
+    /**
+     * Agenda de un usuario: reuniones y ausencias por separado, porque cada
+     * solapamiento produce un error distinto.
+     */
+    private static final class UserTimeline {
+        private final IntervalSet meetings = new IntervalSet();
+        private final IntervalSet absences = new IntervalSet();
+        private final long loadedAt; // System.nanoTime() de la carga
+        private volatile long lastUsed; // System.nanoTime() de la última consulta
+
+        private UserTimeline(long loadedAt) {
+            this.loadedAt = loadedAt;
+            this.lastUsed = loadedAt;
+        }
+    }
+
+    /**
+     * Intervalo semiabierto [fromDateTime, toDateTime) identificado por el id de
+     * la reunión o ausencia que lo genera.
+     */
+    private static final class Interval {
+        private final Long id;
+        private final LocalDateTime fromDateTime;
+        private final LocalDateTime toDateTime;
+
+        private Interval(Long id, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+            this.id = id;
+            this.fromDateTime = fromDateTime;
+            this.toDateTime = toDateTime;
+        }
+    }
+
+    /**
+     * Intervalos agrupados por escala de duración: la escala k contiene los que
+     * duran menos de 2^k segundos, ordenados por inicio. Un intervalo de la
+     * escala k que se solape con [from, to) tiene que empezar en
+     * [from - 2^k s, to), así que basta con recorrer ese tramo de cada escala.
+     * Los intervalos de ese tramo que no se solapan duran al menos 2^(k-1)
+     * segundos y terminan antes de from, por lo que apenas caben un par, y una
+     * ausencia muy larga solo alarga la búsqueda en su propia escala.
+     */
+    private static final class IntervalSet {
+        private static final int MAX_SCALE = 40; // 2^40 segundos son más de 30.000 años
+        private static final Comparator<Interval> BY_START = Comparator
+                .comparing((Interval interval) -> interval.fromDateTime)
+                .thenComparing(interval -> interval.id);
+
+        private final Map<Integer, NavigableSet<Interval>> byScale = new TreeMap<>();
+        private final Map<Long, Interval> byId = new HashMap<>();
+
+        synchronized void put(Interval interval) {
+            remove(interval.id);
+            this.byScale.computeIfAbsent(scale(interval), scale -> new TreeSet<>(BY_START)).add(interval);
+            this.byId.put(interval.id, interval);
+        }
+
+        synchronized void remove(Long id) {
+            Interval interval = this.byId.remove(id);
+            if (interval != null) {
+                int scale = scale(interval);
+                NavigableSet<Interval> intervals = this.byScale.get(scale);
+                intervals.remove(interval);
+                if (intervals.isEmpty()) {
+                    this.byScale.remove(scale);
+                }
+            }
+        }
+
+        synchronized List<Long> ids() {
+            return new ArrayList<>(this.byId.keySet());
+        }
+
+        synchronized boolean overlaps(LocalDateTime fromDateTime, LocalDateTime toDateTime, Long ignoredId) {
+            if (!fromDateTime.isBefore(toDateTime)) {
+                return false;
+            }
+            Interval upper = new Interval(Long.MIN_VALUE, toDateTime, null);
+            for (Map.Entry<Integer, NavigableSet<Interval>> entry : this.byScale.entrySet()) {
+                Interval lower = new Interval(Long.MIN_VALUE, fromDateTime.minusSeconds(1L << entry.getKey()), null);
+                for (Interval interval : entry.getValue().subSet(lower, true, upper, false)) {
+                    if (interval.toDateTime.isAfter(fromDateTime) && !interval.id.equals(ignoredId)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Menor k tal que el intervalo dura menos de 2^k segundos.
+         */
+        private static int scale(Interval interval) {
+            long seconds = Math.max(0, Duration.between(interval.fromDateTime, interval.toDateTime).getSeconds());
+            return Math.min(MAX_SCALE, 64 - Long.numberOfLeadingZeros(seconds));
+        }
+    }
+}
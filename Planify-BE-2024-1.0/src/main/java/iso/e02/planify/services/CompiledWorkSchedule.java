@@ -0,0 +1,167 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.Schedule;
+
+// imports de java
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Instantánea inmutable del horario laboral, con los bloques ordenados por hora
+ * de inicio y preparada para responder consultas en tiempo logarítmico.
+ *
+ * Para cada bloque se guarda además el mayor fin de entre los bloques que
+ * empiezan antes o a la vez que él, de modo que basta una búsqueda binaria
+ * sobre las horas de inicio para saber si un rango está dentro de algún bloque o
+ * se cruza con alguno.
+ */
+public final class CompiledWorkSchedule {
+
+    private static final CompiledWorkSchedule EMPTY = new CompiledWorkSchedule(Collections.emptyList(), null);
+
+    private final List<Schedule> blocks; // Bloques ordenados por hora de inicio
+    private final LocalTime[] starts; // Horas de inicio ordenadas
+    private final LocalTime[] maxEnds; // maxEnds[i]: mayor hora de fin de los bloques 0..i
+    private final byte[] json; // Cuerpo JSON ya serializado (puede ser null)
+    private final String eTag; // ETag fuerte del cuerpo JSON (null si no hay cuerpo)
+
+    private CompiledWorkSchedule(List<Schedule> sortedBlocks, byte[] json) {
+        this.blocks = Collections.unmodifiableList(sortedBlocks);
+        this.starts = new LocalTime[sortedBlocks.size()];
+        this.maxEnds = new LocalTime[sortedBlocks.size()];
+        LocalTime maxEnd = LocalTime.MIN;
+        for (int i = 0; i < sortedBlocks.size(); i++) {
+            Schedule block = sortedBlocks.get(i);
+            this.starts[i] = block.getStartHour();
+            if (block.getEndHour().isAfter(maxEnd)) {
+                maxEnd = block.getEndHour();
+            }
+            this.maxEnds[i] = maxEnd;
+        }
+        this.json = json;
+        this.eTag = json == null ? null : "\"" + sha256(json) + "\"";
+    }
+
+    /**
+     * Compila un horario sin cuerpo JSON asociado.
+     *
+     * @param schedules bloques del horario, en cualquier orden.
+     * @return la instantánea compilada.
+     */
+    public static CompiledWorkSchedule of(List<Schedule> schedules) {
+        return of(schedules, null);
+    }
+
+    /**
+     * Compila un horario junto con su representación JSON ya serializada.
+     *
+     * @param schedules bloques del horario, en cualquier orden.
+     * @param json      serialización JSON de los bloques ordenados (ver {@link #sort(List)}).
+     * @return la instantánea compilada.
+     */
+    public static CompiledWorkSchedule of(List<Schedule> schedules, byte[] json) {
+        if (schedules.isEmpty() && json == null) {
+            return EMPTY;
+        }
+        return new CompiledWorkSchedule(sort(schedules), json);
+    }
+
+    /**
+     * Devuelve una copia de los bloques ordenada por hora de inicio.
+     *
+     * @param schedules bloques del horario.
+     * @return copia ordenada.
+     */
+    public static List<Schedule> sort(List<Schedule> schedules) {
+        List<Schedule> sorted = new ArrayList<>(schedules);
+        sorted.sort(Comparator.comparing(Schedule::getStartHour));
+        return sorted;
+    }
+
+    public boolean isEmpty() {
+        return this.blocks.isEmpty();
+    }
+
+    public List<Schedule> getBlocks() {
+        return this.blocks;
+    }
+
+    public LocalTime getEarliestStart() {
+        return this.starts[0];
+    }
+
+    public LocalTime getLatestEnd() {
+        return this.maxEnds[this.maxEnds.length - 1];
+    }
+
+    public byte[] getJson() {
+        return this.json;
+    }
+
+    public String getETag() {
+        return this.eTag;
+    }
+
+    /**
+     * Comprueba si el rango [fromTime, toTime] está completamente dentro de algún bloque.
+     *
+     * @param fromTime hora de inicio del rango.
+     * @param toTime   hora de fin del rango.
+     * @return true si algún bloque contiene el rango.
+     */
+    public boolean containsRange(LocalTime fromTime, LocalTime toTime) {
+        int last = lastStartingAtOrBefore(fromTime);
+        return last >= 0 && this.maxEnds[last].compareTo(toTime) >= 0;
+    }
+
+    /**
+     * Comprueba si el rango [fromTime, toTime] se cruza con algún bloque (los
+     * extremos cuentan como cruce).
+     *
+     * @param fromTime hora de inicio del rango.
+     * @param toTime   hora de fin del rango.
+     * @return true si algún bloque se cruza con el rango.
+     */
+    public boolean intersectsRange(LocalTime fromTime, LocalTime toTime) {
+        int last = lastStartingAtOrBefore(toTime);
+        return last >= 0 && this.maxEnds[last].compareTo(fromTime) >= 0;
+    }
+
+    /**
+     * Búsqueda binaria del último bloque cuya hora de inicio es anterior o igual a time.
+     *
+     * @return su posición, o -1 si todos empiezan después.
+     */
+    private int lastStartingAtOrBefore(LocalTime time) {
+        int low = 0;
+        int high = this.starts.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (this.starts[middle].compareTo(time) <= 0) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // Todas las JVM incluyen SHA-256; se usa un hash más simple por si acaso
+            return Integer.toHexString(new String(content, StandardCharsets.UTF_8).hashCode());
+        }
+    }
+}
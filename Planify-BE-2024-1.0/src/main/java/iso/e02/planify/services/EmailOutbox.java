@@ -0,0 +1,320 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// imports de javax.mail
+import javax.mail.Authenticator;
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.PasswordAuthentication;
+import javax.mail.Session;
+import javax.mail.Transport;
+import javax.mail.internet.InternetAddress;
+import javax.mail.internet.MimeMessage;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// imports de micrometer
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// imports de jakarta
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cola de salida de emails.
+ *
+ * Los emails se encolan en una cola acotada y los envían en segundo plano
+ * varios hilos trabajadores. Cada trabajador mantiene abierta su propia
+ * conexión SMTP (Transport) y la reutiliza entre mensajes; la cierra tras un
+ * rato sin trabajo o si falla un envío. Los envíos fallidos se reintentan con
+ * espera exponencial hasta un número máximo de intentos.
+ *
+ * Métricas publicadas:
+ * planify.email.outbox.size (emails en cola), planify.email.send (duración
+ * del envío SMTP), planify.email.delivery (desde que se encola hasta que se
+ * envía) y planify.email.outbox.{sent,retried,failed,rejected}.
+ */
+@Service
+public class EmailOutbox {
+
+    private static final Logger LOGGER = Logger.getLogger(EmailOutbox.class.getName());
+
+    @Autowired
+    private MeterRegistry meterRegistry; // Registro de métricas
+
+    @Value("${planify.email.smtp.host:smtp.gmail.com}")
+    private String host; // Servidor SMTP
+
+    @Value("${planify.email.smtp.port:587}")
+    private int port; // Puerto SMTP (587 para STARTTLS)
+
+    @Value("${planify.email.smtp.auth:true}")
+    private boolean auth; // Autenticación con EMAIL_FROM y EMAIL_PASSWORD
+
+    @Value("${planify.email.smtp.starttls:true}")
+    private boolean startTls; // Habilitar STARTTLS
+
+    @Value("${planify.email.outbox.capacity:500}")
+    private int capacity; // Tamaño máximo de la cola
+
+    @Value("${planify.email.outbox.workers:2}")
+    private int workers; // Número de hilos trabajadores (y de conexiones SMTP)
+
+    @Value("${planify.email.outbox.max-attempts:4}")
+    private int maxAttempts; // Intentos de envío por email
+
+    @Value("${planify.email.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMillis; // Espera antes del primer reintento; se duplica en cada uno
+
+    @Value("${planify.email.outbox.idle-close-ms:30000}")
+    private long idleCloseMillis; // Tiempo sin trabajo tras el que se cierra la conexión
+
+    private BlockingQueue<OutgoingEmail> queue;
+    private ExecutorService workerPool;
+    private ScheduledExecutorService retryScheduler;
+    private Session session;
+    private volatile boolean running;
+
+    private Timer sendTimer;
+    private Timer deliveryTimer;
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter failedCounter;
+    private Counter rejectedCounter;
+
+    /**
+     * Crea la sesión SMTP, registra las métricas y arranca los trabajadores.
+     */
+    @PostConstruct
+    public void start() {
+        this.queue = new ArrayBlockingQueue<>(this.capacity);
+        this.session = createSession();
+
+        Gauge.builder("planify.email.outbox.size", this.queue, BlockingQueue::size).register(this.meterRegistry);
+        this.sendTimer = this.meterRegistry.timer("planify.email.send");
+        this.deliveryTimer = this.meterRegistry.timer("planify.email.delivery");
+        this.sentCounter = this.meterRegistry.counter("planify.email.outbox.sent");
+        this.retriedCounter = this.meterRegistry.counter("planify.email.outbox.retried");
+        this.failedCounter = this.meterRegistry.counter("planify.email.outbox.failed");
+        this.rejectedCounter = this.meterRegistry.counter("planify.email.outbox.rejected");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.running = true;
+        this.workerPool = Executors.newFixedThreadPool(this.workers, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < this.workers; i++) {
+            this.workerPool.execute(this::work);
+        }
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Detiene los trabajadores y cierra sus conexiones.
+     */
+    @PreDestroy
+    public void stop() {
+        this.running = false;
+        this.retryScheduler.shutdownNow();
+        this.workerPool.shutdownNow();
+        try {
+            this.workerPool.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!this.queue.isEmpty()) {
+            LOGGER.log(Level.WARNING, "Se descartan {0} emails pendientes al detener la cola", this.queue.size());
+        }
+    }
+
+    /**
+     * Encola un email para enviarlo en segundo plano.
+     *
+     * @param to      dirección del destinatario.
+     * @param subject asunto.
+     * @param html    cuerpo en HTML.
+     * @return true si se ha encolado, false si la cola está llena.
+     * @throws IllegalStateException si no está configurado el remitente (EMAIL_FROM).
+     */
+    public boolean enqueue(String to, String subject, String html) {
+        String from = System.getProperty("EMAIL_FROM");
+        if (from == null) {
+            throw new IllegalStateException("No está configurado el remitente de los emails (EMAIL_FROM)");
+        }
+        if (!this.queue.offer(new OutgoingEmail(from, to, subject, html, System.nanoTime(), 1))) {
+            this.rejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return el número de emails pendientes de enviar.
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    private Session createSession() {
+        Properties properties = new Properties();
+        properties.put("mail.smtp.host", this.host);
+        properties.put("mail.smtp.port", String.valueOf(this.port));
+        properties.put("mail.smtp.auth", String.valueOf(this.auth));
+        properties.put("mail.smtp.starttls.enable", String.valueOf(this.startTls)); // Habilitar STARTTLS
+        if (this.startTls) {
+            properties.put("mail.smtp.ssl.protocols", "TLSv1.2"); // Configurar protocolos SSL
+        }
+        properties.put("mail.smtp.connectiontimeout", "10000");
+        properties.put("mail.smtp.timeout", "10000");
+        properties.put("mail.smtp.writetimeout", "10000");
+
+        if (!this.auth) {
+            return Session.getInstance(properties);
+        }
+        return Session.getInstance(properties, new Authenticator() {
+            @Override
+            protected PasswordAuthentication getPasswordAuthentication() {
+                return new PasswordAuthentication(System.getProperty("EMAIL_FROM"), System.getProperty("EMAIL_PASSWORD"));
+            }
+        });
+    }
+
+    /**
+     * Bucle de un trabajador: toma emails de la cola y los envía por su conexión.
+     */
+    private void work() {
+        Transport transport = null;
+        try {
+            while (this.running) {
+                OutgoingEmail email = this.queue.poll(this.idleCloseMillis, TimeUnit.MILLISECONDS);
+                if (email == null) {
+                    transport = close(transport); // Sin trabajo: liberar la conexión
+                    continue;
+                }
+                MimeMessage message;
+                try {
+                    message = email.toMessage(this.session);
+                } catch (MessagingException | RuntimeException e) { // Dirección o contenido inválido: no tiene sentido reintentar
+                    this.failedCounter.increment();
+                    LOGGER.log(Level.SEVERE, "Email inválido para " + email.to, e);
+                    continue;
+                }
+                try {
+                    if (transport == null || !transport.isConnected()) {
+                        transport = close(transport);
+                        transport = this.session.getTransport("smtp");
+                        transport.connect();
+                    }
+                    long start = System.nanoTime();
+                    transport.sendMessage(message, message.getAllRecipients());
+                    long end = System.nanoTime();
+                    this.sendTimer.record(end - start, TimeUnit.NANOSECONDS);
+                    this.deliveryTimer.record(end - email.enqueuedAt, TimeUnit.NANOSECONDS);
+                    this.sentCounter.increment();
+                } catch (MessagingException e) {
+                    transport = close(transport); // La conexión puede haber quedado inservible
+                    scheduleRetry(email, e);
+                } catch (RuntimeException e) { // Error inesperado: se pierde el email, pero no el trabajador
+                    transport = close(transport);
+                    this.failedCounter.increment();
+                    LOGGER.log(Level.SEVERE, "Error inesperado al enviar el email a " + email.to, e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    /**
+     * Vuelve a encolar un email tras una espera exponencial, o lo da por
+     * perdido si ha agotado los intentos.
+     */
+    private void scheduleRetry(OutgoingEmail email, MessagingException cause) {
+        if (email.attempt >= this.maxAttempts) {
+            this.failedCounter.increment();
+            LOGGER.log(Level.SEVERE, "No se ha podido enviar el email a " + email.to + " tras "
+                    + email.attempt + " intentos", cause);
+            return;
+        }
+        long delay = this.initialBackoffMillis << (email.attempt - 1);
+        this.retriedCounter.increment();
+        LOGGER.log(Level.WARNING, "Error al enviar el email a {0}; se reintenta en {1} ms",
+                new Object[] { email.to, delay });
+        this.retryScheduler.schedule(() -> {
+            if (!this.queue.offer(email.nextAttempt())) {
+                this.failedCounter.increment();
+                LOGGER.log(Level.SEVERE, "Cola de emails llena; se descarta el reintento a {0}", email.to);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                LOGGER.log(Level.FINE, "Error al cerrar la conexión SMTP", e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Email pendiente de envío.
+     */
+    private static final class OutgoingEmail {
+        private final String from;
+        private final String to;
+        private final String subject;
+        private final String html;
+        private final long enqueuedAt; // System.nanoTime() al encolarlo por primera vez
+        private final int attempt; // Número de intento (empieza en 1)
+
+        private OutgoingEmail(String from, String to, String subject, String html, long enqueuedAt, int attempt) {
+            this.from = from;
+            this.to = to;
+            this.subject = subject;
+            this.html = html;
+            this.enqueuedAt = enqueuedAt;
+            this.attempt = attempt;
+        }
+
+        private OutgoingEmail nextAttempt() {
+            return new OutgoingEmail(this.from, this.to, this.subject, this.html, this.enqueuedAt, this.attempt + 1);
+        }
+
+        private MimeMessage toMessage(Session session) throws MessagingException {
+            MimeMessage message = new MimeMessage(session);
+            message.setFrom(new InternetAddress(this.from));
+            message.setRecipient(Message.RecipientType.TO, new InternetAddress(this.to));
+            message.setSubject(this.subject, "UTF-8"); // Como el cuerpo, sin depender del charset de la plataforma
+            message.setContent(this.html, "text/html; charset=UTF-8");
+            return message;
+        }
+    }
+}
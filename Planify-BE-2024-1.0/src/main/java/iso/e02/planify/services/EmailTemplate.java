@@ -0,0 +1,96 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plantilla de email precompilada.
+ *
+ * El texto se trocea una sola vez en fragmentos literales y marcadores
+ * ${nombre}, de modo que rellenarla es una única pasada sobre un
+ * StringBuilder de tamaño ya conocido, sin volver a leer el fichero ni
+ * recorrer el texto con cada replace.
+ */
+public final class EmailTemplate {
+
+    private final String[] literals; // literals[i] va antes de placeholders[i]; el último va al final
+    private final String[] placeholders; // Nombres de los marcadores, en orden de aparición
+    private final int literalLength; // Longitud total de los fragmentos literales
+
+    private EmailTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.toArray(new String[0]);
+        int length = 0;
+        for (String literal : this.literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compila una plantilla a partir de su texto.
+     *
+     * @param source el texto con marcadores ${nombre}.
+     * @return la plantilla compilada.
+     */
+    public static EmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int start = source.indexOf("${", position);
+            int end = start < 0 ? -1 : source.indexOf('}', start + 2);
+            if (end < 0) {
+                literals.add(source.substring(position));
+                return new EmailTemplate(literals, placeholders);
+            }
+            literals.add(source.substring(position, start));
+            placeholders.add(source.substring(start + 2, end));
+            position = end + 1;
+        }
+    }
+
+    /**
+     * Carga y compila una plantilla del classpath.
+     *
+     * @param resource la ruta del recurso (por ejemplo, "emailContent.html").
+     * @return la plantilla compilada.
+     * @throws IllegalStateException si el recurso no existe o no se puede leer.
+     */
+    public static EmailTemplate fromClasspath(String resource) {
+        try (InputStream input = EmailTemplate.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalStateException("No se encuentra la plantilla de email " + resource);
+            }
+            return compile(new String(input.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("No se puede leer la plantilla de email " + resource, e);
+        }
+    }
+
+    /**
+     * Rellena la plantilla. Los marcadores sin valor se dejan tal cual.
+     *
+     * @param values valores de los marcadores, por nombre.
+     * @return el texto resultante.
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder result = new StringBuilder(this.literalLength + 64 * this.placeholders.length);
+        for (int i = 0; i < this.placeholders.length; i++) {
+            result.append(this.literals[i]);
+            String value = values.get(this.placeholders[i]);
+            if (value != null) {
+                result.append(value);
+            } else {
+                result.append("${").append(this.placeholders[i]).append('}');
+            }
+        }
+        result.append(this.literals[this.literals.length - 1]);
+        return result.toString();
+    }
+}
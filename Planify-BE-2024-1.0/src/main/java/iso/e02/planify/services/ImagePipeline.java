@@ -0,0 +1,342 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// imports de javax.imageio
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+// imports de jakarta
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Procesado de las fotos de perfil.
+ *
+ * La imagen se decodifica una sola vez y solo la parte necesaria: se lee la
+ * cabecera para comprobar el tamaño, se recorta el cuadrado central (para no
+ * deformar la foto) y, si es mucho mayor que la miniatura, se decodifica
+ * submuestreada con ImageReadParam. A partir de ahí se generan todas las
+ * miniaturas en una pasada, de mayor a menor, reduciendo a la mitad en cada
+ * paso con interpolación bilineal, y se codifican en JPEG.
+ *
+ * El trabajo se hace en un pool acotado; si está saturado se responde 503.
+ */
+@Service
+public class ImagePipeline {
+
+    private static final String FORMAT = "jpeg";
+
+    @Value("${planify.photos.sizes:150}")
+    private int[] sizes = { 150 }; // Lados de las miniaturas; la primera es la que se guarda
+
+    @Value("${planify.photos.max-bytes:5242880}")
+    private long maxBytes = 5L * 1024 * 1024; // Tamaño máximo de la foto recibida (5 MB)
+
+    @Value("${planify.photos.max-pixels:40000000}")
+    private long maxPixels = 40_000_000L; // Resolución máxima de la foto recibida (40 MP)
+
+    @Value("${planify.photos.jpeg-quality:0.85}")
+    private float jpegQuality = 0.85f; // Calidad de compresión JPEG
+
+    @Value("${planify.photos.threads:2}")
+    private int threads = 2; // Hilos del pool de procesado
+
+    @Value("${planify.photos.queue-capacity:16}")
+    private int queueCapacity = 16; // Fotos que pueden esperar en cola
+
+    @Value("${planify.photos.timeout-ms:10000}")
+    private long timeoutMillis = 10_000; // Espera máxima del hilo de la petición
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Crea el pool de procesado.
+     */
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-pipeline-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Detiene el pool de procesado.
+     */
+    @PreDestroy
+    public void stop() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * @return el tamaño máximo, en bytes, de la foto recibida.
+     */
+    public long getMaxBytes() {
+        return this.maxBytes;
+    }
+
+    /**
+     * Procesa una foto de perfil en el pool y devuelve la miniatura que se
+     * guarda (la del primer tamaño configurado).
+     *
+     * @param imageBytes los bytes de la foto original.
+     * @return la miniatura en JPEG.
+     * @throws ResponseStatusException 413 si la foto es demasiado grande, 406 si
+     *                                 no es una imagen válida y 503 si el pool
+     *                                 está saturado.
+     */
+    public byte[] process(byte[] imageBytes) {
+        if (imageBytes.length > this.maxBytes) {
+            throw tooLarge();
+        }
+        return submit(() -> thumbnails(ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes)),
+                this.sizes)[0]);
+    }
+
+    /**
+     * Procesa una foto de perfil leyéndola directamente de un flujo (por ejemplo,
+     * la parte de una petición multipart), sin cargarla antes entera en memoria.
+     * Se deja de leer en cuanto se superan los bytes permitidos.
+     *
+     * @param input        el flujo con la foto original; se cierra al terminar.
+     * @param declaredSize el tamaño anunciado por el cliente, o -1 si no se conoce.
+     * @return la miniatura en JPEG.
+     * @throws ResponseStatusException 413 si la foto es demasiado grande, 406 si
+     *                                 no es una imagen válida y 503 si el pool
+     *                                 está saturado.
+     */
+    public byte[] process(InputStream input, long declaredSize) {
+        if (declaredSize > this.maxBytes) {
+            throw tooLarge();
+        }
+        InputStream limited = new LimitedInputStream(input, this.maxBytes);
+        return submit(() -> thumbnails(ImageIO.createImageInputStream(limited), this.sizes)[0]);
+    }
+
+    /**
+     * Ejecuta una tarea de procesado en el pool y espera su resultado.
+     */
+    byte[] submit(ImageTask task) {
+        Future<byte[]> future;
+        try {
+            future = this.executor.submit(task::run);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+        try {
+            return future.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw invalidImage();
+        }
+    }
+
+    /**
+     * Genera varias miniaturas cuadradas de una imagen en una sola pasada.
+     *
+     * @param input la imagen; se cierra al terminar.
+     * @param sides los lados de las miniaturas, en píxeles.
+     * @return las miniaturas en JPEG, en el mismo orden que sides.
+     * @throws IOException si no se puede leer o escribir la imagen.
+     */
+    public byte[][] thumbnails(ImageInputStream input, int... sides) throws IOException {
+        if (input == null) {
+            throw invalidImage();
+        }
+        try (ImageInputStream stream = input) {
+            BufferedImage image = decodeSquare(stream, Arrays.stream(sides).max().orElseThrow());
+            // De mayor a menor, para que cada miniatura parta de la anterior
+            Integer[] order = new Integer[sides.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(sides[b], sides[a]));
+            byte[][] result = new byte[sides.length][];
+            for (int index : order) {
+                image = downscale(image, sides[index]);
+                result[index] = encode(image);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Decodifica el cuadrado central de la imagen, submuestreado de modo que
+     * mida al menos el doble del lado más grande pedido.
+     */
+    private BufferedImage decodeSquare(ImageInputStream stream, int largestSide) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(stream);
+        if (!readers.hasNext()) {
+            throw invalidImage();
+        }
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(stream, true, true);
+            int width = reader.getWidth(0); // Solo lee la cabecera
+            int height = reader.getHeight(0);
+            if ((long) width * height > this.maxPixels) {
+                throw tooLarge();
+            }
+            int side = Math.min(width, height);
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+            int subsampling = Math.max(1, side / (largestSide * 2));
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            return toRgb(reader.read(0, param));
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Reduce la imagen al lado pedido, a mitades sucesivas mientras sea más
+     * del doble, con interpolación bilineal.
+     */
+    private static BufferedImage downscale(BufferedImage image, int side) {
+        BufferedImage current = image;
+        int currentSide = current.getWidth();
+        while (currentSide != side) {
+            int nextSide = currentSide > side * 2 ? currentSide / 2 : side;
+            BufferedImage next = new BufferedImage(nextSide, nextSide, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = next.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+            g2d.drawImage(current, 0, 0, nextSide, nextSide, null);
+            g2d.dispose();
+            current = next;
+            currentSide = nextSide;
+        }
+        return current;
+    }
+
+    /**
+     * Convierte la imagen a RGB (sin transparencia) para poder guardarla en JPEG.
+     */
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = rgb.createGraphics();
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return rgb;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(FORMAT).next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream(image.getWidth() * image.getHeight() / 4);
+        try (MemoryCacheImageOutputStream stream = new MemoryCacheImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(this.jpegQuality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    static ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "La foto es demasiado grande");
+    }
+
+    private static ResponseStatusException invalidImage() {
+        return new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "La foto no es una imagen válida");
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Servidor ocupado, inténtelo de nuevo en unos segundos");
+    }
+
+    /**
+     * Flujo que falla con 413 en cuanto se leen más bytes de los permitidos.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private LimitedInputStream(InputStream input, long limit) {
+            super(input);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value >= 0) {
+                consume(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        private void consume(long count) {
+            this.remaining -= count;
+            if (this.remaining < 0) {
+                throw tooLarge();
+            }
+        }
+    }
+
+    /**
+     * Tarea de procesado que puede fallar al leer o escribir la imagen.
+     */
+    @FunctionalInterface
+    interface ImageTask {
+        byte[] run() throws IOException;
+    }
+}
@@ -0,0 +1,93 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Almacén en memoria de los tokens de recuperación de contraseña.
+ *
+ * Los tokens se guardan en un ConcurrentHashMap junto con un índice por email,
+ * de modo que cada usuario tiene como mucho un token vigente y el número de
+ * tokens queda acotado por el número de usuarios y por maxTokens. Los tokens
+ * caducados se descartan al leerlos y los elimina periódicamente sweep().
+ */
+@Component
+@ConditionalOnProperty(name = "planify.recovery-tokens.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRecoveryTokenStore implements RecoveryTokenStore {
+
+    @Value("${planify.recovery-tokens.max-size:10000}")
+    private int maxTokens = 10_000; // Número máximo de tokens vigentes
+
+    private final ConcurrentHashMap<String, TokenPasswordChange> tokens = new ConcurrentHashMap<>(); // id -> token
+    private final ConcurrentHashMap<String, String> tokenIdsByEmail = new ConcurrentHashMap<>(); // email -> id
+
+    @Override
+    public void put(String id, TokenPasswordChange token) {
+        if (this.tokens.size() >= this.maxTokens && removeExpired() == 0
+                && !this.tokenIdsByEmail.containsKey(token.getEmail())) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Demasiadas solicitudes de recuperación, inténtelo más tarde");
+        }
+        this.tokens.put(id, token);
+        String previousId = this.tokenIdsByEmail.put(token.getEmail(), id);
+        if (previousId != null && !previousId.equals(id)) {
+            this.tokens.remove(previousId); // El token anterior del mismo email deja de valer
+        }
+    }
+
+    @Override
+    public TokenPasswordChange get(String id) {
+        TokenPasswordChange token = this.tokens.get(id);
+        if (token != null && token.isCaducado()) {
+            remove(id);
+            return null;
+        }
+        return token;
+    }
+
+    @Override
+    public void remove(String id) {
+        TokenPasswordChange token = this.tokens.remove(id);
+        if (token != null) {
+            this.tokenIdsByEmail.remove(token.getEmail(), id);
+        }
+    }
+
+    @Override
+    public int removeExpired() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (Map.Entry<String, TokenPasswordChange> entry : this.tokens.entrySet()) {
+            TokenPasswordChange token = entry.getValue();
+            if (token.getHoraFin() < now && this.tokens.remove(entry.getKey(), token)) {
+                this.tokenIdsByEmail.remove(token.getEmail(), entry.getKey());
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Elimina periódicamente los tokens caducados.
+     */
+    @Scheduled(fixedDelayString = "${planify.recovery-tokens.sweep-delay-ms:60000}")
+    public void sweep() {
+        removeExpired();
+    }
+
+    /**
+     * @return el número de tokens guardados (incluidos los caducados aún no eliminados).
+     */
+    public int size() {
+        return this.tokens.size();
+    }
+}
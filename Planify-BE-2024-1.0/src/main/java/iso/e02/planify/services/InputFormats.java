@@ -0,0 +1,203 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Comprobación y lectura de los formatos de entrada de Planify: emails,
+ * política de contraseñas, fechas (yyyy-MM-dd) y horas (HH:mm).
+ *
+ * Todo se hace recorriendo los caracteres, sin expresiones regulares ni
+ * DateTimeFormatter y sin construir cadenas intermedias (como fecha + " " +
+ * hora), así que la entrada válida no reserva memoria más allá del resultado.
+ * Las fechas se leen en modo estricto: un día que no existe (2024-02-30) es un
+ * error de formato.
+ */
+public final class InputFormats {
+
+    private static final String PASSWORD_UPPER_CASE = "ÁÉÍÓÚÑÄËÏÖÜÀÈÌÒÙÇ"; // Mayúsculas además de A-Z
+    private static final String PASSWORD_LOWER_CASE = "áéíóúñäëïöüàèìòùç"; // Minúsculas además de a-z
+    private static final String PASSWORD_SPECIAL_CHARS = "!@#$%^&*(),.?\":¿'¡+{}|<>_-/\\=[]`;ºª~€¬¨";
+
+    private InputFormats() {
+    }
+
+    /**
+     * Comprueba que el email tiene el formato texto@texto.texto: la parte local
+     * con letras, dígitos y ._%+-, el dominio con letras, dígitos, puntos y
+     * guiones, y tras el último punto al menos dos letras.
+     *
+     * @param email el email.
+     * @return true si el formato es válido.
+     */
+    public static boolean isValidEmail(CharSequence email) {
+        int length = email.length();
+        int at = -1;
+        int lastDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (c == '@') {
+                if (at >= 0) {
+                    return false; // Solo puede haber una arroba
+                }
+                at = i;
+            } else if (at < 0) {
+                if (!isAsciiLetterOrDigit(c) && c != '.' && c != '_' && c != '%' && c != '+' && c != '-') {
+                    return false;
+                }
+            } else if (c == '.') {
+                lastDot = i;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (at <= 0 || lastDot <= at + 1 || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Comprueba la política de contraseñas: al menos 8 caracteres, una
+     * mayúscula, una minúscula, un dígito y un carácter especial.
+     *
+     * @param password la contraseña.
+     * @return true si la contraseña es segura.
+     */
+    public static boolean isPasswordSecure(CharSequence password) {
+        int length = password.length();
+        if (length < 8) {
+            return false;
+        }
+        boolean upperCase = false;
+        boolean lowerCase = false;
+        boolean digit = false;
+        boolean special = false;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= 'A' && c <= 'Z' || c > 127 && PASSWORD_UPPER_CASE.indexOf(c) >= 0) {
+                upperCase = true;
+            } else if (c >= 'a' && c <= 'z' || c > 127 && PASSWORD_LOWER_CASE.indexOf(c) >= 0) {
+                lowerCase = true;
+            } else if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (PASSWORD_SPECIAL_CHARS.indexOf(c) >= 0) {
+                special = true;
+            }
+        }
+        return upperCase && lowerCase && digit && special;
+    }
+
+    /**
+     * Lee una fecha con formato yyyy-MM-dd.
+     *
+     * @param text la fecha.
+     * @return la fecha leída.
+     * @throws DateTimeParseException si el formato no es válido o la fecha no existe.
+     */
+    public static LocalDate parseDate(CharSequence text) {
+        if (text == null || text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            throw invalid("La fecha no tiene el formato yyyy-MM-dd", text);
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            throw invalid("La fecha no tiene el formato yyyy-MM-dd", text);
+        }
+        if (day > 28 && day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+            throw invalid("La fecha no existe", text);
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    /**
+     * Lee una hora con formato HH:mm.
+     *
+     * @param text la hora.
+     * @return la hora leída.
+     * @throws DateTimeParseException si el formato no es válido.
+     */
+    public static LocalTime parseTime(CharSequence text) {
+        if (text == null || text.length() != 5) {
+            throw invalid("La hora no tiene el formato HH:mm", text);
+        }
+        return parseTime(text, false);
+    }
+
+    /**
+     * Lee una hora con formato HH:mm o HH:mm:ss, como LocalTime.parse.
+     *
+     * @param text la hora.
+     * @return la hora leída.
+     * @throws DateTimeParseException si el formato no es válido.
+     */
+    public static LocalTime parseIsoTime(CharSequence text) {
+        if (text == null || text.length() != 5 && text.length() != 8) {
+            throw invalid("La hora no tiene el formato HH:mm[:ss]", text);
+        }
+        return parseTime(text, text.length() == 8);
+    }
+
+    /**
+     * Lee una fecha (yyyy-MM-dd) y una hora (HH:mm) por separado, sin unirlas en
+     * una sola cadena.
+     *
+     * @param date la fecha.
+     * @param time la hora.
+     * @return la fecha y hora leída.
+     * @throws DateTimeParseException si alguno de los formatos no es válido.
+     */
+    public static LocalDateTime parseDateTime(CharSequence date, CharSequence time) {
+        return LocalDateTime.of(parseDate(date), parseTime(time));
+    }
+
+    private static LocalTime parseTime(CharSequence text, boolean withSeconds) {
+        if (text.charAt(2) != ':' || withSeconds && text.charAt(5) != ':') {
+            throw invalid("La hora no tiene el formato HH:mm", text);
+        }
+        int hour = digits(text, 0, 2);
+        int minute = digits(text, 3, 5);
+        int second = withSeconds ? digits(text, 6, 8) : 0;
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            throw invalid("La hora no tiene el formato HH:mm", text);
+        }
+        return LocalTime.of(hour, minute, second);
+    }
+
+    /**
+     * @return el número formado por los dígitos de [from, to), o -1 si alguno no
+     *         es un dígito.
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || c >= '0' && c <= '9';
+    }
+
+    private static DateTimeParseException invalid(String message, CharSequence text) {
+        return new DateTimeParseException(message, text == null ? "" : text, 0);
+    }
+}
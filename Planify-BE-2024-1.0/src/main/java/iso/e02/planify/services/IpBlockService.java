@@ -3,76 +3,230 @@ package iso.e02.planify.services;
 import iso.e02.planify.entities.IpAttempt;
 import iso.e02.planify.repositories.IpAttemptRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Optional;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Servicio para bloquear direcciones IP después de varios intentos fallidos de inicio de sesión.
+ *
+ * Los intentos se cuentan en memoria con una ventana deslizante por IP: si hay
+ * MAX_ATTEMPTS fallos dentro de ATTEMPT_WINDOW_MINUTES, la IP queda bloqueada
+ * BLOCK_TIME_MINUTES. Cada IP se actualiza dentro de un compute del
+ * ConcurrentHashMap, así que solo compiten los hilos que comparten IP.
+ *
+ * Si la persistencia está activa (planify.ip-block.persistence.enabled, por
+ * defecto true) los bloqueos se escriben en diferido en la tabla ip_attempts,
+ * se recuperan al arrancar y se releen periódicamente, de modo que sobreviven a
+ * un reinicio y se comparten entre nodos. Los fallos sueltos no se escriben.
  */
 @Service
 public class IpBlockService {
 
+    private static final Logger LOGGER = Logger.getLogger(IpBlockService.class.getName());
+
     private static final int MAX_ATTEMPTS = 5; // Número máximo de intentos antes del bloqueo
     private static final long BLOCK_TIME_MINUTES = 2; // Duración del bloqueo en minutos
+    private static final long ATTEMPT_WINDOW_MINUTES = 15; // Ventana en la que se cuentan los intentos fallidos
+
+    private static final long BLOCK_TIME_MILLIS = BLOCK_TIME_MINUTES * 60_000;
+    private static final long ATTEMPT_WINDOW_MILLIS = ATTEMPT_WINDOW_MINUTES * 60_000;
 
     @Autowired
     private IpAttemptRepository ipAttemptRepository;
 
+    @Value("${planify.ip-block.persistence.enabled:true}")
+    private boolean persistenceEnabled; // Escritura diferida de los bloqueos en ip_attempts
+
+    private final ConcurrentHashMap<String, AttemptWindow> windows = new ConcurrentHashMap<>(); // Estado por IP
+
+    private final Set<String> pendingWrites = ConcurrentHashMap.newKeySet(); // IPs cuyo bloqueo hay que guardar o borrar
+
     /**
      * Verifica si la IP está bloqueada.
-     * 
+     *
      * @param ip Dirección IP a verificar.
      * @return true si la IP está bloqueada, false en caso contrario.
      */
     public boolean isIpBlocked(String ip) {
-        Optional<IpAttempt> ipAttemptOpt = ipAttemptRepository.findByIpAddress(ip);
-
-        if (ipAttemptOpt.isPresent()) {
-            IpAttempt ipAttempt = ipAttemptOpt.get();
-            if (ipAttempt.isBlocked() && ipAttempt.getLastAttempt().isAfter(LocalDateTime.now().minusMinutes(BLOCK_TIME_MINUTES))) {
-                return true; // La IP está bloqueada dentro del tiempo de bloqueo
-            } else if (ipAttempt.isBlocked()) {
-                // Desbloqueo automático después de la duración del bloqueo
-                ipAttempt.setBlocked(false);
-                ipAttempt.setAttemptCount(0);
-                ipAttemptRepository.save(ipAttempt);
-            }
-        }
-
-        return false;
+        AttemptWindow window = this.windows.get(ip);
+        return window != null && window.isBlocked(System.currentTimeMillis());
     }
 
     /**
      * Registra un intento fallido de inicio de sesión para la IP dada.
-     * 
+     *
      * @param ip Dirección IP a registrar.
      */
     public void registerFailedAttempt(String ip) {
-        IpAttempt ipAttempt = ipAttemptRepository.findByIpAddress(ip)
-                .orElseGet(() -> {
-                    IpAttempt newIpAttempt = new IpAttempt();
-                    newIpAttempt.setIpAddress(ip);
-                    return newIpAttempt;
+        long now = System.currentTimeMillis();
+        boolean[] blocked = new boolean[1];
+        this.windows.compute(ip, (key, window) -> {
+            AttemptWindow current = window != null ? window : new AttemptWindow();
+            blocked[0] = current.registerFailure(now);
+            return current;
+        });
+        if (blocked[0] && this.persistenceEnabled) {
+            this.pendingWrites.add(ip);
+        }
+    }
+
+    /**
+     * Restablece los intentos fallidos para la IP dada.
+     *
+     * @param ip Dirección IP a restablecer.
+     */
+    public void resetAttempts(String ip) {
+        AttemptWindow removed = this.windows.remove(ip);
+        if (removed != null && removed.hasBeenBlocked() && this.persistenceEnabled) {
+            this.pendingWrites.add(ip); // Borrar la fila del bloqueo anterior
+        }
+    }
+
+    /**
+     * Recupera los bloqueos vigentes guardados en la base de datos al arrancar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPersistedBlocks() {
+        if (!this.persistenceEnabled) {
+            return;
+        }
+        try {
+            LocalDateTime since = toLocalDateTime(System.currentTimeMillis() - BLOCK_TIME_MILLIS);
+            for (IpAttempt ipAttempt : this.ipAttemptRepository.findByBlockedTrueAndLastAttemptAfter(since)) {
+                long blockedUntil = toMillis(ipAttempt.getLastAttempt()) + BLOCK_TIME_MILLIS;
+                this.windows.compute(ipAttempt.getIpAddress(), (key, window) -> {
+                    AttemptWindow current = window != null ? window : new AttemptWindow();
+                    current.extendBlock(blockedUntil);
+                    return current;
                 });
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se han podido recuperar los bloqueos de IP", e);
+        }
+    }
 
-        ipAttempt.setAttemptCount(ipAttempt.getAttemptCount() + 1);
-        ipAttempt.setLastAttempt(LocalDateTime.now());
+    /**
+     * Escribe en la base de datos los bloqueos nuevos y borra los de las IPs que
+     * han iniciado sesión correctamente.
+     */
+    @Scheduled(fixedDelayString = "${planify.ip-block.flush-delay-ms:5000}")
+    public void flushPendingWrites() {
+        Iterator<String> iterator = this.pendingWrites.iterator();
+        while (iterator.hasNext()) {
+            String ip = iterator.next();
+            iterator.remove();
+            try {
+                AttemptWindow window = this.windows.get(ip);
+                long now = System.currentTimeMillis();
+                if (window != null && window.isBlocked(now)) {
+                    IpAttempt ipAttempt = this.ipAttemptRepository.findByIpAddress(ip).orElseGet(() -> {
+                        IpAttempt newIpAttempt = new IpAttempt();
+                        newIpAttempt.setIpAddress(ip);
+                        return newIpAttempt;
+                    });
+                    ipAttempt.setAttemptCount(MAX_ATTEMPTS);
+                    ipAttempt.setBlocked(true);
+                    ipAttempt.setLastAttempt(toLocalDateTime(window.getBlockedUntil() - BLOCK_TIME_MILLIS));
+                    this.ipAttemptRepository.save(ipAttempt);
+                } else {
+                    this.ipAttemptRepository.deleteByIpAddress(ip);
+                }
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "No se ha podido guardar el bloqueo de la IP " + ip, e);
+            }
+        }
+    }
 
-        if (ipAttempt.getAttemptCount() >= MAX_ATTEMPTS && !ipAttempt.isBlocked()) {
-            ipAttempt.setBlocked(true);
+    /**
+     * Elimina de memoria las IPs sin actividad reciente y, con persistencia,
+     * borra las filas caducadas y relee los bloqueos de otros nodos.
+     */
+    @Scheduled(fixedDelayString = "${planify.ip-block.sweep-delay-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        for (String ip : this.windows.keySet()) {
+            this.windows.computeIfPresent(ip, (key, window) -> window.isIdle(now) ? null : window);
+        }
+        if (this.persistenceEnabled) {
+            try {
+                this.ipAttemptRepository.deleteByLastAttemptBefore(toLocalDateTime(now - BLOCK_TIME_MILLIS));
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "No se han podido borrar los bloqueos de IP caducados", e);
+            }
+            loadPersistedBlocks();
         }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 
-        ipAttemptRepository.save(ipAttempt);
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
     }
 
     /**
-     * Restablece los intentos fallidos para la IP dada.
-     * 
-     * @param ip Dirección IP a restablecer.
+     * Ventana deslizante de intentos fallidos de una IP. Guarda las marcas de
+     * tiempo de los últimos MAX_ATTEMPTS fallos en un buffer circular. Solo se
+     * modifica dentro de un compute del mapa; blockedUntil es volatile para poder
+     * leerlo sin bloqueo.
      */
-    public void resetAttempts(String ip) {
-        ipAttemptRepository.findByIpAddress(ip).ifPresent(ipAttemptRepository::delete);
+    private static final class AttemptWindow {
+        private final long[] failures = new long[MAX_ATTEMPTS]; // 0 = hueco libre
+        private int next; // Posición del siguiente fallo (y del más antiguo)
+        private long lastAttempt;
+        private volatile long blockedUntil;
+
+        /**
+         * @return true si este fallo provoca un bloqueo nuevo.
+         */
+        boolean registerFailure(long now) {
+            this.failures[this.next] = now;
+            this.next = (this.next + 1) % MAX_ATTEMPTS;
+            this.lastAttempt = now;
+            long oldest = this.failures[this.next];
+            if (!isBlocked(now) && oldest != 0 && oldest > now - ATTEMPT_WINDOW_MILLIS) {
+                this.blockedUntil = now + BLOCK_TIME_MILLIS;
+                Arrays.fill(this.failures, 0); // Al terminar el bloqueo se empieza de cero
+                return true;
+            }
+            return false;
+        }
+
+        void extendBlock(long until) {
+            if (until > this.blockedUntil) {
+                this.blockedUntil = until;
+                this.lastAttempt = Math.max(this.lastAttempt, until - BLOCK_TIME_MILLIS);
+            }
+        }
+
+        boolean isBlocked(long now) {
+            return this.blockedUntil > now;
+        }
+
+        boolean hasBeenBlocked() {
+            return this.blockedUntil != 0;
+        }
+
+        long getBlockedUntil() {
+            return this.blockedUntil;
+        }
+
+        boolean isIdle(long now) {
+            return !isBlocked(now) && this.lastAttempt <= now - ATTEMPT_WINDOW_MILLIS;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,13 @@
 package iso.e02.planify.services;
 
 // imports de iso.e02.planify
+import iso.e02.planify.entities.Administrator;
 import iso.e02.planify.entities.AppUser;
-import iso.e02.planify.entities.CommonUser;
 
 // imports de java
 import java.util.Date;
 
 // imports de spring
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 // imports de auth0
@@ -17,28 +16,16 @@ import com.auth0.jwt.algorithms.Algorithm;
 
 
 /*
- * Servicio que se encarga de la generación y validación de tokens JWT.
- * Tambien permite obtener el usuario a partir de un token JWT.
+ * Servicio que se encarga de la generación de tokens JWT. La verificación la
+ * hace VerifiedTokenCache.
  */
 @Service
 public class JWTService {
 
-    @Autowired
-    private ManageUsersService manageUsersService; // Inyección del servicio ManageUsersService
-
-    @Autowired
-    private ValidateUserService validateUserService; // Inyección del servicio ValidateUserService
-
-    /*
-     * Método que obtiene el usuario a partir de un token JWT.
-     * 
-     * @param authorizationHeader el token JWT que se va a validar. 
-     * @return el usuario común que corresponde al token JWT.
-     */
-    public CommonUser getCommonUserFromJWT(String authorizationHeader) {
-        String userEmail = this.validateUserService.validateJWT(authorizationHeader); // Llama al servicio de validación de usuarios para validar el token JWT
-        return this.manageUsersService.getUserByEmail(userEmail); // Llama al servicio de gestión de usuarios para obtener el usuario a partir del email
-    }
+    public static final String ROLE_CLAIM = "role"; // Claim con el rol del usuario
+    public static final String USER_ID_CLAIM = "uid"; // Claim con el ID del usuario
+    public static final String ROLE_ADMINISTRATOR = "Administrator"; // Rol de administrador
+    public static final String ROLE_COMMON_USER = "CommonUser"; // Rol de usuario común
 
     /*
      * Método que genera un token JWT para un usuario.
@@ -49,6 +36,8 @@ public class JWTService {
     public String generarJWT(AppUser user) {
        return JWT.create()
             .withSubject(user.getEmail())            // Asigna el email como sujeto del token
+            .withClaim(ROLE_CLAIM, user instanceof Administrator ? ROLE_ADMINISTRATOR : ROLE_COMMON_USER) // Rol, para autorizar sin consultar la base de datos
+            .withClaim(USER_ID_CLAIM, user.getId())  // ID del usuario
             .withIssuedAt(new Date())                // Fecha de emisión
             .withExpiresAt(new Date(System.currentTimeMillis() + 604800000 )) // Expiración en 7 días
             .sign(Algorithm.HMAC256(System.getProperty("JWT_SECRET")));    // Firma con HMAC256 y la clave secreta
@@ -0,0 +1,100 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.RecoveryToken;
+import iso.e02.planify.repositories.RecoveryTokenRepository;
+
+// imports de java
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+// imports de jakarta
+import jakarta.transaction.Transactional;
+
+/**
+ * Almacén de los tokens de recuperación de contraseña en la tabla
+ * recovery_tokens, compartido por todos los nodos. Se activa con
+ * planify.recovery-tokens.store=database.
+ */
+@Component
+@ConditionalOnProperty(name = "planify.recovery-tokens.store", havingValue = "database")
+public class JpaRecoveryTokenStore implements RecoveryTokenStore {
+
+    private static final Logger LOGGER = Logger.getLogger(JpaRecoveryTokenStore.class.getName());
+
+    @Autowired
+    private RecoveryTokenRepository recoveryTokenRepository;
+
+    @Value("${planify.recovery-tokens.max-size:10000}")
+    private int maxTokens; // Número máximo de tokens guardados
+
+    @Override
+    @Transactional
+    public void put(String id, TokenPasswordChange token) {
+        this.recoveryTokenRepository.deleteByEmail(token.getEmail()); // El token anterior del mismo email deja de valer
+        if (this.recoveryTokenRepository.count() >= this.maxTokens && removeExpired() == 0) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Demasiadas solicitudes de recuperación, inténtelo más tarde");
+        }
+        RecoveryToken recoveryToken = new RecoveryToken();
+        recoveryToken.setTokenHash(hash(id));
+        recoveryToken.setEmail(token.getEmail());
+        recoveryToken.setHoraFin(token.getHoraFin());
+        this.recoveryTokenRepository.save(recoveryToken);
+    }
+
+    @Override
+    public TokenPasswordChange get(String id) {
+        RecoveryToken recoveryToken = this.recoveryTokenRepository.findById(hash(id)).orElse(null);
+        if (recoveryToken == null || recoveryToken.getHoraFin() < System.currentTimeMillis()) {
+            return null;
+        }
+        TokenPasswordChange token = new TokenPasswordChange(id, recoveryToken.getEmail());
+        token.setHoraFin(recoveryToken.getHoraFin());
+        return token;
+    }
+
+    @Override
+    public void remove(String id) {
+        this.recoveryTokenRepository.deleteByTokenHash(hash(id));
+    }
+
+    @Override
+    public int removeExpired() {
+        return this.recoveryTokenRepository.deleteByHoraFinBefore(System.currentTimeMillis());
+    }
+
+    /**
+     * Elimina periódicamente los tokens caducados.
+     */
+    @Scheduled(fixedDelayString = "${planify.recovery-tokens.sweep-delay-ms:60000}")
+    public void sweep() {
+        try {
+            removeExpired();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se han podido borrar los tokens de recuperación caducados", e);
+        }
+    }
+
+    private static String hash(String id) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(id.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
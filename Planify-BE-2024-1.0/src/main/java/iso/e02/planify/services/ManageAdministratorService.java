@@ -3,6 +3,7 @@ package iso.e02.planify.services;
 // imports de iso.e02.planify
 import iso.e02.planify.entities.Administrator;
 import iso.e02.planify.repositories.AdministratorRepository;
+import iso.e02.planify.security.VerifiedTokenCache;
 
 // imports de java
 import java.util.List;
@@ -30,6 +31,12 @@ public class ManageAdministratorService {
     @Autowired
     private AdministratorRepository administratorRepository; // Inyección del repositorio de administradores.
 
+    @Autowired
+    private PhotoService photoService; // Inyección del servicio de fotos de perfil.
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache; // Tokens verificados que se descartan al eliminar administradores.
+
     /**
      * Obtiene una lista de todos los administradores registrados en el sistema.
      *
@@ -71,6 +78,7 @@ public class ManageAdministratorService {
     @Transactional
     public Administrator createAdministrator(Administrator administrator) {
         try {
+            this.photoService.storePhotoOf(administrator); // La foto se guarda aparte, en user_photos
             return this.administratorRepository.save(administrator);
         } catch (DataIntegrityViolationException e) { // Si el correo ya está registrado en la base de datos se lanza una excepción.
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "El usuario ya está registrado.");
@@ -94,11 +102,9 @@ public class ManageAdministratorService {
             // Actualizar los atributos heredados de AppUser
             existingAdmin.setName(updatedAdministrator.getName());
             existingAdmin.setSurnames(updatedAdministrator.getSurnames());
-            // Si la foto es null no se introduce en la base de datos ni como 0x
-            if (updatedAdministrator.getPhoto() == null || updatedAdministrator.getPhoto().length == 0) {
-                existingAdmin.setPhoto(null);
-            } else {
-                existingAdmin.setPhoto(updatedAdministrator.getPhoto());
+            // Sin foto (null) se mantiene la actual; una foto vacía la elimina
+            if (updatedAdministrator.getPhoto() != null) {
+                existingAdmin.setPhotoHash(this.photoService.store(updatedAdministrator.getPhoto()));
             }
             existingAdmin.setCentre(updatedAdministrator.getCentre());
             existingAdmin.setInternal(updatedAdministrator.isInternal());
@@ -118,6 +124,7 @@ public class ManageAdministratorService {
     public void deleteAdministrator(Long id) {
         if (administratorRepository.existsById(id)) { // Comprobar que el administrador existe
             administratorRepository.deleteById(id);
+            verifiedTokenCache.evictUser(id); // Sus tokens dejan de valer tras el commit
         } else {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Administrador no encontrado");
         }
@@ -2,17 +2,20 @@ package iso.e02.planify.services;
 
 // imports de iso.e02.planify
 import iso.e02.planify.entities.CommonUser;
-import iso.e02.planify.entities.Meeting;
-import iso.e02.planify.entities.MeetingAttendance;
 import iso.e02.planify.repositories.CommonUserRepository;
-import iso.e02.planify.repositories.MeetingAttendanceRepository;
-import iso.e02.planify.repositories.MeetingRespository;
 import iso.e02.planify.requests.CreateAbsenceRequest;
+import iso.e02.planify.requests.MeetingCascadeResult;
+import iso.e02.planify.security.VerifiedTokenCache;
 
 // imports de java
 import java.util.Optional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 // imports de spring
@@ -30,14 +33,22 @@ import jakarta.transaction.Transactional;
  */
 @Service
 public class ManageUsersService {
+    private static final int MAX_EMAILS_PER_QUERY = 1000; // Por debajo del límite de 2100 parámetros de SQL Server
+
     @Autowired
     private CommonUserRepository commonUserRepository; // Inyección del repositorio de usuarios comunes
 
     @Autowired
-    private MeetingAttendanceRepository meetingAttendanceRepository; // Inyección del repositorio de asistencia a reuniones
+    private BusyIntervalIndex busyIntervalIndex; // Índice de disponibilidad que se mantiene al eliminar usuarios
+
+    @Autowired
+    private PhotoService photoService; // Inyección del servicio de fotos de perfil
 
     @Autowired
-    private MeetingRespository meetingRepository; // Inyección del repositorio de reuniones
+    private MeetingCascadeService meetingCascadeService; // Cancelación en bloque de reuniones al bloquear o registrar ausencias
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache; // Tokens verificados que se descartan al eliminar usuarios
 
     /**
      * Obtiene una lista de todos los usuarios.
@@ -97,6 +108,32 @@ public class ManageUsersService {
         return user;
     }
 
+    /**
+     * Obtiene a la vez todos los usuarios correspondientes a una colección de emails.
+     * La comparación de emails no distingue mayúsculas, igual que la base de datos.
+     *
+     * @param emails emails de los usuarios.
+     * @return mapa email solicitado - usuario con los usuarios encontrados; los emails sin usuario no aparecen.
+     */
+    public Map<String, CommonUser> getUsersByEmails(Collection<String> emails) {
+        List<String> pending = new ArrayList<>(emails);
+        Map<String, CommonUser> found = new HashMap<>();
+        for (int from = 0; from < pending.size(); from += MAX_EMAILS_PER_QUERY) {
+            List<String> chunk = pending.subList(from, Math.min(from + MAX_EMAILS_PER_QUERY, pending.size()));
+            for (CommonUser user : commonUserRepository.findByEmailIn(chunk)) {
+                found.put(user.getEmail().toLowerCase(Locale.ROOT), user);
+            }
+        }
+        Map<String, CommonUser> users = new LinkedHashMap<>();
+        for (String email : pending) {
+            CommonUser user = found.get(email.toLowerCase(Locale.ROOT));
+            if (user != null) {
+                users.put(email, user);
+            }
+        }
+        return users;
+    }
+
     /**
      * Bloquea a un usuario específico.
      *
@@ -180,11 +217,9 @@ public class ManageUsersService {
             if(pwd != null && !pwd.trim().isEmpty()) {
                 existingUser.setPassword(pwd);
             }
-            // Si la foto es null no se introduce en la base de datos ni como 0x
-            if (updatedUser.getPhoto() == null || updatedUser.getPhoto().length == 0) {
-                existingUser.setPhoto(null);
-            } else {
-                existingUser.setPhoto(updatedUser.getPhoto());
+            // Sin foto (null) se mantiene la actual; una foto vacía la elimina
+            if (updatedUser.getPhoto() != null) {
+                existingUser.setPhotoHash(this.photoService.store(updatedUser.getPhoto()));
             }
             commonUserRepository.save(existingUser); // Guardar los cambios en el repositorio
         } else {
@@ -201,6 +236,8 @@ public class ManageUsersService {
     public void deleteUser(Long userId) {
         if (userExists(userId)) { // Validar que el usuario exista
             commonUserRepository.deleteById(userId);
+            busyIntervalIndex.evict(userId);
+            verifiedTokenCache.evictUser(userId); // Sus tokens dejan de valer tras el commit
         } else {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Usuario no encontrado");
         }
@@ -225,56 +262,37 @@ public class ManageUsersService {
     }
 
     /**
-     * Cancela o rechaza las reuniones en las que participa un usuario.
-     * Usado al bloquear a un usuario.
+     * Cancela las reuniones que organiza un usuario y rechaza sus invitaciones
+     * al resto. Usado al bloquear a un usuario.
      *
      * @param user Usuario a cancelar o rechazar las reuniones.
+     * @return el número de reuniones canceladas e invitaciones rechazadas.
      */
-    /*  Este método no debería ir aquí. El problema es que si lo ponemos en MeetingService
-    estamos creando un ciclo para Springboot (no dejará ejecutar el back).
-
-    Básicamente, porque importaremos MeetingService en ManageUsersService y ManageUsersService en MeetingService.
-
-    Pero hay que darle una vuelta. Ahora mismo no van los tests
-    */
-    public void cancelOrRejectMeetings(CommonUser user) {
-        List<Map<String,Object>> meetings = meetingAttendanceRepository.findAllByUserId(user.getId()); // Obtener las reuniones en las que participa el usuario
-        for (Map<String,Object> meeting : meetings) {
-            Meeting meetingAux = meetingRepository.findById((Long)meeting.get("id")).get();
-            MeetingAttendance meetingAttendance = meetingAttendanceRepository.findByMeetingIdAndUserId((Long)meeting.get("id"), user.getId());
-            if (meetingAttendance.getRole() == MeetingAttendance.Role.ORGANIZADOR) { // Si el usuario es organizador, se cancela la reunión
-                meetingAux.setStatus(Meeting.Status.CANCELADA);
-                meetingRepository.save(meetingAux);
-            } else { // Si el usuario es asistente, se rechaza la invitación
-                meetingAttendance.setInvitationStatus(MeetingAttendance.InvitationStatus.RECHAZADA);
-                meetingAttendance.setDeclineReason("Usuario bloqueado");
-                meetingAttendanceRepository.save(meetingAttendance);
-            }
-        }
+    public MeetingCascadeResult cancelOrRejectMeetings(CommonUser user) {
+        return meetingCascadeService.cancelOrRejectAll(user.getId());
     }
-    
-    public void cancelOrRejectMeetingsAbsence(CreateAbsenceRequest absenceInfo){
+
+    /**
+     * Cancela las reuniones que organiza un usuario y rechaza sus invitaciones,
+     * solo para las reuniones que se solapan con una ausencia. Las ausencias de
+     * día completo ocupan desde el inicio de su primer día hasta el final del último.
+     *
+     * @param absenceInfo la ausencia a registrar.
+     * @return el número de reuniones canceladas e invitaciones rechazadas.
+     */
+    public MeetingCascadeResult cancelOrRejectMeetingsAbsence(CreateAbsenceRequest absenceInfo){
         LocalDateTime fromDateTime;
         LocalDateTime toDateTime;
         if (absenceInfo.isAllDayLong()){
-            fromDateTime = LocalDateTime.parse(absenceInfo.getFromDate() + "T00:00");
-            toDateTime = LocalDateTime.parse(absenceInfo.getToDate() + "T23:59");
+            fromDateTime = InputFormats.parseDate(absenceInfo.getFromDate()).atStartOfDay();
+            toDateTime = InputFormats.parseDate(absenceInfo.getToDate()).plusDays(1).atStartOfDay();
         }
         else{
-            fromDateTime = LocalDateTime.parse(absenceInfo.getFromDate() + "T" + absenceInfo.getFromTime());
-            toDateTime = LocalDateTime.parse(absenceInfo.getToDate() + "T" + absenceInfo.getToTime());
-        }
-        List<MeetingAttendance> meetings = meetingAttendanceRepository.findAttendancesByUserIdAndPeriod(fromDateTime, toDateTime, absenceInfo.getUserId(), absenceInfo.isAllDayLong()); // Obtener las reuniones en las que participa el usuario
-        for (MeetingAttendance meetingAttendance : meetings) {
-            Meeting meeting = meetingAttendance.getMeeting();
-            if (meetingAttendance.getRole() == MeetingAttendance.Role.ORGANIZADOR) { // Si el usuario es organizador, se cancela la reunión
-                meeting.setStatus(Meeting.Status.CANCELADA);
-                meetingRepository.save(meeting);
-            } else { // Si el usuario es asistente, se rechaza la invitación
-                meetingAttendance.setInvitationStatus(MeetingAttendance.InvitationStatus.RECHAZADA);
-                meetingAttendance.setDeclineReason("Ausencia programada");
-                meetingAttendanceRepository.save(meetingAttendance);
-            }
+            fromDateTime = InputFormats.parseDate(absenceInfo.getFromDate())
+                    .atTime(InputFormats.parseIsoTime(absenceInfo.getFromTime()));
+            toDateTime = InputFormats.parseDate(absenceInfo.getToDate())
+                    .atTime(InputFormats.parseIsoTime(absenceInfo.getToTime()));
         }
+        return meetingCascadeService.cancelOrRejectInPeriod(absenceInfo.getUserId(), fromDateTime, toDateTime);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.entities.MeetingAttendance.Role;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.repositories.MeetingRespository;
+import iso.e02.planify.requests.MeetingCascadeResult;
+
+// imports de java
+import java.time.LocalDateTime;
+import java.util.List;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// imports de jakarta
+import jakarta.transaction.Transactional;
+
+/**
+ * Cancela las reuniones que organiza un usuario y rechaza sus invitaciones al
+ * resto, al bloquearlo o al registrarle una ausencia.
+ *
+ * Cada cascada son dos UPDATE en bloque dentro de una transacción, en lugar de
+ * leer y guardar las reuniones una a una, de modo que el coste y el tiempo que
+ * se mantienen los bloqueos no dependen del número de reuniones del usuario.
+ * Antes se leen los ids de las reuniones a cancelar para quitarlas del índice
+ * de disponibilidad.
+ */
+@Service
+public class MeetingCascadeService {
+
+    public static final String BLOCKED_USER_REASON = "Usuario bloqueado";
+    public static final String ABSENCE_REASON = "El usuario tiene una ausencia planificada.";
+
+    @Autowired
+    private MeetingRespository meetingRepository;
+
+    @Autowired
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
+    @Autowired
+    private BusyIntervalIndex busyIntervalIndex;
+
+    /**
+     * Cancela todas las reuniones que organiza un usuario y rechaza todas sus
+     * invitaciones. Usado al bloquear a un usuario.
+     *
+     * @param userId el identificador del usuario.
+     * @return el número de reuniones canceladas e invitaciones rechazadas.
+     */
+    @Transactional
+    public MeetingCascadeResult cancelOrRejectAll(Long userId) {
+        List<Long> meetingIds = meetingAttendanceRepository.findMeetingIdsToCancel(userId, Role.ORGANIZADOR,
+                Meeting.Status.CANCELADA);
+        int cancelled = meetingIds.isEmpty() ? 0
+                : meetingRepository.cancelOrganizedBy(userId, Role.ORGANIZADOR, Meeting.Status.CANCELADA);
+        int rejected = meetingAttendanceRepository.rejectInvitations(userId, Role.ORGANIZADOR,
+                InvitationStatus.RECHAZADA, BLOCKED_USER_REASON);
+        meetingIds.forEach(busyIntervalIndex::meetingCancelled);
+        return new MeetingCascadeResult(cancelled, rejected);
+    }
+
+    /**
+     * Cancela las reuniones que organiza un usuario y rechaza sus invitaciones,
+     * solo para las reuniones que se solapan con [fromDateTime, toDateTime).
+     * Usado al registrar una ausencia.
+     *
+     * @param userId       el identificador del usuario.
+     * @param fromDateTime inicio del periodo.
+     * @param toDateTime   fin (exclusivo) del periodo.
+     * @return el número de reuniones canceladas e invitaciones rechazadas.
+     */
+    @Transactional
+    public MeetingCascadeResult cancelOrRejectInPeriod(Long userId, LocalDateTime fromDateTime,
+            LocalDateTime toDateTime) {
+        List<Long> meetingIds = meetingAttendanceRepository.findMeetingIdsToCancelInPeriod(userId,
+                Role.ORGANIZADOR, Meeting.Status.CANCELADA, fromDateTime, toDateTime);
+        int cancelled = meetingIds.isEmpty() ? 0
+                : meetingRepository.cancelOrganizedByInPeriod(userId, Role.ORGANIZADOR, Meeting.Status.CANCELADA,
+                        fromDateTime, toDateTime);
+        int rejected = meetingAttendanceRepository.rejectInvitationsInPeriod(userId, Role.ORGANIZADOR,
+                InvitationStatus.RECHAZADA, ABSENCE_REASON, fromDateTime, toDateTime);
+        meetingIds.forEach(busyIntervalIndex::meetingCancelled);
+        return new MeetingCascadeResult(cancelled, rejected);
+    }
+}
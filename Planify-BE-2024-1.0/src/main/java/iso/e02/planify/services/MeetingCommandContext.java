@@ -0,0 +1,37 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance;
+
+/**
+ * Datos que necesita un comando de un usuario sobre una reunión (asistir,
+ * cambiar el estado de la reunión o de la invitación): el usuario, la reunión y
+ * su asistencia. Se cargan una sola vez por comando y las validaciones y la
+ * modificación trabajan sobre las mismas entidades.
+ */
+public class MeetingCommandContext {
+
+    private final CommonUser user;
+    private final Meeting meeting;
+    private final MeetingAttendance attendance;
+
+    public MeetingCommandContext(CommonUser user, MeetingAttendance attendance) {
+        this.user = user;
+        this.meeting = attendance.getMeeting();
+        this.attendance = attendance;
+    }
+
+    public CommonUser getUser() {
+        return user;
+    }
+
+    public Meeting getMeeting() {
+        return meeting;
+    }
+
+    public MeetingAttendance getAttendance() {
+        return attendance;
+    }
+}
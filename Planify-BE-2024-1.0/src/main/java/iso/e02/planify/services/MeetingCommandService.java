@@ -0,0 +1,102 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance;
+import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.ChangeMeetingInvitationStatusRequest;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+// imports de jakarta
+import jakarta.transaction.Transactional;
+
+/**
+ * Comandos de un usuario sobre una reunión: registrar su asistencia, cambiar el
+ * estado de la reunión y responder a la invitación.
+ *
+ * Cada comando carga la reunión y la asistencia del usuario con una sola
+ * consulta, valida contra ese contexto y aplica el cambio en la misma
+ * transacción, así que lo que se valida es lo que se modifica.
+ */
+@Service
+public class MeetingCommandService {
+
+    @Autowired
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
+    @Autowired
+    private ValidateMeetingService validateMeetingService;
+
+    @Autowired
+    private BusyIntervalIndex busyIntervalIndex;
+
+    /**
+     * Carga el contexto de un comando del usuario sobre la reunión.
+     *
+     * @throws ResponseStatusException 404 si el usuario no participa en la reunión.
+     */
+    public MeetingCommandContext load(CommonUser user, Long meetingId) {
+        MeetingAttendance attendance = meetingAttendanceRepository.findWithMeeting(meetingId, user.getId())
+                .orElse(null);
+        if (attendance == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "No se ha encontrado la asistencia a la reunión con id " + meetingId + " del usuario con id "
+                            + user.getId() + ".");
+        }
+        return new MeetingCommandContext(user, attendance);
+    }
+
+    /**
+     * Registra la asistencia del usuario. Si es el organizador, la reunión se
+     * cierra.
+     */
+    @Transactional
+    public void assist(CommonUser user, Long meetingId) {
+        MeetingCommandContext context = load(user, meetingId);
+        validateMeetingService.validateAssistChangeInfo(context);
+
+        context.getAttendance().setAssisted(true);
+        if (context.getAttendance().getRole().equals(MeetingAttendance.Role.ORGANIZADOR)) {
+            context.getMeeting().setStatus(Meeting.Status.CERRADA);
+        }
+    }
+
+    /**
+     * Cambia el estado de la reunión. Solo puede hacerlo su organizador.
+     */
+    @Transactional
+    public void changeStatus(CommonUser user, Long meetingId, String status) {
+        MeetingCommandContext context = load(user, meetingId);
+        validateMeetingService.validateChangeStatusInfo(context, status);
+
+        Meeting meeting = context.getMeeting();
+        meeting.setStatus(Meeting.Status.valueOf(status.toUpperCase()));
+        if (meeting.getStatus() == Meeting.Status.CANCELADA) {
+            busyIntervalIndex.meetingCancelled(meeting.getId());
+        } else {
+            busyIntervalIndex.meetingScheduled(meeting,
+                    meetingAttendanceRepository.findUserIdsByMeetingId(meeting.getId()));
+        }
+    }
+
+    /**
+     * Acepta o rechaza la invitación del usuario a la reunión.
+     */
+    @Transactional
+    public void changeInvitationStatus(CommonUser user, Long meetingId,
+            ChangeMeetingInvitationStatusRequest changeInfo) {
+        MeetingCommandContext context = load(user, meetingId);
+        validateMeetingService.validateInvitationStatusChangeInfo(context, changeInfo);
+
+        MeetingAttendance attendance = context.getAttendance();
+        attendance.setInvitationStatus(InvitationStatus.valueOf(changeInfo.getInvitationStatus().toUpperCase()));
+        attendance.setDeclineReason(changeInfo.getDeclineReason()); // ya es null si no se rechaza
+    }
+}
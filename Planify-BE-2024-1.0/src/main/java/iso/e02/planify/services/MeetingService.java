@@ -1,20 +1,23 @@
 package iso.e02.planify.services;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.entities.Meeting;
-import iso.e02.planify.entities.Meeting.Status;
 import iso.e02.planify.entities.MeetingAttendance;
 import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
 import iso.e02.planify.repositories.MeetingAttendanceRepository;
@@ -36,7 +39,7 @@ public class MeetingService {
     private MeetingAttendanceRepository meetingAttendanceRepository;
 
     @Autowired
-    private ManageUsersService manageUsersService;
+    private BusyIntervalIndex busyIntervalIndex;
 
     public List<Map<String,Object>> listAll(Long userId) {
         return meetingAttendanceRepository.findAllByUserId(userId);
@@ -67,7 +70,7 @@ public class MeetingService {
     }
 
     @Transactional
-    public void create(Meeting meeting, CommonUser organizer, List<String> participantsEmails) {
+    public void create(Meeting meeting, CommonUser organizer, Map<String, CommonUser> participantsByEmail) {
 
         List<MeetingAttendance> participants = new ArrayList<>();
 
@@ -80,10 +83,15 @@ public class MeetingService {
         organizerAttendance.setDeclineReason(null);
         participants.add(organizerAttendance);
 
-        for (String participantEmail : participantsEmails) { // poner id si se quiere, depende de como se haga el front
+        // Participantes ya obtenidos al validar, una sola vez por usuario aunque se repitan con otro email
+        Map<Long, CommonUser> uniqueParticipants = new LinkedHashMap<>();
+        for (CommonUser participant : participantsByEmail.values()) {
+            uniqueParticipants.putIfAbsent(participant.getId(), participant);
+        }
+        for (CommonUser participant : uniqueParticipants.values()) {
 
             MeetingAttendance participantAttendance = new MeetingAttendance();
-            participantAttendance.setUser(this.manageUsersService.getUserByEmail(participantEmail));
+            participantAttendance.setUser(participant);
             participantAttendance.setMeeting(meeting);
             participantAttendance.setRole(MeetingAttendance.Role.ASISTENTE);
             participantAttendance.setInvitationStatus(MeetingAttendance.InvitationStatus.PENDIENTE);
@@ -94,29 +102,30 @@ public class MeetingService {
 
         meeting.setParticipants(participants);
         meetingRepository.save(meeting);
+        busyIntervalIndex.meetingScheduled(meeting, getParticipantIds(participants));
     }
 
     @Transactional
-    public void editMeeting(Meeting updatedMeeting, Long meetingId, CommonUser organizer, List<String> participants) {
+    public void editMeeting(Meeting updatedMeeting, Long meetingId, CommonUser organizer, Map<String, CommonUser> participantsByEmail) {
 
         // Lista con los participantes de la reunión a editar
         List<MeetingAttendance> newParticipants = new ArrayList<>();
-        // Lista con los participantes que hay antes de editar la reunión
-        List<InspectUserForMeetingsDTO> existingParticipantsList = getMeetingAttendances(meetingId);
+        // Participantes pendientes de añadir, se retiran los que ya estaban
+        Map<Long, CommonUser> pendingParticipants = new LinkedHashMap<>();
+        for (CommonUser participant : participantsByEmail.values()) {
+            pendingParticipants.put(participant.getId(), participant);
+        }
 
-        // Conservar los participantes que ya estaban
-        for(InspectUserForMeetingsDTO existingParticipant: existingParticipantsList) {
-            if(participants.contains(existingParticipant.getEmail()) || organizer.getEmail().equals(existingParticipant.getEmail())) {
-                MeetingAttendance attendance = getMeetingAttendance(meetingId, existingParticipant.getId());
+        // Conservar los participantes que ya estaban (una sola consulta para todas las asistencias)
+        for (MeetingAttendance attendance : meetingAttendanceRepository.findByMeetingId(meetingId)) {
+            Long userId = attendance.getUser().getId();
+            if (pendingParticipants.remove(userId) != null || organizer.getId().equals(userId)) {
                 newParticipants.add(attendance); // Aunque estuviera, se añade a la nueva lista de participantes
-                participants.remove(existingParticipant.getEmail()); // Y se elimina para no tenerlos en cuenta de nuevo
             }
         }
 
         // Añadir los participantes que no estaban
-        for(String newParticipantEmail: participants) {
-            CommonUser participant = this.manageUsersService.getUserByEmail(newParticipantEmail);
-
+        for (CommonUser participant : pendingParticipants.values()) {
             MeetingAttendance attendance = new MeetingAttendance();
             attendance.setUser(participant);
             attendance.setMeeting(updatedMeeting);
@@ -132,14 +141,7 @@ public class MeetingService {
 
         // Guardar la reunión y, consecuentemente, los participantes
         this.meetingRepository.save(updatedMeeting);
-    }
-
-    @Transactional
-    public void assist(CommonUser user, Long meetingId) {
-        Meeting meeting = getMeeting(meetingId);
-        MeetingAttendance attendance = getMeetingAttendance(meeting.getId(), user.getId());
-        attendance.setAssisted(true);
-        meetingAttendanceRepository.save(attendance);
+        this.busyIntervalIndex.meetingScheduled(updatedMeeting, getParticipantIds(newParticipants));
     }
 
     @Transactional
@@ -157,98 +159,46 @@ public class MeetingService {
         return attendance.getInvitationStatus();
     }
 
-    @Transactional
-    public void changeStatus(Long meetingId, String status) {
-        Meeting meeting = getMeeting(meetingId);
-        meeting.setStatus(Status.valueOf(status));
-        meetingRepository.save(meeting);
-    }
-
-    @Transactional
-    public void changeInvitationStatus(MeetingAttendance changedMeetingAttendance) {
-        meetingAttendanceRepository.save(changedMeetingAttendance);
-    }
-
-    @Transactional
-public List<CandidateToMeetinDTO> getCandidatesToMeeting(CandidatesRequest request) {
-    LocalDateTime fromDateTimeMeeting = parseDateTime(request.getMeetingDate(), request.getFromDateTime());
-    LocalDateTime toDateTimeMeeting = parseDateTime(request.getMeetingDate(), request.getToDateTime());
-    boolean isAllDay = request.isAllDay();
-
-    List<CandidateToMeetinDTO> registersObtained = meetingRepository.getCandidatesToMeeting();
-    return filterCandidates(registersObtained, fromDateTimeMeeting, toDateTimeMeeting, isAllDay);
-}
-
-private LocalDateTime parseDateTime(String date, String time) {
-    return LocalDateTime.parse(date + "T" + time);
-}
-
-private List<CandidateToMeetinDTO> filterCandidates(
-        List<CandidateToMeetinDTO> candidates, 
-        LocalDateTime fromDateTimeMeeting, 
-        LocalDateTime toDateTimeMeeting, 
-        boolean isAllDay) {
-    
-    List<CandidateToMeetinDTO> userCandidates = new ArrayList<>();
-    
-    for (CandidateToMeetinDTO candidate : candidates) {
-        boolean hasOverlap = checkOverlap(
-                candidate, fromDateTimeMeeting, toDateTimeMeeting, isAllDay);
-        
-        updateOrAddCandidate(userCandidates, candidate, hasOverlap);
-    }
-    return userCandidates;
-}
-
-private boolean checkOverlap(
-        CandidateToMeetinDTO candidate, 
-        LocalDateTime fromDateTimeMeeting, 
-        LocalDateTime toDateTimeMeeting, 
-        boolean isAllDay) {
-    
-    boolean hasOverlap = false;
-
-    if (candidate.getfromDateTimeAbsence() != null && candidate.gettoDateTimeAbsence() != null) {
-        LocalDateTime fromDateRecord = candidate.getfromDateTimeAbsence();
-        LocalDateTime toDateRecord = candidate.gettoDateTimeAbsence();
-
-        boolean dateOverlap = !fromDateRecord.toLocalDate().isAfter(fromDateTimeMeeting.toLocalDate()) &&
-                              !toDateRecord.toLocalDate().isBefore(toDateTimeMeeting.toLocalDate());
-
-        if (dateOverlap) {
-            if (isAllDay || 
-                (fromDateRecord.toLocalTime().equals(LocalTime.MIDNIGHT) && 
-                 toDateRecord.toLocalTime().equals(LocalTime.MIDNIGHT))) {
-                hasOverlap = true;
+    private List<Long> getParticipantIds(List<MeetingAttendance> participants) {
+        List<Long> participantIds = new ArrayList<>();
+        for (MeetingAttendance participant : participants) {
+            participantIds.add(participant.getUser().getId());
+        }
+        return participantIds;
+    }
+
+    /**
+     * Obtiene los candidatos a una reunión indicando, para la franja de la
+     * reunión, si tienen ausencias o reuniones que se solapen. El cálculo se hace
+     * en la base de datos, que devuelve un único registro por usuario.
+     *
+     * @param request  fecha y horas de la reunión
+     * @param pageable página solicitada (Pageable.unpaged() para obtener todos)
+     * @return página de candidatos ordenados por apellidos y nombre
+     */
+    public Page<CandidateToMeetinDTO> getCandidatesToMeeting(CandidatesRequest request, Pageable pageable) {
+        if (request.getMeetingDate() == null
+                || (!request.isAllDay() && (request.getFromDateTime() == null || request.getToDateTime() == null))) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "La fecha y las horas de la reunión son obligatorias.");
+        }
+        LocalDateTime fromDateTimeMeeting;
+        LocalDateTime toDateTimeMeeting;
+        try {
+            LocalDate meetingDate = InputFormats.parseDate(request.getMeetingDate());
+            if (request.isAllDay()) {
+                fromDateTimeMeeting = meetingDate.atStartOfDay();
+                toDateTimeMeeting = meetingDate.plusDays(1).atStartOfDay();
             } else {
-                hasOverlap = fromDateRecord.toLocalTime().isBefore(toDateTimeMeeting.toLocalTime()) &&
-                             toDateRecord.toLocalTime().isAfter(fromDateTimeMeeting.toLocalTime());
+                fromDateTimeMeeting = meetingDate.atTime(InputFormats.parseIsoTime(request.getFromDateTime()));
+                toDateTimeMeeting = meetingDate.atTime(InputFormats.parseIsoTime(request.getToDateTime()));
             }
+        } catch (DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "La fecha y las horas de la reunión no tienen un formato válido.");
         }
+        return meetingRepository.getCandidatesToMeeting(fromDateTimeMeeting, toDateTimeMeeting,
+                fromDateTimeMeeting.minusDays(1), pageable);
     }
-    return hasOverlap;
-}
-
-private void updateOrAddCandidate(
-        List<CandidateToMeetinDTO> userCandidates, 
-        CandidateToMeetinDTO candidate, 
-        boolean hasOverlap) {
-    
-    CandidateToMeetinDTO existingUser = userCandidates.stream()
-            .filter(c -> c.getId().equals(candidate.getId()))
-            .findFirst()
-            .orElse(null);
-
-    if (existingUser != null) {
-        if (hasOverlap) {
-            existingUser.setHasAbsences(true);
-        }
-    } else {
-        candidate.setHasAbsences(hasOverlap);
-        userCandidates.add(candidate);
-    }
-}
-    
 
     public boolean hasOpenedMeetings(Long userId) {
         return meetingAttendanceRepository.countOpenedMeetings(userId) > 0;
@@ -0,0 +1,139 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+// imports de micrometer
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// imports de jakarta
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Compartimento (bulkhead) para el trabajo de BCrypt del inicio de sesión.
+ *
+ * Las comprobaciones de contraseña se ejecutan en un pool propio, de tantos
+ * hilos como núcleos, con una cola acotada. Si la cola está llena la petición
+ * se rechaza al momento con 503, de modo que una avalancha de inicios de
+ * sesión no ocupa todos los hilos de Tomcat ni deja sin CPU al resto de la API.
+ *
+ * Métricas publicadas: planify.auth.hash.queue (tareas en cola),
+ * planify.auth.hash.wait (espera en cola), planify.auth.hash.time (duración
+ * del hash) y planify.auth.hash.rejected.
+ */
+@Service
+public class PasswordHashingExecutor {
+
+    @Autowired
+    private MeterRegistry meterRegistry; // Registro de métricas
+
+    @Value("${planify.auth.hash.threads:0}")
+    private int threads; // Hilos del pool; 0 = número de núcleos
+
+    @Value("${planify.auth.hash.queue-capacity:64}")
+    private int queueCapacity; // Tareas que pueden esperar en cola
+
+    @Value("${planify.auth.hash.timeout-ms:10000}")
+    private long timeoutMillis; // Espera máxima del hilo de la petición
+
+    private ThreadPoolExecutor executor;
+    private Timer waitTimer;
+    private Timer hashTimer;
+    private Counter rejectedCounter;
+
+    /**
+     * Crea el pool y registra las métricas.
+     */
+    @PostConstruct
+    public void start() {
+        int poolSize = this.threads > 0 ? this.threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("planify.auth.hash.queue", this.executor.getQueue(), BlockingQueue::size)
+                .register(this.meterRegistry);
+        this.waitTimer = this.meterRegistry.timer("planify.auth.hash.wait");
+        this.hashTimer = this.meterRegistry.timer("planify.auth.hash.time");
+        this.rejectedCounter = this.meterRegistry.counter("planify.auth.hash.rejected");
+    }
+
+    /**
+     * Detiene el pool.
+     */
+    @PreDestroy
+    public void stop() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Ejecuta una tarea de hash en el pool y espera su resultado.
+     *
+     * @param task la tarea (por ejemplo, BCryptPasswordEncoder.matches).
+     * @return el resultado de la tarea.
+     * @throws ResponseStatusException 503 si el pool está saturado o la tarea
+     *                                 no termina a tiempo.
+     */
+    public <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = this.executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                this.waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    this.hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.rejectedCounter.increment();
+            throw busy();
+        }
+        try {
+            return future.get(this.timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                "Servidor ocupado, inténtelo de nuevo en unos segundos");
+    }
+}
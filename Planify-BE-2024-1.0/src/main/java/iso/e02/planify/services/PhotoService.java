@@ -0,0 +1,148 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.AppUser;
+import iso.e02.planify.entities.UserPhoto;
+import iso.e02.planify.repositories.UserPhotoRepository;
+
+// imports de java
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// imports de hibernate
+import org.hibernate.Cache;
+
+// imports de jakarta
+import jakarta.persistence.EntityManagerFactory;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio para guardar y servir las fotos de perfil.
+ *
+ * Las fotos se guardan en la tabla user_photos con el hash SHA-256 de su
+ * contenido como clave; los usuarios solo guardan ese hash. Como el contenido
+ * de un hash no cambia nunca, la foto se puede servir con caché inmutable.
+ */
+@Service
+public class PhotoService {
+
+    private static final Logger LOGGER = Logger.getLogger(PhotoService.class.getName());
+
+    public static final String CONTENT_TYPE = "image/jpeg"; // Formato en el que se guardan las fotos
+    private static final int MIGRATION_BATCH_SIZE = 50; // Fotos antiguas migradas por consulta
+
+    @Autowired
+    private UserPhotoRepository userPhotoRepository; // Inyección del repositorio de fotos
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate; // Para migrar la antigua columna app_user.photo
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory; // Para vaciar la caché de usuarios tras la migración
+
+    /**
+     * Guarda una foto (si no estaba ya guardada) y devuelve su hash.
+     *
+     * @param content los bytes de la foto.
+     * @return el hash de la foto, o null si no hay foto.
+     */
+    public String store(byte[] content) {
+        if (content == null || content.length == 0) {
+            return null;
+        }
+        String hash = hash(content);
+        if (!this.userPhotoRepository.existsById(hash)) {
+            UserPhoto userPhoto = new UserPhoto();
+            userPhoto.setHash(hash);
+            userPhoto.setContentType(CONTENT_TYPE);
+            userPhoto.setContent(content);
+            this.userPhotoRepository.save(userPhoto);
+        }
+        return hash;
+    }
+
+    /**
+     * Guarda la foto nueva de un usuario y le asigna su hash. Si el usuario no
+     * trae foto se le quita la que tuviera.
+     *
+     * @param user el usuario.
+     */
+    public void storePhotoOf(AppUser user) {
+        user.setPhotoHash(store(user.getPhoto()));
+        user.setPhoto(null);
+    }
+
+    /**
+     * Obtiene una foto por su hash.
+     *
+     * @param hash el hash de la foto.
+     * @return la foto, si existe.
+     */
+    public Optional<UserPhoto> getPhoto(String hash) {
+        return this.userPhotoRepository.findById(hash);
+    }
+
+    /**
+     * Borra periódicamente las fotos que ya no usa ningún usuario.
+     */
+    @Scheduled(fixedDelayString = "${planify.photos.cleanup-delay-ms:86400000}", initialDelayString = "${planify.photos.cleanup-delay-ms:86400000}")
+    public void deleteUnreferencedPhotos() {
+        try {
+            this.userPhotoRepository.deleteUnreferenced();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "No se han podido borrar las fotos sin usar", e);
+        }
+    }
+
+    /**
+     * Migra las fotos guardadas en la antigua columna app_user.photo a
+     * user_photos. Si la columna no existe (base de datos nueva) no hace nada.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPhotos() {
+        try {
+            int migrated = 0;
+            List<Map<String, Object>> rows;
+            do {
+                rows = this.jdbcTemplate.queryForList(
+                        "SELECT TOP (" + MIGRATION_BATCH_SIZE + ") id, photo FROM app_user WHERE photo IS NOT NULL");
+                for (Map<String, Object> row : rows) {
+                    byte[] content = (byte[]) row.get("photo");
+                    String hash = store(content);
+                    this.jdbcTemplate.update("UPDATE app_user SET photo_hash = ?, photo = NULL WHERE id = ?",
+                            hash, row.get("id"));
+                    migrated++;
+                }
+            } while (rows.size() == MIGRATION_BATCH_SIZE);
+            if (migrated > 0) {
+                // La migración escribe por JDBC, así que Hibernate no actualiza la caché de segundo nivel
+                this.entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+                LOGGER.log(Level.INFO, "Migradas {0} fotos de perfil a user_photos", migrated);
+            }
+        } catch (DataAccessException e) {
+            LOGGER.log(Level.FINE, "No hay fotos de perfil antiguas que migrar", e);
+        }
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
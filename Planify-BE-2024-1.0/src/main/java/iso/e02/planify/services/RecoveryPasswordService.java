@@ -5,8 +5,6 @@ import iso.e02.planify.entities.AppUser;
 import iso.e02.planify.repositories.UsersRepository;
 
 // imports de java
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,9 +14,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-// imports de javax.mail
-import javax.mail.MessagingException;
-
 /**
  * Servicio para gestionar la recuperación de contraseñas de los usuarios.
  * Incluye la funcionalidad para enviar correos electrónicos de recuperación
@@ -27,7 +22,8 @@ import javax.mail.MessagingException;
 @Service
 public class RecoveryPasswordService {
 
-    Map<String, TokenPasswordChange> tokens = new HashMap<>(); // contiene el token y el email del usuario
+    @Autowired
+    RecoveryTokenStore tokens; // contiene el token y el email del usuario; descarta los caducados
 
     @Autowired
     private UsersRepository userRepository; // Inyección del repositorio de usuarios
@@ -35,6 +31,9 @@ public class RecoveryPasswordService {
     @Autowired
     private ValidateUserService validateUserService; // Inyección del servicio de validación de usuarios
 
+    @Autowired
+    private EmailSMTP emailSMTP; // Inyección del servicio de envío de emails
+
     /**
      * Envía un correo electrónico de recuperación de contraseña al usuario con
      * el correo proporcionado, incluyendo un token único.
@@ -55,12 +54,7 @@ public class RecoveryPasswordService {
             String idToken = UUID.randomUUID().toString();
             TokenPasswordChange token = new TokenPasswordChange(idToken, email);
             this.tokens.put(idToken, token);
-            EmailSMTP smtp = new EmailSMTP();
-            try {
-                smtp.sendEmail(email, idToken); // enviamos el email
-            } catch (MessagingException e) {
-                e.printStackTrace();
-            }
+            this.emailSMTP.sendEmail(email, idToken); // encolamos el email
         }
         return "Email enviado, revise su bandeja de entrada y SPAM";
     }
@@ -87,7 +81,7 @@ public class RecoveryPasswordService {
             AppUser user = optUser.get();
             user.getCredentials().setPassword(this.validateUserService.hashPassword(password)); // Cambiamos la contraseña
             userRepository.save(user); // Guardamos los cambios
-            tokens.remove(token); // Eliminamos el token
+            this.tokens.remove(token); // Eliminamos el token
         } else {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "La contraseña no es segura");
         }
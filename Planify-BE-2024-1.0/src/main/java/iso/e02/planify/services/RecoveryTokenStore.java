@@ -0,0 +1,52 @@
+package iso.e02.planify.services;
+
+/**
+ * Almacén de los tokens de recuperación de contraseña.
+ *
+ * Las implementaciones son seguras entre hilos, descartan los tokens caducados
+ * (TokenPasswordChange.getHoraFin) y guardan como mucho un token vigente por
+ * email. La implementación se elige con planify.recovery-tokens.store:
+ * "memory" (por defecto, local a cada nodo) o "database" (compartida entre
+ * nodos).
+ */
+public interface RecoveryTokenStore {
+
+    /**
+     * Guarda un token. Si el email ya tenía otro token, el anterior deja de ser
+     * válido.
+     *
+     * @param id    identificador del token.
+     * @param token el token.
+     * @throws org.springframework.web.server.ResponseStatusException si el
+     *         almacén está lleno.
+     */
+    void put(String id, TokenPasswordChange token);
+
+    /**
+     * @param id identificador del token.
+     * @return el token, o null si no existe o ha caducado.
+     */
+    TokenPasswordChange get(String id);
+
+    /**
+     * Elimina un token.
+     *
+     * @param id identificador del token.
+     */
+    void remove(String id);
+
+    /**
+     * @param id identificador del token.
+     * @return true si existe un token vigente con ese identificador.
+     */
+    default boolean containsKey(String id) {
+        return get(id) != null;
+    }
+
+    /**
+     * Elimina los tokens caducados.
+     *
+     * @return el número de tokens eliminados (si se conoce).
+     */
+    int removeExpired();
+}
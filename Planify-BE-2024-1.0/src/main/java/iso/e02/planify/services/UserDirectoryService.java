@@ -0,0 +1,138 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.repositories.UserDirectoryRepository;
+import iso.e02.planify.repositories.UserDirectoryRepository.SortField;
+import iso.e02.planify.requests.UserDirectoryEntryDTO;
+import iso.e02.planify.requests.UserDirectoryPage;
+import iso.e02.planify.requests.UserDirectoryRequest;
+
+// imports de java
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+// imports de spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Servicio del directorio de usuarios paginado.
+ *
+ * El cursor es opaco para el cliente: codifica en Base64 el orden pedido y la
+ * clave (valor del campo de orden e id) de la última fila devuelta. Un cursor
+ * solo vale para el mismo orden con el que se generó.
+ */
+@Service
+public class UserDirectoryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final String TYPE_COMMON_USER = "CommonUser";
+    private static final String TYPE_ADMINISTRATOR = "Administrator";
+
+    @Autowired
+    private UserDirectoryRepository userDirectoryRepository;
+
+    /**
+     * Devuelve una página del directorio de usuarios.
+     *
+     * @param request los filtros, el orden, el tamaño de página y el cursor.
+     * @return la página, con el cursor de la siguiente (null si es la última).
+     * @throws ResponseStatusException 406 si algún parámetro no es válido.
+     */
+    public UserDirectoryPage getDirectory(UserDirectoryRequest request) {
+        SortField sort = parseSort(request.getSort());
+        boolean descending = parseDescending(request.getDirection());
+        int size = request.getSize() == null ? DEFAULT_PAGE_SIZE : request.getSize();
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
+                    "El tamaño de página debe estar entre 1 y " + MAX_PAGE_SIZE + ".");
+        }
+        String type = request.getType();
+        if (type != null && !TYPE_COMMON_USER.equals(type) && !TYPE_ADMINISTRATOR.equals(type)) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Tipo de usuario no válido.");
+        }
+        if (request.getNamePrefix() != null && request.getNamePrefix().isBlank()) {
+            request.setNamePrefix(null);
+        }
+
+        String afterValue = null;
+        Long afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+            String[] key = decodeCursor(request.getCursor(), sort, descending);
+            afterId = Long.valueOf(key[0]);
+            afterValue = key[1];
+        }
+
+        // Se pide una fila más para saber si hay página siguiente sin contar el total
+        List<UserDirectoryEntryDTO> rows = userDirectoryRepository.findPage(request, sort, descending, afterValue,
+                afterId, size + 1);
+        if (rows.size() <= size) {
+            return new UserDirectoryPage(rows, null);
+        }
+        List<UserDirectoryEntryDTO> items = rows.subList(0, size);
+        UserDirectoryEntryDTO last = items.get(size - 1);
+        return new UserDirectoryPage(List.copyOf(items), encodeCursor(sort, descending, last));
+    }
+
+    private SortField parseSort(String sort) {
+        try {
+            return SortField.valueOf(sort == null ? "NAME" : sort.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Campo de orden no válido.");
+        }
+    }
+
+    private boolean parseDescending(String direction) {
+        if (direction == null || "asc".equalsIgnoreCase(direction)) {
+            return false;
+        }
+        if ("desc".equalsIgnoreCase(direction)) {
+            return true;
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Dirección de orden no válida.");
+    }
+
+    /**
+     * Codifica el cursor como "orden:dirección:id:valor" en Base64 URL. El valor
+     * va al final porque puede contener ':'.
+     */
+    static String encodeCursor(SortField sort, boolean descending, UserDirectoryEntryDTO last) {
+        String raw = sort.name() + ':' + (descending ? "DESC" : "ASC") + ':' + last.getId() + ':'
+                + sortValue(sort, last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor y comprueba que corresponde al orden pedido.
+     *
+     * @return el id y el valor del campo de orden de la última fila.
+     */
+    static String[] decodeCursor(String cursor, SortField sort, boolean descending) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 4);
+            if (parts.length == 4 && parts[0].equals(sort.name())
+                    && parts[1].equals(descending ? "DESC" : "ASC")) {
+                Long.parseLong(parts[2]);
+                return new String[] { parts[2], parts[3] };
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 o id mal formados: se trata igual que un cursor de otro orden
+        }
+        throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Cursor no válido.");
+    }
+
+    private static String sortValue(SortField sort, UserDirectoryEntryDTO entry) {
+        return switch (sort) {
+            case NAME -> entry.getName();
+            case SURNAMES -> entry.getSurnames();
+            case EMAIL -> entry.getEmail();
+        };
+    }
+}
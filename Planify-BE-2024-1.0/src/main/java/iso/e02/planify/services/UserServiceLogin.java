@@ -53,6 +53,9 @@ public class UserServiceLogin {
 	@Autowired
 	private IpBlockService ipBlockService; // Inyección del servicio de bloqueo de IPs
 
+	@Autowired
+	private PasswordHashingExecutor passwordHashingExecutor; // Pool acotado para el trabajo de BCrypt
+
 	private GoogleAuthenticator gAuth = new GoogleAuthenticator();
 	private static final String ERROR = "Credenciales inválidas o usuario bloqueado/inactivo";
 
@@ -102,10 +105,12 @@ private RuntimeException handleFailedLogin(String clientIp) {
 }
 
 /**
- * Valida si la contraseña proporcionada coincide con la almacenada.
+ * Valida si la contraseña proporcionada coincide con la almacenada. El hash se
+ * calcula en el pool de PasswordHashingExecutor, que responde 503 si está saturado.
  */
 private boolean validatePassword(String password, AppUser user) {
-    return validateUserService.doHashesMatch(password, user.getCredentials().getPassword());
+    String encodedPassword = user.getCredentials().getPassword();
+    return passwordHashingExecutor.execute(() -> validateUserService.doHashesMatch(password, encodedPassword));
 }
 
 /**
@@ -30,6 +30,9 @@ public class UserServiceRegister {
 	@Autowired
 	private UsersRepository userRepository; // Inyección del repositorio de usuarios.
 
+	@Autowired
+	private PhotoService photoService; // Inyección del servicio de fotos de perfil.
+
 	private GoogleAuthenticator gAuth = new GoogleAuthenticator();
 
 	/**
@@ -45,6 +48,7 @@ public class UserServiceRegister {
 			GoogleAuthenticatorKey key = gAuth.createCredentials();
 			String secretKey = key.getKey();
 			user.getCredentials().setSecretKey(secretKey);
+			this.photoService.storePhotoOf(user); // La foto se guarda aparte, en user_photos
 			this.userRepository.save(user);
 		} catch (DataIntegrityViolationException e) { // Si el usuario ya existe, se lanza una excepción de estado.
 			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "El usuario ya está registrado.");
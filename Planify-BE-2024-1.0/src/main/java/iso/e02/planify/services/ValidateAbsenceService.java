@@ -1,12 +1,11 @@
 package iso.e02.planify.services;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
-import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -16,13 +15,8 @@ import org.springframework.web.server.ResponseStatusException;
 import iso.e02.planify.entities.Absence;
 import iso.e02.planify.entities.Absence.Type;
 import iso.e02.planify.entities.CommonUser;
-import iso.e02.planify.entities.Meeting;
-import iso.e02.planify.entities.MeetingAttendance;
-import iso.e02.planify.entities.Schedule;
 import iso.e02.planify.repositories.AbsenceRepository;
 import iso.e02.planify.repositories.CommonUserRepository;
-import iso.e02.planify.repositories.MeetingAttendanceRepository;
-import iso.e02.planify.repositories.MeetingRespository;
 import iso.e02.planify.repositories.UsersRepository;
 import iso.e02.planify.requests.CreateAbsenceRequest;
 
@@ -32,9 +26,6 @@ public class ValidateAbsenceService {
     @Autowired
     private WorkScheduleService workScheduleService;
 
-    @Autowired
-    private MeetingAttendanceRepository meetingAttendanceRepository;
-
     @Autowired
     private AbsenceRepository absencesRepository;
     
@@ -42,85 +33,109 @@ public class ValidateAbsenceService {
     private CommonUserRepository commonUserRepository;
 
     @Autowired
-    private MeetingRespository meetingRepository;
+    private MeetingCascadeService meetingCascadeService;
 
 
-    private DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"); // Formato de fecha y hora
-    
-    private DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd"); // Formato de fecha
-    
-    private DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm"); // Formato de hora
-
-     public boolean validateAbsenceInfo(CreateAbsenceRequest absenceInfo) {
-        validateRequiredFields(absenceInfo);
-        validateUserExists(absenceInfo.getUserId());
-        validateUnblockedActiveUser(absenceInfo.getUserId());
-        isValidAbsenceType(absenceInfo.getAbsenceType());
-        isValidDate(absenceInfo.getFromDate());
-        isValidDate(absenceInfo.getToDate());
-        isValidDateOrder(absenceInfo.getFromDate(), absenceInfo.getToDate());
+    /**
+     * Valida los datos de una ausencia: el usuario, el formato y, si el rango es
+     * válido, el solapamiento con otras ausencias. Los errores se informan todos
+     * a la vez; solo si no hay ninguno se cancelan o rechazan las reuniones que
+     * se solapan.
+     */
+    public boolean validateAbsenceInfo(CreateAbsenceRequest absenceInfo) {
+        ValidationResult result = new ValidationResult();
+        validateRequiredFields(absenceInfo, result);
+        if (validateUserExists(absenceInfo.getUserId(), result)) {
+            validateUnblockedActiveUser(absenceInfo.getUserId(), result);
+        }
+        if (ValidationResult.isPresent(absenceInfo.getAbsenceType())) {
+            isValidAbsenceType(absenceInfo.getAbsenceType(), result);
+        }
+        boolean validFromDate = ValidationResult.isPresent(absenceInfo.getFromDate())
+                && isValidDate(absenceInfo.getFromDate(), result);
+        boolean validToDate = ValidationResult.isPresent(absenceInfo.getToDate())
+                && isValidDate(absenceInfo.getToDate(), result);
+        boolean validRange = validFromDate && validToDate
+                && isValidDateOrder(absenceInfo.getFromDate(), absenceInfo.getToDate(), result);
         // Comprobar isAllDayLong/DateTime
-        if(!absenceInfo.isAllDayLong()) {
-            isValidTime(absenceInfo.getFromTime(), absenceInfo.getToTime());
+        if (!absenceInfo.isAllDayLong()) {
+            validRange &= ValidationResult.isPresent(absenceInfo.getFromTime())
+                    && ValidationResult.isPresent(absenceInfo.getToTime())
+                    && isValidTime(absenceInfo.getFromTime(), absenceInfo.getToTime(), result);
         }
+        // Sin un rango válido no se puede buscar el solapamiento
+        if (validRange) {
+            validateAbsenceOverlap(absenceInfo, result);
+        }
+        result.throwIfInvalid();
 
-        validateAbsenceOverlap(absenceInfo);
         validateAbsenceOverlapsMeetings(absenceInfo);
         return true;
     }
 
-     public boolean validateRequiredFields(CreateAbsenceRequest absenceInfo) {
-        validateNotNull(absenceInfo.getAbsenceType(), "tipo de ausencia");
-        validateNotNull(absenceInfo.isAllDayLong(), "día completo");
-        validateNotNull(absenceInfo.getFromDate(), "fecha inicio");
-        validateNotNull(absenceInfo.getToDate(), "fecha fin");
-        validateNotNull(absenceInfo.getUserId(), "usuario");
+    public boolean validateRequiredFields(CreateAbsenceRequest absenceInfo) {
+        return ValidationResult.require(result -> validateRequiredFields(absenceInfo, result));
+    }
+
+    private boolean validateRequiredFields(CreateAbsenceRequest absenceInfo, ValidationResult result) {
+        boolean valid = validateNotNull(absenceInfo.getAbsenceType(), "tipo de ausencia", result);
+        valid &= validateNotNull(absenceInfo.getFromDate(), "fecha inicio", result);
+        valid &= validateNotNull(absenceInfo.getToDate(), "fecha fin", result);
 
         // Comprobación de ausencia de día completo
         if(absenceInfo.isAllDayLong()) {
             absenceInfo.setFromTime(null);
             absenceInfo.setToTime(null);
         } else {
-            validateNotNull(absenceInfo.getFromTime(), "inicio");
-            validateNotNull(absenceInfo.getToTime(), "fin");
+            valid &= validateNotNull(absenceInfo.getFromTime(), "inicio", result);
+            valid &= validateNotNull(absenceInfo.getToTime(), "fin", result);
         }
 
-        return true;
+        return valid;
     }
 
     public void validateNotNull(Object field, String fieldName) {
+        ValidationResult.require(result -> validateNotNull(field, fieldName, result));
+    }
+
+    private boolean validateNotNull(Object field, String fieldName, ValidationResult result) {
         if (field == null || 
         field instanceof String && ((String) field).trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "El campo \"" + fieldName + "\" es obligatorio.");
+            return result.reject("El campo \"" + fieldName + "\" es obligatorio.");
         }
+        return true;
     }
 
     public boolean validateUserExists(long userId) {
-        if (!commonUserRepository.existsById(userId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "El usuario no existe.");
-        }
-        return true;
+        return ValidationResult.require(result -> validateUserExists(userId, result));
+    }
+
+    public boolean validateUserExists(long userId, ValidationResult result) {
+        return result.check(commonUserRepository.existsById(userId), "El usuario no existe.");
     }
 
     
     public boolean validateUnblockedActiveUser(long userId) {
+        return ValidationResult.require(result -> validateUnblockedActiveUser(userId, result));
+    }
+
+    public boolean validateUnblockedActiveUser(long userId, ValidationResult result) {
         CommonUser user = commonUserRepository.findById(userId);
-        if (!user.isActivated() || user.isBlocked()) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "El usuario no está activo o está bloqueado.");
-        }
-        return true;
+        return result.check(user.isActivated() && !user.isBlocked(), "El usuario no está activo o está bloqueado.");
     }
     
 
     
 
     public boolean isValidAbsenceType(String absenceTypeStr) {
+        return ValidationResult.require(result -> isValidAbsenceType(absenceTypeStr, result));
+    }
+
+    public boolean isValidAbsenceType(String absenceTypeStr, ValidationResult result) {
          try {
             Type.valueOf(absenceTypeStr.toUpperCase());
         } catch (IllegalArgumentException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La ausencia no puede tener el tipo \"" + absenceTypeStr + "\".");
+            return result.reject("La ausencia no puede tener el tipo \"" + absenceTypeStr + "\".");
         }
         return true;
     }
@@ -134,39 +149,39 @@ public class ValidateAbsenceService {
      * @return true si la fecha es correcta, false en caso contrario.
      */
     public boolean isValidDate(String dateStr) {
+        return ValidationResult.require(result -> isValidDate(dateStr, result));
+    }
+
+    public boolean isValidDate(String dateStr, ValidationResult result) {
+        LocalDate date;
         try {
-            LocalDate date = parseDate(dateStr);
-    
-            if (date.isBefore(LocalDate.of(2024, 1, 1))) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La fecha de la ausencia debe ser al menos en el año 2024.");
-            }
+            date = parseDate(dateStr);
+        } catch (DateTimeParseException e) {
+            return result.reject("La fecha de la ausencia no tiene un formato válido. Se esperaba 'yyyy-MM-dd'.");
+        }
     
-            if (date.isBefore(LocalDate.now())) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La fecha de la ausencia no puede ser anterior al día de hoy.");
-            }
+        if (date.isBefore(LocalDate.of(2024, 1, 1))) {
+            return result.reject("La fecha de la ausencia debe ser al menos en el año 2024.");
+        }
     
-            if (date.getDayOfWeek().toString().equals("SATURDAY") || date.getDayOfWeek().toString().equals("SUNDAY")) {
-                    throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La ausencia no puede ser registrada en fines de semana.");
-            }
-        } catch (DateTimeParseException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La fecha de la ausencia no tiene un formato válido. Se esperaba 'yyyy-MM-dd'.");
+        if (date.isBefore(LocalDate.now())) {
+            return result.reject("La fecha de la ausencia no puede ser anterior al día de hoy.");
         }
-        return true;
+
+        return result.check(date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY,
+                "La ausencia no puede ser registrada en fines de semana.");
     }
 
     public boolean isValidDateOrder(String fromDateStr, String toDateStr) {
+        return ValidationResult.require(result -> isValidDateOrder(fromDateStr, toDateStr, result));
+    }
+
+    public boolean isValidDateOrder(String fromDateStr, String toDateStr, ValidationResult result) {
         LocalDate fromDate = parseDate(fromDateStr);
         LocalDate toDate = parseDate(toDateStr);
 
-        if(fromDate.isAfter(toDate)) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La fecha de inicio de la ausencia debe ser anterior a la fecha de fin.");
-        }
-        return true;
+        return result.check(!fromDate.isAfter(toDate),
+                "La fecha de inicio de la ausencia debe ser anterior a la fecha de fin.");
     }
 
       /**
@@ -178,52 +193,43 @@ public class ValidateAbsenceService {
      * @return true si la fecha es correcta, false en caso contrario.
      */
     public boolean isValidTime(String fromTimeStr, String toTimeStr) {
-        try {
+        return ValidationResult.require(result -> isValidTime(fromTimeStr, toTimeStr, result));
+    }
+
+    public boolean isValidTime(String fromTimeStr, String toTimeStr, ValidationResult result) {
+        CompiledWorkSchedule workSchedule = workScheduleService.getCompiledWorkSchedule();
 
-            List<Schedule> workSchedule = workScheduleService.getWorkSchedule();
-	
-		    // Verificar que exista al menos un bloque de horario laboral
-		    if (workSchedule.isEmpty()) {
-			    throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "No hay horarios laborales configurados");
-		    }
-	
-		    // Determinar el rango general del horario laboral
-		    LocalTime earliestStart = workScheduleService.getWorkSchedule().get(0).getStartHour();
-	        LocalTime latestEnd = workScheduleService.getWorkSchedule().get(workScheduleService.getWorkSchedule().size() - 1).getEndHour();
-
-            
-            LocalTime fromTime = parseTime(fromTimeStr);
-            LocalTime toTime = parseTime(toTimeStr);
-
-            if (fromTime.isBefore(earliestStart) || toTime.isAfter(latestEnd)) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "La ausencia no está dentro del rango horario laboral");
-            }
-
-            if(fromTime.isAfter(toTime)) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                "La hora de inicio de la ausencia debe ser anterior a la hora de fin.");
-            }
-
-            if(fromTime.until(toTime, ChronoUnit.MINUTES) < 30) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                "La duración mínima entre la hora de inicio y la hora de fin debe ser al menos de 30 minutos.");
-            }
-
-            // Verificar solapamiento con al menos un bloque del horario laboral
-		    boolean overlapsWithSchedule = workSchedule.stream().anyMatch(schedule -> {
-			LocalTime scheduleStart = schedule.getStartHour();
-			LocalTime scheduleEnd = schedule.getEndHour();
-			return !(toTime.isBefore(scheduleStart) || fromTime.isAfter(scheduleEnd));//mirar
-		});
-	
-		if (!overlapsWithSchedule) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "La ausencia no se solapa con ningún bloque del horario laboral");
-		}
+        // Verificar que exista al menos un bloque de horario laboral
+        if (workSchedule.isEmpty()) {
+            return result.reject("No hay horarios laborales configurados");
+        }
+
+        LocalTime fromTime;
+        LocalTime toTime;
+        try {
+            fromTime = parseTime(fromTimeStr);
+            toTime = parseTime(toTimeStr);
         } catch (DateTimeParseException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La hora no tiene un formato válido. Se esperaba 'HH:mm'.");
+            return result.reject("La hora no tiene un formato válido. Se esperaba 'HH:mm'.");
         }
-        return true;
+
+        // Determinar el rango general del horario laboral
+        if (fromTime.isBefore(workSchedule.getEarliestStart()) || toTime.isAfter(workSchedule.getLatestEnd())) {
+            return result.reject("La ausencia no está dentro del rango horario laboral");
+        }
+
+        if(fromTime.isAfter(toTime)) {
+            return result.reject("La hora de inicio de la ausencia debe ser anterior a la hora de fin.");
+        }
+
+        if(fromTime.until(toTime, ChronoUnit.MINUTES) < 30) {
+            return result.reject(
+                    "La duración mínima entre la hora de inicio y la hora de fin debe ser al menos de 30 minutos.");
+        }
+
+        // Verificar solapamiento con al menos un bloque del horario laboral
+        return result.check(workSchedule.intersectsRange(fromTime, toTime),
+                "La ausencia no se solapa con ningún bloque del horario laboral");
     }
 
       /**
@@ -238,7 +244,7 @@ public class ValidateAbsenceService {
         if (timeStr == null || timeStr.trim().isEmpty()) {
             return parseDateTime(dateStr);
         }
-        return LocalDateTime.parse(dateStr + " " + timeStr, this.dateTimeFormat);
+        return InputFormats.parseDateTime(dateStr, timeStr);
     }
 
     /**
@@ -259,7 +265,7 @@ public class ValidateAbsenceService {
      * @return objeto LocalDate formateado
      */
     private LocalDate parseDate(String dateStr) {
-        return LocalDate.parse(dateStr, this.dateFormat);
+        return InputFormats.parseDate(dateStr);
     }
 
     /**
@@ -269,22 +275,23 @@ public class ValidateAbsenceService {
      * @return objeto LocalTime formateado
      */
     private LocalTime parseTime(String timeStr) {
-        return LocalTime.parse(timeStr, this.timeFormat);
+        return InputFormats.parseTime(timeStr);
+    }
+
+    // La base de datos devuelve solo las ausencias que se solapan (búsqueda por índice)
+    public boolean validateAbsenceOverlap(CreateAbsenceRequest absenceInfo) {
+        return ValidationResult.require(result -> validateAbsenceOverlap(absenceInfo, result));
     }
 
-    public boolean validateAbsenceOverlap (CreateAbsenceRequest absenceInfo) {
+    public boolean validateAbsenceOverlap(CreateAbsenceRequest absenceInfo, ValidationResult result) {
         LocalDateTime fromDateTime = parseDateTime(absenceInfo.getFromDate(), absenceInfo.getFromTime());
-        LocalDateTime toDateTime = parseDateTime(absenceInfo.getToDate(), absenceInfo.getToTime());
-       
-        CommonUser user = commonUserRepository.findById(absenceInfo.getUserId());
-        List<Absence> userAbsences = absencesRepository.findByCommonUserId(user.getId());
-        for (Absence absence : userAbsences) {
-            if ((absence.getFromDateTime().isBefore(toDateTime) && absence.getToDateTime().isAfter(fromDateTime)) ||
-             (absenceInfo.isAllDayLong() && absence.getFromDateTime().toLocalDate().isEqual(parseDate(absenceInfo.getFromDate())))) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "El usuario tiene una ausencia en el rango de horas seleccionado.");
-            }
-        }
-        return true;
+        LocalDateTime toDateTime = absenceInfo.isAllDayLong()
+                ? parseDate(absenceInfo.getToDate()).plusDays(1).atStartOfDay() // Hasta el final del último día
+                : parseDateTime(absenceInfo.getToDate(), absenceInfo.getToTime());
+
+        return result.check(absencesRepository.findOverlappingAbsences(absenceInfo.getUserId(), fromDateTime,
+                toDateTime, fromDateTime.minusDays(1)).isEmpty(),
+                "El usuario tiene una ausencia en el rango de horas seleccionado.");
     }
 
     public Absence toAbsence(CreateAbsenceRequest absenceInfo) {
@@ -312,21 +319,10 @@ public class ValidateAbsenceService {
     //metodo para en caso de que se solape con una reunion, cancelarla o rechazarla dependiendo del rol de usuario en esa reunión
     public boolean validateAbsenceOverlapsMeetings(CreateAbsenceRequest absenceInfo) {
         LocalDateTime fromDateTime = parseDateTime(absenceInfo.getFromDate(), absenceInfo.getFromTime());
-        LocalDateTime toDateTime = parseDateTime(absenceInfo.getToDate(), absenceInfo.getToTime());
-        List<MeetingAttendance> meetingAttendances = meetingAttendanceRepository.findByUserId(absenceInfo.getUserId());
-        for (MeetingAttendance meetingAttendance : meetingAttendances) {
-            if (meetingAttendance.getMeeting().getFromDateTime().isBefore(toDateTime) && meetingAttendance.getMeeting().getToDateTime().isAfter(fromDateTime)) {
-                if (meetingAttendance.getRole().equals(MeetingAttendance.Role.ORGANIZADOR)) {
-                    Meeting meeting = meetingRepository.findById(meetingAttendance.getMeeting().getId()).get();
-                    meeting.setStatus(Meeting.Status.CANCELADA);
-                    meetingRepository.save(meeting);
-                } else {
-                    meetingAttendance.setInvitationStatus(MeetingAttendance.InvitationStatus.RECHAZADA);
-                    meetingAttendance.setDeclineReason("El usuario tiene una ausencia planificada.");
-                    meetingAttendanceRepository.save(meetingAttendance);
-                }
-            }
-        }
+        LocalDateTime toDateTime = absenceInfo.isAllDayLong()
+                ? parseDate(absenceInfo.getToDate()).plusDays(1).atStartOfDay() // Hasta el final del último día
+                : parseDateTime(absenceInfo.getToDate(), absenceInfo.getToTime());
+        meetingCascadeService.cancelOrRejectInPeriod(absenceInfo.getUserId(), fromDateTime, toDateTime);
         return true;
     }
-}
\ No newline at end of file
+}
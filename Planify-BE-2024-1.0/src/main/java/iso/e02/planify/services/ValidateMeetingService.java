@@ -4,17 +4,20 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import iso.e02.planify.entities.Absence;
 import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.entities.Meeting;
 import iso.e02.planify.entities.MeetingAttendance;
@@ -34,34 +37,74 @@ public class ValidateMeetingService {
     @Autowired
     private MeetingService meetingService;
 
-    @Autowired
-    private AbsencesService absencesService;
-
     @Autowired
     private WorkScheduleService workScheduleService;
 
-    private DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"); // Formato de fecha y
-                                                                                                // hora
-
-    private DateTimeFormatter dateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd"); // Formato de fecha
+    @Autowired
+    private BusyIntervalIndex busyIntervalIndex;
 
-    private DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm"); // Formato de hora
+    /**
+     * Valida una petición de creación o edición de una reunión: sus datos, sus
+     * participantes y la disponibilidad del organizador. Si hay errores, se
+     * informa de todos a la vez.
+     *
+     * @param meetingInfo la petición
+     * @param organizer   el organizador
+     * @param meetingId   el ID de la reunión que se edita, o null si se crea
+     * @return la reunión construida a partir de la petición y sus participantes.
+     */
+    public ValidatedMeeting validateMeeting(CreateMeetingRequest meetingInfo, CommonUser organizer, Long meetingId) {
+        ValidationResult result = new ValidationResult();
+        boolean validInfo = validateMeetingInfo(meetingInfo, result);
+        Map<String, CommonUser> participants = meetingInfo.getParticipants() == null ? Map.of()
+                : validateParticipants(meetingInfo.getParticipants(), result);
+
+        // Sin fecha y horas válidas no se puede construir la reunión ni comprobar el solapamiento
+        Meeting meeting = null;
+        if (validInfo) {
+            meeting = toMeeting(meetingInfo);
+            meeting.setId(meetingId);
+            validateUserAvailability(organizer, meeting, result);
+        }
+        result.throwIfInvalid();
+        return new ValidatedMeeting(meeting, participants);
+    }
 
+    /**
+     * Valida los datos de una reunión. Si hay errores, se informa de todos a la
+     * vez.
+     */
     public boolean validateMeetingInfo(CreateMeetingRequest meetingInfo) {
+        return ValidationResult.require(result -> validateMeetingInfo(meetingInfo, result));
+    }
+
+    /**
+     * Valida los datos de una reunión y añade los errores al resultado.
+     *
+     * @return true si los datos son válidos y se puede construir la reunión.
+     */
+    public boolean validateMeetingInfo(CreateMeetingRequest meetingInfo, ValidationResult result) {
         // Comprobar datos generales
-        validateRequiredFields(meetingInfo);
-        isValidDate(meetingInfo.getDate());
+        boolean valid = validateRequiredFields(meetingInfo, result);
+        if (ValidationResult.isPresent(meetingInfo.getDate())) {
+            valid &= isValidDate(meetingInfo.getDate(), result);
+        }
         // Comprobar isAllDayLong/DateTime
-        if (!meetingInfo.isAllDayLong()) {
-            isValidTime(meetingInfo.getFromTime(), meetingInfo.getToTime());
-            validateWithSchedule(meetingInfo.getFromTime(), meetingInfo.getToTime());
+        if (!meetingInfo.isAllDayLong() && ValidationResult.isPresent(meetingInfo.getFromTime())
+                && ValidationResult.isPresent(meetingInfo.getToTime())) {
+            if (isValidTime(meetingInfo.getFromTime(), meetingInfo.getToTime(), result)) {
+                valid &= validateWithSchedule(parseTime(meetingInfo.getFromTime()),
+                        parseTime(meetingInfo.getToTime()), workScheduleService.getCompiledWorkSchedule(), result);
+            } else {
+                valid = false;
+            }
         }
         // Comprobar si es una ubicación del desplegable. Location sería al final un
         // enum
-        if (!meetingInfo.isOnline()) {
-            isValidLocation(meetingInfo.getLocation());
+        if (!meetingInfo.isOnline() && ValidationResult.isPresent(meetingInfo.getLocation())) {
+            valid &= isValidLocation(meetingInfo.getLocation(), result);
         }
-        return true;
+        return valid;
     }
 
     /**
@@ -73,29 +116,31 @@ public class ValidateMeetingService {
      *
      */
     public boolean validateRequiredFields(CreateMeetingRequest meetingInfo) {
-        validateNotNull(meetingInfo.getSubject(), "asunto");
-        validateNotNull(meetingInfo.isAllDayLong(), "día completo");
-        validateNotNull(meetingInfo.getDate(), "fecha");
-        validateNotNull(meetingInfo.isOnline(), "online");
-        validateNotNull(meetingInfo.getParticipants(), "participantes");
+        return ValidationResult.require(result -> validateRequiredFields(meetingInfo, result));
+    }
+
+    private boolean validateRequiredFields(CreateMeetingRequest meetingInfo, ValidationResult result) {
+        boolean valid = validateNotNull(meetingInfo.getSubject(), "asunto", result);
+        valid &= validateNotNull(meetingInfo.getDate(), "fecha", result);
+        valid &= validateNotNull(meetingInfo.getParticipants(), "participantes", result);
 
         // Comprobación de reunión de día completo
         if (meetingInfo.isAllDayLong()) {
             meetingInfo.setFromTime(null);
             meetingInfo.setToTime(null);
         } else {
-            validateNotNull(meetingInfo.getFromTime(), "inicio");
-            validateNotNull(meetingInfo.getToTime(), "fin");
+            valid &= validateNotNull(meetingInfo.getFromTime(), "inicio", result);
+            valid &= validateNotNull(meetingInfo.getToTime(), "fin", result);
         }
 
         // Comprobación de reunión online
         if (meetingInfo.isOnline()) {
             meetingInfo.setLocation(null);
         } else {
-            validateNotNull(meetingInfo.getLocation(), "localización");
+            valid &= validateNotNull(meetingInfo.getLocation(), "localización", result);
         }
 
-        return true;
+        return valid;
     }
 
     /**
@@ -105,12 +150,16 @@ public class ValidateMeetingService {
      * @param fieldName El nombre del campo (para mensajes de error).
      */
     public void validateNotNull(Object field, String fieldName) {
+        ValidationResult.require(result -> validateNotNull(field, fieldName, result));
+    }
+
+    private boolean validateNotNull(Object field, String fieldName, ValidationResult result) {
         if (field == null ||
                 (field instanceof String && ((String) field).trim().isEmpty()) ||
                 (field instanceof List && ((List<?>) field).isEmpty())) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "El campo \"" + fieldName + "\" es obligatorio.");
+            return result.reject("El campo \"" + fieldName + "\" es obligatorio.");
         }
+        return true;
     }
 
     /**
@@ -122,29 +171,27 @@ public class ValidateMeetingService {
      * @return true si la fecha es correcta, false en caso contrario.
      */
     public boolean isValidDate(String dateStr) {
-        try {
-            LocalDate date = parseDate(dateStr);
-
-            if (date.isBefore(LocalDate.of(2024, 1, 1))) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La fecha de la reunión debe ser al menos en el año 2024.");
-            }
+        return ValidationResult.require(result -> isValidDate(dateStr, result));
+    }
 
-            if (date.compareTo(LocalDate.now()) <= 0) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La fecha de la reunión debe ser posterior a hoy.");
-            }
+    public boolean isValidDate(String dateStr, ValidationResult result) {
+        LocalDate date;
+        try {
+            date = parseDate(dateStr);
+        } catch (DateTimeParseException e) {
+            return result.reject("La fecha de la reunión no tiene un formato válido. Se esperaba 'yyyy-MM-dd'.");
+        }
 
-            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La fecha de la reunión no puede ser en fin de semana.");
-            }
+        if (date.isBefore(LocalDate.of(2024, 1, 1))) {
+            return result.reject("La fecha de la reunión debe ser al menos en el año 2024.");
+        }
 
-        } catch (DateTimeParseException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La fecha de la reunión no tiene un formato válido. Se esperaba 'yyyy-MM-dd'.");
+        if (date.compareTo(LocalDate.now()) <= 0) {
+            return result.reject("La fecha de la reunión debe ser posterior a hoy.");
         }
-        return true;
+
+        return result.check(date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY,
+                "La fecha de la reunión no puede ser en fin de semana.");
     }
 
     /**
@@ -157,24 +204,25 @@ public class ValidateMeetingService {
      * @return true si la fecha es correcta, false en caso contrario.
      */
     public boolean isValidTime(String fromTimeStr, String toTimeStr) {
-        try {
-            LocalTime fromTime = parseTime(fromTimeStr);
-            LocalTime toTime = parseTime(toTimeStr);
-
-            if (fromTime.isAfter(toTime)) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La hora de inicio de la reunión debe ser anterior a la hora de fin.");
-            }
+        return ValidationResult.require(result -> isValidTime(fromTimeStr, toTimeStr, result));
+    }
 
-            if (fromTime.until(toTime, ChronoUnit.MINUTES) < 30) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La duración mínima entre la hora de inicio y la hora de fin debe ser al menos de 30 minutos.");
-            }
+    public boolean isValidTime(String fromTimeStr, String toTimeStr, ValidationResult result) {
+        LocalTime fromTime;
+        LocalTime toTime;
+        try {
+            fromTime = parseTime(fromTimeStr);
+            toTime = parseTime(toTimeStr);
         } catch (DateTimeParseException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La hora no tiene un formato válido. Se esperaba 'HH:mm'.");
+            return result.reject("La hora no tiene un formato válido. Se esperaba 'HH:mm'.");
         }
-        return true;
+
+        if (fromTime.isAfter(toTime)) {
+            return result.reject("La hora de inicio de la reunión debe ser anterior a la hora de fin.");
+        }
+
+        return result.check(fromTime.until(toTime, ChronoUnit.MINUTES) >= 30,
+                "La duración mínima entre la hora de inicio y la hora de fin debe ser al menos de 30 minutos.");
     }
 
     /**
@@ -186,7 +234,7 @@ public class ValidateMeetingService {
      * @return fecha y hora formateada
      */
     public LocalDateTime parseDateTime(String dateStr, String timeStr) {
-        return LocalDateTime.parse(dateStr + " " + timeStr, this.dateTimeFormat);
+        return InputFormats.parseDateTime(dateStr, timeStr);
     }
 
     /**
@@ -196,7 +244,7 @@ public class ValidateMeetingService {
      * @return objeto LocalDate formateado
      */
     public LocalDate parseDate(String dateStr) {
-        return LocalDate.parse(dateStr, this.dateFormat);
+        return InputFormats.parseDate(dateStr);
     }
 
     /**
@@ -206,7 +254,7 @@ public class ValidateMeetingService {
      * @return objeto LocalTime formateado
      */
     public LocalTime parseTime(String timeStr) {
-        return LocalTime.parse(timeStr, this.timeFormat);
+        return InputFormats.parseTime(timeStr);
     }
 
     /**
@@ -218,11 +266,14 @@ public class ValidateMeetingService {
      *         contrario
      */
     public boolean isValidLocation(String locationStr) {
+        return ValidationResult.require(result -> isValidLocation(locationStr, result));
+    }
+
+    public boolean isValidLocation(String locationStr, ValidationResult result) {
         try {
             Location.valueOf(locationStr.toUpperCase());
         } catch (IllegalArgumentException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La reunión no puede tener la ubicación \"" + locationStr + "\".");
+            return result.reject("La reunión no puede tener la ubicación \"" + locationStr + "\".");
         }
         return true;
     }
@@ -231,92 +282,131 @@ public class ValidateMeetingService {
         // Obtener las horas de la reunión
         LocalTime fromTime = parseTime(fromTimeStr);
         LocalTime toTime = parseTime(toTimeStr);
-        List<Schedule> workSchedule = workScheduleService.getWorkSchedule();
-        // Validar
-        return validateWithSchedule(fromTime, toTime, workSchedule);
-
+        // Validar contra la instantánea en memoria del horario laboral
+        return validateWithSchedule(fromTime, toTime, workScheduleService.getCompiledWorkSchedule());
     }
 
     public boolean validateWithSchedule(LocalTime fromTime, LocalTime toTime, List<Schedule> workSchedule) {
+        return validateWithSchedule(fromTime, toTime, CompiledWorkSchedule.of(workSchedule));
+    }
+
+    public boolean validateWithSchedule(LocalTime fromTime, LocalTime toTime, CompiledWorkSchedule workSchedule) {
+        return ValidationResult.require(result -> validateWithSchedule(fromTime, toTime, workSchedule, result));
+    }
+
+    public boolean validateWithSchedule(LocalTime fromTime, LocalTime toTime, CompiledWorkSchedule workSchedule,
+            ValidationResult result) {
         // Verificar que exista al menos un bloque de horario laboral
-		if (workSchedule.isEmpty()) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "No hay horarios laborales configurados.");
-		}
-	
-		// Determinar el rango general del horario laboral
-		LocalTime earliestStart = workSchedule.get(0).getStartHour();
-		LocalTime latestEnd = workSchedule.get(workSchedule.size() - 1).getEndHour();
-				
-		// Verificar que la reunión esté dentro del rango general del horario laboral
-		if (fromTime.isBefore(earliestStart) || toTime.isAfter(latestEnd)) {
-			throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "La reunión no está dentro del rango del horario laboral.");
-		}
-	
-		// Verificar solapamiento con al menos un bloque del horario laboral
-        
-		boolean isInsideAnyBlock = workSchedule.stream().anyMatch(schedule -> {
-			LocalTime scheduleStart = schedule.getStartHour();
-			LocalTime scheduleEnd = schedule.getEndHour();
-	
-			// Verificar solapamiento
-			return fromTime.compareTo(scheduleStart) >= 0 && toTime.compareTo(scheduleEnd) <= 0;
-		});
-	
-        if (!isInsideAnyBlock) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La reunión se solapa con algún bloque del horario laboral.");
+        if (workSchedule.isEmpty()) {
+            return result.reject("No hay horarios laborales configurados.");
         }
-        return true;
+
+        // Verificar que la reunión esté dentro del rango general del horario laboral
+        if (fromTime.isBefore(workSchedule.getEarliestStart()) || toTime.isAfter(workSchedule.getLatestEnd())) {
+            return result.reject("La reunión no está dentro del rango del horario laboral.");
+        }
+
+        // Verificar que la reunión quepa entera en algún bloque del horario laboral
+        return result.check(workSchedule.containsRange(fromTime, toTime),
+                "La reunión se solapa con algún bloque del horario laboral.");
+    }
+
+    /**
+     * Valida la disponibilidad del organizador y obtiene en una sola consulta a
+     * todos los participantes. Si hay emails que no existen o usuarios bloqueados
+     * o inactivos, se informa de todos ellos en un único error.
+     *
+     * @param meeting      la reunión
+     * @param organizer    el organizador
+     * @param participants emails de los participantes
+     * @return mapa email - usuario con los participantes, en el orden recibido y sin repetidos.
+     *         Los emails se normalizan (sin espacios y en minúsculas), así que
+     *         "A@x.com" y "a@x.com" son el mismo participante.
+     */
+    public Map<String, CommonUser> validateParticipants(Meeting meeting, CommonUser organizer, List<String> participants) {
+        ValidationResult result = new ValidationResult();
+        validateUserAvailability(organizer, meeting, result);
+        Map<String, CommonUser> resolvedParticipants = validateParticipants(participants, result);
+        result.throwIfInvalid();
+        return resolvedParticipants;
     }
 
-    public boolean validateParticipants(Meeting meeting, CommonUser organizer, List<String> participants) {
-        validateUserAvailability(organizer, meeting);
-        for (String participantEmail : participants) {
-            CommonUser participant = this.manageUsersService.getUserByEmail(participantEmail);
-            validateParticipantWithBlockedActivated(participant);
+    /**
+     * Obtiene en una sola consulta a todos los participantes y añade al resultado
+     * los emails que no existen y los de usuarios bloqueados o inactivos.
+     *
+     * @param participants emails de los participantes
+     * @param result       errores de validación
+     * @return mapa email - usuario con los participantes encontrados.
+     */
+    public Map<String, CommonUser> validateParticipants(List<String> participants, ValidationResult result) {
+        Set<String> emails = new LinkedHashSet<>();
+        for (String email : participants) {
+            if (email != null) {
+                emails.add(email.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, CommonUser> resolvedParticipants = this.manageUsersService.getUsersByEmails(emails);
+
+        List<String> unknownEmails = new ArrayList<>();
+        List<String> unavailableEmails = new ArrayList<>();
+        for (String email : emails) {
+            CommonUser participant = resolvedParticipants.get(email);
+            if (participant == null) {
+                unknownEmails.add("\"" + email + "\"");
+            } else if (participant.isBlocked() || !participant.isActivated()) {
+                unavailableEmails.add("\"" + email + "\"");
+            }
+        }
+
+        if (!unknownEmails.isEmpty()) {
+            result.reject("No existen usuarios con los emails " + String.join(", ", unknownEmails) + ".");
         }
-        return true;
+        if (!unavailableEmails.isEmpty()) {
+            result.reject("No es posible añadir a los usuarios " + String.join(", ", unavailableEmails) + ".");
+        }
+        return resolvedParticipants;
     }
 
     public boolean validateUserAvailability(CommonUser user, Meeting meeting) {
-        validateParticipantWithBlockedActivated(user);
-        List<MeetingAttendance> userMeetings = this.meetingService.getMeetings(user);
-        validateParticipantWithMeetings(userMeetings, meeting);
-        List<Absence> userAbsences = this.absencesService.list(user.getId());
-        validateParticipantWithAbsences(userAbsences, meeting);
-        return true;
+        return ValidationResult.require(result -> validateUserAvailability(user, meeting, result));
+    }
+
+    public boolean validateUserAvailability(CommonUser user, Meeting meeting, ValidationResult result) {
+        boolean valid = validateParticipantWithBlockedActivated(user, result);
+        valid &= validateParticipantWithMeetings(user, meeting, result);
+        valid &= validateParticipantWithAbsences(user, meeting, result);
+        return valid;
     }
 
     public boolean validateParticipantWithBlockedActivated(CommonUser user) {
-        if (user.isBlocked() || !user.isActivated()) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "No es posible añadir al usuario \"" + user.getEmail() + "\".");
-        }
-        return true;
+        return ValidationResult.require(result -> validateParticipantWithBlockedActivated(user, result));
     }
 
-    public boolean validateParticipantWithMeetings(List<MeetingAttendance> userMeetings, Meeting meeting) {
-        for (MeetingAttendance userMeeting : userMeetings) {
-            if (userMeeting.getMeeting().getFromDateTime().isBefore(meeting.getToDateTime()) // Solapamiento
-                    && userMeeting.getMeeting().getToDateTime().isAfter(meeting.getFromDateTime())
-                        && !userMeeting.getMeeting().getId().equals(meeting.getId()) // Reunión diferente a la actual
-                            && !userMeeting.getMeeting().getStatus().equals(Status.CANCELADA)) { // Reunión abierta o cerrada
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La reunión no se puede agregar por solapamiento con otra reunión.");
-            }
-        }
-        return true;
+    private boolean validateParticipantWithBlockedActivated(CommonUser user, ValidationResult result) {
+        return result.check(!user.isBlocked() && user.isActivated(),
+                "No es posible añadir al usuario \"" + user.getEmail() + "\".");
     }
 
-    public boolean validateParticipantWithAbsences(List<Absence> userAbsences, Meeting meeting) {
-        for (Absence absence : userAbsences) {
-            if (absence.getFromDateTime().isBefore(meeting.getToDateTime())
-                    && absence.getToDateTime().isAfter(meeting.getFromDateTime())) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La reunión no se puede agregar por solapamiento con una ausencia.");
-            }
-        }
-        return true;
+    public boolean validateParticipantWithMeetings(CommonUser user, Meeting meeting) {
+        return ValidationResult.require(result -> validateParticipantWithMeetings(user, meeting, result));
+    }
+
+    private boolean validateParticipantWithMeetings(CommonUser user, Meeting meeting, ValidationResult result) {
+        // Reuniones abiertas o cerradas distintas a la actual que se solapen
+        return result.check(!this.busyIntervalIndex.overlapsMeeting(user.getId(), meeting.getFromDateTime(),
+                meeting.getToDateTime(), meeting.getId()),
+                "La reunión no se puede agregar por solapamiento con otra reunión.");
+    }
+
+    public boolean validateParticipantWithAbsences(CommonUser user, Meeting meeting) {
+        return ValidationResult.require(result -> validateParticipantWithAbsences(user, meeting, result));
+    }
+
+    private boolean validateParticipantWithAbsences(CommonUser user, Meeting meeting, ValidationResult result) {
+        return result.check(!this.busyIntervalIndex.overlapsAbsence(user.getId(), meeting.getFromDateTime(),
+                meeting.getToDateTime()),
+                "La reunión no se puede agregar por solapamiento con una ausencia.");
     }
 
     /**
@@ -376,17 +466,18 @@ public class ValidateMeetingService {
         return organizerAttendance;
     }
 
-    // POSIBILIDAD DE TENER validateMeetingAttendanceService
-    public boolean validateInvitationStatusChangeInfo(CommonUser user, ChangeMeetingInvitationStatusRequest changeInfo,
-            Long meetingId) {
-        // Validar que la asistencia a la reunión existe
-        validateMeetingAttendanceExists(meetingId, user.getId());
-        validateMeetingOpen(meetingId);
-        validateIsParticipant(meetingId, user.getId());
+    /**
+     * Valida un cambio del estado de la invitación del usuario del contexto.
+     * Los datos se leen del contexto, sin más consultas.
+     */
+    public boolean validateInvitationStatusChangeInfo(MeetingCommandContext context,
+            ChangeMeetingInvitationStatusRequest changeInfo) {
+        validateMeetingOpen(context.getMeeting());
+        validateIsParticipant(context.getAttendance());
         //validar nulos
         validateNotNull(changeInfo.getInvitationStatus(), "estado de invitación");
         isValidInvitationStatus(changeInfo.getInvitationStatus());
-        validateModifiedStatus(meetingId, user.getId(), changeInfo);
+        validateModifiedStatus(context.getAttendance(), changeInfo);
         // Validar motivo de rechazo
         if (!InvitationStatus.valueOf(changeInfo.getInvitationStatus().toUpperCase())
                 .equals(InvitationStatus.RECHAZADA)) {
@@ -407,20 +498,17 @@ public class ValidateMeetingService {
         return true;
     }
 
-    public boolean validateMeetingAttendanceExists(Long meetingId, Long userId) {
-        if (this.meetingService.getMeetingAttendance(meetingId, userId) == null) {
+    public MeetingAttendance validateMeetingAttendanceExists(MeetingAttendance meetingAttendance, Long meetingId,
+            Long userId) {
+        if (meetingAttendance == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND,
                     "No se ha encontrado la asistencia a la reunión con id " + meetingId + " del usuario con id "
                             + userId + ".");
         }
-        return true;
+        return meetingAttendance;
     }
 
-
-
-
-    public boolean validateIsParticipant(Long meetingId, Long userId) {
-        MeetingAttendance meetingAttendance = this.meetingService.getMeetingAttendance(meetingId, userId);
+    public boolean validateIsParticipant(MeetingAttendance meetingAttendance) {
         if (!meetingAttendance.getRole().equals(MeetingAttendance.Role.ASISTENTE)) {
             throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
                     "El organizador no puede realizar esta acción.");
@@ -429,7 +517,12 @@ public class ValidateMeetingService {
     }
 
     public boolean validateIsOrganizer(Long meetingId, Long userId) {
-        MeetingAttendance meetingAttendance = this.meetingService.getMeetingAttendance(meetingId, userId);
+        MeetingAttendance meetingAttendance = validateMeetingAttendanceExists(
+                this.meetingService.getMeetingAttendance(meetingId, userId), meetingId, userId);
+        return validateIsOrganizer(meetingAttendance);
+    }
+
+    public boolean validateIsOrganizer(MeetingAttendance meetingAttendance) {
         if (!meetingAttendance.getRole().equals(MeetingAttendance.Role.ORGANIZADOR)) {
             throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
                     "El asistente no puede realizar esta acción.");
@@ -437,9 +530,8 @@ public class ValidateMeetingService {
         return true;
     }
 
-    public boolean validateModifiedStatus(Long meetingId, Long userId,
+    public boolean validateModifiedStatus(MeetingAttendance meetingAttendance,
             ChangeMeetingInvitationStatusRequest changeInfo) {
-        MeetingAttendance meetingAttendance = this.meetingService.getMeetingAttendance(meetingId, userId);
         if (meetingAttendance.getInvitationStatus().toString().equalsIgnoreCase(changeInfo.getInvitationStatus())) {
             throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
                     "El estado de invitación ya es " + changeInfo.getInvitationStatus() + ".");
@@ -448,30 +540,16 @@ public class ValidateMeetingService {
         return true;
     }
 
-    public MeetingAttendance toMeetingAttendance(Long meetingId, CommonUser user,
-            ChangeMeetingInvitationStatusRequest changeInfo) {
-        MeetingAttendance meetingAttendance = this.meetingService.getMeetingAttendance(meetingId, user.getId());
-        meetingAttendance.setInvitationStatus(InvitationStatus.valueOf(changeInfo.getInvitationStatus().toUpperCase()));
-        if (!InvitationStatus.valueOf(changeInfo.getInvitationStatus().toUpperCase())
-                .equals(InvitationStatus.RECHAZADA)) {
-            meetingAttendance.setDeclineReason(null);
-        } else {
-            meetingAttendance.setDeclineReason(changeInfo.getDeclineReason());
-        }
-        return meetingAttendance;
-    }
-
-    public boolean validateAssistChangeInfo(CommonUser user, Long meetingId) {
-        // Validar que la asistencia a la reunión existe
-        validateMeetingAttendanceExists(meetingId, user.getId());
-        validateMeetingOpen(meetingId);
-        validateNotAssisted(meetingId, user.getId());
-        validateOrganizerAssist(user, meetingId); //si el organizador es el que asiste, la reunión se cierra
+    /**
+     * Valida que el usuario del contexto puede registrar su asistencia.
+     */
+    public boolean validateAssistChangeInfo(MeetingCommandContext context) {
+        validateMeetingOpen(context.getMeeting());
+        validateNotAssisted(context.getAttendance());
         return true;
     }
 
-    public boolean validateNotAssisted(Long meetingId, Long userId) {
-        MeetingAttendance meetingAttendance = this.meetingService.getMeetingAttendance(meetingId, userId);
+    public boolean validateNotAssisted(MeetingAttendance meetingAttendance) {
         if (meetingAttendance.hasAssisted()) {
             throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
                     "El usuario ya ha registrado su asistencia a la reunión.");
@@ -479,17 +557,7 @@ public class ValidateMeetingService {
         return true;
     }
 
-    public boolean validateOrganizerAssist(CommonUser user, Long meetingId) {//GONZALO,COMPROBAR QUE FUNCIONA
-        MeetingAttendance meetingAttendance = this.meetingService.getMeetingAttendance(meetingId, user.getId());
-        if(meetingAttendance.getRole().equals(MeetingAttendance.Role.ORGANIZADOR)) {
-            Meeting meeting = this.meetingService.getMeeting(meetingId);
-            meeting.setStatus(Meeting.Status.CERRADA);
-        }
-        return true;
-    }
-
-    public boolean validateMeetingOpen(Long meetingId) {
-        Meeting meeting = this.meetingService.getMeeting(meetingId);
+    public boolean validateMeetingOpen(Meeting meeting) {
         if (!meeting.getStatus().equals(Status.ABIERTA)) {
             throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
                     "La reunión está cerrada o cancelada.");
@@ -497,20 +565,20 @@ public class ValidateMeetingService {
         return true;
     }
 
-    public boolean validateChangeStatusInfo(CommonUser user, Long meetingId, String status) {
-        // Validar que la asistencia a la reunión existe
-        validateMeetingAttendanceExists(meetingId, user.getId());
-        validateMeetingOpen(meetingId);
-        validateIsOrganizer(meetingId, user.getId());
+    /**
+     * Valida un cambio del estado de la reunión del contexto por su organizador.
+     */
+    public boolean validateChangeStatusInfo(MeetingCommandContext context, String status) {
+        validateMeetingOpen(context.getMeeting());
+        validateIsOrganizer(context.getAttendance());
         // Validar estado
         validateNotNull(status, "estado");
         isValidStatus(status);
-        validateModifiedStatus(meetingId, status);
+        validateModifiedStatus(context.getMeeting(), status);
         return true;
     }
 
-    public boolean validateModifiedStatus(Long meetingId, String status) {
-        Meeting meeting = this.meetingService.getMeeting(meetingId);
+    public boolean validateModifiedStatus(Meeting meeting, String status) {
         if (Status.valueOf(status.toUpperCase()).equals(meeting.getStatus())) {
             throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
                     "El estado de la reunión ya es " + status + ".");
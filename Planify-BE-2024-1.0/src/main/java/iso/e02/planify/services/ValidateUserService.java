@@ -1,32 +1,19 @@
 package iso.e02.planify.services;
 
-import java.awt.Graphics2D;
-import java.awt.Image;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import javax.imageio.ImageIO;
-
+import java.io.InputStream;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.logging.Logger;
-import java.util.logging.Level;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
-
 import iso.e02.planify.entities.Administrator;
 import iso.e02.planify.entities.AppUser;
 import iso.e02.planify.entities.CommonUser;
@@ -34,6 +21,7 @@ import iso.e02.planify.requests.CreateAdminRequest;
 import iso.e02.planify.requests.RegisterRequest;
 import iso.e02.planify.entities.Credentials;
 import iso.e02.planify.repositories.UsersRepository;
+import iso.e02.planify.security.VerifiedTokenCache;
 
 /**
  * Servicio para validar y gestionar datos de usuarios y administradores,
@@ -50,33 +38,41 @@ public class ValidateUserService {
     @Autowired
     private UsersRepository usersRepository;
 
-    /**
-     * Logger para la clase EmailSMTP.
-     */
-    private static final Logger LOGGER = Logger.getLogger(ValidateUserService.class.getName());
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache; // Verificador de JWT reutilizable con caché de tokens verificados
+
+    @Autowired
+    private ImagePipeline imagePipeline; // Procesado de las fotos de perfil
 
-    private String emailFormat = "^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$"; // Expresión regular para validar
-                                                                                      // emails
-    private DateTimeFormatter registrationDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd"); // Formato de fecha de
-                                                                                                  // alta
     private BCryptPasswordEncoder pwdHashing = new BCryptPasswordEncoder(); // Codificador de contraseñas
 
     /**
      * Valida la información del usuario. Comprueba que los campos obligatorios
      * estén rellenados,
      * que el email tenga un formato válido, que las contraseñas coincidan y que la
-     * contraseña sea segura.
+     * contraseña sea segura. Si hay errores, se informa de todos a la vez.
      * 
      * @param userInfo petición https como objeto
      * 
      * @return true si pasa todas las validaciones, false en caso contrario
      */
     public boolean validateUserInfo(RegisterRequest userInfo) {
-        validateRequiredFields(userInfo);
-        isValidEmail(userInfo.getEmail());
-        isValidRegistrationDate(userInfo.getRegistrationDate());
-        doPasswordsMatch(userInfo.getPassword(), userInfo.getConfirmPassword());
-        isPasswordSecure(userInfo.getPassword());
+        ValidationResult result = new ValidationResult();
+        validateRequiredFields(userInfo, result);
+        // Las comprobaciones de formato solo se hacen sobre los campos rellenados
+        if (ValidationResult.isPresent(userInfo.getEmail())) {
+            isValidEmail(userInfo.getEmail(), result);
+        }
+        if (ValidationResult.isPresent(userInfo.getRegistrationDate())) {
+            isValidRegistrationDate(userInfo.getRegistrationDate(), result);
+        }
+        if (ValidationResult.isPresent(userInfo.getPassword())) {
+            if (ValidationResult.isPresent(userInfo.getConfirmPassword())) {
+                doPasswordsMatch(userInfo.getPassword(), userInfo.getConfirmPassword(), result);
+            }
+            isPasswordSecure(userInfo.getPassword(), result);
+        }
+        result.throwIfInvalid();
         return true;
     }
 
@@ -92,16 +88,20 @@ public class ValidateUserService {
      * @return true si pasa todas las validaciones, false en caso contrario
      */
     public boolean validateUserInfoEdit(RegisterRequest userInfo) {
+        ValidationResult result = new ValidationResult();
         // Validaciones obligatorias
-        validateRequiredFieldsForEdit(userInfo);
-        isValidRegistrationDate(userInfo.getRegistrationDate());
+        validateRequiredFieldsForEdit(userInfo, result);
+        if (ValidationResult.isPresent(userInfo.getRegistrationDate())) {
+            isValidRegistrationDate(userInfo.getRegistrationDate(), result);
+        }
 
         // Validaciones opcionales. Se realizan si hay cambio en la pwd
         String pwd = userInfo.getPassword();
-        if (pwd != null && !pwd.trim().isEmpty()) {
-            doPasswordsMatch(pwd, userInfo.getConfirmPassword());
-            isPasswordSecure(pwd);
+        if (ValidationResult.isPresent(pwd)) {
+            doPasswordsMatch(pwd, userInfo.getConfirmPassword(), result);
+            isPasswordSecure(pwd, result);
         }
+        result.throwIfInvalid();
         return true;
     }
 
@@ -114,9 +114,11 @@ public class ValidateUserService {
      */
 
     public boolean validateAdminInfo(CreateAdminRequest adminInfo) {
-        isValidEmail(adminInfo.getEmail());
-        doPasswordsMatch(adminInfo.getPassword(), adminInfo.getConfirmPassword());
-        isPasswordSecure(adminInfo.getPassword());
+        ValidationResult result = new ValidationResult();
+        isValidEmail(adminInfo.getEmail(), result);
+        doPasswordsMatch(adminInfo.getPassword(), adminInfo.getConfirmPassword(), result);
+        isPasswordSecure(adminInfo.getPassword(), result);
+        result.throwIfInvalid();
         return true;
     }
 
@@ -128,14 +130,18 @@ public class ValidateUserService {
      * @return true si toddo está rellenado, false en caso contrario
      */
     public boolean validateRequiredFields(RegisterRequest userInfo) {
-        validateNotNull(userInfo.getName(), "nombre");
-        validateNotNull(userInfo.getSurnames(), "apellidos");
-        validateNotNull(userInfo.getCentre(), "centro");
-        validateNotNull(userInfo.getRegistrationDate(), "fecha de alta");
-        validateNotNull(userInfo.getEmail(), "email");
-        validateNotNull(userInfo.getPassword(), "contraseña");
-        validateNotNull(userInfo.getConfirmPassword(), "confirmación de la contraseña");
-        return true;
+        return ValidationResult.require(result -> validateRequiredFields(userInfo, result));
+    }
+
+    private boolean validateRequiredFields(RegisterRequest userInfo, ValidationResult result) {
+        boolean valid = validateNotNull(userInfo.getName(), "nombre", result);
+        valid &= validateNotNull(userInfo.getSurnames(), "apellidos", result);
+        valid &= validateNotNull(userInfo.getCentre(), "centro", result);
+        valid &= validateNotNull(userInfo.getRegistrationDate(), "fecha de alta", result);
+        valid &= validateNotNull(userInfo.getEmail(), "email", result);
+        valid &= validateNotNull(userInfo.getPassword(), "contraseña", result);
+        valid &= validateNotNull(userInfo.getConfirmPassword(), "confirmación de la contraseña", result);
+        return valid;
     }
 
     /**
@@ -147,12 +153,16 @@ public class ValidateUserService {
      * @return true si toddo está rellenado, false en caso contrario
      */
     public boolean validateRequiredFieldsForEdit(RegisterRequest userInfo) {
-        validateNotNull(userInfo.getName(), "nombre");
-        validateNotNull(userInfo.getSurnames(), "apellidos");
-        validateNotNull(userInfo.getCentre(), "centro");
-        validateNotNull(userInfo.getRegistrationDate(), "fecha de alta");
-        validateNotNull(userInfo.getEmail(), "email");
-        return true;
+        return ValidationResult.require(result -> validateRequiredFieldsForEdit(userInfo, result));
+    }
+
+    private boolean validateRequiredFieldsForEdit(RegisterRequest userInfo, ValidationResult result) {
+        boolean valid = validateNotNull(userInfo.getName(), "nombre", result);
+        valid &= validateNotNull(userInfo.getSurnames(), "apellidos", result);
+        valid &= validateNotNull(userInfo.getCentre(), "centro", result);
+        valid &= validateNotNull(userInfo.getRegistrationDate(), "fecha de alta", result);
+        valid &= validateNotNull(userInfo.getEmail(), "email", result);
+        return valid;
     }
 
     /**
@@ -160,12 +170,13 @@ public class ValidateUserService {
      * 
      * @param field     El valor del campo.
      * @param fieldName El nombre del campo (para mensajes de error).
+     * @param result    donde se añade el error.
      */
-    private void validateNotNull(String field, String fieldName) {
-        if (field == null || field.trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "El campo \"" + fieldName + "\" es obligatorio.");
+    private boolean validateNotNull(String field, String fieldName, ValidationResult result) {
+        if (ValidationResult.isPresent(field)) {
+            return true;
         }
+        return result.reject("El campo \"" + fieldName + "\" es obligatorio.");
     }
 
     /**
@@ -178,20 +189,21 @@ public class ValidateUserService {
      *         contrario.
      */
     public boolean isValidRegistrationDate(String registrationDate) {
-        try {
-            LocalDate userDate = parseRegistrationDate(registrationDate);
-            if (userDate.isBefore(LocalDate.of(2024, 1, 1))) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La fecha de alta debe ser al menos en el año 2024.");
-            }
+        return ValidationResult.require(result -> isValidRegistrationDate(registrationDate, result));
+    }
 
-            if (userDate.isAfter(LocalDate.now())) {
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                        "La fecha de alta no puede ser posterior al día de hoy.");
-            }
+    public boolean isValidRegistrationDate(String registrationDate, ValidationResult result) {
+        LocalDate userDate;
+        try {
+            userDate = parseRegistrationDate(registrationDate);
         } catch (DateTimeParseException e) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La fecha de alta no tiene un formato válido. Se esperaba 'yyyy-MM-dd'.");
+            return result.reject("La fecha de alta no tiene un formato válido. Se esperaba 'yyyy-MM-dd'.");
+        }
+        if (userDate.isBefore(LocalDate.of(2024, 1, 1))) {
+            return result.reject("La fecha de alta debe ser al menos en el año 2024.");
+        }
+        if (userDate.isAfter(LocalDate.now())) {
+            return result.reject("La fecha de alta no puede ser posterior al día de hoy.");
         }
         return true;
     }
@@ -204,16 +216,12 @@ public class ValidateUserService {
      * @return true si el email tiene un formato válido, false en caso contrario.
      */
     public boolean isValidEmail(String email) {
+        return ValidationResult.require(result -> isValidEmail(email, result));
+    }
 
-        Pattern pattern = Pattern.compile(this.emailFormat); // Compilar la expresión regular
-        Matcher matcher = pattern.matcher(email); // Crear un matcher a partir del email proporcionado
-
-        // Comprobar si el email cumple con la expresión regular
-        if (!matcher.matches()) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "El formato del email no es el correcto: \"texto@texto.texto.\"");
-        }
-        return true;
+    public boolean isValidEmail(String email, ValidationResult result) {
+        return result.check(InputFormats.isValidEmail(email),
+                "El formato del email no es el correcto: \"texto@texto.texto.\"");
     }
 
     /**
@@ -225,10 +233,11 @@ public class ValidateUserService {
      * @return true si coinciden, false en caso contrario.
      */
     public boolean doPasswordsMatch(String password, String confirmPassword) {
-        if (!password.equals(confirmPassword)) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Las contraseñas no coinciden.");
-        }
-        return true;
+        return ValidationResult.require(result -> doPasswordsMatch(password, confirmPassword, result));
+    }
+
+    public boolean doPasswordsMatch(String password, String confirmPassword, ValidationResult result) {
+        return result.check(password.equals(confirmPassword), "Las contraseñas no coinciden.");
     }
 
     /**
@@ -241,24 +250,12 @@ public class ValidateUserService {
      * @return true si la contraseña es segura, false en caso contrario.
      */
     public boolean isPasswordSecure(String password) {
+        return ValidationResult.require(result -> isPasswordSecure(password, result));
+    }
 
-        Pattern upperCasePattern = Pattern.compile("[A-ZÁÉÍÓÚÑÄËÏÖÜÀÈÌÒÙÇ]"); // Al menos una mayúscula
-        Pattern lowerCasePattern = Pattern.compile("[a-záéíóúñäëïöüàèìòùç]"); // Al menos una minúscula
-        Pattern digitPattern = Pattern.compile("\\d"); // Al menos un dígito
-        Pattern specialCharPattern = Pattern.compile("[!@#$%^&*(),.?\":¿'¡+{}|<>_\\-/\\\\=\\[\\]`;ºª~€¬¨]"); // Al menos
-                                                                                                             // un
-                                                                                                             // carácter
-                                                                                                             // especial
-
-        // Verificar cada uno de los patrones
-        if (password.length() < 8 || !upperCasePattern.matcher(password).find()
-                || !lowerCasePattern.matcher(password).find() ||
-                !digitPattern.matcher(password).find() || !specialCharPattern.matcher(password).find()) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La contraseña incumple con la política de seguridad. La contraseña debe tener una mayúscula, una minúscula, un número, un carácter especial y al menos 8 caracteres.");
-        }
-
-        return true; // Si pasa todas las comprobaciones, es segura
+    public boolean isPasswordSecure(String password, ValidationResult result) {
+        return result.check(InputFormats.isPasswordSecure(password),
+                "La contraseña incumple con la política de seguridad. La contraseña debe tener una mayúscula, una minúscula, un número, un carácter especial y al menos 8 caracteres.");
     }
 
     /**
@@ -311,16 +308,9 @@ public class ValidateUserService {
         user.setRegistrationDate(parseRegistrationDate(validatedUserInfo.getRegistrationDate()));
         user.setDepartment(validatedUserInfo.getDepartment() == null || validatedUserInfo.getDepartment().equals("") ? null : validatedUserInfo.getDepartment());
         user.setProfile(validatedUserInfo.getProfile() == null || validatedUserInfo.getProfile().equals("") ? null : validatedUserInfo.getProfile());
-        // redimensionar y comprimir la imagen antes de guardarla a 150px x 150px ya que
-        // es como la mostramos en el front
-        if (validatedUserInfo.getPhoto() != null) {
-
-            try {
-                user.setPhoto(resizeAndCompressImageFromBytes(validatedUserInfo.getPhoto(), 150, 150));
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Error al redimensionar y comprimir la imagen", e);
-            }
-        }
+        // recortar, redimensionar y comprimir la imagen antes de guardarla a 150px x 150px
+        // ya que es como la mostramos en el front
+        user.setPhoto(processPhoto(validatedUserInfo.getPhoto()));
 
         user.setEmail(validatedUserInfo.getEmail());
         if (validatedUserInfo.getPassword() != null && !validatedUserInfo.getPassword().trim().isEmpty()) {
@@ -345,16 +335,9 @@ public class ValidateUserService {
         user.setSurnames(validatedUserInfo.getSurnames());
         user.setCentre(validatedUserInfo.getCentre());
         user.setEmail(validatedUserInfo.getEmail());
-        // redimensionar y comprimir la imagen antes de guardarla a 150px x 150px ya que
-        // es como la mostramos en el front
-        if (validatedUserInfo.getPhoto() != null) {
-
-            try {
-                user.setPhoto(resizeAndCompressImageFromBytes(validatedUserInfo.getPhoto(), 150, 150));
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Error al redimensionar y comprimir la imagen", e);
-            }
-        }
+        // recortar, redimensionar y comprimir la imagen antes de guardarla a 150px x 150px
+        // ya que es como la mostramos en el front
+        user.setPhoto(processPhoto(validatedUserInfo.getPhoto()));
 
         Credentials credentials = new Credentials();
         credentials.setPassword(hashPassword(validatedUserInfo.getPassword()));
@@ -364,6 +347,42 @@ public class ValidateUserService {
         return user;
     }
 
+    /**
+     * Recorta, redimensiona y comprime una foto de perfil.
+     * 
+     * @param photo los bytes de la foto original.
+     * @return la foto procesada; null si no hay foto (se mantiene la actual) y
+     *         vacía si la foto viene vacía (se elimina la actual).
+     */
+    public byte[] processPhoto(byte[] photo) {
+        if (photo == null || photo.length == 0) {
+            return photo;
+        }
+        return this.imagePipeline.process(photo);
+    }
+
+    /**
+     * Recorta, redimensiona y comprime una foto de perfil recibida como parte de
+     * una petición multipart, leyéndola directamente del flujo de la petición.
+     * 
+     * @param photo la parte con la foto original, o null si no se envía.
+     * @return la foto procesada; null si no hay foto (se mantiene la actual) y
+     *         vacía si la foto viene vacía (se elimina la actual).
+     */
+    public byte[] processPhoto(MultipartFile photo) {
+        if (photo == null) {
+            return null;
+        }
+        if (photo.isEmpty()) {
+            return new byte[0];
+        }
+        try (InputStream input = photo.getInputStream()) {
+            return this.imagePipeline.process(input, photo.getSize());
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "La foto no es una imagen válida");
+        }
+    }
+
     /**
      * Convierte una cadena en una fecha.
      * 
@@ -372,47 +391,20 @@ public class ValidateUserService {
      * @return fecha formateada
      */
     private LocalDate parseRegistrationDate(String registrationDate) {
-        return LocalDate.parse(registrationDate, this.registrationDateFormat);
-    }
-
-    public static byte[] resizeAndCompressImageFromBytes(byte[] imageBytes, int targetWidth, int targetHeight)
-            throws IOException {
-
-        if (imageBytes == null) {
-            throw new IllegalArgumentException("imageBytes cannot be null");
-        }
-        // Leer la imagen desde los bytes
-        BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
-
-        // Redimensionar la imagen
-        Image resizedImage = originalImage.getScaledInstance(targetWidth, targetHeight, Image.SCALE_SMOOTH);
-        BufferedImage bufferedResizedImage = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
-
-        // Dibujar la imagen redimensionada en el BufferedImage
-        Graphics2D g2d = bufferedResizedImage.createGraphics();
-        g2d.drawImage(resizedImage, 0, 0, null);
-        g2d.dispose();
-
-        // Comprimir la imagen y convertirla a un byte[]
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        ImageIO.write(bufferedResizedImage, "jpg", byteArrayOutputStream); // Cambia "jpg" por el formato que necesites
-
-        // Devolver los bytes de la imagen comprimida
-        return byteArrayOutputStream.toByteArray();
+        return InputFormats.parseDate(registrationDate);
     }
 
+    /**
+     * Valida un token JWT y devuelve el email del usuario al que pertenece.
+     * 
+     * @param jwt el token, con o sin el prefijo "Bearer ".
+     * @return el email del usuario.
+     */
     public String validateJWT(String jwt) {
         if (jwt.startsWith("Bearer ")) {
             jwt = jwt.replace("Bearer ", "");
         }
-        try {
-            return JWT.require(Algorithm.HMAC256(System.getProperty("JWT_SECRET")))
-                    .build()
-                    .verify(jwt)
-                    .getSubject();
-        } catch (com.auth0.jwt.exceptions.JWTVerificationException e) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token JWT no válido o expirado.");
-        }
+        return this.verifiedTokenCache.verify(jwt);
     }
 
     public boolean validateCommonUserExist(Long userId) {
@@ -425,8 +417,18 @@ public class ValidateUserService {
      public boolean validateAccess(String authorizationHeader, long userId) {
         String email = validateJWT(authorizationHeader);
         Optional<AppUser> userOpt = usersRepository.findByEmail(email);
-        AppUser user = userOpt.get();
+        return validateAccess(userOpt.get(), userId);
+    }
 
+    /**
+     * Comprueba que un usuario común solo accede a su propia información. Los
+     * administradores pueden acceder a la de cualquiera.
+     * 
+     * @param user   el usuario autenticado.
+     * @param userId el ID del usuario cuya información se solicita.
+     * @return true si el acceso está permitido.
+     */
+    public boolean validateAccess(AppUser user, long userId) {
         if (user.getId() != userId && user instanceof CommonUser) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No tienes permiso para acceder a esta información.");
         }
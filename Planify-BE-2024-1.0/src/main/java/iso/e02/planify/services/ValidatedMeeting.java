@@ -0,0 +1,31 @@
+package iso.e02.planify.services;
+
+// imports de iso.e02.planify
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.entities.Meeting;
+
+// imports de java
+import java.util.Map;
+
+/**
+ * Reunión de una petición de creación o edición ya validada: la reunión
+ * construida a partir de la petición y sus participantes, resueltos por email.
+ */
+public class ValidatedMeeting {
+
+    private final Meeting meeting;
+    private final Map<String, CommonUser> participants;
+
+    public ValidatedMeeting(Meeting meeting, Map<String, CommonUser> participants) {
+        this.meeting = meeting;
+        this.participants = participants;
+    }
+
+    public Meeting getMeeting() {
+        return meeting;
+    }
+
+    public Map<String, CommonUser> getParticipants() {
+        return participants;
+    }
+}
@@ -0,0 +1,35 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.util.List;
+
+// imports de spring
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Petición no válida (406) con todos sus errores de validación. El motivo es la
+ * concatenación de los mensajes, así que con un solo error es igual que la
+ * ResponseStatusException que se lanzaba antes.
+ *
+ * No captura la traza: es un error del cliente, siempre se lanza desde
+ * {@link ValidationResult#throwIfInvalid()} y la traza no aporta nada.
+ */
+public class ValidationException extends ResponseStatusException {
+
+    private final transient List<String> errors;
+
+    public ValidationException(List<String> errors) {
+        super(HttpStatus.NOT_ACCEPTABLE, String.join(" ", errors));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
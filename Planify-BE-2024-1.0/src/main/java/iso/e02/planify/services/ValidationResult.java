@@ -0,0 +1,84 @@
+package iso.e02.planify.services;
+
+// imports de java
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Errores de validación de una petición. Los validadores añaden aquí cada
+ * error que encuentran en lugar de lanzar una excepción con el primero, y al
+ * final se responde una sola vez con todos ({@link #throwIfInvalid()}).
+ *
+ * Una petición válida no reserva la lista de errores.
+ */
+public class ValidationResult {
+
+    private List<String> errors; // null mientras no haya errores
+
+    /**
+     * Añade un error.
+     *
+     * @param message el mensaje del error.
+     * @return false, para poder devolverlo directamente desde un validador.
+     */
+    public boolean reject(String message) {
+        if (this.errors == null) {
+            this.errors = new ArrayList<>(4);
+        }
+        this.errors.add(message);
+        return false;
+    }
+
+    /**
+     * Añade un error si no se cumple la condición.
+     *
+     * @param condition la condición que debe cumplirse.
+     * @param message   el mensaje del error.
+     * @return la condición.
+     */
+    public boolean check(boolean condition, String message) {
+        return condition || reject(message);
+    }
+
+    public boolean isValid() {
+        return this.errors == null;
+    }
+
+    public List<String> getErrors() {
+        return this.errors == null ? List.of() : Collections.unmodifiableList(this.errors);
+    }
+
+    /**
+     * Lanza una única {@link ValidationException} (406) con todos los errores, si
+     * los hay.
+     */
+    public void throwIfInvalid() {
+        if (this.errors != null) {
+            throw new ValidationException(this.errors);
+        }
+    }
+
+    /**
+     * @return true si el campo no es nulo ni está vacío. Sirve para no comprobar
+     *         el formato de un campo obligatorio que ya falta.
+     */
+    public static boolean isPresent(String field) {
+        return field != null && !field.trim().isEmpty();
+    }
+
+    /**
+     * Ejecuta una validación y lanza sus errores. La usan los métodos de
+     * validación sueltos, que siguen lanzando la excepción.
+     *
+     * @param validation la validación.
+     * @return true si no hay errores.
+     */
+    public static boolean require(Consumer<ValidationResult> validation) {
+        ValidationResult result = new ValidationResult();
+        validation.accept(result);
+        result.throwIfInvalid();
+        return true;
+    }
+}
@@ -6,13 +6,17 @@ import iso.e02.planify.repositories.WorkScheduleRepository;
 
 // imports de java
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
+// imports de jackson
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 // imports de spring
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -26,13 +30,20 @@ import org.springframework.web.server.ResponseStatusException;
  * convertirlas en entidades Schedule y almacenarlas en la base de
  * datos.
  * También permite recuperar todos los horarios almacenados en el repositorio.
+ * 
+ * El horario se mantiene en memoria como una instantánea compilada
+ * ({@link CompiledWorkSchedule}) que se carga la primera vez que se necesita y
+ * se descarta cada vez que se guarda un horario nuevo.
  */
 @Service
 public class WorkScheduleService {
     @Autowired
     private WorkScheduleRepository workScheduleRepository; // Inyección del repositorio de horarios laborales.
 
-    private DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm"); // Formato de hora    
+    @Autowired
+    private ObjectMapper objectMapper; // Serializador JSON de Spring, para precalcular el cuerpo de la respuesta
+
+    private volatile CompiledWorkSchedule compiledWorkSchedule; // Instantánea en memoria (null si hay que recargarla)
 
     private static final String START_HOUR = "startHour"; // Hora de inicio
     private static final String END_HOUR = "endHour"; // Hora de fin
@@ -46,19 +57,23 @@ public class WorkScheduleService {
         List<Schedule> schedules = new ArrayList<>();
         blocks.forEach(block -> schedules.add(toSchedule(block))); // Convierte cada bloque a un objeto Schedule.
         this.workScheduleRepository.saveAll(schedules); // Guarda los horarios en la base de datos.
+        invalidateCompiledWorkSchedule(); // La próxima consulta recargará el horario
     }
 
     /**
      * Valida si la lista de bloques de horarios es válida y no se superponen.
+     * Si hay errores, se informa de todos a la vez.
      * 
      * @param blocks la lista de bloques de horarios a validar.
      */
     public void validateWorkSchedule(List<Map<String, String>> blocks) {
-          if (!getWorkSchedule().isEmpty()) { // validar si la ya existe un horario registrado
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Ya hay un horario registrado.");
+        ValidationResult result = new ValidationResult();
+        // validar si la ya existe un horario registrado
+        result.check(getCompiledWorkSchedule().isEmpty(), "Ya hay un horario registrado.");
+        if (validateNotNull(blocks, "bloques", result)) { // validar si la lista de bloques no es nula
+            validateBlocks(blocks, result); // validar si los bloques no se superponen
         }
-        validateNotNull(blocks, "bloques"); // validar si la lista de bloques no es nula
-        validateBlocks(blocks); // validar si los bloques no se superponen
+        result.throwIfInvalid();
     }
 
     /*
@@ -68,27 +83,37 @@ public class WorkScheduleService {
      * @param fieldName el nombre del campo a validar.
      */
     public void validateNotNull(List<Map<String, String>> blocks, String fieldName) {
-        if (blocks == null || blocks.isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-            "El campo \"" + fieldName + "\" es obligatorio.");
-        } 
+        ValidationResult.require(result -> validateNotNull(blocks, fieldName, result));
+    }
+
+    private boolean validateNotNull(List<Map<String, String>> blocks, String fieldName, ValidationResult result) {
+        return result.check(blocks != null && !blocks.isEmpty(), "El campo \"" + fieldName + "\" es obligatorio.");
     }
 
     /**
      * Valida que no sea nulo el nombre de bloque, la hora de inicio y la hora de fin.
      * Valida que la hora de inicio no sea posterior a la hora de fin y la duración del bloque sea de al menos 2 horas.
-     * Valida que los bloques no se superpongan.
+     * Valida que los bloques no se superpongan. Si hay errores, se informa de todos a la vez.
      * 
      * @param blocks la lista de bloques de horarios a validar.
      */
     public void validateBlocks(List<Map<String, String>> blocks) {
+        ValidationResult.require(result -> validateBlocks(blocks, result));
+    }
+
+    private boolean validateBlocks(List<Map<String, String>> blocks, ValidationResult result) {
+        boolean valid = true;
         for (Map<String, String> block : blocks) {
-            validateBlockNotNull(block.get("blockName"), "nombre de bloque");
-            validateBlockNotNull(block.get(START_HOUR), "hora de inicio");
-            validateBlockNotNull(block.get(END_HOUR), "hora de fin");
-            isValidTime(block.get(START_HOUR), block.get(END_HOUR)); // validar si las horas son adecuadas
-            checkBlockOverlap(blocks); // validar si los bloques no se superponen
+            boolean present = validateBlockNotNull(block.get("blockName"), "nombre de bloque", result);
+            present &= validateBlockNotNull(block.get(START_HOUR), "hora de inicio", result);
+            present &= validateBlockNotNull(block.get(END_HOUR), "hora de fin", result);
+            // validar si las horas son adecuadas
+            valid &= present && isValidTime(block.get(START_HOUR), block.get(END_HOUR), result);
+        }
+        if (valid) {
+            valid = checkBlockOverlap(blocks, result); // validar si los bloques no se superponen
         }
+        return valid;
     }
 
     /**
@@ -98,11 +123,15 @@ public class WorkScheduleService {
      * @param fieldName el nombre del campo a validar.
      */
     public void validateBlockNotNull(Object field, String fieldName) {
+        ValidationResult.require(result -> validateBlockNotNull(field, fieldName, result));
+    }
+
+    private boolean validateBlockNotNull(Object field, String fieldName, ValidationResult result) {
         if (field == null || 
         field instanceof String && ((String) field).trim().isEmpty()) {
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "El campo \"" + fieldName + "\" es obligatorio.");
+            return result.reject("El campo \"" + fieldName + "\" es obligatorio.");
         }
+        return true;
     }
 
     /**
@@ -113,22 +142,24 @@ public class WorkScheduleService {
      * @return verdadero si la hora de inicio no es posterior a la hora de fin y la duración del bloque es de al menos 2 horas.
      */
     public boolean isValidTime(String startHourStr, String endHourStr) {
+        return ValidationResult.require(result -> isValidTime(startHourStr, endHourStr, result));
+    }
+
+    public boolean isValidTime(String startHourStr, String endHourStr, ValidationResult result) {
+        LocalTime fromTime;
+        LocalTime toTime;
         try {
-            LocalTime fromTime = parseTime(startHourStr);
-            LocalTime toTime = parseTime(endHourStr);
-            if(fromTime.isAfter(toTime)) { // validar si la hora de inicio no es posterior a la hora de fin
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                "La hora de inicio de bloque no puede ser posterior a la hora de fin.");
-            }
-            if(fromTime.until(toTime, ChronoUnit.HOURS) < 2) { // validar si la duración del bloque es de al menos 2 horas
-                throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                "El bloque de horario debe tener una duración mínima de 2 horas.");
-            }
+            fromTime = parseTime(startHourStr);
+            toTime = parseTime(endHourStr);
         } catch (DateTimeParseException e) { // validar si la hora tiene un formato válido
-            throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "La hora no tiene un formato válido. Se esperaba 'HH:mm'.");
+            return result.reject("La hora no tiene un formato válido. Se esperaba 'HH:mm'.");
         }
-        return true;
+        if(fromTime.isAfter(toTime)) { // validar si la hora de inicio no es posterior a la hora de fin
+            return result.reject("La hora de inicio de bloque no puede ser posterior a la hora de fin.");
+        }
+        // validar si la duración del bloque es de al menos 2 horas
+        return result.check(fromTime.until(toTime, ChronoUnit.HOURS) >= 2,
+                "El bloque de horario debe tener una duración mínima de 2 horas.");
     }
 
      /**
@@ -138,23 +169,34 @@ public class WorkScheduleService {
      * @return objeto LocalTime formateado
      */
     public LocalTime parseTime(String timeStr) {
-        return LocalTime.parse(timeStr, this.timeFormat);
+        return InputFormats.parseTime(timeStr);
     }
 
     /**
      * Valida si los bloques de horario se superponen.
-     * Itera sobre la lista de bloques de horario y verifica si alguno se superpone con otro.
+     * Ordena los bloques por hora de inicio y comprueba que ninguno empiece antes
+     * de que termine alguno de los anteriores.
      * 
      * @param blocks la lista de bloques de horario a validar.
      * @return verdadero si los bloques de horario no se superponen.
      */
     public boolean checkBlockOverlap (List<Map<String, String>> blocks) {
-        for (int i = 0; i < blocks.size(); i++) {
-            for (int j = i + 1; j < blocks.size(); j++) {
-                if (isOverlap(blocks.get(i), blocks.get(j))) { // validar si los bloques se superponen
-                    throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE,
-                    "Los bloques de horario no pueden superponerse.");
-                }
+        return ValidationResult.require(result -> checkBlockOverlap(blocks, result));
+    }
+
+    public boolean checkBlockOverlap(List<Map<String, String>> blocks, ValidationResult result) {
+        List<LocalTime[]> ranges = new ArrayList<>(blocks.size());
+        for (Map<String, String> block : blocks) {
+            ranges.add(new LocalTime[] { parseTime(block.get(START_HOUR)), parseTime(block.get(END_HOUR)) });
+        }
+        ranges.sort(Comparator.comparing(range -> range[0]));
+        LocalTime maxEnd = LocalTime.MIN;
+        for (LocalTime[] range : ranges) {
+            if (range[0].isBefore(maxEnd)) { // validar si los bloques se superponen
+                return result.reject("Los bloques de horario no pueden superponerse.");
+            }
+            if (range[1].isAfter(maxEnd)) {
+                maxEnd = range[1];
             }
         }
         return true;
@@ -185,17 +227,63 @@ public class WorkScheduleService {
     private Schedule toSchedule(Map<String, String> block) {
         Schedule schedule = new Schedule();
         schedule.setBlockName(block.get("blockName"));
-        schedule.setStartHour(LocalTime.parse(block.get(START_HOUR)));
-        schedule.setEndHour(LocalTime.parse(block.get(END_HOUR)));
+        schedule.setStartHour(parseTime(block.get(START_HOUR)));
+        schedule.setEndHour(parseTime(block.get(END_HOUR)));
         return schedule;
     }
 
     /**
-     * Obtiene todos los horarios almacenados en la base de datos.
+     * Obtiene todos los horarios almacenados en la base de datos, ordenados por hora de inicio.
      * 
      * @return una lista de objetos Schedule que representan los horarios laborales almacenados.
      */
     public List<Schedule> getWorkSchedule() {
-        return this.workScheduleRepository.findAll();
+        return getCompiledWorkSchedule().getBlocks();
+    }
+
+    /**
+     * Obtiene la instantánea compilada del horario laboral, cargándola de la base
+     * de datos si no está en memoria.
+     * 
+     * La carga y la invalidación comparten el cerrojo, de modo que una carga que
+     * haya leído el horario anterior no puede sobrescribir una invalidación posterior.
+     * 
+     * @return el horario laboral compilado.
+     */
+    public CompiledWorkSchedule getCompiledWorkSchedule() {
+        CompiledWorkSchedule compiled = this.compiledWorkSchedule;
+        if (compiled == null) {
+            synchronized (this) {
+                compiled = this.compiledWorkSchedule;
+                if (compiled == null) {
+                    compiled = compile(this.workScheduleRepository.findAll());
+                    this.compiledWorkSchedule = compiled;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Descarta la instantánea en memoria para que se recargue en la próxima consulta.
+     */
+    public synchronized void invalidateCompiledWorkSchedule() {
+        this.compiledWorkSchedule = null;
+    }
+
+    /**
+     * Ordena los bloques y precalcula su representación JSON.
+     * 
+     * @param schedules los bloques leídos de la base de datos.
+     * @return el horario laboral compilado.
+     */
+    private CompiledWorkSchedule compile(List<Schedule> schedules) {
+        List<Schedule> sorted = CompiledWorkSchedule.sort(schedules);
+        try {
+            return CompiledWorkSchedule.of(sorted, this.objectMapper.writeValueAsBytes(sorted));
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "No se ha podido serializar el horario laboral.");
+        }
     }
-}
\ No newline at end of file
+}
@@ -12,7 +12,11 @@ import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.repositories.CommonUserRepository;
 import iso.e02.planify.repositories.MeetingAttendanceRepository;
 import iso.e02.planify.repositories.MeetingRespository;
+import iso.e02.planify.security.VerifiedTokenCache;
+import iso.e02.planify.services.BusyIntervalIndex;
 import iso.e02.planify.services.ManageUsersService;
+import iso.e02.planify.services.MeetingCascadeService;
+import iso.e02.planify.services.PhotoService;
 
 @ContextConfiguration(classes = {ManageUsersService.class, MeetingRespository.class, MeetingAttendanceRepository.class})
 @SpringBootTest
@@ -30,6 +34,18 @@ public class BlockUnblockTest {
     @MockBean
     private MeetingAttendanceRepository meetingAttendanceRepository;
 
+    @MockBean
+    private BusyIntervalIndex busyIntervalIndex;
+
+    @MockBean
+    private PhotoService photoService;
+
+    @MockBean
+    private MeetingCascadeService meetingCascadeService;
+
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Test
     public void testBlock() {
         CommonUser user = new CommonUser();
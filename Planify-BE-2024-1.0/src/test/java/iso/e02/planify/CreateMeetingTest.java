@@ -1,5 +1,7 @@
 package iso.e02.planify;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
@@ -7,7 +9,10 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
@@ -21,15 +26,20 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.web.server.ResponseStatusException;
 
+import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.entities.Meeting;
 import iso.e02.planify.entities.Schedule;
 import iso.e02.planify.entities.Meeting.Location;
 import iso.e02.planify.entities.Meeting.Status;
 import iso.e02.planify.requests.CreateMeetingRequest;
 import iso.e02.planify.services.AbsencesService;
+import iso.e02.planify.services.BusyIntervalIndex;
+import iso.e02.planify.services.CompiledWorkSchedule;
 import iso.e02.planify.services.ManageUsersService;
 import iso.e02.planify.services.MeetingService;
+import iso.e02.planify.services.PhotoService;
 import iso.e02.planify.services.ValidateMeetingService;
+import iso.e02.planify.services.ValidationException;
 import iso.e02.planify.services.WorkScheduleService;
 
 @ContextConfiguration(classes = {ValidateMeetingService.class, ManageUsersService.class, MeetingService.class, AbsencesService.class, WorkScheduleService.class})
@@ -51,6 +61,12 @@ public class CreateMeetingTest {
     @MockBean
     private WorkScheduleService workScheduleService;
 
+    @MockBean
+    private BusyIntervalIndex busyIntervalIndex;
+
+    @MockBean
+    private PhotoService photoService;
+
     @Test
     public void testOptionalFieldsCanBeNull() {
         CreateMeetingRequest meetingInfo = new CreateMeetingRequest(
@@ -283,7 +299,7 @@ public class CreateMeetingTest {
             null);
 
         List<Schedule> workSchedule = defaultWorkSchedule();
-        when(workScheduleService.getWorkSchedule()).thenReturn(workSchedule);
+        when(workScheduleService.getCompiledWorkSchedule()).thenReturn(CompiledWorkSchedule.of(workSchedule));
         Assertions.assertTrue(this.validateMeetingService.validateMeetingInfo(meetingInfo), "Se esperaba una reunión de todo el día y, por tanto, sin horas que especificar.");
         Assertions.assertNull(meetingInfo.getFromTime(), "Como es una reunión de todo el día, se esperaba una hora de inicio nula.");
         Assertions.assertNull(meetingInfo.getToTime(), "Como es una reunión de todo el día, se esperaba una hora de fin nula.");
@@ -303,7 +319,7 @@ public class CreateMeetingTest {
             null);
 
         List<Schedule> workSchedule = defaultWorkSchedule();
-        when(workScheduleService.getWorkSchedule()).thenReturn(workSchedule);
+        when(workScheduleService.getCompiledWorkSchedule()).thenReturn(CompiledWorkSchedule.of(workSchedule));
         Assertions.assertTrue(this.validateMeetingService.validateMeetingInfo(meetingInfo), "Se esperaba una reunión entre un rango de horas.");
         Assertions.assertNotNull(meetingInfo.getFromTime(), "Como no es una reunión de todo el día, se esperaba una hora de inicio.");
         Assertions.assertNotNull(meetingInfo.getToTime(), "Como no es una reunión de todo el día, se esperaba una hora de fin.");
@@ -324,7 +340,7 @@ public class CreateMeetingTest {
             null);
 
         List<Schedule> workSchedule = defaultWorkSchedule();
-        when(workScheduleService.getWorkSchedule()).thenReturn(workSchedule);
+        when(workScheduleService.getCompiledWorkSchedule()).thenReturn(CompiledWorkSchedule.of(workSchedule));
         Assertions.assertTrue(this.validateMeetingService.validateMeetingInfo(meetingInfo), "Se esperaba una reunión online y, por tanto, sin ubicación.");
         Assertions.assertNull(meetingInfo.getLocation(), "Como es una reunión online, se esperaba una ubicación nula.");
     }
@@ -343,7 +359,7 @@ public class CreateMeetingTest {
             null);
 
         List<Schedule> workSchedule = defaultWorkSchedule();
-        when(workScheduleService.getWorkSchedule()).thenReturn(workSchedule);
+        when(workScheduleService.getCompiledWorkSchedule()).thenReturn(CompiledWorkSchedule.of(workSchedule));
         Assertions.assertTrue(this.validateMeetingService.validateMeetingInfo(meetingInfo), "Se esperaba una reunión con ubicación.");
         Assertions.assertNotNull(meetingInfo.getLocation(), "Como no es una reunión online, se esperaba una ubicación.");
     }
@@ -363,7 +379,7 @@ public class CreateMeetingTest {
             "");
             
         List<Schedule> workSchedule = defaultWorkSchedule();
-        when(workScheduleService.getWorkSchedule()).thenReturn(workSchedule);
+        when(workScheduleService.getCompiledWorkSchedule()).thenReturn(CompiledWorkSchedule.of(workSchedule));
         Assertions.assertTrue(this.validateMeetingService.validateMeetingInfo(meetingInfo), "Se esperaba una reunión con ubicación.");
             
         Meeting meeting = this.validateMeetingService.toMeeting(meetingInfo); // Conversión
@@ -403,6 +419,76 @@ public class CreateMeetingTest {
             );
     }
 
+    @Test
+    public void testValidateParticipantsReportsAllInvalidEmails() {
+        CommonUser organizer = participant(1L, "organizer@planify.com", false, true);
+        CommonUser blocked = participant(2L, "blocked@planify.com", true, true);
+        CommonUser valid = participant(3L, "valid@planify.com", false, true);
+        List<String> emails = Arrays.asList("blocked@planify.com", "unknown@planify.com", "valid@planify.com");
+        Map<String, CommonUser> resolved = new HashMap<>();
+        resolved.put("blocked@planify.com", blocked);
+        resolved.put("valid@planify.com", valid);
+        when(manageUsersService.getUsersByEmails(any())).thenReturn(resolved);
+
+        Meeting meeting = new Meeting();
+        meeting.setFromDateTime(LocalDateTime.of(2050, 11, 14, 16, 0));
+        meeting.setToDateTime(LocalDateTime.of(2050, 11, 14, 17, 0));
+
+        ResponseStatusException exception = Assertions.assertThrows(ResponseStatusException.class,
+            () -> this.validateMeetingService.validateParticipants(meeting, organizer, emails));
+        Assertions.assertEquals("No existen usuarios con los emails \"unknown@planify.com\". No es posible añadir a los usuarios \"blocked@planify.com\".",
+            exception.getReason(), "Se esperaba un único error con todos los emails no válidos.");
+    }
+
+    @Test
+    public void testValidateMeetingReportsFieldAndParticipantErrorsTogether() {
+        CommonUser organizer = participant(1L, "organizer@planify.com", false, true);
+        when(manageUsersService.getUsersByEmails(any())).thenReturn(new HashMap<>());
+        CreateMeetingRequest meetingInfo = new CreateMeetingRequest(
+            null,
+            true,
+            "2050-11-16",
+            null,
+            null,
+            true,
+            null,
+            Arrays.asList("unknown@planify.com"),
+            null);
+
+        ValidationException exception = Assertions.assertThrows(ValidationException.class,
+            () -> this.validateMeetingService.validateMeeting(meetingInfo, organizer, null));
+        Assertions.assertEquals(List.of("El campo \"asunto\" es obligatorio.",
+                "No existen usuarios con los emails \"unknown@planify.com\"."), exception.getErrors(),
+            "Se esperaba un único error con los campos y los participantes no válidos.");
+    }
+
+    @Test
+    public void testValidateParticipantsNormalizesEmails() {
+        CommonUser organizer = participant(1L, "organizer@planify.com", false, true);
+        CommonUser valid = participant(3L, "valid@planify.com", false, true);
+        Map<String, CommonUser> resolved = new HashMap<>();
+        resolved.put("valid@planify.com", valid);
+        when(manageUsersService.getUsersByEmails(any())).thenReturn(resolved);
+
+        Meeting meeting = new Meeting();
+        meeting.setFromDateTime(LocalDateTime.of(2050, 11, 14, 16, 0));
+        meeting.setToDateTime(LocalDateTime.of(2050, 11, 14, 17, 0));
+
+        Map<String, CommonUser> participants = this.validateMeetingService.validateParticipants(meeting, organizer,
+            Arrays.asList(" Valid@Planify.com", "valid@planify.com", null));
+        Assertions.assertEquals(1, participants.size(), "Se esperaba un único participante para el mismo email.");
+        verify(manageUsersService).getUsersByEmails(new LinkedHashSet<>(List.of("valid@planify.com")));
+    }
+
+    private CommonUser participant(Long id, String email, boolean blocked, boolean activated) {
+        CommonUser user = new CommonUser();
+        user.setId(id);
+        user.setEmail(email);
+        user.setBlocked(blocked);
+        user.setActivated(activated);
+        return user;
+    }
+
     public List<Schedule> defaultWorkSchedule() {
         List<Schedule> workSchedule = new ArrayList<>();
         Schedule night = new Schedule(1L, "Madrugada", LocalTime.of(2,0), LocalTime.of(7,0));
@@ -15,6 +15,8 @@ import org.springframework.web.server.ResponseStatusException;
 
 import iso.e02.planify.repositories.UsersRepository;
 import iso.e02.planify.requests.RegisterRequest;
+import iso.e02.planify.security.VerifiedTokenCache;
+import iso.e02.planify.services.ImagePipeline;
 import iso.e02.planify.services.ManageUsersService;
 import iso.e02.planify.services.ValidateUserService;
 
@@ -31,6 +33,12 @@ public class ProfileTest {
     @MockBean
     private UsersRepository usersRepository;
 
+    @MockBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockBean
+    private ImagePipeline imagePipeline;
+
     // Ni nulos ni cadenas vacías en campos obligatorios: todos menos password, confirmPassword, department, profile y photo
     @ParameterizedTest
     @MethodSource("provideEditOptionalFieldsCanBeNull")
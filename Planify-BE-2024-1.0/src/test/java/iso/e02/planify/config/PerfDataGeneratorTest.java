@@ -0,0 +1,151 @@
+package iso.e02.planify.config;
+
+import iso.e02.planify.services.ValidateUserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PerfDataGeneratorTest {
+
+    @InjectMocks
+    private PerfDataGenerator perfDataGenerator;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ValidateUserService validateUserService;
+
+    private Map<String, List<Object[]>> rowsByTable;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        configure(perfDataGenerator);
+        when(validateUserService.hashPassword(anyString())).thenReturn("hash");
+        rowsByTable = recordBatches(jdbcTemplate);
+    }
+
+    private static void configure(PerfDataGenerator generator) {
+        ReflectionTestUtils.setField(generator, "enabled", true);
+        ReflectionTestUtils.setField(generator, "seed", 7L);
+        ReflectionTestUtils.setField(generator, "users", 200);
+        ReflectionTestUtils.setField(generator, "administrators", 3);
+        ReflectionTestUtils.setField(generator, "meetingAttendances", 1000);
+        ReflectionTestUtils.setField(generator, "absences", 150);
+        ReflectionTestUtils.setField(generator, "firstDay", "2024-09-02");
+        ReflectionTestUtils.setField(generator, "days", 60);
+        ReflectionTestUtils.setField(generator, "batchSize", 64);
+        ReflectionTestUtils.setField(generator, "password", "Perf_Planify_2024");
+        ReflectionTestUtils.setField(generator, "totpSecret", "JBSWY3DPEHPK3PXP");
+    }
+
+    /**
+     * Guarda las filas de cada batchUpdate por tabla, en orden de inserción.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<Object[]>> recordBatches(JdbcTemplate jdbcTemplate) {
+        Map<String, List<Object[]>> rows = new HashMap<>();
+        doAnswer(invocation -> {
+            String table = invocation.getArgument(0, String.class).split(" ")[2];
+            rows.computeIfAbsent(table, key -> new ArrayList<>()).addAll(invocation.getArgument(1, List.class));
+            return new int[0];
+        }).when(jdbcTemplate).batchUpdate(anyString(), anyList());
+        return rows;
+    }
+
+    @Test
+    void testGenerateInsertsConfiguredRows() {
+        perfDataGenerator.generate();
+
+        assertEquals(203, rowsByTable.get("credentials").size());
+        assertEquals(203, rowsByTable.get("app_user").size());
+        assertEquals(200, rowsByTable.get("common_user").size());
+        assertEquals(3, rowsByTable.get("administrator").size());
+        assertEquals(1000, rowsByTable.get("meeting_attendance").size());
+        assertEquals(150, rowsByTable.get("absence").size());
+        verify(jdbcTemplate).execute("ALTER TABLE app_user ALTER COLUMN id RESTART WITH 204");
+        verify(jdbcTemplate).execute("ALTER TABLE meeting_attendance ALTER COLUMN id RESTART WITH 1001");
+    }
+
+    @Test
+    void testGenerateIsDeterministic() {
+        perfDataGenerator.generate();
+
+        PerfDataGenerator other = new PerfDataGenerator();
+        JdbcTemplate otherJdbcTemplate = mock(JdbcTemplate.class);
+        ReflectionTestUtils.setField(other, "jdbcTemplate", otherJdbcTemplate);
+        ReflectionTestUtils.setField(other, "validateUserService", validateUserService);
+        configure(other);
+        Map<String, List<Object[]>> otherRows = recordBatches(otherJdbcTemplate);
+        other.generate();
+
+        for (String table : List.of("app_user", "common_user", "meeting", "meeting_attendance", "absence")) {
+            List<Object[]> expected = rowsByTable.get(table);
+            List<Object[]> actual = otherRows.get(table);
+            assertEquals(expected.size(), actual.size(), table);
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), actual.get(i), table + " fila " + i);
+            }
+        }
+    }
+
+    @Test
+    void testMeetingsHaveOneOrganizerAndNoRepeatedParticipants() {
+        perfDataGenerator.generate();
+
+        Set<Object> meetingIds = new HashSet<>();
+        for (Object[] meeting : rowsByTable.get("meeting")) {
+            meetingIds.add(meeting[0]);
+        }
+        Map<Object, Integer> organizers = new HashMap<>();
+        Set<String> participants = new HashSet<>();
+        for (Object[] attendance : rowsByTable.get("meeting_attendance")) {
+            assertTrue(meetingIds.contains(attendance[2]));
+            assertTrue((Long) attendance[1] >= 1 && (Long) attendance[1] <= 200);
+            assertTrue(participants.add(attendance[1] + "-" + attendance[2]));
+            if ("ORGANIZADOR".equals(attendance[6])) {
+                organizers.merge(attendance[2], 1, Integer::sum);
+            }
+        }
+        assertEquals(meetingIds.size(), organizers.size());
+        assertTrue(organizers.values().stream().allMatch(count -> count == 1));
+    }
+
+    @Test
+    void testBlockedAndInactiveUsersFollowTheirNumber() {
+        perfDataGenerator.generate();
+
+        Object[] blocked = rowsByTable.get("common_user").get(97); // usuario98
+        Object[] inactive = rowsByTable.get("common_user").get(98); // usuario99
+        assertEquals(Boolean.TRUE, blocked[5]);
+        assertEquals(Boolean.FALSE, inactive[4]);
+        assertEquals("usuario98@perf.planify.es", rowsByTable.get("app_user").get(97)[4]);
+    }
+
+    @Test
+    void testGenerateIfEmptySkipsWhenThereAreUsers() {
+        when(jdbcTemplate.queryForObject(eq("SELECT COUNT(*) FROM app_user"), eq(Integer.class))).thenReturn(5);
+
+        perfDataGenerator.generateIfEmpty();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,149 @@
+package iso.e02.planify.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SqlStatementRecorderTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    private SqlStatementRecorder recorder;
+    private SimpleMeterRegistry meterRegistry;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new SqlStatementRecorder();
+        ReflectionTestUtils.setField(recorder, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(recorder, "sampleRate", 1.0);
+        ReflectionTestUtils.setField(recorder, "slowStatementMillis", 200L);
+        ReflectionTestUtils.setField(recorder, "slowRequestMillis", 1000L);
+        ReflectionTestUtils.setField(recorder, "maxRequestStatements", 50);
+        ReflectionTestUtils.setField(recorder, "slowestStatements", 2);
+        handler = new HandlerMethod(this, SqlStatementRecorderTest.class.getDeclaredMethod("setUp"));
+    }
+
+    private void request(Runnable statements) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/meetings/listAll");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        recorder.preHandle(request, response, handler);
+        statements.run();
+        recorder.afterCompletion(request, response, handler, null);
+    }
+
+    @Test
+    void testSampledRequestPublishesMetricsByHandler() {
+        request(() -> {
+            recorder.record("select * from meeting where id=?", TimeUnit.MILLISECONDS.toNanos(3));
+            recorder.record("select * from app_user where id=?", TimeUnit.MILLISECONDS.toNanos(5));
+        });
+
+        String handlerName = "SqlStatementRecorderTest.setUp";
+        assertEquals(1, meterRegistry.get("planify.sql.statements").tag("handler", handlerName).summary().count());
+        assertEquals(2.0, meterRegistry.get("planify.sql.statements").tag("handler", handlerName).summary()
+                .totalAmount());
+        assertEquals(8.0, meterRegistry.get("planify.sql.time").tag("handler", handlerName).timer()
+                .totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    @Test
+    void testUnsampledRequestIsNotRecorded() {
+        ReflectionTestUtils.setField(recorder, "sampleRate", 0.0);
+
+        request(() -> recorder.record("select 1", 1000));
+
+        assertNull(meterRegistry.find("planify.sql.statements").summary());
+        assertTrue(recorder.getSlowestStatements().isEmpty());
+    }
+
+    @Test
+    void testStatementOutsideRequestIsIgnored() {
+        recorder.record("select 1", 1000);
+
+        assertTrue(recorder.getSlowestStatements().isEmpty());
+    }
+
+    @Test
+    void testSlowestStatementsKeepsDistinctStatementsOrdered() {
+        request(() -> {
+            recorder.record("select a", TimeUnit.MILLISECONDS.toNanos(1));
+            recorder.record("select b", TimeUnit.MILLISECONDS.toNanos(4));
+            recorder.record("select b", TimeUnit.MILLISECONDS.toNanos(2));
+            recorder.record("select c", TimeUnit.MILLISECONDS.toNanos(3));
+        });
+
+        List<Map<String, Object>> slowest = recorder.getSlowestStatements().get("SqlStatementRecorderTest.setUp");
+        assertEquals(2, slowest.size());
+        assertEquals("select b", slowest.get(0).get("sql"));
+        assertEquals(4.0, slowest.get(0).get("ms"));
+        assertEquals("select c", slowest.get(1).get("sql"));
+    }
+
+    @Test
+    void testTimingDataSourceRecordsPreparedStatements() throws Exception {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement("select * from meeting where id=?")).thenReturn(preparedStatement);
+        SqlTimingDataSource dataSource = new SqlTimingDataSource(targetDataSource);
+        dataSource.setRecorder(recorder);
+
+        request(() -> {
+            try (Connection wrapped = dataSource.getConnection();
+                    PreparedStatement statement = wrapped.prepareStatement("select * from meeting where id=?")) {
+                statement.setLong(1, 7L);
+                statement.executeQuery();
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+
+        verify(preparedStatement).setLong(1, 7L);
+        verify(preparedStatement).executeQuery();
+        verify(connection).close();
+        assertEquals(1.0, meterRegistry.get("planify.sql.statements").summary().totalAmount());
+        assertEquals("select * from meeting where id=?",
+                recorder.getSlowestStatements().get("SqlStatementRecorderTest.setUp").get(0).get("sql"));
+    }
+
+    @Test
+    void testTimingDataSourceSkipsUnsampledConnections() throws Exception {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        SqlTimingDataSource dataSource = new SqlTimingDataSource(targetDataSource);
+        dataSource.setRecorder(recorder);
+        ReflectionTestUtils.setField(recorder, "sampleRate", 0.0);
+
+        request(() -> {
+            try {
+                assertSame(connection, dataSource.getConnection()); // Sin proxies
+            } catch (Exception e) {
+                fail(e);
+            }
+        });
+        assertSame(connection, dataSource.getConnection()); // Fuera de una petición
+    }
+}
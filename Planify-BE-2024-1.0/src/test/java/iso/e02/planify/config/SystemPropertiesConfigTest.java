@@ -1,10 +1,17 @@
 package iso.e02.planify.config;
 
+import io.github.cdimascio.dotenv.Dotenv;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Pruebas para la clase de configuración de propiedades del sistema {@link SystemPropertiesConfig}.
@@ -85,4 +92,31 @@ public class SystemPropertiesConfigTest {
         assertEquals("test@example.com", System.getProperty("EMAIL_FROM"));
         assertEquals("emailpassword", System.getProperty("EMAIL_PASSWORD"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifica que fuera del perfil perf falle el arranque si falta alguna
+     * variable, indicando cuáles, y que en el perfil perf se ignoren.
+     */
+    @Test
+    void testMissingVariablesFailOutsidePerfProfile() {
+        Dotenv dotenv = mock(Dotenv.class);
+        when(dotenv.get(anyString())).thenReturn("value");
+        when(dotenv.get("JWT_SECRET")).thenReturn(null);
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> SystemPropertiesConfig.setSystemProperties(dotenv, false));
+        assertEquals("Faltan variables de configuración: JWT_SECRET", exception.getMessage());
+        assertDoesNotThrow(() -> SystemPropertiesConfig.setSystemProperties(dotenv, true));
+        assertEquals("value", System.getProperty("DB_HOST"));
+    }
+
+    /**
+     * Verifica que el perfil perf se detecte en los argumentos de la línea de comandos.
+     */
+    @Test
+    void testIsPerfProfile() {
+        assertTrue(SystemPropertiesConfig.isPerfProfile("--spring.profiles.active=dev, perf"));
+        assertFalse(SystemPropertiesConfig.isPerfProfile("--spring.profiles.active=performance"));
+        assertFalse(SystemPropertiesConfig.isPerfProfile("--server.port=8080"));
+    }
+}
@@ -1,10 +1,9 @@
 package iso.e02.planify.controllers;
 
 import iso.e02.planify.entities.Absence;
-import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.requests.CreateAbsenceRequest;
+import iso.e02.planify.security.AuthenticatedUser;
 import iso.e02.planify.services.AbsencesService;
-import iso.e02.planify.services.JWTService;
 import iso.e02.planify.services.ManageUsersService;
 import iso.e02.planify.services.ValidateAbsenceService;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,7 +31,7 @@ class AbsencesControllerTest {
     private ValidateAbsenceService validateAbsenceService;
 
     @Mock
-    private JWTService jwtService;
+    private AuthenticatedUser authenticatedUser;
 
     @Mock
     private ManageUsersService manageUsersService;
@@ -88,15 +87,12 @@ class AbsencesControllerTest {
 
     @Test
     void testListAll() {
-        String token = "Bearer some.jwt.token";
-        CommonUser user = new CommonUser();
-        user.setId(1L);
         List<Absence> absences = Arrays.asList(new Absence(), new Absence());
 
-        when(jwtService.getCommonUserFromJWT(token)).thenReturn(user);
-        when(absencesService.list(user.getId())).thenReturn(absences);
+        when(authenticatedUser.getUserId()).thenReturn(1L);
+        when(absencesService.list(1L)).thenReturn(absences);
 
-        ResponseEntity<List<Absence>> response = absencesController.listAll(token);
+        ResponseEntity<List<Absence>> response = absencesController.listAll();
         List<Absence> responseBody = response.getBody();
         assertNotNull(responseBody);
         assertEquals(2, responseBody.size());
@@ -4,8 +4,12 @@ import iso.e02.planify.entities.AppUser;
 import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.repositories.UsersRepository;
 import iso.e02.planify.requests.RegisterRequest;
+import iso.e02.planify.requests.UserDirectoryPage;
+import iso.e02.planify.requests.UserDirectoryRequest;
+import iso.e02.planify.security.AuthenticatedUser;
 import iso.e02.planify.services.ManageUsersService;
 import iso.e02.planify.services.MeetingService;
+import iso.e02.planify.services.UserDirectoryService;
 import iso.e02.planify.services.ValidateUserService;
 
 
@@ -39,6 +43,12 @@ class ManageUsersControllerTest {
     @Mock
     private MeetingService meetingService;
 
+    @Mock
+    private AuthenticatedUser authenticatedUser;
+
+    @Mock
+    private UserDirectoryService userDirectoryService;
+
     @InjectMocks
     private ManageUsersController manageUsersController;
 
@@ -62,18 +72,30 @@ class ManageUsersControllerTest {
         assertEquals(mockUsers, response.getBody());
     }
 
+    @Test
+    void testGetUserDirectory() {
+        UserDirectoryRequest request = new UserDirectoryRequest();
+        UserDirectoryPage page = new UserDirectoryPage(List.of(), null);
+        when(userDirectoryService.getDirectory(request)).thenReturn(page);
+
+        ResponseEntity<UserDirectoryPage> response = manageUsersController.getUserDirectory(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(page, response.getBody());
+    }
+
     @Test
 void testGetUserById() {
     Long userId = 1L;
-    String authHeader = "Bearer mock-token";
     CommonUser mockUser = new CommonUser();
     mockUser.setId(userId);
 
     // Cambiar doNothing por una simulación normal
-    doAnswer(invocation -> null).when(validateUserService).validateAccess(authHeader, userId);
+    when(authenticatedUser.getUser()).thenReturn(mockUser);
+    doAnswer(invocation -> null).when(validateUserService).validateAccess(mockUser, userId);
     when(userService.getUserById(userId)).thenReturn(Optional.of(mockUser));
 
-    ResponseEntity<CommonUser> response = manageUsersController.getUserById(authHeader, userId);
+    ResponseEntity<CommonUser> response = manageUsersController.getUserById(userId);
 
     assertNotNull(response);
     assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -84,13 +106,15 @@ void testGetUserById() {
     @Test
     void testGetUserById_NotFound() {
         Long userId = 1L;
-        String authHeader = "Bearer mock-token";
+        CommonUser requester = new CommonUser();
+        requester.setId(userId);
 
         // Cambiar doNothing por una simulación normal
-        doAnswer(invocation -> null).when(validateUserService).validateAccess(authHeader, userId);
+        when(authenticatedUser.getUser()).thenReturn(requester);
+        doAnswer(invocation -> null).when(validateUserService).validateAccess(requester, userId);
         when(userService.getUserById(userId)).thenReturn(Optional.empty());
 
-        ResponseEntity<CommonUser> response = manageUsersController.getUserById(authHeader, userId);
+        ResponseEntity<CommonUser> response = manageUsersController.getUserById(userId);
 
         assertNotNull(response);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -0,0 +1,78 @@
+package iso.e02.planify.controllers;
+
+import iso.e02.planify.entities.UserPhoto;
+import iso.e02.planify.services.PhotoService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+class PhotoControllerTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Mock
+    private PhotoService photoService;
+
+    @InjectMocks
+    private PhotoController photoController;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetPhoto() {
+        UserPhoto photo = new UserPhoto();
+        photo.setHash(HASH);
+        photo.setContentType(PhotoService.CONTENT_TYPE);
+        photo.setContent(new byte[] { 1, 2, 3 });
+        when(photoService.getPhoto(HASH)).thenReturn(Optional.of(photo));
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        ResponseEntity<byte[]> response = photoController.getPhoto(HASH, request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, response.getBody());
+        assertEquals("\"" + HASH + "\"", response.getHeaders().getETag());
+        assertEquals(MediaType.IMAGE_JPEG, response.getHeaders().getContentType());
+        assertTrue(response.getHeaders().getCacheControl().contains("immutable"));
+    }
+
+    @Test
+    void testGetPhotoNotModified() {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/users/photos/" + HASH);
+        servletRequest.addHeader("If-None-Match", "\"" + HASH + "\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        ResponseEntity<byte[]> response = photoController.getPhoto(HASH, new ServletWebRequest(servletRequest, servletResponse));
+
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
+        verify(photoService, never()).getPhoto(HASH);
+    }
+
+    @Test
+    void testGetPhotoNotFound() {
+        when(photoService.getPhoto(HASH)).thenReturn(Optional.empty());
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+        ResponseEntity<byte[]> response = photoController.getPhoto(HASH, request);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import static org.junit.Assert.assertEquals;
@@ -59,6 +60,25 @@ class UserControllerRegisterTest {
         verify(validateUserService).toCommonUser(registerRequest);
         verify(userService).register(commonUser);
     }
+
+    @Test
+    void testRegisterUserMultipart_Success() {
+        // Arrange
+        MockMultipartFile photo = new MockMultipartFile("photo", "photo.jpg", "image/jpeg", new byte[] { 1, 2, 3 });
+        byte[] processedPhoto = new byte[] { 4, 5 };
+        when(validateUserService.validateUserInfo(registerRequest)).thenReturn(true);
+        when(validateUserService.toCommonUser(registerRequest)).thenReturn(commonUser);
+        when(validateUserService.processPhoto(photo)).thenReturn(processedPhoto);
+
+        // Act
+        userController.registerUserMultipart(registerRequest, photo);
+
+        // Assert
+        verify(validateUserService).validateUserInfo(registerRequest);
+        verify(validateUserService).processPhoto(photo);
+        verify(userService).register(commonUser);
+        assertEquals(processedPhoto, commonUser.getPhoto());
+    }
     
 
     @Test
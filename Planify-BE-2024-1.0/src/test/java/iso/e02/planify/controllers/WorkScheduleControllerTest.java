@@ -2,6 +2,7 @@ package iso.e02.planify.controllers;
 
 import iso.e02.planify.entities.Schedule;
 import iso.e02.planify.requests.WorkScheduleRequest;
+import iso.e02.planify.services.CompiledWorkSchedule;
 import iso.e02.planify.services.WorkScheduleService;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -9,10 +10,16 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
@@ -54,15 +61,39 @@ class WorkScheduleControllerTest {
         // Arrange
         List<Schedule> expectedSchedules = Arrays.asList(
             new Schedule(1L, "Block 1", LocalTime.of(9,0), LocalTime.of(14,0)),
-            new Schedule(2L, "Block 2", LocalTime.of(9,0), LocalTime.of(14,0))
+            new Schedule(2L, "Block 2", LocalTime.of(15,0), LocalTime.of(18,0))
         );
-        when(workScheduleService.getWorkSchedule()).thenReturn(expectedSchedules);
+        byte[] json = "[]".getBytes(StandardCharsets.UTF_8);
+        when(workScheduleService.getCompiledWorkSchedule()).thenReturn(CompiledWorkSchedule.of(expectedSchedules, json));
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
 
         // Act
-        List<Schedule> actualSchedules = workScheduleController.getWorkSchedule();
+        ResponseEntity<byte[]> response = workScheduleController.getWorkSchedule(request);
 
         // Assert
-        verify(workScheduleService, times(1)).getWorkSchedule();
-        assertEquals(expectedSchedules, actualSchedules);
+        verify(workScheduleService, times(1)).getCompiledWorkSchedule();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(json, response.getBody());
+        assertNotNull(response.getHeaders().getETag());
+    }
+
+    @Test
+    void testGetWorkScheduleNotModified() {
+        // Arrange
+        CompiledWorkSchedule workSchedule = CompiledWorkSchedule.of(
+            List.of(new Schedule(1L, "Block 1", LocalTime.of(9,0), LocalTime.of(14,0))),
+            "[]".getBytes(StandardCharsets.UTF_8));
+        when(workScheduleService.getCompiledWorkSchedule()).thenReturn(workSchedule);
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/workSchedule/getWorkSchedule");
+        servletRequest.addHeader("If-None-Match", workSchedule.getETag());
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // Act
+        ResponseEntity<byte[]> response = workScheduleController.getWorkSchedule(
+            new ServletWebRequest(servletRequest, servletResponse));
+
+        // Assert
+        assertNull(response);
+        assertEquals(304, servletResponse.getStatus());
     }
 }
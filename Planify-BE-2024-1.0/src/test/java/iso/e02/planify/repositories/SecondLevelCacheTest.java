@@ -0,0 +1,61 @@
+package iso.e02.planify.repositories;
+
+import iso.e02.planify.config.SecondLevelCacheConfig;
+import iso.e02.planify.entities.AppUser;
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.entities.Credentials;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arranca JPA con la configuración real de la caché de segundo nivel
+ * (application.properties, application.conf y SecondLevelCacheConfig) sobre
+ * una H2 embebida. Sin transacción de prueba: las regiones READ_WRITE solo se
+ * llenan al confirmar cada transacción.
+ */
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UsersRepository usersRepository;
+
+    @Test
+    void testUsersAreCachedButNotCredentials() {
+        Credentials credentials = new Credentials();
+        credentials.setPassword("hash");
+        CommonUser user = new CommonUser();
+        user.setName("Ana");
+        user.setSurnames("García");
+        user.setEmail("ana@planify.es");
+        user.setCentre("ESI");
+        user.setRegistrationDate(LocalDate.of(2024, 9, 2));
+        user.setActivated(true);
+        user.setCredentials(credentials);
+        Long id = this.usersRepository.save(user).getId();
+        this.entityManagerFactory.getCache().evictAll();
+
+        AppUser found = this.usersRepository.findByEmail("ana@planify.es").orElseThrow();
+
+        assertEquals(id, found.getId());
+        assertTrue(this.entityManagerFactory.getCache().contains(AppUser.class, id));
+        assertFalse(this.entityManagerFactory.getCache().contains(Credentials.class,
+                found.getCredentials().getId()));
+        this.usersRepository.deleteAll();
+    }
+}
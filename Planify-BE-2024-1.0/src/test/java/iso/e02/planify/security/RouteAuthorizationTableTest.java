@@ -0,0 +1,26 @@
+package iso.e02.planify.security;
+
+import iso.e02.planify.security.RouteAuthorizationTable.Access;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteAuthorizationTableTest {
+
+    private final RouteAuthorizationTable routeAuthorizationTable = new RouteAuthorizationTable();
+
+    @Test
+    void testSharedRoutesTakePrecedence() {
+        assertEquals(Access.ANY, routeAuthorizationTable.getAccess(null, "/api/users/5/inspect"));
+        assertEquals(Access.ANY, routeAuthorizationTable.getAccess(null, "/api/users/validateJWT"));
+    }
+
+    @Test
+    void testRoleRoutes() {
+        assertEquals(Access.ADMINISTRATOR, routeAuthorizationTable.getAccess(null, "/api/users/showUsers"));
+        assertEquals(Access.ADMINISTRATOR, routeAuthorizationTable.getAccess(null, "/absences/3/list"));
+        assertEquals(Access.COMMON_USER, routeAuthorizationTable.getAccess(null, "/meetings/listAll"));
+        assertEquals(Access.COMMON_USER, routeAuthorizationTable.getAccess(null, "/absences/list"));
+        assertEquals(Access.ANY, routeAuthorizationTable.getAccess(null, "/workSchedule/getWorkSchedule"));
+    }
+}
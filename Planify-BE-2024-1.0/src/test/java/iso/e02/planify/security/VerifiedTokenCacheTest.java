@@ -0,0 +1,124 @@
+package iso.e02.planify.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.repositories.UsersRepository;
+import iso.e02.planify.services.JWTService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+
+    @InjectMocks
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private UsersRepository usersRepository;
+
+    @BeforeAll
+    static void setUpSecret() {
+        if (System.getProperty("JWT_SECRET") == null) {
+            System.setProperty("JWT_SECRET", "test-secret");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(usersRepository.existsById(anyLong())).thenReturn(true);
+        when(usersRepository.findByEmail(anyString())).thenReturn(Optional.of(new CommonUser()));
+    }
+
+    private String token(String subject, long expiresInMillis) {
+        return JWT.create()
+                .withSubject(subject)
+                .withExpiresAt(new Date(System.currentTimeMillis() + expiresInMillis))
+                .sign(Algorithm.HMAC256(System.getProperty("JWT_SECRET")));
+    }
+
+    @Test
+    void testVerifyReturnsSubject() {
+        String jwt = token("user@planify.com", 60_000);
+
+        assertEquals("user@planify.com", verifiedTokenCache.verify(jwt));
+        assertEquals("user@planify.com", verifiedTokenCache.verify(jwt)); // Segunda vez desde la caché
+    }
+
+    private String tokenWithUserId(String subject, long userId) {
+        return JWT.create()
+                .withSubject(subject)
+                .withClaim(JWTService.ROLE_CLAIM, JWTService.ROLE_ADMINISTRATOR)
+                .withClaim(JWTService.USER_ID_CLAIM, userId)
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60_000))
+                .sign(Algorithm.HMAC256(System.getProperty("JWT_SECRET")));
+    }
+
+    @Test
+    void testVerifyTokenReadsRoleAndUserId() {
+        String jwt = tokenWithUserId("admin@planify.com", 7L);
+
+        VerifiedTokenCache.VerifiedToken token = verifiedTokenCache.verifyToken(jwt);
+
+        assertEquals(JWTService.ROLE_ADMINISTRATOR, token.getRole());
+        assertEquals(Long.valueOf(7L), token.getUserId());
+        assertNull(verifiedTokenCache.verifyToken(token("user@planify.com", 60_000)).getRole()); // Token antiguo
+    }
+
+    @Test
+    void testVerifyRejectsTamperedToken() {
+        String jwt = token("user@planify.com", 60_000) + "x";
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> verifiedTokenCache.verify(jwt));
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+    }
+
+    @Test
+    void testVerifyRejectsExpiredToken() {
+        String jwt = token("user@planify.com", -60_000);
+
+        assertThrows(ResponseStatusException.class, () -> verifiedTokenCache.verify(jwt));
+    }
+
+    @Test
+    void testVerifyRejectsTokenOfDeletedUser() {
+        when(usersRepository.existsById(7L)).thenReturn(false);
+        when(usersRepository.findByEmail("user@planify.com")).thenReturn(Optional.empty());
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> verifiedTokenCache.verify(tokenWithUserId("admin@planify.com", 7L)));
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        assertThrows(ResponseStatusException.class,
+                () -> verifiedTokenCache.verify(token("user@planify.com", 60_000))); // Token antiguo, por email
+    }
+
+    @Test
+    void testEvictUserRejectsCachedTokenOfDeletedUser() {
+        String jwt = tokenWithUserId("admin@planify.com", 7L);
+        String otherJwt = tokenWithUserId("other@planify.com", 8L);
+        verifiedTokenCache.verify(jwt);
+        verifiedTokenCache.verify(otherJwt);
+
+        when(usersRepository.existsById(7L)).thenReturn(false); // Se elimina el usuario 7
+        assertEquals("admin@planify.com", verifiedTokenCache.verify(jwt)); // Sigue en caché hasta descartarlo
+        verifiedTokenCache.evictUser(7L);
+
+        assertThrows(ResponseStatusException.class, () -> verifiedTokenCache.verify(jwt));
+        assertEquals("other@planify.com", verifiedTokenCache.verify(otherJwt));
+        verify(usersRepository, times(1)).existsById(8L); // El otro usuario sigue en caché
+    }
+}
@@ -5,12 +5,15 @@ import iso.e02.planify.entities.CommonUser;
 import iso.e02.planify.entities.Absence.Type;
 import iso.e02.planify.repositories.AbsenceRepository;
 import iso.e02.planify.repositories.CommonUserRepository;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.CreateAbsenceRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -31,6 +34,12 @@ class AbsencesServiceTest {
     @Mock
     private WorkScheduleService workScheduleService;
 
+    @Mock
+    private BusyIntervalIndex busyIntervalIndex;
+
+    @Mock
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
     private CommonUser user;
     private Absence absence;
 
@@ -51,6 +60,24 @@ class AbsencesServiceTest {
     
     
 
+    @Test
+    void testCheckMeetingOverlapAllDayCoversWholeDays() {
+        CreateAbsenceRequest request = new CreateAbsenceRequest("VACACIONES", true, "2024-11-25", null, "2024-11-26", null, 1L, false);
+        when(meetingAttendanceRepository.findOverlappingOpenMeetingIds(1L, LocalDateTime.of(2024, 11, 25, 0, 0),
+                LocalDateTime.of(2024, 11, 27, 0, 0))).thenReturn(List.of(7L));
+
+        assertTrue(absencesService.checkMeetingOverlap(request));
+    }
+
+    @Test
+    void testCheckMeetingOverlapWithoutConflicts() {
+        CreateAbsenceRequest request = new CreateAbsenceRequest("PERMISO", false, "2024-11-25", "09:00", "2024-11-25", "11:00", 1L, false);
+        when(meetingAttendanceRepository.findOverlappingOpenMeetingIds(1L, LocalDateTime.of(2024, 11, 25, 9, 0),
+                LocalDateTime.of(2024, 11, 25, 11, 0))).thenReturn(List.of());
+
+        assertFalse(absencesService.checkMeetingOverlap(request));
+    }
+
     @Test
     void testListAbsences() {
         // Arrange
@@ -75,6 +102,7 @@ class AbsencesServiceTest {
 
         // Assert
         verify(absenceRepository).deleteById(1L);
+        verify(busyIntervalIndex).absenceRemoved(1L);
     }
 
   
@@ -0,0 +1,93 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.Absence;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.entities.MeetingAttendance.Role;
+import iso.e02.planify.repositories.AbsenceRepository;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.AgendaEntryDTO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AgendaServiceTest {
+
+    @Mock
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
+    @InjectMocks
+    private AgendaService agendaService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private AgendaEntryDTO meeting(long id, LocalDateTime from) {
+        return new AgendaEntryDTO(id, "Reunión " + id, from, from.plusHours(1), false, Role.ASISTENTE,
+                Meeting.Status.ABIERTA, InvitationStatus.ACEPTADA);
+    }
+
+    private AgendaEntryDTO absence(long id, LocalDateTime from) {
+        return new AgendaEntryDTO(id, Absence.Type.PERMISO, from, from.plusHours(2), false);
+    }
+
+    @Test
+    void testAgendaMergesByStartTime() {
+        LocalDateTime monday = LocalDateTime.of(2024, 11, 4, 0, 0);
+        when(meetingAttendanceRepository.findAgendaMeetings(1L, monday, monday.plusDays(7), monday.minusDays(1)))
+                .thenReturn(List.of(meeting(10, monday.plusHours(9)), meeting(11, monday.plusDays(2).plusHours(9))));
+        when(absenceRepository.findAgendaAbsences(1L, monday, monday.plusDays(7), monday.minusDays(1)))
+                .thenReturn(List.of(absence(20, monday.plusHours(8)), absence(21, monday.plusDays(1))));
+
+        List<AgendaEntryDTO> agenda = agendaService.getAgenda(1L, "2024-11-04", "2024-11-10");
+
+        assertEquals(List.of(20L, 10L, 21L, 11L), agenda.stream().map(AgendaEntryDTO::getId).toList());
+        assertEquals(AgendaEntryDTO.Kind.ABSENCE, agenda.get(0).getKind());
+        assertEquals(AgendaEntryDTO.Kind.MEETING, agenda.get(1).getKind());
+    }
+
+    @Test
+    void testMeetingsGoFirstOnSameStart() {
+        LocalDateTime start = LocalDateTime.of(2024, 11, 4, 9, 0);
+
+        List<AgendaEntryDTO> agenda = AgendaService.merge(List.of(meeting(1, start)), List.of(absence(2, start)));
+
+        assertEquals(AgendaEntryDTO.Kind.MEETING, agenda.get(0).getKind());
+        assertEquals(AgendaEntryDTO.Kind.ABSENCE, agenda.get(1).getKind());
+    }
+
+    @Test
+    void testInvalidRangesAreRejected() {
+        ResponseStatusException reversed = assertThrows(ResponseStatusException.class,
+                () -> agendaService.getAgenda(1L, "2024-11-10", "2024-11-04"));
+        ResponseStatusException tooLong = assertThrows(ResponseStatusException.class,
+                () -> agendaService.getAgenda(1L, "2024-01-01", "2024-12-31"));
+        ResponseStatusException badFormat = assertThrows(ResponseStatusException.class,
+                () -> agendaService.getAgenda(1L, "04/11/2024", "2024-11-10"));
+        ResponseStatusException missingDay = assertThrows(ResponseStatusException.class,
+                () -> agendaService.getAgenda(1L, "2024-11-04", "2024-11-31"));
+
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, reversed.getStatusCode());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, tooLong.getStatusCode());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, badFormat.getStatusCode());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, missingDay.getStatusCode());
+        verify(meetingAttendanceRepository, never()).findAgendaMeetings(anyLong(), any(), any(), any());
+    }
+}
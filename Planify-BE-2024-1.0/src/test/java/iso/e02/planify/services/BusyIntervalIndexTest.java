@@ -0,0 +1,125 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.repositories.AbsenceRepository;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.BusyIntervalDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BusyIntervalIndexTest {
+
+    @InjectMocks
+    private BusyIntervalIndex busyIntervalIndex;
+
+    @Mock
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
+    private final LocalDateTime day = LocalDateTime.of(2050, 11, 14, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(meetingAttendanceRepository.findBusyIntervalsByUserId(1L)).thenReturn(List.of(
+                new BusyIntervalDTO(10L, day.withHour(9), day.withHour(10), false),
+                new BusyIntervalDTO(11L, day.withHour(12), day.withHour(13), false)));
+        when(absenceRepository.findBusyIntervalsByUserId(1L)).thenReturn(List.of(
+                new BusyIntervalDTO(20L, day.plusDays(1), day.plusDays(1), true)));
+    }
+
+    @Test
+    void testOverlapsMeeting() {
+        assertTrue(busyIntervalIndex.overlapsMeeting(1L, day.withHour(9).withMinute(30), day.withHour(11), null));
+        assertFalse(busyIntervalIndex.overlapsMeeting(1L, day.withHour(10), day.withHour(12), null)); // Intervalos contiguos
+        assertFalse(busyIntervalIndex.overlapsMeeting(1L, day.withHour(9), day.withHour(10), 10L)); // Reunión en edición
+    }
+
+    @Test
+    void testAllDayAbsenceCoversWholeDay() {
+        assertTrue(busyIntervalIndex.overlapsAbsence(1L, day.plusDays(1).withHour(16), day.plusDays(1).withHour(17)));
+        assertFalse(busyIntervalIndex.overlapsAbsence(1L, day.plusDays(2).withHour(16), day.plusDays(2).withHour(17)));
+    }
+
+    @Test
+    void testLoadsTimelineOnce() {
+        busyIntervalIndex.overlapsMeeting(1L, day.withHour(16), day.withHour(17), null);
+        busyIntervalIndex.overlapsAbsence(1L, day.withHour(16), day.withHour(17));
+
+        verify(meetingAttendanceRepository, times(1)).findBusyIntervalsByUserId(1L);
+        verify(absenceRepository, times(1)).findBusyIntervalsByUserId(1L);
+    }
+
+    @Test
+    void testScheduledAndCancelledMeetingsUpdateLoadedTimeline() {
+        assertFalse(busyIntervalIndex.overlapsMeeting(1L, day.withHour(16), day.withHour(17), null));
+
+        Meeting meeting = new Meeting();
+        meeting.setId(30L);
+        meeting.setStatus(Meeting.Status.ABIERTA);
+        meeting.setFromDateTime(day.withHour(16));
+        meeting.setToDateTime(day.withHour(18));
+        busyIntervalIndex.meetingScheduled(meeting, Collections.singletonList(1L));
+        assertTrue(busyIntervalIndex.overlapsMeeting(1L, day.withHour(16), day.withHour(17), null));
+
+        busyIntervalIndex.meetingCancelled(30L);
+        assertFalse(busyIntervalIndex.overlapsMeeting(1L, day.withHour(16), day.withHour(17), null));
+    }
+
+    @Test
+    void testLongMeetingIsFoundAndForgotten() {
+        Meeting meeting = new Meeting();
+        meeting.setId(31L);
+        meeting.setStatus(Meeting.Status.ABIERTA);
+        meeting.setFromDateTime(day.minusDays(60));
+        meeting.setToDateTime(day.minusDays(30));
+        busyIntervalIndex.overlapsMeeting(1L, day, day.plusHours(1), null); // Cargar la agenda
+        busyIntervalIndex.meetingScheduled(meeting, Collections.singletonList(1L));
+
+        assertTrue(busyIntervalIndex.overlapsMeeting(1L, day.minusDays(31), day.minusDays(31).plusHours(1), null));
+        assertFalse(busyIntervalIndex.overlapsMeeting(1L, day.minusDays(30), day.minusDays(29), null));
+        assertTrue(busyIntervalIndex.overlapsMeeting(1L, day.withHour(12).withMinute(30), day.withHour(14), null));
+
+        busyIntervalIndex.meetingCancelled(31L);
+        assertFalse(busyIntervalIndex.overlapsMeeting(1L, day.minusDays(31), day.minusDays(31).plusHours(1), null));
+        assertTrue(busyIntervalIndex.overlapsMeeting(1L, day.withHour(9), day.withHour(9).plusMinutes(1), null));
+    }
+
+    @Test
+    void testExpiredTimelineIsReloaded() {
+        ReflectionTestUtils.setField(busyIntervalIndex, "ttlSeconds", 0L);
+
+        busyIntervalIndex.overlapsMeeting(1L, day.withHour(16), day.withHour(17), null);
+        busyIntervalIndex.overlapsMeeting(1L, day.withHour(16), day.withHour(17), null);
+
+        verify(meetingAttendanceRepository, times(2)).findBusyIntervalsByUserId(1L);
+    }
+
+    @Test
+    void testKeepsAtMostMaxUsersTimelines() {
+        ReflectionTestUtils.setField(busyIntervalIndex, "maxUsers", 2);
+
+        for (long userId = 1; userId <= 3; userId++) {
+            busyIntervalIndex.overlapsMeeting(userId, day.withHour(16), day.withHour(17), null);
+        }
+        busyIntervalIndex.overlapsMeeting(3L, day.withHour(16), day.withHour(17), null);
+        busyIntervalIndex.overlapsMeeting(1L, day.withHour(16), day.withHour(17), null);
+
+        verify(meetingAttendanceRepository, times(1)).findBusyIntervalsByUserId(3L); // La más reciente se conserva
+        verify(meetingAttendanceRepository, times(2)).findBusyIntervalsByUserId(1L); // La más antigua se descartó
+        assertTrue(busyIntervalIndex.overlapsMeeting(1L, day.withHour(9), day.withHour(11), null));
+    }
+}
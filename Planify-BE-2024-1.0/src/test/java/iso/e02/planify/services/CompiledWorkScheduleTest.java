@@ -0,0 +1,52 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.Schedule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledWorkScheduleTest {
+
+    // Bloques desordenados a propósito: la instantánea no debe depender del orden de findAll
+    private final CompiledWorkSchedule workSchedule = CompiledWorkSchedule.of(List.of(
+            new Schedule(2L, "Tarde", LocalTime.of(15, 0), LocalTime.of(18, 0)),
+            new Schedule(1L, "Mañana", LocalTime.of(8, 0), LocalTime.of(14, 0))));
+
+    @Test
+    void testBlocksAreSortedByStartHour() {
+        assertEquals(1L, workSchedule.getBlocks().get(0).getId());
+        assertEquals(LocalTime.of(8, 0), workSchedule.getEarliestStart());
+        assertEquals(LocalTime.of(18, 0), workSchedule.getLatestEnd());
+    }
+
+    @Test
+    void testContainsRange() {
+        assertTrue(workSchedule.containsRange(LocalTime.of(8, 0), LocalTime.of(14, 0)));
+        assertTrue(workSchedule.containsRange(LocalTime.of(16, 0), LocalTime.of(17, 0)));
+        assertFalse(workSchedule.containsRange(LocalTime.of(13, 0), LocalTime.of(16, 0))); // Cruza el hueco entre bloques
+        assertFalse(workSchedule.containsRange(LocalTime.of(7, 0), LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void testIntersectsRange() {
+        assertTrue(workSchedule.intersectsRange(LocalTime.of(13, 0), LocalTime.of(16, 0)));
+        assertTrue(workSchedule.intersectsRange(LocalTime.of(14, 0), LocalTime.of(15, 0))); // Los extremos cuentan
+        assertFalse(workSchedule.intersectsRange(LocalTime.of(14, 30), LocalTime.of(14, 45)));
+    }
+
+    @Test
+    void testETagDependsOnJson() {
+        List<Schedule> blocks = workSchedule.getBlocks();
+        CompiledWorkSchedule first = CompiledWorkSchedule.of(blocks, "[1]".getBytes(StandardCharsets.UTF_8));
+        CompiledWorkSchedule same = CompiledWorkSchedule.of(blocks, "[1]".getBytes(StandardCharsets.UTF_8));
+        CompiledWorkSchedule other = CompiledWorkSchedule.of(blocks, "[2]".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(first.getETag(), same.getETag());
+        assertNotEquals(first.getETag(), other.getETag());
+        assertTrue(CompiledWorkSchedule.of(List.of()).isEmpty());
+    }
+}
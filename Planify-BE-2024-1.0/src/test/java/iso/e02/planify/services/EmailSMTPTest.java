@@ -1,24 +1,56 @@
 package iso.e02.planify.services;
 
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.junit.jupiter.MockitoExtension;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.mail.internet.MimeMessage;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@ExtendWith(MockitoExtension.class)
 class EmailSMTPTest {
 
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP); // Servidor SMTP local
+
     private EmailSMTP emailSMTP;
+    private EmailOutbox emailOutbox;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setUp() {
-        emailSMTP = new EmailSMTP();
         System.setProperty("EMAIL_FROM", "test@example.com");
         System.setProperty("EMAIL_PASSWORD", "securepassword");
+
+        meterRegistry = new SimpleMeterRegistry();
+        emailOutbox = new EmailOutbox();
+        ReflectionTestUtils.setField(emailOutbox, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(emailOutbox, "host", "localhost");
+        ReflectionTestUtils.setField(emailOutbox, "port", ServerSetupTest.SMTP.getPort());
+        ReflectionTestUtils.setField(emailOutbox, "auth", false);
+        ReflectionTestUtils.setField(emailOutbox, "startTls", false);
+        ReflectionTestUtils.setField(emailOutbox, "capacity", 10);
+        ReflectionTestUtils.setField(emailOutbox, "workers", 1);
+        ReflectionTestUtils.setField(emailOutbox, "maxAttempts", 2);
+        ReflectionTestUtils.setField(emailOutbox, "initialBackoffMillis", 10L);
+        ReflectionTestUtils.setField(emailOutbox, "idleCloseMillis", 200L);
+        emailOutbox.start();
+
+        emailSMTP = new EmailSMTP();
+        ReflectionTestUtils.setField(emailSMTP, "emailOutbox", emailOutbox);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailOutbox.stop();
     }
 
     @Test
@@ -26,46 +58,72 @@ class EmailSMTPTest {
         String userEmail = "recipient@example.com";
         String token = "123456";
 
-        // Simulate the reading of email content
-        String emailContent = "<html><body><p>Hello ${userEmail},</p><p>Reset your password <a href=\"${resetLink}\">here</a></p></body></html>";
-        String expectedContent = emailContent
-                .replace("${userEmail}", userEmail)
-                .replace("${resetLink}", "http://localhost:4200/change-password?token=" + token);
-        
-        // Use a temporary file to simulate emailContent.html
-        Files.write(Paths.get("src/test/resources/emailContent.html"), emailContent.getBytes());
-
-        // Execute the method
         emailSMTP.sendEmail(userEmail, token);
-        
-        // Assertions (actual email sending cannot be verified, but can check if it runs without exceptions)
-        assertDoesNotThrow(() -> {
-            // Since we can't check actual email sending, just ensure no exceptions occur
-        });
-
-        // Verify if the email content was properly created
-        assertEquals(expectedContent, emailContent
-                .replace("${userEmail}", userEmail)
-                .replace("${resetLink}", "http://localhost:4200/change-password?token=" + token));
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        MimeMessage[] messages = greenMail.getReceivedMessages();
+        assertEquals(1, messages.length);
+        assertEquals("Cambio de contraseña", messages[0].getSubject());
+        assertEquals(userEmail, messages[0].getAllRecipients()[0].toString());
+        String body = GreenMailUtil.getBody(messages[0]);
+        assertFalse(body.contains("${userEmail}"));
+        assertFalse(body.contains("${resetLink}"));
+        awaitMetric(1.0, () -> meterRegistry.counter("planify.email.outbox.sent").count());
+    }
+
+    @Test
+    void testSendEmail_SeveralMessages() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            emailSMTP.sendEmail("recipient" + i + "@example.com", "token" + i);
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(5000, 3));
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        awaitMetric(3.0, () -> meterRegistry.timer("planify.email.send").count());
     }
 
+    @Test
+    void testWorkerSurvivesUnexpectedErrors() throws Exception {
+        emailOutbox.enqueue(null, "Sin destinatario", "<p>x</p>"); // toMessage falla con NullPointerException
+        emailSMTP.sendEmail("recipient@example.com", "123456");
 
+        assertTrue(greenMail.waitForIncomingEmail(5000, 1));
+        assertEquals("recipient@example.com", greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString());
+        awaitMetric(1.0, () -> meterRegistry.counter("planify.email.outbox.failed").count());
+    }
 
-    
     @Test
-    void testSendEmailFileNotFound() {
+    void testSendEmailWithoutSender() {
         String userEmail = "recipient@example.com";
         String token = "123456";
 
-        // Make sure the emailContent.html file is missing or moved
         System.clearProperty("EMAIL_FROM");
         System.clearProperty("EMAIL_PASSWORD");
 
-        assertThrows(NullPointerException.class, () -> {
+        assertThrows(IllegalStateException.class, () -> {
             emailSMTP.sendEmail(userEmail, token);
-        }, "Expected NullPointerException when email content file is missing");
-       
+        }, "Expected IllegalStateException when the sender is not configured");
+        assertEquals(0, emailOutbox.getQueueSize());
     }
 
-    
-}
\ No newline at end of file
+    /**
+     * Las métricas se registran después de que GreenMail reciba el mensaje, en
+     * el hilo del trabajador: hay que esperarlas.
+     */
+    private static void awaitMetric(double expected, DoubleSupplier metric) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (metric.getAsDouble() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, metric.getAsDouble());
+    }
+
+    @Test
+    void testTemplateRendersPlaceholders() {
+        EmailTemplate template = EmailTemplate.compile("Hola ${userEmail}, pulsa ${resetLink} ${unknown}");
+
+        String result = template.render(Map.of("userEmail", "a@b.com", "resetLink", "http://x"));
+
+        assertEquals("Hola a@b.com, pulsa http://x ${unknown}", result);
+    }
+}
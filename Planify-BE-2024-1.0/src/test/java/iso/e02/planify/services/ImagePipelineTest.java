@@ -0,0 +1,123 @@
+package iso.e02.planify.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImagePipelineTest {
+
+    private ImagePipeline imagePipeline;
+
+    @BeforeEach
+    void setUp() {
+        imagePipeline = new ImagePipeline();
+        imagePipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        imagePipeline.stop();
+    }
+
+    private static byte[] jpeg(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.BLUE);
+        g2d.fillRect(0, 0, width, height);
+        g2d.setColor(Color.RED);
+        g2d.fillOval(width / 4, height / 4, width / 2, height / 2);
+        g2d.dispose();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", output);
+        return output.toByteArray();
+    }
+
+    private static BufferedImage read(byte[] bytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    void testProcessCropsToSquareThumbnail() throws IOException {
+        BufferedImage thumbnail = read(imagePipeline.process(jpeg(1200, 800)));
+
+        assertEquals(150, thumbnail.getWidth());
+        assertEquals(150, thumbnail.getHeight());
+    }
+
+    @Test
+    void testThumbnailsProducesAllSizes() throws IOException {
+        byte[][] thumbnails = imagePipeline.thumbnails(
+                ImageIO.createImageInputStream(new ByteArrayInputStream(jpeg(2000, 3000))), 48, 300, 150);
+
+        assertEquals(48, read(thumbnails[0]).getWidth());
+        assertEquals(300, read(thumbnails[1]).getWidth());
+        assertEquals(150, read(thumbnails[2]).getHeight());
+    }
+
+    @Test
+    void testProcessRejectsTooManyPixels() throws IOException {
+        ReflectionTestUtils.setField(imagePipeline, "maxPixels", 1000L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> imagePipeline.process(jpeg(100, 100)));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatusCode());
+    }
+
+    @Test
+    void testProcessRejectsTooManyBytes() {
+        ReflectionTestUtils.setField(imagePipeline, "maxBytes", 10L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> imagePipeline.process(new byte[11]));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatusCode());
+    }
+
+    @Test
+    void testProcessRejectsInvalidImage() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> imagePipeline.process(new byte[] { 1, 2, 3 }));
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, exception.getStatusCode());
+    }
+
+    @Test
+    void testProcessStreamCropsToSquareThumbnail() throws IOException {
+        byte[] photo = jpeg(800, 1200);
+
+        BufferedImage thumbnail = read(imagePipeline.process(new ByteArrayInputStream(photo), photo.length));
+
+        assertEquals(150, thumbnail.getWidth());
+        assertEquals(150, thumbnail.getHeight());
+    }
+
+    @Test
+    void testProcessStreamRejectsDeclaredSize() {
+        ReflectionTestUtils.setField(imagePipeline, "maxBytes", 10L);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> imagePipeline.process(new ByteArrayInputStream(new byte[0]), 11));
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatusCode());
+    }
+
+    @Test
+    void testProcessStreamStopsReadingOverLimit() throws IOException {
+        byte[] photo = jpeg(800, 600);
+        ReflectionTestUtils.setField(imagePipeline, "maxBytes", (long) photo.length / 2);
+
+        // El cliente no anuncia el tamaño: el límite se aplica al leer
+        assertThrows(ResponseStatusException.class,
+                () -> imagePipeline.process(new ByteArrayInputStream(photo), -1));
+    }
+}
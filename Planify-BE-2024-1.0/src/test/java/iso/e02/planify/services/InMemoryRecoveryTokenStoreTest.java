@@ -0,0 +1,66 @@
+package iso.e02.planify.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRecoveryTokenStoreTest {
+
+    private InMemoryRecoveryTokenStore tokenStore;
+
+    @BeforeEach
+    void setUp() {
+        tokenStore = new InMemoryRecoveryTokenStore();
+        ReflectionTestUtils.setField(tokenStore, "maxTokens", 2);
+    }
+
+    @Test
+    void testExpiredTokenIsNotReturned() {
+        TokenPasswordChange token = new TokenPasswordChange("t1", "user@planify.com");
+        token.setHoraFin(System.currentTimeMillis() - 1);
+        tokenStore.put("t1", token);
+
+        assertNull(tokenStore.get("t1"));
+        assertEquals(0, tokenStore.size());
+    }
+
+    @Test
+    void testNewTokenReplacesPreviousOfSameEmail() {
+        tokenStore.put("t1", new TokenPasswordChange("t1", "user@planify.com"));
+        tokenStore.put("t2", new TokenPasswordChange("t2", "user@planify.com"));
+
+        assertFalse(tokenStore.containsKey("t1"));
+        assertTrue(tokenStore.containsKey("t2"));
+        assertEquals(1, tokenStore.size());
+    }
+
+    @Test
+    void testSweepRemovesExpiredTokens() {
+        TokenPasswordChange expired = new TokenPasswordChange("t1", "a@planify.com");
+        expired.setHoraFin(System.currentTimeMillis() - 1);
+        tokenStore.put("t1", expired);
+        tokenStore.put("t2", new TokenPasswordChange("t2", "b@planify.com"));
+
+        tokenStore.sweep();
+
+        assertEquals(1, tokenStore.size());
+        assertTrue(tokenStore.containsKey("t2"));
+    }
+
+    @Test
+    void testFullStoreRejectsNewEmails() {
+        tokenStore.put("t1", new TokenPasswordChange("t1", "a@planify.com"));
+        tokenStore.put("t2", new TokenPasswordChange("t2", "b@planify.com"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> tokenStore.put("t3", new TokenPasswordChange("t3", "c@planify.com")));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+
+        tokenStore.put("t4", new TokenPasswordChange("t4", "a@planify.com")); // Sustituye al de a@planify.com
+        assertEquals(2, tokenStore.size());
+    }
+}
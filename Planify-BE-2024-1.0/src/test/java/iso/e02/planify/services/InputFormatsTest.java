@@ -0,0 +1,64 @@
+package iso.e02.planify.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputFormatsTest {
+
+    // Expresiones regulares que se usaban antes, como referencia
+    private static final Pattern EMAIL = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
+    private static final Pattern[] PASSWORD = {
+            Pattern.compile("[A-ZÁÉÍÓÚÑÄËÏÖÜÀÈÌÒÙÇ]"),
+            Pattern.compile("[a-záéíóúñäëïöüàèìòùç]"),
+            Pattern.compile("\\d"),
+            Pattern.compile("[!@#$%^&*(),.?\":¿'¡+{}|<>_\\-/\\\\=\\[\\]`;ºª~€¬¨]") };
+
+    @ParameterizedTest
+    @ValueSource(strings = { "john.doe@example.com", "a@b.co", "x_y%z+w-1@sub-domain.planify.es", "a@x..de",
+            "invalid-email", "@example.com", "john@", "john@example", "john@example.c", "john@.com",
+            "john@@example.com", "jo hn@example.com", "john@example.c0m", "john@exam_ple.com", "ñandú@example.com", "" })
+    void testEmailMatchesRegex(String email) {
+        assertEquals(EMAIL.matcher(email).matches(), InputFormats.isValidEmail(email), email);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "Secure@123", "C0ntras3ña_S3gura", "ÁRBOL1ñ€xx", "short", "alllowercase1!",
+            "ALLUPPERCASE1!", "NoDigits!!", "NoSpecial123", "Sin espacio 1", "12345678Aa[", "Aa1ºxxxx" })
+    void testPasswordPolicyMatchesRegex(String password) {
+        boolean expected = password.length() >= 8;
+        for (Pattern pattern : PASSWORD) {
+            expected &= pattern.matcher(password).find();
+        }
+        assertEquals(expected, InputFormats.isPasswordSecure(password), password);
+    }
+
+    @Test
+    void testParseDateAndTime() {
+        assertEquals(LocalDate.of(2024, 2, 29), InputFormats.parseDate("2024-02-29"));
+        assertEquals(LocalTime.of(23, 59), InputFormats.parseTime("23:59"));
+        assertEquals(LocalTime.of(9, 30, 15), InputFormats.parseIsoTime("09:30:15"));
+        assertEquals(LocalDateTime.of(2024, 11, 4, 9, 30), InputFormats.parseDateTime("2024-11-04", "09:30"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "2024-2-01", "2024/02/01", "2024-13-01", "2024-00-10", "2023-02-29", "2024-04-31",
+            "20a4-01-01", "2024-01-01 " })
+    void testInvalidDatesAreRejected(String date) {
+        assertThrows(DateTimeParseException.class, () -> InputFormats.parseDate(date));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "9:00", "24:00", "10:60", "10-00", "10:00:00", "ab:cd" })
+    void testInvalidTimesAreRejected(String time) {
+        assertThrows(DateTimeParseException.class, () -> InputFormats.parseTime(time));
+    }
+}
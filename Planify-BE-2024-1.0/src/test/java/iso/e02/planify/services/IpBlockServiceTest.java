@@ -0,0 +1,79 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.IpAttempt;
+import iso.e02.planify.repositories.IpAttemptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IpBlockServiceTest {
+
+    @InjectMocks
+    private IpBlockService ipBlockService;
+
+    @Mock
+    private IpAttemptRepository ipAttemptRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testBlocksAfterMaxAttemptsWithoutQueries() {
+        for (int i = 0; i < 4; i++) {
+            ipBlockService.registerFailedAttempt("10.0.0.1");
+        }
+        assertFalse(ipBlockService.isIpBlocked("10.0.0.1"));
+
+        ipBlockService.registerFailedAttempt("10.0.0.1");
+
+        assertTrue(ipBlockService.isIpBlocked("10.0.0.1"));
+        assertFalse(ipBlockService.isIpBlocked("10.0.0.2"));
+        verifyNoInteractions(ipAttemptRepository); // Sin persistencia no se consulta la tabla
+    }
+
+    @Test
+    void testResetAttempts() {
+        for (int i = 0; i < 4; i++) {
+            ipBlockService.registerFailedAttempt("10.0.0.1");
+        }
+        ipBlockService.resetAttempts("10.0.0.1");
+        ipBlockService.registerFailedAttempt("10.0.0.1");
+
+        assertFalse(ipBlockService.isIpBlocked("10.0.0.1"));
+    }
+
+    @Test
+    void testBlocksAreWrittenBehindAndReloaded() {
+        ReflectionTestUtils.setField(ipBlockService, "persistenceEnabled", true);
+        when(ipAttemptRepository.findByIpAddress("10.0.0.1")).thenReturn(Optional.empty());
+        for (int i = 0; i < 5; i++) {
+            ipBlockService.registerFailedAttempt("10.0.0.1");
+        }
+        verify(ipAttemptRepository, never()).save(any());
+
+        ipBlockService.flushPendingWrites();
+        verify(ipAttemptRepository, times(1)).save(any(IpAttempt.class));
+
+        IpAttempt persisted = new IpAttempt();
+        persisted.setIpAddress("10.0.0.3");
+        persisted.setBlocked(true);
+        persisted.setLastAttempt(LocalDateTime.now());
+        when(ipAttemptRepository.findByBlockedTrueAndLastAttemptAfter(any())).thenReturn(List.of(persisted));
+        ipBlockService.loadPersistedBlocks();
+
+        assertTrue(ipBlockService.isIpBlocked("10.0.0.3"));
+    }
+}
@@ -2,6 +2,7 @@ package iso.e02.planify.services;
 
 import iso.e02.planify.entities.Administrator;
 import iso.e02.planify.repositories.AdministratorRepository;
+import iso.e02.planify.security.VerifiedTokenCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -25,6 +26,12 @@ class ManageAdministratorServiceTest {
     @Mock
     private AdministratorRepository administratorRepository;
 
+    @Mock
+    private PhotoService photoService;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -180,6 +187,7 @@ class ManageAdministratorServiceTest {
 
         // Assert
         verify(administratorRepository, times(1)).deleteById(1L);
+        verify(verifiedTokenCache).evictUser(1L);
     }
 
     @Test
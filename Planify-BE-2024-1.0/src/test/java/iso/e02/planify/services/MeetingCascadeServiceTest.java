@@ -0,0 +1,76 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.entities.MeetingAttendance.Role;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.repositories.MeetingRespository;
+import iso.e02.planify.requests.MeetingCascadeResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MeetingCascadeServiceTest {
+
+    @Mock
+    private MeetingRespository meetingRepository;
+
+    @Mock
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
+    @Mock
+    private BusyIntervalIndex busyIntervalIndex;
+
+    @InjectMocks
+    private MeetingCascadeService meetingCascadeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testCancelOrRejectAllUsesBulkUpdates() {
+        when(meetingAttendanceRepository.findMeetingIdsToCancel(1L, Role.ORGANIZADOR, Meeting.Status.CANCELADA))
+                .thenReturn(List.of(10L, 11L));
+        when(meetingRepository.cancelOrganizedBy(1L, Role.ORGANIZADOR, Meeting.Status.CANCELADA)).thenReturn(2);
+        when(meetingAttendanceRepository.rejectInvitations(1L, Role.ORGANIZADOR, InvitationStatus.RECHAZADA,
+                MeetingCascadeService.BLOCKED_USER_REASON)).thenReturn(5);
+
+        MeetingCascadeResult result = meetingCascadeService.cancelOrRejectAll(1L);
+
+        assertEquals(2, result.getCancelledMeetings());
+        assertEquals(5, result.getRejectedInvitations());
+        verify(busyIntervalIndex).meetingCancelled(10L);
+        verify(busyIntervalIndex).meetingCancelled(11L);
+        verify(meetingRepository, never()).save(any());
+        verify(meetingAttendanceRepository, never()).save(any());
+    }
+
+    @Test
+    void testCancelOrRejectInPeriodSkipsCancelWithoutOrganizedMeetings() {
+        LocalDateTime from = LocalDateTime.of(2024, 11, 4, 0, 0);
+        LocalDateTime to = from.plusDays(2);
+        when(meetingAttendanceRepository.findMeetingIdsToCancelInPeriod(1L, Role.ORGANIZADOR,
+                Meeting.Status.CANCELADA, from, to)).thenReturn(List.of());
+        when(meetingAttendanceRepository.rejectInvitationsInPeriod(1L, Role.ORGANIZADOR, InvitationStatus.RECHAZADA,
+                MeetingCascadeService.ABSENCE_REASON, from, to)).thenReturn(3);
+
+        MeetingCascadeResult result = meetingCascadeService.cancelOrRejectInPeriod(1L, from, to);
+
+        assertEquals(0, result.getCancelledMeetings());
+        assertEquals(3, result.getRejectedInvitations());
+        verify(meetingRepository, never()).cancelOrganizedByInPeriod(anyLong(), any(), any(), any(), any());
+        verifyNoInteractions(busyIntervalIndex);
+    }
+}
@@ -0,0 +1,110 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance;
+import iso.e02.planify.entities.MeetingAttendance.InvitationStatus;
+import iso.e02.planify.entities.MeetingAttendance.Role;
+import iso.e02.planify.repositories.MeetingAttendanceRepository;
+import iso.e02.planify.requests.ChangeMeetingInvitationStatusRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MeetingCommandServiceTest {
+
+    @Mock
+    private MeetingAttendanceRepository meetingAttendanceRepository;
+
+    @Mock
+    private BusyIntervalIndex busyIntervalIndex;
+
+    @Spy
+    private ValidateMeetingService validateMeetingService = new ValidateMeetingService();
+
+    @InjectMocks
+    private MeetingCommandService meetingCommandService;
+
+    private CommonUser user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = new CommonUser();
+        user.setId(1L);
+    }
+
+    private MeetingAttendance attendance(Role role, Meeting.Status status) {
+        Meeting meeting = new Meeting();
+        meeting.setId(10L);
+        meeting.setStatus(status);
+        MeetingAttendance attendance = new MeetingAttendance();
+        attendance.setUser(user);
+        attendance.setMeeting(meeting);
+        attendance.setRole(role);
+        attendance.setInvitationStatus(InvitationStatus.PENDIENTE);
+        when(meetingAttendanceRepository.findWithMeeting(10L, 1L)).thenReturn(Optional.of(attendance));
+        return attendance;
+    }
+
+    @Test
+    void testChangeInvitationStatusLoadsContextOnce() {
+        MeetingAttendance attendance = attendance(Role.ASISTENTE, Meeting.Status.ABIERTA);
+
+        meetingCommandService.changeInvitationStatus(user, 10L,
+                new ChangeMeetingInvitationStatusRequest("rechazada", "Tengo otra reunión"));
+
+        assertEquals(InvitationStatus.RECHAZADA, attendance.getInvitationStatus());
+        assertEquals("Tengo otra reunión", attendance.getDeclineReason());
+        verify(meetingAttendanceRepository, times(1)).findWithMeeting(10L, 1L);
+        verify(meetingAttendanceRepository, never()).findByMeetingIdAndUserId(anyLong(), anyLong());
+    }
+
+    @Test
+    void testOrganizerAssistClosesMeeting() {
+        MeetingAttendance attendance = attendance(Role.ORGANIZADOR, Meeting.Status.ABIERTA);
+
+        meetingCommandService.assist(user, 10L);
+
+        assertTrue(attendance.hasAssisted());
+        assertEquals(Meeting.Status.CERRADA, attendance.getMeeting().getStatus());
+    }
+
+    @Test
+    void testChangeStatusCancelsMeetingInIndex() {
+        MeetingAttendance attendance = attendance(Role.ORGANIZADOR, Meeting.Status.ABIERTA);
+
+        meetingCommandService.changeStatus(user, 10L, "cancelada");
+
+        assertEquals(Meeting.Status.CANCELADA, attendance.getMeeting().getStatus());
+        verify(busyIntervalIndex).meetingCancelled(10L);
+    }
+
+    @Test
+    void testInvalidCommandsDoNotModify() {
+        MeetingAttendance attendance = attendance(Role.ASISTENTE, Meeting.Status.CANCELADA);
+        when(meetingAttendanceRepository.findWithMeeting(11L, 1L)).thenReturn(Optional.empty());
+
+        ResponseStatusException closed = assertThrows(ResponseStatusException.class,
+                () -> meetingCommandService.assist(user, 10L));
+        ResponseStatusException missing = assertThrows(ResponseStatusException.class,
+                () -> meetingCommandService.assist(user, 11L));
+
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, closed.getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        assertFalse(attendance.hasAssisted());
+        verifyNoInteractions(busyIntervalIndex);
+    }
+}
@@ -0,0 +1,97 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.entities.Meeting;
+import iso.e02.planify.entities.MeetingAttendance;
+import iso.e02.planify.repositories.MeetingRespository;
+import iso.e02.planify.requests.CandidateToMeetinDTO;
+import iso.e02.planify.requests.CandidatesRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MeetingServiceTest {
+
+    @InjectMocks
+    private MeetingService meetingService;
+
+    @Mock
+    private MeetingRespository meetingRepository;
+
+    @Mock
+    private BusyIntervalIndex busyIntervalIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testGetCandidatesToMeetingUsesMeetingWindow() {
+        LocalDateTime from = LocalDateTime.of(2050, 11, 14, 16, 0);
+        LocalDateTime to = LocalDateTime.of(2050, 11, 14, 19, 0);
+        Pageable pageable = PageRequest.of(0, 20);
+        Page<CandidateToMeetinDTO> page = new PageImpl<>(List.of(
+                new CandidateToMeetinDTO(1L, "Jane", "Doe", "jane@planify.com", true, false)));
+        when(meetingRepository.getCandidatesToMeeting(from, to, from.minusDays(1), pageable)).thenReturn(page);
+
+        Page<CandidateToMeetinDTO> result = meetingService.getCandidatesToMeeting(
+                new CandidatesRequest("16:00", "19:00", false, "2050-11-14"), pageable);
+
+        assertEquals(1, result.getContent().size());
+        assertTrue(result.getContent().get(0).getHasAbsences());
+        assertFalse(result.getContent().get(0).getHasMeetings());
+    }
+
+    @Test
+    void testGetCandidatesToMeetingAllDayCoversWholeDay() {
+        LocalDateTime from = LocalDateTime.of(2050, 11, 14, 0, 0);
+        when(meetingRepository.getCandidatesToMeeting(any(), any(), any(), any())).thenReturn(Page.empty());
+
+        meetingService.getCandidatesToMeeting(new CandidatesRequest(null, null, true, "2050-11-14"), Pageable.unpaged());
+
+        verify(meetingRepository).getCandidatesToMeeting(from, from.plusDays(1), from.minusDays(1), Pageable.unpaged());
+    }
+
+    @Test
+    void testGetCandidatesToMeetingInvalidDate() {
+        CandidatesRequest request = new CandidatesRequest("16:00", "19:00", false, "14/11/2050");
+        assertThrows(ResponseStatusException.class,
+                () -> meetingService.getCandidatesToMeeting(request, Pageable.unpaged()));
+    }
+
+    @Test
+    void testCreateAddsEachParticipantOnce() {
+        CommonUser organizer = new CommonUser();
+        organizer.setId(1L);
+        CommonUser participant = new CommonUser();
+        participant.setId(2L);
+        Map<String, CommonUser> participantsByEmail = new LinkedHashMap<>();
+        participantsByEmail.put("A@planify.com", participant);
+        participantsByEmail.put("a@planify.com", participant);
+        Meeting meeting = new Meeting();
+
+        meetingService.create(meeting, organizer, participantsByEmail);
+
+        List<MeetingAttendance> participants = meeting.getParticipants();
+        assertEquals(2, participants.size());
+        assertEquals(MeetingAttendance.Role.ORGANIZADOR, participants.get(0).getRole());
+        assertSame(participant, participants.get(1).getUser());
+        verify(meetingRepository).save(meeting);
+    }
+}
@@ -0,0 +1,77 @@
+package iso.e02.planify.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor passwordHashingExecutor;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHashingExecutor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(passwordHashingExecutor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingExecutor, "timeoutMillis", 5000L);
+        passwordHashingExecutor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingExecutor.stop();
+    }
+
+    @Test
+    void testExecuteReturnsResultAndRecordsMetrics() {
+        assertTrue(passwordHashingExecutor.execute(() -> true));
+
+        assertEquals(1, meterRegistry.timer("planify.auth.hash.time").count());
+        assertEquals(1, meterRegistry.timer("planify.auth.hash.wait").count());
+    }
+
+    @Test
+    void testExecuteRejectsWhenSaturated() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Ocupa el único hilo y el único hueco de la cola
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> passwordHashingExecutor.execute(() -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> passwordHashingExecutor.execute(() -> true));
+        while (meterRegistry.get("planify.auth.hash.queue").gauge().value() < 1) {
+            Thread.sleep(5);
+        }
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> passwordHashingExecutor.execute(() -> true));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals(1.0, meterRegistry.counter("planify.auth.hash.rejected").count());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecutePropagatesRuntimeExceptions() {
+        assertThrows(IllegalArgumentException.class, () -> passwordHashingExecutor.execute(() -> {
+            throw new IllegalArgumentException("hash inválido");
+        }));
+    }
+}
@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
@@ -30,6 +31,9 @@ class RecoveryPasswordServiceTest {
     @Mock
     private EmailSMTP emailSMTP;
 
+    @Spy
+    private InMemoryRecoveryTokenStore tokenStore = new InMemoryRecoveryTokenStore();
+
     private String email = "user@example.com";
     private String token = UUID.randomUUID().toString();
     private String password = "SecurePassword123!";
@@ -0,0 +1,104 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.repositories.UserDirectoryRepository;
+import iso.e02.planify.repositories.UserDirectoryRepository.SortField;
+import iso.e02.planify.requests.UserDirectoryEntryDTO;
+import iso.e02.planify.requests.UserDirectoryPage;
+import iso.e02.planify.requests.UserDirectoryRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UserDirectoryServiceTest {
+
+    @Mock
+    private UserDirectoryRepository userDirectoryRepository;
+
+    @InjectMocks
+    private UserDirectoryService userDirectoryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private UserDirectoryEntryDTO entry(long id, String name) {
+        return new UserDirectoryEntryDTO(id, "CommonUser", name, "Apellidos", name + "@test.com", "Centro",
+                "Departamento", true, false, null);
+    }
+
+    @Test
+    void testLastPageHasNoCursor() {
+        UserDirectoryRequest request = new UserDirectoryRequest();
+        request.setSize(2);
+        when(userDirectoryRepository.findPage(request, SortField.NAME, false, null, null, 3))
+                .thenReturn(List.of(entry(1, "Ana"), entry(2, "Luis")));
+
+        UserDirectoryPage page = userDirectoryService.getDirectory(request);
+
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testCursorContinuesAfterLastRow() {
+        UserDirectoryRequest request = new UserDirectoryRequest();
+        request.setSize(2);
+        request.setSort("name");
+        when(userDirectoryRepository.findPage(request, SortField.NAME, false, null, null, 3))
+                .thenReturn(List.of(entry(1, "Ana"), entry(7, "Luis: el segundo"), entry(3, "Marta")));
+
+        UserDirectoryPage first = userDirectoryService.getDirectory(request);
+
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        request.setCursor(first.getNextCursor());
+        when(userDirectoryRepository.findPage(request, SortField.NAME, false, "Luis: el segundo", 7L, 3))
+                .thenReturn(List.of(entry(3, "Marta")));
+
+        UserDirectoryPage second = userDirectoryService.getDirectory(request);
+
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testCursorFromAnotherSortIsRejected() {
+        String cursor = UserDirectoryService.encodeCursor(SortField.EMAIL, false, entry(1, "Ana"));
+        UserDirectoryRequest request = new UserDirectoryRequest();
+        request.setCursor(cursor);
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> userDirectoryService.getDirectory(request));
+
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, exception.getStatusCode());
+        verifyNoInteractions(userDirectoryRepository);
+    }
+
+    @Test
+    void testInvalidParametersAreRejected() {
+        UserDirectoryRequest badSize = new UserDirectoryRequest();
+        badSize.setSize(UserDirectoryService.MAX_PAGE_SIZE + 1);
+        UserDirectoryRequest badSort = new UserDirectoryRequest();
+        badSort.setSort("password");
+        UserDirectoryRequest badCursor = new UserDirectoryRequest();
+        badCursor.setCursor("no-es-un-cursor");
+
+        assertThrows(ResponseStatusException.class, () -> userDirectoryService.getDirectory(badSize));
+        assertThrows(ResponseStatusException.class, () -> userDirectoryService.getDirectory(badSort));
+        assertThrows(ResponseStatusException.class, () -> userDirectoryService.getDirectory(badCursor));
+        verify(userDirectoryRepository, never()).findPage(any(), any(), anyBoolean(), any(), any(), anyInt());
+    }
+}
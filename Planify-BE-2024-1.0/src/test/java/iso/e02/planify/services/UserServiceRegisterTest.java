@@ -22,6 +22,9 @@ class UserServiceRegisterTest {
     @Mock
     private UsersRepository userRepository; // Mocked repository
 
+    @Mock
+    private PhotoService photoService; // Mocked photo store
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this); // Initialize mocks
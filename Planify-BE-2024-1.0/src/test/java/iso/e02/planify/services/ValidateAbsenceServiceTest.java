@@ -0,0 +1,79 @@
+package iso.e02.planify.services;
+
+import iso.e02.planify.entities.CommonUser;
+import iso.e02.planify.repositories.AbsenceRepository;
+import iso.e02.planify.repositories.CommonUserRepository;
+import iso.e02.planify.requests.BusyIntervalDTO;
+import iso.e02.planify.requests.CreateAbsenceRequest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ValidateAbsenceServiceTest {
+
+    @Mock
+    private WorkScheduleService workScheduleService;
+
+    @Mock
+    private AbsenceRepository absencesRepository;
+
+    @Mock
+    private CommonUserRepository commonUserRepository;
+
+    @Mock
+    private MeetingCascadeService meetingCascadeService;
+
+    @InjectMocks
+    private ValidateAbsenceService validateAbsenceService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testUnknownUserIsReportedWithFieldErrors() {
+        when(commonUserRepository.existsById(7L)).thenReturn(false);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> validateAbsenceService.validateAbsenceInfo(
+                        new CreateAbsenceRequest("excedencia", true, "2050-11-14", null, "2050-11-15", null, 7L, false)));
+
+        assertEquals(List.of("El usuario no existe.", "La ausencia no puede tener el tipo \"excedencia\"."),
+                exception.getErrors());
+        verify(commonUserRepository, never()).findById(anyLong());
+        verifyNoInteractions(meetingCascadeService);
+    }
+
+    @Test
+    void testOverlapIsReportedWithUserErrors() {
+        CommonUser blocked = new CommonUser();
+        blocked.setActivated(true);
+        blocked.setBlocked(true);
+        when(commonUserRepository.existsById(7L)).thenReturn(true);
+        when(commonUserRepository.findById(7L)).thenReturn(blocked);
+        when(absencesRepository.findOverlappingAbsences(eq(7L), any(), any(), any()))
+                .thenReturn(List.of(new BusyIntervalDTO(3L, LocalDateTime.of(2050, 11, 14, 9, 0),
+                        LocalDateTime.of(2050, 11, 14, 11, 0), false)));
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> validateAbsenceService.validateAbsenceInfo(
+                        new CreateAbsenceRequest("permiso", true, "2050-11-14", null, "2050-11-15", null, 7L, false)));
+
+        assertEquals(List.of("El usuario no está activo o está bloqueado.",
+                "El usuario tiene una ausencia en el rango de horas seleccionado."), exception.getErrors());
+        verify(absencesRepository).findOverlappingAbsences(7L, LocalDateTime.of(2050, 11, 14, 0, 0),
+                LocalDateTime.of(2050, 11, 16, 0, 0), LocalDateTime.of(2050, 11, 13, 0, 0));
+        verifyNoInteractions(meetingCascadeService);
+    }
+}
@@ -6,8 +6,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -70,6 +73,22 @@ class ValidateUserServiceTest {
         assertEquals("406 NOT_ACCEPTABLE \"Las contraseñas no coinciden.\"", exception.getMessage());
     }
 
+    @Test
+    void testValidateUserInfo_ReportsAllErrors() {
+        RegisterRequest invalidRequest = new RegisterRequest(null, "Doe", "Centre A", "2023-12-31", "invalid-email",
+                "Secure@123", "Different@123");
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> {
+            validateUserService.validateUserInfo(invalidRequest);
+        });
+        assertEquals(List.of("El campo \"nombre\" es obligatorio.",
+                "El formato del email no es el correcto: \"texto@texto.texto.\"",
+                "La fecha de alta debe ser al menos en el año 2024.",
+                "Las contraseñas no coinciden."), exception.getErrors());
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, exception.getStatusCode());
+        assertEquals(0, exception.getStackTrace().length); // sin traza
+    }
+
     @Test
     void testValidateAdminInfo_Valid() {
         CreateAdminRequest validAdminRequest = new CreateAdminRequest(null, null, null, null, null, null, true);